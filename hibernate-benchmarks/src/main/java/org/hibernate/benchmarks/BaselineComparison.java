@@ -0,0 +1,174 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written in the CSV format ({@code -rf csv}), typically a recorded baseline and
+ * the results of the latest run, and exits with a non-zero status if any benchmark present in both regressed by
+ * more than the given tolerance (and by more than the combined error margins of both measurements).
+ * <p/>
+ * Usage: {@code BaselineComparison <baseline.csv> <results.csv> [tolerance-percent]}
+ */
+public final class BaselineComparison {
+	private BaselineComparison() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if ( args.length < 2 ) {
+			System.err.println( "Usage: BaselineComparison <baseline.csv> <results.csv> [tolerance-percent]" );
+			System.exit( 2 );
+		}
+
+		final File baselineFile = new File( args[0] );
+		if ( !baselineFile.exists() ) {
+			System.out.println( "No baseline found at " + baselineFile + "; nothing to compare against" );
+			return;
+		}
+
+		final double tolerance = args.length > 2 ? Double.parseDouble( args[2] ) / 100d : 0.10d;
+		final Map<String, Result> baseline = read( baselineFile );
+		final Map<String, Result> current = read( new File( args[1] ) );
+
+		int regressions = 0;
+		for ( Result result : current.values() ) {
+			final Result base = baseline.get( result.key );
+			if ( base == null ) {
+				System.out.println( String.format( Locale.ROOT, "[NEW]        %s : %.3f %s", result.key, result.score, result.unit ) );
+				continue;
+			}
+			if ( !base.unit.equals( result.unit ) ) {
+				System.out.println( String.format( Locale.ROOT, "[SKIPPED]    %s : unit changed (%s -> %s)", result.key, base.unit, result.unit ) );
+				continue;
+			}
+
+			// positive change means "got worse", whatever the mode
+			final double change = result.higherIsBetter()
+					? ( base.score - result.score ) / base.score
+					: ( result.score - base.score ) / base.score;
+			// differences within the combined error margins of both runs are noise, not regressions
+			final boolean regressed = change > tolerance
+					&& Math.abs( result.score - base.score ) > base.error + result.error;
+			if ( regressed ) {
+				regressions++;
+			}
+			System.out.println(
+					String.format(
+							Locale.ROOT,
+							"%s %s : %.3f -> %.3f %s (%+.1f%%)",
+							regressed ? "[REGRESSION]" : "[OK]        ",
+							result.key,
+							base.score,
+							result.score,
+							result.unit,
+							-change * 100
+					)
+			);
+		}
+
+		if ( regressions > 0 ) {
+			System.err.println( regressions + " benchmark(s) regressed by more than " + ( tolerance * 100 ) + "%" );
+			System.exit( 1 );
+		}
+	}
+
+	private static Map<String, Result> read(File file) throws IOException {
+		final Map<String, Result> results = new LinkedHashMap<String, Result>();
+		final BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( file ), "UTF-8" ) );
+		try {
+			final List<String> header = split( reader.readLine() );
+			final int benchmarkIndex = header.indexOf( "Benchmark" );
+			final int modeIndex = header.indexOf( "Mode" );
+			final int scoreIndex = header.indexOf( "Score" );
+			final int errorIndex = header.indexOf( "Score Error (99.9%)" );
+			final int unitIndex = header.indexOf( "Unit" );
+
+			String line;
+			while ( ( line = reader.readLine() ) != null ) {
+				if ( line.trim().isEmpty() ) {
+					continue;
+				}
+				final List<String> values = split( line );
+				final StringBuilder key = new StringBuilder( values.get( benchmarkIndex ) );
+				for ( int i = 0; i < header.size(); i++ ) {
+					if ( header.get( i ).startsWith( "Param: " ) && !values.get( i ).isEmpty() ) {
+						key.append( ' ' ).append( header.get( i ).substring( 7 ) ).append( '=' ).append( values.get( i ) );
+					}
+				}
+				final Result result = new Result(
+						key.toString(),
+						values.get( modeIndex ),
+						Double.parseDouble( values.get( scoreIndex ) ),
+						parseError( values.get( errorIndex ) ),
+						values.get( unitIndex )
+				);
+				results.put( result.key, result );
+			}
+		}
+		finally {
+			reader.close();
+		}
+		return results;
+	}
+
+	private static double parseError(String value) {
+		// single-sample runs report no error margin
+		final double error = Double.parseDouble( value );
+		return Double.isNaN( error ) ? 0d : error;
+	}
+
+	private static List<String> split(String line) {
+		final List<String> values = new ArrayList<String>();
+		final StringBuilder current = new StringBuilder();
+		boolean quoted = false;
+		for ( int i = 0; i < line.length(); i++ ) {
+			final char c = line.charAt( i );
+			if ( c == '"' ) {
+				quoted = !quoted;
+			}
+			else if ( c == ',' && !quoted ) {
+				values.add( current.toString() );
+				current.setLength( 0 );
+			}
+			else {
+				current.append( c );
+			}
+		}
+		values.add( current.toString() );
+		return values;
+	}
+
+	private static class Result {
+		private final String key;
+		private final String mode;
+		private final double score;
+		private final double error;
+		private final String unit;
+
+		private Result(String key, String mode, double score, double error, String unit) {
+			this.key = key;
+			this.mode = mode;
+			this.score = score;
+			this.error = error;
+			this.unit = unit;
+		}
+
+		private boolean higherIsBetter() {
+			return "thrpt".equals( mode );
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.CachedItem;
+import org.hibernate.benchmarks.model.Category;
+import org.hibernate.benchmarks.model.Item;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Builds (and tears down) the SessionFactory used by the benchmarks: the {@link Item}, {@link Category} and
+ * {@link CachedItem} model mapped against a private in-memory H2 database.
+ */
+public class BenchmarkSessionFactory {
+	private static int databaseCounter;
+
+	private final StandardServiceRegistry serviceRegistry;
+	private final SessionFactoryImplementor sessionFactory;
+
+	public BenchmarkSessionFactory() {
+		this( new HashMap<String, Object>() );
+	}
+
+	public BenchmarkSessionFactory(Map<String, Object> settings) {
+		final Map<String, Object> allSettings = new HashMap<String, Object>();
+		allSettings.put( AvailableSettings.DRIVER, "org.h2.Driver" );
+		allSettings.put( AvailableSettings.URL, "jdbc:h2:mem:bench" + nextDatabaseNumber() + ";DB_CLOSE_DELAY=-1" );
+		allSettings.put( AvailableSettings.USER, "sa" );
+		allSettings.put( AvailableSettings.PASS, "" );
+		allSettings.put( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		allSettings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		allSettings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		allSettings.put( AvailableSettings.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		allSettings.putAll( settings );
+
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings( allSettings ).build();
+		try {
+			sessionFactory = (SessionFactoryImplementor) new MetadataSources( serviceRegistry )
+					.addAnnotatedClass( Category.class )
+					.addAnnotatedClass( Item.class )
+					.addAnnotatedClass( CachedItem.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+			throw e;
+		}
+	}
+
+	private static synchronized int nextDatabaseNumber() {
+		return ++databaseCounter;
+	}
+
+	public SessionFactoryImplementor getSessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * Inserts {@code count} items (spread over 10 categories) in their own transaction.
+	 *
+	 * @param count The number of items to insert
+	 */
+	public void populateItems(int count) {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.getTransaction().begin();
+			final Category[] categories = new Category[10];
+			for ( int i = 0; i < categories.length; i++ ) {
+				categories[i] = new Category( "category #" + i );
+				session.persist( categories[i] );
+			}
+			for ( int i = 0; i < count; i++ ) {
+				session.persist( new Item( i, categories[i % categories.length] ) );
+				if ( i % 50 == 0 ) {
+					session.flush();
+					session.clear();
+				}
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * Inserts {@code count} second-level cached items, with ids {@code 1..count}, in their own transaction.
+	 *
+	 * @param count The number of items to insert
+	 */
+	public void populateCachedItems(int count) {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.getTransaction().begin();
+			for ( long id = 1; id <= count; id++ ) {
+				session.persist( new CachedItem( id, "cached item #" + id, (int) id ) );
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	public void close() {
+		try {
+			sessionFactory.close();
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of flushing a large persistence context, where the flush has to dirty-check every managed
+ * entity even though at most one of them changed.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class DirtyCheckBenchmark {
+	@Param( { "1000", "10000" } )
+	private int managedEntityCount;
+
+	private BenchmarkSessionFactory benchmarkSessionFactory;
+	private Session session;
+	private List<Item> items;
+	private int counter;
+
+	@Setup
+	public void setUp() {
+		benchmarkSessionFactory = new BenchmarkSessionFactory();
+		benchmarkSessionFactory.populateItems( managedEntityCount );
+	}
+
+	@TearDown
+	public void tearDown() {
+		benchmarkSessionFactory.close();
+	}
+
+	@Setup( Level.Iteration )
+	@SuppressWarnings("unchecked")
+	public void openSession() {
+		session = benchmarkSessionFactory.getSessionFactory().openSession();
+		session.getTransaction().begin();
+		items = session.createQuery( "from Item" ).list();
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public Session flushUnchanged() {
+		session.flush();
+		return session;
+	}
+
+	@Benchmark
+	public Session flushSingleChange() {
+		final Item item = items.get( counter++ % items.size() );
+		item.setQuantity( item.getQuantity() + 1 );
+		session.flush();
+		return session;
+	}
+}
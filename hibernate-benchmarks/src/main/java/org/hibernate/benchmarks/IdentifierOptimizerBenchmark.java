@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.io.Serializable;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures contention on the identifier {@link Optimizer}s when many threads generate values for the same
+ * generator.  The value source is an in-memory counter, so this isolates the optimizer itself.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class IdentifierOptimizerBenchmark {
+	@Param( { "pooled", "pooled-lock-free", "pooled-lock-free/16" } )
+	private String optimizerName;
+
+	private Optimizer optimizer;
+	private AccessCallback callback;
+
+	@Setup
+	public void setUp() {
+		final String[] parts = optimizerName.split( "/" );
+		final Properties params = new Properties();
+		if ( parts.length > 1 ) {
+			params.setProperty( AvailableSettings.POOLED_OPTIMIZER_THREAD_BLOCK_SIZE, parts[1] );
+		}
+		optimizer = OptimizerFactory.buildOptimizer( parts[0], Long.class, 50, -1, params );
+		callback = new InMemorySequence( 50 );
+	}
+
+	@Benchmark
+	@Threads( 8 )
+	public Serializable generate() {
+		return optimizer.generate( callback );
+	}
+
+	private static class InMemorySequence implements AccessCallback {
+		private final int incrementSize;
+		private long value;
+
+		private InMemorySequence(int incrementSize) {
+			this.incrementSize = incrementSize;
+			// so that the first value handed out is 1
+			this.value = 1 - incrementSize;
+		}
+
+		@Override
+		public synchronized IntegralDataTypeHolder getNextValue() {
+			value += incrementSize;
+			return IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class ).initialize( value );
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Loader result set processing: hydrating entities into a stateful session, into a stateless session
+ * and reading scalar projections.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class LoaderHydrationBenchmark {
+	@Param( { "100", "1000" } )
+	private int rowCount;
+
+	private BenchmarkSessionFactory benchmarkSessionFactory;
+
+	@Setup
+	public void setUp() {
+		benchmarkSessionFactory = new BenchmarkSessionFactory();
+		benchmarkSessionFactory.populateItems( rowCount );
+	}
+
+	@TearDown
+	public void tearDown() {
+		benchmarkSessionFactory.close();
+	}
+
+	@Benchmark
+	public List entities() {
+		final Session session = benchmarkSessionFactory.getSessionFactory().openSession();
+		try {
+			return session.createQuery( "from Item" ).list();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public List entitiesStateless() {
+		final StatelessSession session = benchmarkSessionFactory.getSessionFactory().openStatelessSession();
+		try {
+			return session.createQuery( "from Item" ).list();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public List scalars() {
+		final Session session = benchmarkSessionFactory.getSessionFactory().openSession();
+		try {
+			return session.createQuery( "select i.id, i.quantity, i.stock, i.weight, i.available, i.price from Item i" )
+					.list();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Category;
+import org.hibernate.benchmarks.model.Item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures persisting and flushing a batch of new entities within a single session: identifier generation,
+ * ActionQueue handling and JDBC batching.  The transaction is rolled back so that every invocation works
+ * against the same database state.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class PersistFlushBenchmark {
+	@Param( { "100", "1000" } )
+	private int entityCount;
+
+	private BenchmarkSessionFactory benchmarkSessionFactory;
+
+	@Setup
+	public void setUp() {
+		benchmarkSessionFactory = new BenchmarkSessionFactory();
+	}
+
+	@TearDown
+	public void tearDown() {
+		benchmarkSessionFactory.close();
+	}
+
+	@Benchmark
+	public Session persistAndFlush() {
+		final Session session = benchmarkSessionFactory.getSessionFactory().openSession();
+		try {
+			session.getTransaction().begin();
+			final Category category = new Category( "category" );
+			session.persist( category );
+			for ( int i = 0; i < entityCount; i++ ) {
+				session.persist( new Item( i, category ) );
+			}
+			session.flush();
+			session.getTransaction().rollback();
+			return session;
+		}
+		finally {
+			session.close();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmarks.model.Item;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link EntityKey} keyed maps of the persistence context: {@link java.util.HashMap} against
+ * {@link OpenAddressingHashMap}.
+ * <p/>
+ * Run with the GC profiler ({@code -Pjmh.args="-prof gc"}): as the keys are created upfront, the
+ * {@code gc.alloc.rate.norm} of {@link #populatePresized} is the footprint of a map holding {@code size} mappings,
+ * and that of {@link #populate} adds the garbage left behind by growing it.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class PersistenceContextMapBenchmark {
+	@Param( { "HashMap", "OpenAddressingHashMap" } )
+	private String implementation;
+
+	@Param( { "10000", "500000" } )
+	private int size;
+
+	private EntityKey[] keys;
+	private Map<EntityKey, Object> populated;
+
+	@Setup
+	public void setUp() {
+		final BenchmarkSessionFactory benchmarkSessionFactory = new BenchmarkSessionFactory();
+		try {
+			final EntityPersister persister = benchmarkSessionFactory.getSessionFactory().getEntityPersister( Item.class.getName() );
+			final List<EntityKey> shuffled = new ArrayList<EntityKey>( size );
+			for ( int i = 0; i < size; i++ ) {
+				shuffled.add( new EntityKey( (long) i, persister ) );
+			}
+			// entities are rarely looked up in the order of their identifiers, which would favor chaining
+			// (consecutive identifiers being hashed to consecutive buckets)
+			Collections.shuffle( shuffled, new Random( 42 ) );
+			keys = shuffled.toArray( new EntityKey[size] );
+		}
+		finally {
+			benchmarkSessionFactory.close();
+		}
+		populated = populate();
+	}
+
+	private Map<EntityKey, Object> newMap(int expectedSize) {
+		return "HashMap".equals( implementation )
+				? new HashMap<EntityKey, Object>( (int) ( expectedSize / .75f ) + 1 )
+				: new OpenAddressingHashMap<EntityKey, Object>( expectedSize );
+	}
+
+	@Benchmark
+	public Map<EntityKey, Object> populate() {
+		// the initial size used by the persistence context
+		final Map<EntityKey, Object> map = newMap( 8 );
+		for ( EntityKey key : keys ) {
+			map.put( key, key );
+		}
+		return map;
+	}
+
+	@Benchmark
+	public Map<EntityKey, Object> populatePresized() {
+		final Map<EntityKey, Object> map = newMap( size );
+		for ( EntityKey key : keys ) {
+			map.put( key, key );
+		}
+		return map;
+	}
+
+	@Benchmark
+	public void lookup(Blackhole blackhole) {
+		for ( EntityKey key : keys ) {
+			blackhole.consume( populated.get( key ) );
+		}
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for ( Object value : populated.values() ) {
+			blackhole.consume( value );
+		}
+	}
+}
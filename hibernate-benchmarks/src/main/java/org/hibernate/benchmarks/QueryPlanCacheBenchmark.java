@@ -0,0 +1,77 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Filter;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures HQL translation (a QueryPlanCache miss) against a QueryPlanCache hit.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class QueryPlanCacheBenchmark {
+	private static final String HQL = "select i from Item i join fetch i.category c "
+			+ "where i.quantity > :quantity and c.name like :name order by i.price desc";
+
+	private BenchmarkSessionFactory benchmarkSessionFactory;
+	private QueryPlanCache queryPlanCache;
+
+	@Setup
+	public void setUp() {
+		benchmarkSessionFactory = new BenchmarkSessionFactory();
+		queryPlanCache = benchmarkSessionFactory.getSessionFactory().getQueryPlanCache();
+		queryPlanCache.getHQLQueryPlan( HQL, false, Collections.<String, Filter>emptyMap() );
+	}
+
+	@TearDown
+	public void tearDown() {
+		benchmarkSessionFactory.close();
+	}
+
+	@Benchmark
+	public HQLQueryPlan compile() {
+		return new HQLQueryPlan(
+				HQL,
+				false,
+				Collections.<String, Filter>emptyMap(),
+				benchmarkSessionFactory.getSessionFactory()
+		);
+	}
+
+	@Benchmark
+	public HQLQueryPlan cacheHit() {
+		return queryPlanCache.getHQLQueryPlan( HQL, false, Collections.<String, Filter>emptyMap() );
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public HQLQueryPlan cacheHitContended() {
+		return queryPlanCache.getHQLQueryPlan( HQL, false, Collections.<String, Filter>emptyMap() );
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.CachedItem;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures second-level cache access: a {@link Session#get} served from the entity region and the raw
+ * {@link EntityRegionAccessStrategy} get / putFromLoad calls underneath it.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class SecondLevelCacheBenchmark {
+	private static final int ENTITY_COUNT = 1000;
+
+	private BenchmarkSessionFactory benchmarkSessionFactory;
+	private EntityPersister persister;
+	private EntityRegionAccessStrategy accessStrategy;
+	private Session session;
+	private Object cachedEntry;
+	private long counter;
+
+	@Setup
+	public void setUp() {
+		benchmarkSessionFactory = new BenchmarkSessionFactory();
+		benchmarkSessionFactory.populateCachedItems( ENTITY_COUNT );
+
+		final SessionFactoryImplementor sessionFactory = benchmarkSessionFactory.getSessionFactory();
+		persister = sessionFactory.getEntityPersister( CachedItem.class.getName() );
+		accessStrategy = persister.getCacheAccessStrategy();
+
+		// prime the entity region
+		session = sessionFactory.openSession();
+		for ( long id = 1; id <= ENTITY_COUNT; id++ ) {
+			session.get( CachedItem.class, id );
+		}
+		session.clear();
+		cachedEntry = accessStrategy.get( (SessionImplementor) session, cacheKey( 1L ), Long.MAX_VALUE );
+	}
+
+	@TearDown
+	public void tearDown() {
+		session.close();
+		benchmarkSessionFactory.close();
+	}
+
+	private long nextId() {
+		return ( counter++ % ENTITY_COUNT ) + 1;
+	}
+
+	private Object cacheKey(long id) {
+		return accessStrategy.generateCacheKey(
+				id,
+				persister,
+				benchmarkSessionFactory.getSessionFactory(),
+				null
+		);
+	}
+
+	@Benchmark
+	public Object sessionGet() {
+		final Session session = benchmarkSessionFactory.getSessionFactory().openSession();
+		try {
+			return session.get( CachedItem.class, nextId() );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object regionGet() {
+		return accessStrategy.get( (SessionImplementor) session, cacheKey( nextId() ), Long.MAX_VALUE );
+	}
+
+	@Benchmark
+	public boolean regionPutFromLoad() {
+		return accessStrategy.putFromLoad(
+				(SessionImplementor) session,
+				cacheKey( nextId() ),
+				cachedEntry,
+				Long.MAX_VALUE,
+				null
+		);
+	}
+}
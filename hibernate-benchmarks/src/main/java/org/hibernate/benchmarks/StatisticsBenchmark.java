@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of gathering statistics when all the threads record the same events, which is what
+ * contended counters suffer from.  Run with {@code -t} to vary the number of threads.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Threads( Threads.MAX )
+@Fork( 1 )
+public class StatisticsBenchmark {
+	private static final String QUERY = "from Item i where i.id = :id";
+
+	private ConcurrentStatisticsImpl statistics;
+
+	@Setup
+	public void setUp() {
+		statistics = new ConcurrentStatisticsImpl();
+		statistics.setStatisticsEnabled( true );
+	}
+
+	@Benchmark
+	public void queryExecuted() {
+		statistics.queryExecuted( QUERY, 1, 0L );
+		statistics.queryExecutionLatency( 150000L );
+	}
+
+	@Benchmark
+	public void entityLoaded() {
+		statistics.loadEntity( "Item" );
+		statistics.entityLoadLatency( 2000L );
+	}
+
+	@Benchmark
+	public void flushed() {
+		statistics.flush();
+		statistics.flushLatency( 20000L );
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * A reasonably wide entity (a mix of numeric, textual and temporal columns plus a to-one association), used
+ * for the persist, dirty-checking and hydration benchmarks.
+ */
+@Entity
+public class Item {
+	@Id
+	@GeneratedValue( strategy = GenerationType.SEQUENCE )
+	private Long id;
+	private String name;
+	private String description;
+	private int quantity;
+	private long stock;
+	private double weight;
+	private boolean available;
+	private BigDecimal price;
+	@Temporal( TemporalType.TIMESTAMP )
+	private Date created;
+	@ManyToOne( fetch = FetchType.LAZY )
+	private Category category;
+
+	public Item() {
+	}
+
+	public Item(int sequence, Category category) {
+		this.name = "item #" + sequence;
+		this.description = "description of item #" + sequence;
+		this.quantity = sequence;
+		this.stock = sequence * 10L;
+		this.weight = sequence / 3d;
+		this.available = sequence % 2 == 0;
+		this.price = BigDecimal.valueOf( sequence, 2 );
+		this.created = new Date();
+		this.category = category;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+
+	public long getStock() {
+		return stock;
+	}
+
+	public void setStock(long stock) {
+		this.stock = stock;
+	}
+
+	public double getWeight() {
+		return weight;
+	}
+
+	public void setWeight(double weight) {
+		this.weight = weight;
+	}
+
+	public boolean isAvailable() {
+		return available;
+	}
+
+	public void setAvailable(boolean available) {
+		this.available = available;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public Date getCreated() {
+		return created;
+	}
+
+	public void setCreated(Date created) {
+		this.created = created;
+	}
+
+	public Category getCategory() {
+		return category;
+	}
+
+	public void setCategory(Category category) {
+		this.category = category;
+	}
+}
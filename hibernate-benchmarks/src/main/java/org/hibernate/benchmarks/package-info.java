@@ -0,0 +1,13 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * JMH micro-benchmarks for the hot paths of Hibernate O/RM (session, flush, load, query and second-level
+ * cache), run against an in-memory H2 database.  See {@code hibernate-benchmarks.gradle} for the tasks running
+ * them and comparing the results against the recorded baselines.
+ */
+package org.hibernate.benchmarks;
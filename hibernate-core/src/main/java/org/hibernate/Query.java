@@ -255,6 +255,42 @@ public interface Query extends BasicQueryContract {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode);
 
+	/**
+	 * Return the query results as an <tt>Iterator</tt> reading the rows through forward-only
+	 * {@link ScrollableResults} as it is advanced, so that large results can be processed without
+	 * holding them all in memory (use {@link #setFetchSize} to control how many rows the driver
+	 * fetches at a time).  If the query contains multiple results per row, the results are returned
+	 * in an instance of <tt>Object[]</tt>.<br>
+	 * <br>
+	 * The entities of a row are evicted from the session when the iterator moves on to the next
+	 * row, unless they were already associated with the session when the iteration started or
+	 * were modified meanwhile, in which case they are kept so that their changes are flushed as
+	 * usual.  The JDBC resources are released once the iterator is exhausted; iterators which are
+	 * not should be closed using {@link Hibernate#close(Iterator)}.
+	 *
+	 * @return the result iterator, a {@link org.hibernate.engine.HibernateIterator}
+	 *
+	 * @see #scrollIterator(boolean)
+	 *
+	 * @since 5.1
+	 */
+	public Iterator<?> scrollIterator();
+
+	/**
+	 * Return the query results as an <tt>Iterator</tt> reading the rows through forward-only
+	 * {@link ScrollableResults} as it is advanced.
+	 *
+	 * @param evictProcessedEntities Should the entities of a row be evicted from the session when
+	 * the iterator moves on to the next row?
+	 *
+	 * @return the result iterator, a {@link org.hibernate.engine.HibernateIterator}
+	 *
+	 * @see #scrollIterator()
+	 *
+	 * @since 5.1
+	 */
+	public Iterator<?> scrollIterator(boolean evictProcessedEntities);
+
 	/**
 	 * Return the query results as a <tt>List</tt>. If the query contains
 	 * multiple results per row, the results are returned in an instance
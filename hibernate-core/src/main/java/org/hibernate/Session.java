@@ -223,6 +223,40 @@ public interface Session extends SharedSessionContract, java.io.Closeable {
 	 */
 	void setDefaultReadOnly(boolean readOnly);
 
+	/**
+	 * Is this session in read-mostly mode?
+	 *
+	 * @return true, no snapshot of the loaded state is kept for modifiable entities tracking their own dirtiness;
+	 *         false, a snapshot is kept for all modifiable entities
+	 *
+	 * @see #setReadMostly(boolean)
+	 */
+	boolean isReadMostly();
+
+	/**
+	 * Change whether this session is in read-mostly mode.
+	 *
+	 * Modifiable entities are dirty-checked against a snapshot of their state, taken when they are loaded.
+	 * Entities tracking their own dirtiness (see {@link org.hibernate.engine.spi.SelfDirtinessTracker}, typically
+	 * enhanced with dirty tracking) know which of their attributes were changed, so in read-mostly mode these are
+	 * loaded without a snapshot.  Sessions loading many entities but modifying only a few then save the memory
+	 * and the copying of the snapshots, while (unlike with read-only entities) the changes are still persisted.
+	 * A snapshot is kept for the entities of which the previous state is needed to update them, i.e. those
+	 * using {@link org.hibernate.engine.OptimisticLockStyle#ALL all} or
+	 * {@link org.hibernate.engine.OptimisticLockStyle#DIRTY dirty} optimistic locking, or deleting orphaned
+	 * one-to-one associations.
+	 *
+	 * Note that the previous state of the entities loaded without a snapshot is not known when they are updated,
+	 * so it is not available to {@link org.hibernate.Interceptor}s or update event listeners.  Once updated, the
+	 * state written to the database serves as their snapshot.
+	 *
+	 * The entities already in this session are unaffected.
+	 *
+	 * @param readMostly true, the entities tracking their own dirtiness are loaded without a snapshot;
+	 *                   false, a snapshot is kept for all modifiable entities
+	 */
+	void setReadMostly(boolean readMostly);
+
 	/**
 	 * Return the identifier value of the given entity as associated with this
 	 * session.  An exception is thrown if the given entity instance is transient
@@ -7,6 +7,9 @@
 package org.hibernate.action.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -19,7 +22,10 @@ import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostInsertEventListener;
 import org.hibernate.event.spi.PreInsertEvent;
 import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
 
 /**
  * The action for performing entity insertions when entity is using IDENTITY column identifier generation
@@ -78,16 +84,7 @@ public final class EntityIdentityInsertAction extends AbstractEntityInsertAction
 		// else inserted the same pk first, the insert would fail
 
 		if ( !veto ) {
-			generatedId = persister.insert( getState(), instance, session );
-			if ( persister.hasInsertGeneratedProperties() ) {
-				persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
-			}
-			//need to do that here rather than in the save event listener to let
-			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-			persister.setIdentifier( instance, generatedId, session );
-			session.getPersistenceContext().registerInsertedKey( getPersister(), generatedId );
-			entityKey = session.generateEntityKey( generatedId, persister );
-			session.getPersistenceContext().checkUniqueness( entityKey, getInstance() );
+			afterInsert( persister.insert( getState(), instance, session ) );
 		}
 
 
@@ -99,8 +96,113 @@ public final class EntityIdentityInsertAction extends AbstractEntityInsertAction
 			persister.getCache().insert(generatedId, cacheEntry);
 		}*/
 
+		complete( veto );
+	}
+
+	/**
+	 * Can this insert be executed in a JDBC batch, together with the other delayed inserts of the same entity?
+	 *
+	 * @return {@code true} if the insert can be batched
+	 *
+	 * @see #executeBatch
+	 */
+	public boolean isBatchable() {
+		return isDelayed
+				&& getPersister() instanceof AbstractEntityPersister
+				&& ( (AbstractEntityPersister) getPersister() ).isIdentityInsertBatchable();
+	}
+
+	/**
+	 * Execute several {@link #isBatchable() batchable} inserts of the same entity, inserting their rows
+	 * as one JDBC batch.  The state of none of the inserts may refer to the entity of another.
+	 *
+	 * @param actions The inserts to execute
+	 *
+	 * @throws HibernateException Indicates a problem performing the inserts
+	 */
+	public static void executeBatch(List<EntityIdentityInsertAction> actions) throws HibernateException {
+		final boolean[] vetoes = new boolean[actions.size()];
+		final List<EntityIdentityInsertAction> inserts = new ArrayList<EntityIdentityInsertAction>( actions.size() );
+		for ( int i = 0; i < vetoes.length; i++ ) {
+			final EntityIdentityInsertAction action = actions.get( i );
+			action.nullifyTransientReferencesIfNotAlready();
+			vetoes[i] = action.preInsert();
+			if ( !vetoes[i] ) {
+				inserts.add( action );
+			}
+		}
+
+		if ( !inserts.isEmpty() ) {
+			final Object[][] states = new Object[inserts.size()][];
+			final Object[] instances = new Object[inserts.size()];
+			for ( int i = 0; i < states.length; i++ ) {
+				states[i] = inserts.get( i ).getState();
+				instances[i] = inserts.get( i ).getInstance();
+			}
+			final AbstractEntityPersister persister = (AbstractEntityPersister) inserts.get( 0 ).getPersister();
+			final Serializable[] generatedIds = persister.insert( states, instances, inserts.get( 0 ).getSession() );
+			for ( int i = 0; i < generatedIds.length; i++ ) {
+				inserts.get( i ).afterInsert( generatedIds[i] );
+			}
+		}
+
+		for ( int i = 0; i < vetoes.length; i++ ) {
+			actions.get( i ).complete( vetoes[i] );
+		}
+	}
+
+	/**
+	 * Finds whether the state of this insert refers to any of the given entities, directly or through
+	 * a component.
+	 *
+	 * @param entities The entities, keyed by identity
+	 *
+	 * @return {@code true} if the state refers to one of the entities
+	 */
+	public boolean refersToAny(Map<Object, ?> entities) {
+		return refersToAny( getState(), getPersister().getPropertyTypes(), entities );
+	}
+
+	private boolean refersToAny(Object[] values, Type[] types, Map<Object, ?> entities) {
+		for ( int i = 0; i < types.length; i++ ) {
+			final Object value = values[i];
+			if ( value == null ) {
+				continue;
+			}
+			if ( types[i].isEntityType() && entities.containsKey( value ) ) {
+				return true;
+			}
+			if ( types[i].isComponentType() ) {
+				final CompositeType componentType = (CompositeType) types[i];
+				if ( refersToAny( componentType.getPropertyValues( value, getSession() ), componentType.getSubtypes(), entities ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void afterInsert(Serializable id) {
+		final EntityPersister persister = getPersister();
+		final SessionImplementor session = getSession();
+		final Object instance = getInstance();
+
+		generatedId = id;
+		if ( persister.hasInsertGeneratedProperties() ) {
+			persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
+		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier( instance, generatedId, session );
+		session.getPersistenceContext().registerInsertedKey( getPersister(), generatedId );
+		entityKey = session.generateEntityKey( generatedId, persister );
+		session.getPersistenceContext().checkUniqueness( entityKey, getInstance() );
+	}
+
+	private void complete(boolean veto) {
 		postInsert();
 
+		final SessionImplementor session = getSession();
 		if ( session.getFactory().getStatistics().isStatisticsEnabled() && !veto ) {
 			session.getFactory().getStatisticsImplementor().insertEntity( getPersister().getEntityName() );
 		}
@@ -18,6 +18,7 @@ import org.hibernate.NullPrecedence;
 import org.hibernate.SessionFactory;
 import org.hibernate.SessionFactoryObserver;
 import org.hibernate.cache.spi.QueryCacheFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
 import org.hibernate.hql.spi.id.MultiTableBulkIdStrategy;
@@ -427,6 +428,29 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyNamedQueryCheckingOnStartup(boolean enabled);
 
+	/**
+	 * Specifies the number of threads compiling the named queries in parallel on startup.
+	 *
+	 * @param threads The number of threads; {@code 1} compiles them on the thread building the SessionFactory
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_CHECKING_THREADS
+	 */
+	public SessionFactoryBuilder applyNamedQueryCheckingThreads(int threads);
+
+	/**
+	 * Should named queries which are not checked on startup be compiled in the background once the
+	 * SessionFactory is built?
+	 *
+	 * @param enabled {@code true} indicates that they should; {@code false} indicates they should not.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_WARM_UP
+	 */
+	public SessionFactoryBuilder applyNamedQueryWarmUpInBackground(boolean enabled);
+
 	/**
 	 * Should second level caching support be enabled?
 	 *
@@ -462,6 +486,18 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyQueryCacheFactory(QueryCacheFactory factory);
 
+	/**
+	 * Specifies how long the update timestamps read when checking whether cached query results are up-to-date
+	 * are kept in a local near-cache, {@code 0} disabling the near-cache.
+	 *
+	 * @param milliseconds The time to live of the near-cached timestamps, in milliseconds
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_TIMESTAMPS_NEAR_CACHE_TTL
+	 */
+	public SessionFactoryBuilder applyQueryCacheTimestampsNearCacheTtl(long milliseconds);
+
 	/**
 	 * Apply a prefix to prepended to all cache region names for this SessionFactory.
 	 *
@@ -507,6 +543,18 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyStructuredCacheEntries(boolean enabled);
 
+	/**
+	 * Specifies a serializer converting the entity cache entries to a binary form, for second-level cache
+	 * regions which are remote or kept off-heap.
+	 *
+	 * @param serializer The serializer to use, {@code null} to store the entries as-is
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_ENTRY_SERIALIZER
+	 */
+	public SessionFactoryBuilder applyCacheEntrySerializer(CacheEntrySerializer serializer);
+
 	/**
 	 * Generally, Hibernate will extract the information from an entity and put that
 	 * extracted information into the second-level cache.  This is by far the safest way to
@@ -568,6 +616,66 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyJdbcBatchingForVersionedEntities(boolean enabled);
 
+	/**
+	 * This setting controls whether the inserts of entities using IDENTITY columns which are persisted are
+	 * delayed to flush time and executed as JDBC batches.  This setting is {@code false} by default.
+	 *
+	 * @param enabled {@code true} indicates they should be batched; {@code false} indicates they should not.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	public SessionFactoryBuilder applyJdbcBatchingForIdentityInserts(boolean enabled);
+
+	/**
+	 * Specifies the maximum number of collection rows inserted or deleted by one statement.
+	 *
+	 * @param size The number of rows; {@code 0} or {@code 1} for one statement per row
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#COLLECTION_MULTI_ROW_DML_SIZE
+	 */
+	public SessionFactoryBuilder applyCollectionMultiRowDmlSize(int size);
+
+	/**
+	 * Specifies whether the bags apply only the rows added and removed since they were loaded, rather than
+	 * being recreated whenever they change.
+	 *
+	 * @param enabled {@code true} to apply the changes of the bags row by row
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BAG_DELTA_UPDATES
+	 */
+	public SessionFactoryBuilder applyBagDeltaUpdates(boolean enabled);
+
+	/**
+	 * Specifies the number of rows read at once by the extra-lazy lists accessing their elements by index.
+	 *
+	 * @param size The number of rows; {@code 0} to read one row per access
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#EXTRA_LAZY_PAGE_SIZE
+	 */
+	public SessionFactoryBuilder applyExtraLazyPageSize(int size);
+
+	/**
+	 * This setting controls whether the updates of different entities are batched even when interleaved, keeping
+	 * the batches of all the entity updates of a flush open until the updates are done.  Like ordering updates,
+	 * this changes the order in which the updates of different tables are executed.  This setting is
+	 * {@code false} by default.
+	 *
+	 * @param enabled {@code true} indicates that interleaved updates should be batched together
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_INTERLEAVED_UPDATES
+	 */
+	public SessionFactoryBuilder applyJdbcBatchingForInterleavedUpdates(boolean enabled);
+
 	/**
 	 * Should scrollable results be supported in queries?  We ask the JDBC driver whether it
 	 * supports scrollable result sets as the default for this setting, but some drivers do not
@@ -586,7 +694,7 @@ public interface SessionFactoryBuilder {
 	 * Hibernate currently accesses results from the JDBC ResultSet by name.  This is known
 	 * to be VERY slow on some drivers, especially older Oracle drivers.  This setting
 	 * allows Hibernate to wrap the ResultSet of the JDBC driver to manage the name->position
-	 * resolution itself.
+	 * resolution itself.  Disabled by default.
 	 *
 	 * @param enabled {@code true} indicates Hibernate should wrap result sets; {@code false} indicates
 	 * it should not.
@@ -35,6 +35,7 @@ import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.internal.StandardQueryCacheFactory;
 import org.hibernate.cache.spi.QueryCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
@@ -58,10 +59,16 @@ import org.jboss.logging.Logger;
 import static org.hibernate.cfg.AvailableSettings.AUTO_CLOSE_SESSION;
 import static org.hibernate.cfg.AvailableSettings.AUTO_EVICT_COLLECTION_CACHE;
 import static org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER;
+import static org.hibernate.cfg.AvailableSettings.BAG_DELTA_UPDATES;
 import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
+import static org.hibernate.cfg.AvailableSettings.CACHE_ENTRY_SERIALIZER;
+import static org.hibernate.cfg.AvailableSettings.BATCH_INTERLEAVED_UPDATES;
+import static org.hibernate.cfg.AvailableSettings.BATCH_IDENTITY_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
+import static org.hibernate.cfg.AvailableSettings.EXTRA_LAZY_PAGE_SIZE;
 import static org.hibernate.cfg.AvailableSettings.CHECK_NULLABILITY;
+import static org.hibernate.cfg.AvailableSettings.COLLECTION_MULTI_ROW_DML_SIZE;
 import static org.hibernate.cfg.AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY;
 import static org.hibernate.cfg.AvailableSettings.DEFAULT_BATCH_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.DEFAULT_ENTITY_MODE;
@@ -79,7 +86,10 @@ import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
 import static org.hibernate.cfg.AvailableSettings.PREFER_USER_TRANSACTION;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_TIMESTAMPS_NEAR_CACHE_TTL;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
+import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING_THREADS;
+import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_WARM_UP;
 import static org.hibernate.cfg.AvailableSettings.QUERY_SUBSTITUTIONS;
 import static org.hibernate.cfg.AvailableSettings.RELEASE_CONNECTIONS;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME;
@@ -327,6 +337,18 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyNamedQueryCheckingThreads(int threads) {
+		this.options.namedQueryStartupCheckingThreads = threads;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyNamedQueryWarmUpInBackground(boolean enabled) {
+		this.options.namedQueryBackgroundWarmUpEnabled = enabled;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applySecondLevelCacheSupport(boolean enabled) {
 		this.options.secondLevelCacheEnabled = enabled;
@@ -345,6 +367,12 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyQueryCacheTimestampsNearCacheTtl(long milliseconds) {
+		this.options.queryCacheTimestampsNearCacheTtl = milliseconds;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyCacheRegionPrefix(String prefix) {
 		this.options.cacheRegionPrefix = prefix;
@@ -363,6 +391,12 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyCacheEntrySerializer(CacheEntrySerializer serializer) {
+		this.options.cacheEntrySerializer = serializer;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyDirectReferenceCaching(boolean enabled) {
 		this.options.directReferenceCacheEntriesEnabled = enabled;
@@ -387,6 +421,36 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyJdbcBatchingForIdentityInserts(boolean enabled) {
+		this.options.jdbcBatchIdentityInserts = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyCollectionMultiRowDmlSize(int size) {
+		this.options.collectionMultiRowDmlSize = size;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyBagDeltaUpdates(boolean enabled) {
+		this.options.bagDeltaUpdatesEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyExtraLazyPageSize(int size) {
+		this.options.extraLazyPageSize = size;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyJdbcBatchingForInterleavedUpdates(boolean enabled) {
+		this.options.jdbcBatchInterleavedUpdates = enabled;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyScrollableResultsSupport(boolean enabled) {
 		this.options.scrollableResultSetsEnabled = enabled;
@@ -505,14 +569,18 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		private Map querySubstitutions;
 		private boolean strictJpaQueryLanguageCompliance;
 		private boolean namedQueryStartupCheckingEnabled;
+		private int namedQueryStartupCheckingThreads;
+		private boolean namedQueryBackgroundWarmUpEnabled;
 
 		// Caching
 		private boolean secondLevelCacheEnabled;
 		private boolean queryCacheEnabled;
 		private QueryCacheFactory queryCacheFactory;
+		private long queryCacheTimestampsNearCacheTtl;
 		private String cacheRegionPrefix;
 		private boolean minimalPutsEnabled;
 		private boolean structuredCacheEntriesEnabled;
+		private CacheEntrySerializer cacheEntrySerializer;
 		private boolean directReferenceCacheEntriesEnabled;
 		private boolean autoEvictCollectionCache;
 
@@ -523,6 +591,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		private boolean getGeneratedKeysEnabled;
 		private int jdbcBatchSize;
 		private boolean jdbcBatchVersionedData;
+		private boolean jdbcBatchIdentityInserts;
+		private int collectionMultiRowDmlSize;
+		private boolean bagDeltaUpdatesEnabled;
+		private int extraLazyPageSize;
+		private boolean jdbcBatchInterleavedUpdates;
 		private Integer jdbcFetchSize;
 		private boolean scrollableResultSetsEnabled;
 		private boolean commentsEnabled;
@@ -620,6 +693,12 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			this.querySubstitutions = ConfigurationHelper.toMap( QUERY_SUBSTITUTIONS, " ,=;:\n\t\r\f", configurationSettings );
 			this.strictJpaQueryLanguageCompliance = cfgService.getSetting( JPAQL_STRICT_COMPLIANCE, BOOLEAN, false );
 			this.namedQueryStartupCheckingEnabled = cfgService.getSetting( QUERY_STARTUP_CHECKING, BOOLEAN, true );
+			this.namedQueryStartupCheckingThreads = ConfigurationHelper.getInt(
+					QUERY_STARTUP_CHECKING_THREADS,
+					configurationSettings,
+					1
+			);
+			this.namedQueryBackgroundWarmUpEnabled = cfgService.getSetting( QUERY_STARTUP_WARM_UP, BOOLEAN, false );
 
 			this.secondLevelCacheEnabled = cfgService.getSetting( USE_SECOND_LEVEL_CACHE, BOOLEAN, true );
 			this.queryCacheEnabled = cfgService.getSetting( USE_QUERY_CACHE, BOOLEAN, false );
@@ -628,6 +707,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 					configurationSettings.get( QUERY_CACHE_FACTORY ),
 					StandardQueryCacheFactory.INSTANCE
 			);
+			this.queryCacheTimestampsNearCacheTtl = ConfigurationHelper.getLong(
+					QUERY_CACHE_TIMESTAMPS_NEAR_CACHE_TTL,
+					configurationSettings,
+					0
+			);
 			this.cacheRegionPrefix = ConfigurationHelper.extractPropertyValue(
 					CACHE_REGION_PREFIX,
 					configurationSettings
@@ -638,6 +722,10 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 					serviceRegistry.getService( RegionFactory.class ).isMinimalPutsEnabledByDefault()
 			);
 			this.structuredCacheEntriesEnabled = cfgService.getSetting( USE_STRUCTURED_CACHE, BOOLEAN, false );
+			this.cacheEntrySerializer = strategySelector.resolveStrategy(
+					CacheEntrySerializer.class,
+					configurationSettings.get( CACHE_ENTRY_SERIALIZER )
+			);
 			this.directReferenceCacheEntriesEnabled = cfgService.getSetting( USE_DIRECT_REFERENCE_CACHE_ENTRIES,BOOLEAN, false );
 			this.autoEvictCollectionCache = cfgService.getSetting( AUTO_EVICT_COLLECTION_CACHE, BOOLEAN, false );
 
@@ -667,6 +755,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			}
 
 			this.jdbcBatchVersionedData = ConfigurationHelper.getBoolean( BATCH_VERSIONED_DATA, configurationSettings, true );
+			this.jdbcBatchIdentityInserts = ConfigurationHelper.getBoolean( BATCH_IDENTITY_INSERTS, configurationSettings, false );
+			this.collectionMultiRowDmlSize = ConfigurationHelper.getInt( COLLECTION_MULTI_ROW_DML_SIZE, configurationSettings, 0 );
+			this.bagDeltaUpdatesEnabled = ConfigurationHelper.getBoolean( BAG_DELTA_UPDATES, configurationSettings, false );
+			this.extraLazyPageSize = ConfigurationHelper.getInt( EXTRA_LAZY_PAGE_SIZE, configurationSettings, 0 );
+			this.jdbcBatchInterleavedUpdates = ConfigurationHelper.getBoolean( BATCH_INTERLEAVED_UPDATES, configurationSettings, false );
 			this.scrollableResultSetsEnabled = ConfigurationHelper.getBoolean(
 					USE_SCROLLABLE_RESULTSET,
 					configurationSettings,
@@ -853,6 +946,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			return namedQueryStartupCheckingEnabled;
 		}
 
+		@Override
+		public int getNamedQueryStartupCheckingThreads() {
+			return namedQueryStartupCheckingThreads;
+		}
+
+		@Override
+		public boolean isNamedQueryBackgroundWarmUpEnabled() {
+			return namedQueryBackgroundWarmUpEnabled;
+		}
+
 		@Override
 		public boolean isSecondLevelCacheEnabled() {
 			return secondLevelCacheEnabled;
@@ -868,6 +971,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			return queryCacheFactory;
 		}
 
+		@Override
+		public long getQueryCacheTimestampsNearCacheTtl() {
+			return queryCacheTimestampsNearCacheTtl;
+		}
+
 		@Override
 		public String getCacheRegionPrefix() {
 			return cacheRegionPrefix;
@@ -883,6 +991,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			return structuredCacheEntriesEnabled;
 		}
 
+		@Override
+		public CacheEntrySerializer getCacheEntrySerializer() {
+			return cacheEntrySerializer;
+		}
+
 		@Override
 		public boolean isDirectReferenceCacheEntriesEnabled() {
 			return directReferenceCacheEntriesEnabled;
@@ -908,6 +1021,31 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			return jdbcBatchVersionedData;
 		}
 
+		@Override
+		public boolean isJdbcBatchIdentityInserts() {
+			return jdbcBatchIdentityInserts;
+		}
+
+		@Override
+		public int getCollectionMultiRowDmlSize() {
+			return collectionMultiRowDmlSize;
+		}
+
+		@Override
+		public boolean isBagDeltaUpdatesEnabled() {
+			return bagDeltaUpdatesEnabled;
+		}
+
+		@Override
+		public int getExtraLazyPageSize() {
+			return extraLazyPageSize;
+		}
+
+		@Override
+		public boolean isJdbcBatchInterleavedUpdates() {
+			return jdbcBatchInterleavedUpdates;
+		}
+
 		@Override
 		public boolean isScrollableResultSetsEnabled() {
 			return scrollableResultSetsEnabled;
@@ -1119,6 +1257,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return options.isNamedQueryStartupCheckingEnabled();
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckingThreads() {
+		return options.getNamedQueryStartupCheckingThreads();
+	}
+
+	@Override
+	public boolean isNamedQueryBackgroundWarmUpEnabled() {
+		return options.isNamedQueryBackgroundWarmUpEnabled();
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return options.isSecondLevelCacheEnabled();
@@ -1134,6 +1282,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return options.getQueryCacheFactory();
 	}
 
+	@Override
+	public long getQueryCacheTimestampsNearCacheTtl() {
+		return options.getQueryCacheTimestampsNearCacheTtl();
+	}
+
 	@Override
 	public String getCacheRegionPrefix() {
 		return options.getCacheRegionPrefix();
@@ -1149,6 +1302,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return options.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public CacheEntrySerializer getCacheEntrySerializer() {
+		return options.getCacheEntrySerializer();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return options.isDirectReferenceCacheEntriesEnabled();
@@ -1174,6 +1332,31 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return options.isJdbcBatchVersionedData();
 	}
 
+	@Override
+	public boolean isJdbcBatchIdentityInserts() {
+		return options.isJdbcBatchIdentityInserts();
+	}
+
+	@Override
+	public int getCollectionMultiRowDmlSize() {
+		return options.getCollectionMultiRowDmlSize();
+	}
+
+	@Override
+	public boolean isBagDeltaUpdatesEnabled() {
+		return options.isBagDeltaUpdatesEnabled();
+	}
+
+	@Override
+	public int getExtraLazyPageSize() {
+		return options.getExtraLazyPageSize();
+	}
+
+	@Override
+	public boolean isJdbcBatchInterleavedUpdates() {
+		return options.isJdbcBatchInterleavedUpdates();
+	}
+
 	@Override
 	public boolean isScrollableResultSetsEnabled() {
 		return options.isScrollableResultSetsEnabled();
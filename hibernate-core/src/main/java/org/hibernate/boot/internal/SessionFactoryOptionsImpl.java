@@ -21,6 +21,7 @@ import org.hibernate.boot.TempTableDdlTransactionHandling;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.spi.QueryCacheFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
@@ -87,14 +88,18 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 	private final Map querySubstitutions;
 	private final boolean strictJpaQueryLanguageCompliance;
 	private final boolean namedQueryStartupCheckingEnabled;
+	private final int namedQueryStartupCheckingThreads;
+	private final boolean namedQueryBackgroundWarmUpEnabled;
 
 	// Caching
 	private final boolean secondLevelCacheEnabled;
 	private final boolean queryCacheEnabled;
 	private final QueryCacheFactory queryCacheFactory;
+	private final long queryCacheTimestampsNearCacheTtl;
 	private final String cacheRegionPrefix;
 	private final boolean minimalPutsEnabled;
 	private final boolean structuredCacheEntriesEnabled;
+	private final CacheEntrySerializer cacheEntrySerializer;
 	private final boolean directReferenceCacheEntriesEnabled;
 	private final boolean autoEvictCollectionCache;
 
@@ -105,6 +110,11 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 	private final boolean getGeneratedKeysEnabled;
 	private final int jdbcBatchSize;
 	private final boolean jdbcBatchVersionedData;
+	private final boolean jdbcBatchIdentityInserts;
+	private final int collectionMultiRowDmlSize;
+	private final boolean bagDeltaUpdatesEnabled;
+	private final int extraLazyPageSize;
+	private final boolean jdbcBatchInterleavedUpdates;
 	private final Integer jdbcFetchSize;
 	private final boolean scrollableResultSetsEnabled;
 	private final boolean commentsEnabled;
@@ -157,13 +167,17 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		this.querySubstitutions = state.getQuerySubstitutions();
 		this.strictJpaQueryLanguageCompliance = state.isStrictJpaQueryLanguageCompliance();
 		this.namedQueryStartupCheckingEnabled = state.isNamedQueryStartupCheckingEnabled();
+		this.namedQueryStartupCheckingThreads = state.getNamedQueryStartupCheckingThreads();
+		this.namedQueryBackgroundWarmUpEnabled = state.isNamedQueryBackgroundWarmUpEnabled();
 
 		this.secondLevelCacheEnabled = state.isSecondLevelCacheEnabled();
 		this.queryCacheEnabled = state.isQueryCacheEnabled();
 		this.queryCacheFactory = state.getQueryCacheFactory();
+		this.queryCacheTimestampsNearCacheTtl = state.getQueryCacheTimestampsNearCacheTtl();
 		this.cacheRegionPrefix = state.getCacheRegionPrefix();
 		this.minimalPutsEnabled = state.isMinimalPutsEnabled();
 		this.structuredCacheEntriesEnabled = state.isStructuredCacheEntriesEnabled();
+		this.cacheEntrySerializer = state.getCacheEntrySerializer();
 		this.directReferenceCacheEntriesEnabled = state.isDirectReferenceCacheEntriesEnabled();
 		this.autoEvictCollectionCache = state.isAutoEvictCollectionCache();
 
@@ -172,6 +186,11 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		this.getGeneratedKeysEnabled = state.isGetGeneratedKeysEnabled();
 		this.jdbcBatchSize = state.getJdbcBatchSize();
 		this.jdbcBatchVersionedData = state.isJdbcBatchVersionedData();
+		this.jdbcBatchIdentityInserts = state.isJdbcBatchIdentityInserts();
+		this.collectionMultiRowDmlSize = state.getCollectionMultiRowDmlSize();
+		this.bagDeltaUpdatesEnabled = state.isBagDeltaUpdatesEnabled();
+		this.extraLazyPageSize = state.getExtraLazyPageSize();
+		this.jdbcBatchInterleavedUpdates = state.isJdbcBatchInterleavedUpdates();
 		this.jdbcFetchSize = state.getJdbcFetchSize();
 		this.scrollableResultSetsEnabled = state.isScrollableResultSetsEnabled();
 		this.wrapResultSetsEnabled = state.isWrapResultSetsEnabled();
@@ -334,6 +353,16 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckingThreads() {
+		return namedQueryStartupCheckingThreads;
+	}
+
+	@Override
+	public boolean isNamedQueryBackgroundWarmUpEnabled() {
+		return namedQueryBackgroundWarmUpEnabled;
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return secondLevelCacheEnabled;
@@ -349,6 +378,11 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		return queryCacheFactory;
 	}
 
+	@Override
+	public long getQueryCacheTimestampsNearCacheTtl() {
+		return queryCacheTimestampsNearCacheTtl;
+	}
+
 	@Override
 	public String getCacheRegionPrefix() {
 		return cacheRegionPrefix;
@@ -364,6 +398,11 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		return structuredCacheEntriesEnabled;
 	}
 
+	@Override
+	public CacheEntrySerializer getCacheEntrySerializer() {
+		return cacheEntrySerializer;
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
@@ -388,6 +427,31 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		return jdbcBatchVersionedData;
 	}
 
+	@Override
+	public boolean isJdbcBatchIdentityInserts() {
+		return jdbcBatchIdentityInserts;
+	}
+
+	@Override
+	public int getCollectionMultiRowDmlSize() {
+		return collectionMultiRowDmlSize;
+	}
+
+	@Override
+	public boolean isBagDeltaUpdatesEnabled() {
+		return bagDeltaUpdatesEnabled;
+	}
+
+	@Override
+	public int getExtraLazyPageSize() {
+		return extraLazyPageSize;
+	}
+
+	@Override
+	public boolean isJdbcBatchInterleavedUpdates() {
+		return jdbcBatchInterleavedUpdates;
+	}
+
 	@Override
 	public boolean isScrollableResultSetsEnabled() {
 		return scrollableResultSetsEnabled;
@@ -20,6 +20,7 @@ import org.hibernate.boot.SchemaAutoTooling;
 import org.hibernate.boot.TempTableDdlTransactionHandling;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.cache.spi.QueryCacheFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
@@ -97,18 +98,26 @@ public interface SessionFactoryOptionsState {
 
 	public boolean isNamedQueryStartupCheckingEnabled();
 
+	public int getNamedQueryStartupCheckingThreads();
+
+	public boolean isNamedQueryBackgroundWarmUpEnabled();
+
 	public boolean isSecondLevelCacheEnabled();
 
 	public boolean isQueryCacheEnabled();
 
 	public QueryCacheFactory getQueryCacheFactory();
 
+	public long getQueryCacheTimestampsNearCacheTtl();
+
 	public String getCacheRegionPrefix();
 
 	public boolean isMinimalPutsEnabled();
 
 	public boolean isStructuredCacheEntriesEnabled();
 
+	public CacheEntrySerializer getCacheEntrySerializer();
+
 	public boolean isDirectReferenceCacheEntriesEnabled();
 
 	public boolean isAutoEvictCollectionCache();
@@ -119,6 +128,16 @@ public interface SessionFactoryOptionsState {
 
 	public boolean isJdbcBatchVersionedData();
 
+	public boolean isJdbcBatchIdentityInserts();
+
+	public int getCollectionMultiRowDmlSize();
+
+	public boolean isBagDeltaUpdatesEnabled();
+
+	public int getExtraLazyPageSize();
+
+	public boolean isJdbcBatchInterleavedUpdates();
+
 	public boolean isScrollableResultSetsEnabled();
 
 	public boolean isWrapResultSetsEnabled();
@@ -20,6 +20,8 @@ import org.hibernate.boot.registry.selector.StrategyRegistration;
 import org.hibernate.boot.registry.selector.StrategyRegistrationProvider;
 import org.hibernate.boot.registry.selector.spi.StrategySelectionException;
 import org.hibernate.boot.registry.selector.spi.StrategySelector;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
+import org.hibernate.cache.spi.entry.CompactCacheEntrySerializer;
 import org.hibernate.dialect.CUBRIDDialect;
 import org.hibernate.dialect.Cache71Dialect;
 import org.hibernate.dialect.DB2390Dialect;
@@ -157,6 +159,7 @@ public class StrategySelectorBuilder {
 		addMultiTableBulkIdStrategies( strategySelector );
 		addEntityCopyObserverStrategies( strategySelector );
 		addImplicitNamingStrategies( strategySelector );
+		addCacheEntrySerializers( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -419,4 +422,12 @@ public class StrategySelectorBuilder {
 				ImplicitNamingStrategyComponentPathImpl.class
 		);
 	}
+
+	private void addCacheEntrySerializers(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				CacheEntrySerializer.class,
+				CompactCacheEntrySerializer.SHORT_NAME,
+				CompactCacheEntrySerializer.class
+		);
+	}
 }
@@ -19,6 +19,7 @@ import org.hibernate.SessionFactoryObserver;
 import org.hibernate.boot.SessionFactoryBuilder;
 import org.hibernate.boot.TempTableDdlTransactionHandling;
 import org.hibernate.cache.spi.QueryCacheFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
 import org.hibernate.hql.spi.id.MultiTableBulkIdStrategy;
@@ -258,6 +259,18 @@ public abstract class AbstractDelegatingSessionFactoryBuilder<T extends Abstract
 		return getThis();
 	}
 
+	@Override
+	public T applyNamedQueryCheckingThreads(int threads) {
+		delegate.applyNamedQueryCheckingThreads( threads );
+		return getThis();
+	}
+
+	@Override
+	public T applyNamedQueryWarmUpInBackground(boolean enabled) {
+		delegate.applyNamedQueryWarmUpInBackground( enabled );
+		return getThis();
+	}
+
 	@Override
 	public T applySecondLevelCacheSupport(boolean enabled) {
 		delegate.applySecondLevelCacheSupport( enabled );
@@ -276,6 +289,12 @@ public abstract class AbstractDelegatingSessionFactoryBuilder<T extends Abstract
 		return getThis();
 	}
 
+	@Override
+	public T applyQueryCacheTimestampsNearCacheTtl(long milliseconds) {
+		delegate.applyQueryCacheTimestampsNearCacheTtl( milliseconds );
+		return getThis();
+	}
+
 	@Override
 	public T applyCacheRegionPrefix(String prefix) {
 		delegate.applyCacheRegionPrefix( prefix );
@@ -294,6 +313,12 @@ public abstract class AbstractDelegatingSessionFactoryBuilder<T extends Abstract
 		return getThis();
 	}
 
+	@Override
+	public T applyCacheEntrySerializer(CacheEntrySerializer serializer) {
+		delegate.applyCacheEntrySerializer( serializer );
+		return getThis();
+	}
+
 	@Override
 	public T applyDirectReferenceCaching(boolean enabled) {
 		delegate.applyDirectReferenceCaching( enabled );
@@ -318,6 +343,36 @@ public abstract class AbstractDelegatingSessionFactoryBuilder<T extends Abstract
 		return getThis();
 	}
 
+	@Override
+	public T applyJdbcBatchingForIdentityInserts(boolean enabled) {
+		delegate.applyJdbcBatchingForIdentityInserts( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyCollectionMultiRowDmlSize(int size) {
+		delegate.applyCollectionMultiRowDmlSize( size );
+		return getThis();
+	}
+
+	@Override
+	public T applyBagDeltaUpdates(boolean enabled) {
+		delegate.applyBagDeltaUpdates( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyExtraLazyPageSize(int size) {
+		delegate.applyExtraLazyPageSize( size );
+		return getThis();
+	}
+
+	@Override
+	public T applyJdbcBatchingForInterleavedUpdates(boolean enabled) {
+		delegate.applyJdbcBatchingForInterleavedUpdates( enabled );
+		return getThis();
+	}
+
 	@Override
 	public T applyScrollableResultsSupport(boolean enabled) {
 		delegate.applyScrollableResultsSupport( enabled );
@@ -20,6 +20,7 @@ import org.hibernate.boot.SchemaAutoTooling;
 import org.hibernate.boot.TempTableDdlTransactionHandling;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.cache.spi.QueryCacheFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
@@ -196,6 +197,16 @@ public abstract class AbstractDelegatingSessionFactoryOptions implements Session
 		return delegate.isNamedQueryStartupCheckingEnabled();
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckingThreads() {
+		return delegate.getNamedQueryStartupCheckingThreads();
+	}
+
+	@Override
+	public boolean isNamedQueryBackgroundWarmUpEnabled() {
+		return delegate.isNamedQueryBackgroundWarmUpEnabled();
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return delegate.isSecondLevelCacheEnabled();
@@ -211,6 +222,11 @@ public abstract class AbstractDelegatingSessionFactoryOptions implements Session
 		return delegate.getQueryCacheFactory();
 	}
 
+	@Override
+	public long getQueryCacheTimestampsNearCacheTtl() {
+		return delegate.getQueryCacheTimestampsNearCacheTtl();
+	}
+
 	@Override
 	public String getCacheRegionPrefix() {
 		return delegate.getCacheRegionPrefix();
@@ -226,6 +242,11 @@ public abstract class AbstractDelegatingSessionFactoryOptions implements Session
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public CacheEntrySerializer getCacheEntrySerializer() {
+		return delegate.getCacheEntrySerializer();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -251,6 +272,31 @@ public abstract class AbstractDelegatingSessionFactoryOptions implements Session
 		return delegate.isJdbcBatchVersionedData();
 	}
 
+	@Override
+	public boolean isJdbcBatchIdentityInserts() {
+		return delegate.isJdbcBatchIdentityInserts();
+	}
+
+	@Override
+	public int getCollectionMultiRowDmlSize() {
+		return delegate.getCollectionMultiRowDmlSize();
+	}
+
+	@Override
+	public boolean isBagDeltaUpdatesEnabled() {
+		return delegate.isBagDeltaUpdatesEnabled();
+	}
+
+	@Override
+	public int getExtraLazyPageSize() {
+		return delegate.getExtraLazyPageSize();
+	}
+
+	@Override
+	public boolean isJdbcBatchInterleavedUpdates() {
+		return delegate.isJdbcBatchInterleavedUpdates();
+	}
+
 	@Override
 	public boolean isScrollableResultSetsEnabled() {
 		return delegate.isScrollableResultSetsEnabled();
@@ -8,7 +8,10 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import javax.persistence.EntityNotFoundException;
@@ -22,8 +25,16 @@ import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.spi.BatchFetchQueue;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -182,37 +193,124 @@ public class StandardQueryCache implements QueryCache {
 			}
 		}
 
-		final List result = new ArrayList( cacheable.size() - 1 );
-		for ( int i = 1; i < cacheable.size(); i++ ) {
-			try {
-				if ( singleResult ) {
-					result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
+		prefetchEntityCacheEntries( returnTypes, cacheable, session );
+		try {
+			final List<Object> result = new ArrayList<Object>( cacheable.size() - 1 );
+			for ( int i = 1; i < cacheable.size(); i++ ) {
+				try {
+					if ( singleResult ) {
+						result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
+					}
+					else {
+						result.add(
+								TypeHelper.assemble( (Serializable[]) cacheable.get( i ), returnTypes, session, null )
+						);
+					}
+					logCachedResultRowDetails( returnTypes, result.get( i - 1 ) );
 				}
-				else {
-					result.add(
-							TypeHelper.assemble( (Serializable[]) cacheable.get( i ), returnTypes, session, null )
-					);
+				catch ( RuntimeException ex ) {
+					if ( isNaturalKeyLookup ) {
+						// potentially perform special handling for natural-id look ups.
+						if ( UnresolvableObjectException.class.isInstance( ex )
+								|| EntityNotFoundException.class.isInstance( ex ) ) {
+							if ( DEBUGGING ) {
+								LOG.debug( "Unable to reassemble cached natural-id query result" );
+							}
+							cacheRegion.evict( key );
+
+							// EARLY EXIT !!!!!
+							return null;
+						}
+					}
+					throw ex;
 				}
-				logCachedResultRowDetails( returnTypes, result.get( i - 1 ) );
 			}
-			catch ( RuntimeException ex ) {
-				if ( isNaturalKeyLookup ) {
-					// potentially perform special handling for natural-id look ups.
-					if ( UnresolvableObjectException.class.isInstance( ex )
-							|| EntityNotFoundException.class.isInstance( ex ) ) {
-						if ( DEBUGGING ) {
-							LOG.debug( "Unable to reassemble cached natural-id query result" );
-						}
-						cacheRegion.evict( key );
+			return result;
+		}
+		finally {
+			session.getPersistenceContext().getBatchFetchQueue().clearPrefetchedCacheEntries();
+		}
+	}
 
-						// EARLY EXIT !!!!!
-						return null;
-					}
+	/**
+	 * Reads the second-level cache entries of all the entities referenced by the cached results at once, rather
+	 * than one by one while assembling the results.  The entities which are not found in the cache are then
+	 * known to be missing, and get batch loaded from the database by the persisters supporting batch fetching.
+	 */
+	private static void prefetchEntityCacheEntries(
+			final Type[] returnTypes,
+			final List<Object> cacheable,
+			final SessionImplementor session) {
+		if ( !session.getCacheMode().isGetEnabled() ) {
+			return;
+		}
+		final SessionFactoryImplementor factory = session.getFactory();
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		final boolean singleResult = returnTypes.length == 1;
+		Map<EntityPersister, Set<EntityKey>> entityKeysByPersister = null;
+		for ( int j = 0; j < returnTypes.length; j++ ) {
+			if ( !returnTypes[j].isEntityType() || !( (EntityType) returnTypes[j] ).isReferenceToPrimaryKey() ) {
+				continue;
+			}
+			final EntityPersister persister = factory.getEntityPersister(
+					( (EntityType) returnTypes[j] ).getAssociatedEntityName()
+			);
+			if ( !persister.hasCache() ) {
+				continue;
+			}
+			if ( entityKeysByPersister == null ) {
+				entityKeysByPersister = new HashMap<EntityPersister, Set<EntityKey>>();
+			}
+			Set<EntityKey> entityKeys = entityKeysByPersister.get( persister );
+			if ( entityKeys == null ) {
+				entityKeys = new LinkedHashSet<EntityKey>();
+				entityKeysByPersister.put( persister, entityKeys );
+			}
+			for ( int i = 1; i < cacheable.size(); i++ ) {
+				final Serializable disassembledId = singleResult
+						? (Serializable) cacheable.get( i )
+						: ( (Serializable[]) cacheable.get( i ) )[j];
+				if ( disassembledId == null ) {
+					continue;
+				}
+				final Serializable id = (Serializable) persister.getIdentifierType().assemble(
+						disassembledId,
+						session,
+						null
+				);
+				final EntityKey entityKey = session.generateEntityKey( id, persister );
+				if ( !persistenceContext.containsEntity( entityKey ) ) {
+					entityKeys.add( entityKey );
 				}
-				throw ex;
 			}
 		}
-		return result;
+		if ( entityKeysByPersister == null ) {
+			return;
+		}
+
+		final BatchFetchQueue batchFetchQueue = persistenceContext.getBatchFetchQueue();
+		for ( Map.Entry<EntityPersister, Set<EntityKey>> entry : entityKeysByPersister.entrySet() ) {
+			final EntityPersister persister = entry.getKey();
+			final EntityKey[] entityKeys = entry.getValue().toArray( new EntityKey[entry.getValue().size()] );
+			if ( entityKeys.length < 2 ) {
+				// nothing to gain
+				continue;
+			}
+			final EntityRegionAccessStrategy cacheAccess = persister.getCacheAccessStrategy();
+			final Object[] cacheKeys = new Object[entityKeys.length];
+			for ( int i = 0; i < entityKeys.length; i++ ) {
+				cacheKeys[i] = cacheAccess.generateCacheKey(
+						entityKeys[i].getIdentifier(),
+						persister,
+						factory,
+						session.getTenantIdentifier()
+				);
+			}
+			final Serializable[] cacheEntries = CacheHelper.fromSharedCache( session, cacheKeys, cacheAccess );
+			for ( int i = 0; i < entityKeys.length; i++ ) {
+				batchFetchQueue.addPrefetchedCacheEntry( entityKeys[i], cacheEntries[i] );
+			}
+		}
 	}
 
 	private List getCachedResults(QueryKey key, SessionImplementor session) {
@@ -0,0 +1,27 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Optional contract for general-purpose cache regions able to read several items at once, typically in a single
+ * round-trip to a remote cache.  Hibernate {@link #get} each item in turn from the regions not implementing it.
+ */
+public interface BulkGeneralDataRegion extends GeneralDataRegion {
+
+	/**
+	 * Get several items from the cache at once.
+	 *
+	 * @param session
+	 * @param keys The keys of the items to be retrieved.
+	 * @return the cached objects, in the order of the keys, with <tt>null</tt> for the keys not found
+	 * @throws org.hibernate.cache.CacheException Indicates a problem accessing the items or region.
+	 */
+	public Object[] getAll(SessionImplementor session, Object[] keys) throws CacheException;
+}
@@ -9,6 +9,10 @@ package org.hibernate.cache.spi;
 import java.io.Serializable;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.CacheException;
@@ -24,6 +28,11 @@ import org.jboss.logging.Logger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * The timestamps of all the spaces of a query are read from the region at once, when it is a
+ * {@link BulkGeneralDataRegion}.  They may also be kept in
+ * a near-cache local to the SessionFactory for a configurable delay, see
+ * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_TIMESTAMPS_NEAR_CACHE_TTL}.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -40,6 +49,9 @@ public class UpdateTimestampsCache {
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
 
+	private final long nearCacheTtl;
+	private final ConcurrentMap<Serializable, NearCachedSpace> nearCache;
+
 	/**
 	 * Constructs an UpdateTimestampsCache.
 	 *
@@ -55,6 +67,9 @@ public class UpdateTimestampsCache {
 		LOG.startingUpdateTimestampsCache( regionName );
 
 		this.region = settings.getServiceRegistry().getService( RegionFactory.class ).buildTimestampsRegion( regionName, props );
+
+		this.nearCacheTtl = TimeUnit.MILLISECONDS.toNanos( settings.getQueryCacheTimestampsNearCacheTtl() );
+		this.nearCache = nearCacheTtl > 0 ? new ConcurrentHashMap<Serializable, NearCachedSpace>() : null;
 	}
 
 	/**
@@ -97,6 +112,7 @@ public class UpdateTimestampsCache {
 			finally {
 				session.getEventListenerManager().cachePutEnd();
 			}
+			invalidateNearCache( space );
 
 			if ( stats ) {
 				factory.getStatisticsImplementor().updateTimestampsCachePut();
@@ -133,6 +149,7 @@ public class UpdateTimestampsCache {
 			finally {
 				session.getEventListenerManager().cachePutEnd();
 			}
+			invalidateNearCache( space );
 
 			if ( stats ) {
 				factory.getStatisticsImplementor().updateTimestampsCachePut();
@@ -155,8 +172,10 @@ public class UpdateTimestampsCache {
 	public boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SessionImplementor session) throws CacheException {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
-		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
+		final Serializable[] spacesToCheck = spaces.toArray( new Serializable[spaces.size()] );
+		final Long[] lastUpdates = getLastUpdateTimestampsForSpaces( spacesToCheck, session );
+		for ( int i = 0; i < spacesToCheck.length; i++ ) {
+			final Long lastUpdate = lastUpdates[i];
 			if ( lastUpdate == null ) {
 				if ( stats ) {
 					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
@@ -170,7 +189,7 @@ public class UpdateTimestampsCache {
 				if ( DEBUG_ENABLED ) {
 					LOG.debugf(
 							"[%s] last update timestamp: %s",
-							space,
+							spacesToCheck[i],
 							lastUpdate + ", result set timestamp: " + timestamp
 					);
 				}
@@ -185,16 +204,105 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
-	private Long getLastUpdateTimestampForSpace(Serializable space, SessionImplementor session) {
-		Long ts = null;
+	private Long[] getLastUpdateTimestampsForSpaces(Serializable[] spaces, SessionImplementor session) {
+		final Long[] timestamps = new Long[spaces.length];
+		final long now = nearCache == null ? 0 : System.nanoTime();
+
+		// look the spaces up in the near-cache first, and note the generation of those which are not, so that a
+		// timestamp read from the region while the space gets invalidated is not near-cached
+		NearCachedSpace[] missingNearCachedSpaces = null;
+		long[] missingGenerations = null;
+		final int[] missingIndexes = new int[spaces.length];
+		int missingCount = 0;
+		for ( int i = 0; i < spaces.length; i++ ) {
+			if ( nearCache != null ) {
+				final NearCachedSpace nearCachedSpace = getNearCachedSpace( spaces[i] );
+				final long generation = nearCachedSpace.generation.get();
+				final NearCachedTimestamp nearCachedTimestamp = nearCachedSpace.timestamp;
+				if ( nearCachedTimestamp != null
+						&& nearCachedTimestamp.generation == generation
+						&& nearCachedTimestamp.expiry - now > 0 ) {
+					timestamps[i] = nearCachedTimestamp.value;
+					continue;
+				}
+				if ( missingNearCachedSpaces == null ) {
+					missingNearCachedSpaces = new NearCachedSpace[spaces.length];
+					missingGenerations = new long[spaces.length];
+				}
+				missingNearCachedSpaces[missingCount] = nearCachedSpace;
+				missingGenerations[missingCount] = generation;
+			}
+			missingIndexes[missingCount++] = i;
+		}
+		if ( missingCount == 0 ) {
+			return timestamps;
+		}
+
+		final Object[] missingSpaces = new Object[missingCount];
+		for ( int i = 0; i < missingCount; i++ ) {
+			missingSpaces[i] = spaces[missingIndexes[i]];
+		}
+		Object[] lastUpdates = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			ts = (Long) region.get( session, space );
+			lastUpdates = getAll( missingSpaces, session );
 		}
 		finally {
-			session.getEventListenerManager().cacheGetEnd( ts != null );
+			session.getEventListenerManager().cacheGetEnd( lastUpdates != null && isFullyFound( lastUpdates ) );
+		}
+
+		final long expiry = now + nearCacheTtl;
+		for ( int i = 0; i < missingCount; i++ ) {
+			timestamps[missingIndexes[i]] = (Long) lastUpdates[i];
+			if ( missingNearCachedSpaces != null ) {
+				missingNearCachedSpaces[i].timestamp = new NearCachedTimestamp(
+						(Long) lastUpdates[i],
+						missingGenerations[i],
+						expiry
+				);
+			}
+		}
+		return timestamps;
+	}
+
+	private Object[] getAll(Object[] spaces, SessionImplementor session) {
+		if ( region instanceof BulkGeneralDataRegion ) {
+			return ( (BulkGeneralDataRegion) region ).getAll( session, spaces );
+		}
+		final Object[] lastUpdates = new Object[spaces.length];
+		for ( int i = 0; i < spaces.length; i++ ) {
+			lastUpdates[i] = region.get( session, spaces[i] );
+		}
+		return lastUpdates;
+	}
+
+	private static boolean isFullyFound(Object[] values) {
+		for ( Object value : values ) {
+			if ( value == null ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private NearCachedSpace getNearCachedSpace(Serializable space) {
+		// the spaces are tables, there is no need to ever evict them
+		NearCachedSpace nearCachedSpace = nearCache.get( space );
+		if ( nearCachedSpace == null ) {
+			nearCachedSpace = new NearCachedSpace();
+			final NearCachedSpace previous = nearCache.putIfAbsent( space, nearCachedSpace );
+			if ( previous != null ) {
+				nearCachedSpace = previous;
+			}
+		}
+		return nearCachedSpace;
+	}
+
+	private void invalidateNearCache(Serializable space) {
+		// called once the new timestamp was put into the region: whatever was read before is now outdated
+		if ( nearCache != null ) {
+			getNearCachedSpace( space ).generation.incrementAndGet();
 		}
-		return ts;
 	}
 
 	/**
@@ -204,6 +312,11 @@ public class UpdateTimestampsCache {
 	 */
 	public void clear() throws CacheException {
 		region.evictAll();
+		if ( nearCache != null ) {
+			for ( NearCachedSpace nearCachedSpace : nearCache.values() ) {
+				nearCachedSpace.generation.incrementAndGet();
+			}
+		}
 	}
 
 	/**
@@ -234,4 +347,28 @@ public class UpdateTimestampsCache {
 		return "UpdateTimestampsCache";
 	}
 
+	/**
+	 * The near-cache state of a space.
+	 */
+	private static final class NearCachedSpace {
+		private final AtomicLong generation = new AtomicLong();
+		private volatile NearCachedTimestamp timestamp;
+	}
+
+	/**
+	 * A timestamp read from the region, valid as long as the space was not invalidated since it was read, and at
+	 * most until its expiry.
+	 */
+	private static final class NearCachedTimestamp {
+		private final Long value;
+		private final long generation;
+		private final long expiry;
+
+		private NearCachedTimestamp(Long value, long generation, long expiry) {
+			this.value = value;
+			this.generation = generation;
+			this.expiry = expiry;
+		}
+	}
+
 }
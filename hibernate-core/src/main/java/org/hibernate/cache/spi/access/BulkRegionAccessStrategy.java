@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.access;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Optional contract for access strategies able to read and cache several objects at once, typically in as few
+ * round-trips to a remote cache as possible.  With the strategies not implementing it, Hibernate
+ * {@link #get} and {@link #putFromLoad} each object in turn.
+ */
+public interface BulkRegionAccessStrategy extends RegionAccessStrategy {
+
+	/**
+	 * Attempt to retrieve several objects from the cache at once. Mainly used in attempting
+	 * to resolve batches of entities/collections from the second level cache.
+	 *
+	 * @param session Current session.
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects, in the order of the keys, <tt>null</tt> for those not found
+	 * @throws org.hibernate.cache.CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see #get
+	 */
+	Object[] getAll(SessionImplementor session, Object[] keys, long txTimestamp) throws CacheException;
+
+	/**
+	 * Attempt to cache several objects at once, after loading them from the database,
+	 * explicitly specifying the minimalPut behavior.
+	 *
+	 * @param session Current session.
+	 * @param keys The item keys
+	 * @param values The items, in the order of the keys
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param versions the item version numbers, in the order of the keys
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 * @return for each item, <tt>true</tt> if it was successfully cached
+	 * @throws org.hibernate.cache.CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see #putFromLoad(SessionImplementor, Object, Object, long, Object, boolean)
+	 */
+	boolean[] putAllFromLoad(
+			SessionImplementor session,
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException;
+}
@@ -0,0 +1,43 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Contract for converting entity cache entries to and from a binary form, which is then what gets stored into the
+ * second-level cache.  Mainly of interest for cache regions which are remote, replicated or kept off-heap, whose
+ * providers otherwise rely on Java serialization of the disassembled state.
+ * <p/>
+ * Implementations must be thread-safe, and the binary form they produce must be readable by all the nodes sharing
+ * the cache region, provided they share the same mappings.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#CACHE_ENTRY_SERIALIZER
+ * @see CompactCacheEntrySerializer
+ */
+public interface CacheEntrySerializer {
+	/**
+	 * Convert the cache entry into its binary form.
+	 *
+	 * @param entry The entry to convert
+	 * @param persister The persister of the entity the entry was built for
+	 *
+	 * @return The binary form
+	 */
+	public byte[] serialize(CacheEntry entry, EntityPersister persister);
+
+	/**
+	 * Convert the binary form previously produced by {@link #serialize} back into a cache entry.
+	 *
+	 * @param data The binary form
+	 * @param factory The session factory
+	 *
+	 * @return The cache entry
+	 */
+	public CacheEntry deserialize(byte[] data, SessionFactoryImplementor factory);
+}
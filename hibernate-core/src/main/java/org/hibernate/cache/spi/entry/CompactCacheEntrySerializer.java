@@ -0,0 +1,486 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+
+/**
+ * The built-in {@link CacheEntrySerializer}, producing a compact binary form of the disassembled state.
+ * <p/>
+ * The layout of an entry is driven by the property types of the entity persister:
+ * <ul>
+ *     <li>a header holding the format version and the entry flags,</li>
+ *     <li>the entity name, encoded as its index in the sorted list of the entity names of the SessionFactory,</li>
+ *     <li>a bitmap of the null properties, one bit per property type,</li>
+ *     <li>the non null property values, then the version, if any.</li>
+ * </ul>
+ * Each value is prefixed by a one byte tag.  Integral numbers are written as zig-zag encoded variable length
+ * integers, strings in UTF-8, and dates as their time; the disassembled state of components is written
+ * recursively.  The values of any other type fall back to Java serialization.
+ */
+public class CompactCacheEntrySerializer implements CacheEntrySerializer {
+	/**
+	 * The short name of this serializer, usable as value of
+	 * {@link org.hibernate.cfg.AvailableSettings#CACHE_ENTRY_SERIALIZER}
+	 */
+	public static final String SHORT_NAME = "compact";
+
+	private static final byte FORMAT_VERSION = 1;
+
+	private static final int LAZY_PROPERTIES_UNFETCHED = 1;
+	private static final int VERSIONED = 2;
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INTEGER = 2;
+	private static final byte LONG = 3;
+	private static final byte SHORT = 4;
+	private static final byte BYTE = 5;
+	private static final byte TRUE = 6;
+	private static final byte FALSE = 7;
+	private static final byte CHARACTER = 8;
+	private static final byte FLOAT = 9;
+	private static final byte DOUBLE = 10;
+	private static final byte BIG_DECIMAL = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte DATE = 13;
+	private static final byte TIMESTAMP = 14;
+	private static final byte SQL_DATE = 15;
+	private static final byte TIME = 16;
+	private static final byte BYTES = 17;
+	private static final byte ARRAY = 18;
+	private static final byte UNFETCHED = 19;
+	private static final byte UNKNOWN = 20;
+	private static final byte SERIALIZED = 21;
+
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+	private volatile EntityNameDictionary dictionary;
+
+	@Override
+	public byte[] serialize(CacheEntry entry, EntityPersister persister) {
+		final SessionFactoryImplementor factory = persister.getFactory();
+		final String subclass = entry.getSubclass();
+		final Serializable[] state = entry.getDisassembledState();
+		final int propertyCount = subclassPersister( persister, subclass ).getPropertyTypes().length;
+		if ( state.length != propertyCount ) {
+			throw new CacheException(
+					"Disassembled state of " + subclass + " holds " + state.length
+							+ " values, expecting " + propertyCount
+			);
+		}
+
+		final Output out = new Output( 16 + propertyCount * 4 );
+		out.writeByte( FORMAT_VERSION );
+		int flags = entry.areLazyPropertiesUnfetched() ? LAZY_PROPERTIES_UNFETCHED : 0;
+		if ( entry.getVersion() != null ) {
+			flags |= VERSIONED;
+		}
+		out.writeByte( flags );
+
+		final Integer index = dictionary( factory ).indexes.get( subclass );
+		if ( index == null ) {
+			out.writeVarLong( 0 );
+			out.writeString( subclass );
+		}
+		else {
+			out.writeVarLong( index + 1 );
+		}
+
+		for ( int i = 0; i < propertyCount; i += 8 ) {
+			int nulls = 0;
+			for ( int j = i; j < i + 8 && j < propertyCount; j++ ) {
+				if ( state[j] == null ) {
+					nulls |= 1 << ( j - i );
+				}
+			}
+			out.writeByte( nulls );
+		}
+		for ( Serializable value : state ) {
+			if ( value != null ) {
+				writeValue( out, value );
+			}
+		}
+		if ( entry.getVersion() != null ) {
+			writeValue( out, entry.getVersion() );
+		}
+		return out.toByteArray();
+	}
+
+	@Override
+	public CacheEntry deserialize(byte[] data, SessionFactoryImplementor factory) {
+		final Input in = new Input( data );
+		final int formatVersion = in.readByte();
+		if ( formatVersion != FORMAT_VERSION ) {
+			throw new CacheException( "Unsupported cache entry format version : " + formatVersion );
+		}
+		final int flags = in.readByte();
+
+		final String subclass;
+		final long index = in.readVarLong();
+		if ( index == 0 ) {
+			subclass = in.readString();
+		}
+		else {
+			final String[] names = dictionary( factory ).names;
+			if ( index > names.length ) {
+				throw new CacheException( "Unknown entity name index in cache entry : " + index );
+			}
+			subclass = names[(int) index - 1];
+		}
+
+		final int propertyCount = factory.getEntityPersister( subclass ).getPropertyTypes().length;
+		final byte[] nulls = new byte[( propertyCount + 7 ) / 8];
+		for ( int i = 0; i < nulls.length; i++ ) {
+			nulls[i] = (byte) in.readByte();
+		}
+		final Serializable[] state = new Serializable[propertyCount];
+		for ( int i = 0; i < propertyCount; i++ ) {
+			if ( ( nulls[i >> 3] & ( 1 << ( i & 7 ) ) ) == 0 ) {
+				state[i] = readValue( in );
+			}
+		}
+		final Object version = ( flags & VERSIONED ) != 0 ? readValue( in ) : null;
+		return new StandardCacheEntryImpl( state, subclass, ( flags & LAZY_PROPERTIES_UNFETCHED ) != 0, version );
+	}
+
+	private static EntityPersister subclassPersister(EntityPersister persister, String subclass) {
+		return persister.getEntityName().equals( subclass )
+				? persister
+				: persister.getFactory().getEntityPersister( subclass );
+	}
+
+	private EntityNameDictionary dictionary(SessionFactoryImplementor factory) {
+		EntityNameDictionary dictionary = this.dictionary;
+		if ( dictionary == null || dictionary.factory != factory ) {
+			dictionary = new EntityNameDictionary( factory );
+			this.dictionary = dictionary;
+		}
+		return dictionary;
+	}
+
+	private static void writeValue(Output out, Object value) {
+		if ( value == null ) {
+			out.writeByte( NULL );
+			return;
+		}
+
+		// exact classes only: a subclass has to go through serialization to be read back as such
+		final Class<?> valueClass = value.getClass();
+		if ( valueClass == String.class ) {
+			out.writeByte( STRING );
+			out.writeString( (String) value );
+		}
+		else if ( valueClass == Integer.class ) {
+			out.writeByte( INTEGER );
+			out.writeZigZagLong( (Integer) value );
+		}
+		else if ( valueClass == Long.class ) {
+			out.writeByte( LONG );
+			out.writeZigZagLong( (Long) value );
+		}
+		else if ( valueClass == Short.class ) {
+			out.writeByte( SHORT );
+			out.writeZigZagLong( (Short) value );
+		}
+		else if ( valueClass == Byte.class ) {
+			out.writeByte( BYTE );
+			out.writeByte( (Byte) value );
+		}
+		else if ( valueClass == Boolean.class ) {
+			out.writeByte( (Boolean) value ? TRUE : FALSE );
+		}
+		else if ( valueClass == Character.class ) {
+			out.writeByte( CHARACTER );
+			out.writeVarLong( (Character) value );
+		}
+		else if ( valueClass == Float.class ) {
+			out.writeByte( FLOAT );
+			out.writeFixedInt( Float.floatToIntBits( (Float) value ) );
+		}
+		else if ( valueClass == Double.class ) {
+			out.writeByte( DOUBLE );
+			out.writeFixedLong( Double.doubleToLongBits( (Double) value ) );
+		}
+		else if ( valueClass == BigDecimal.class ) {
+			out.writeByte( BIG_DECIMAL );
+			out.writeZigZagLong( ( (BigDecimal) value ).scale() );
+			out.writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray() );
+		}
+		else if ( valueClass == BigInteger.class ) {
+			out.writeByte( BIG_INTEGER );
+			out.writeBytes( ( (BigInteger) value ).toByteArray() );
+		}
+		else if ( valueClass == Date.class ) {
+			out.writeByte( DATE );
+			out.writeZigZagLong( ( (Date) value ).getTime() );
+		}
+		else if ( valueClass == Timestamp.class ) {
+			out.writeByte( TIMESTAMP );
+			out.writeZigZagLong( ( (Timestamp) value ).getTime() );
+			out.writeVarLong( ( (Timestamp) value ).getNanos() );
+		}
+		else if ( valueClass == java.sql.Date.class ) {
+			out.writeByte( SQL_DATE );
+			out.writeZigZagLong( ( (Date) value ).getTime() );
+		}
+		else if ( valueClass == Time.class ) {
+			out.writeByte( TIME );
+			out.writeZigZagLong( ( (Date) value ).getTime() );
+		}
+		else if ( valueClass == byte[].class ) {
+			out.writeByte( BYTES );
+			out.writeBytes( (byte[]) value );
+		}
+		else if ( valueClass == Object[].class ) {
+			// the disassembled state of a component
+			final Object[] values = (Object[]) value;
+			out.writeByte( ARRAY );
+			out.writeVarLong( values.length );
+			for ( Object element : values ) {
+				writeValue( out, element );
+			}
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			out.writeByte( UNFETCHED );
+		}
+		else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			out.writeByte( UNKNOWN );
+		}
+		else {
+			out.writeByte( SERIALIZED );
+			out.writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+		}
+	}
+
+	private static Serializable readValue(Input in) {
+		final int tag = in.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case STRING:
+				return in.readString();
+			case INTEGER:
+				return (int) in.readZigZagLong();
+			case LONG:
+				return in.readZigZagLong();
+			case SHORT:
+				return (short) in.readZigZagLong();
+			case BYTE:
+				return (byte) in.readByte();
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case CHARACTER:
+				return (char) in.readVarLong();
+			case FLOAT:
+				return Float.intBitsToFloat( in.readFixedInt() );
+			case DOUBLE:
+				return Double.longBitsToDouble( in.readFixedLong() );
+			case BIG_DECIMAL: {
+				final int scale = (int) in.readZigZagLong();
+				return new BigDecimal( new BigInteger( in.readBytes() ), scale );
+			}
+			case BIG_INTEGER:
+				return new BigInteger( in.readBytes() );
+			case DATE:
+				return new Date( in.readZigZagLong() );
+			case TIMESTAMP: {
+				final Timestamp timestamp = new Timestamp( in.readZigZagLong() );
+				timestamp.setNanos( (int) in.readVarLong() );
+				return timestamp;
+			}
+			case SQL_DATE:
+				return new java.sql.Date( in.readZigZagLong() );
+			case TIME:
+				return new Time( in.readZigZagLong() );
+			case BYTES:
+				return in.readBytes();
+			case ARRAY: {
+				final Object[] values = new Object[(int) in.readVarLong()];
+				for ( int i = 0; i < values.length; i++ ) {
+					values[i] = readValue( in );
+				}
+				return values;
+			}
+			case UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case SERIALIZED:
+				return (Serializable) SerializationHelper.deserialize( in.readBytes() );
+			default:
+				throw new CacheException( "Unknown value tag in cache entry : " + tag );
+		}
+	}
+
+	/**
+	 * The entity names of a SessionFactory, sorted so that the nodes sharing the same mappings agree on the
+	 * index of each name.
+	 */
+	private static class EntityNameDictionary {
+		private final SessionFactoryImplementor factory;
+		private final String[] names;
+		private final Map<String, Integer> indexes;
+
+		private EntityNameDictionary(SessionFactoryImplementor factory) {
+			this.factory = factory;
+			this.names = factory.getEntityPersisters().keySet().toArray( new String[0] );
+			Arrays.sort( names );
+			this.indexes = new HashMap<String, Integer>( names.length * 2 );
+			for ( int i = 0; i < names.length; i++ ) {
+				indexes.put( names[i], i );
+			}
+		}
+	}
+
+	private static class Output {
+		private byte[] buffer;
+		private int position;
+
+		private Output(int initialCapacity) {
+			buffer = new byte[initialCapacity];
+		}
+
+		private void ensureCapacity(int length) {
+			if ( position + length > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, position + length ) );
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeZigZagLong(long value) {
+			writeVarLong( ( value << 1 ) ^ ( value >> 63 ) );
+		}
+
+		private void writeFixedInt(int value) {
+			ensureCapacity( 4 );
+			for ( int shift = 24; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeFixedLong(long value) {
+			ensureCapacity( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarLong( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeString(String value) {
+			writeBytes( value.getBytes( UTF_8 ) );
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+	}
+
+	private static class Input {
+		private final byte[] buffer;
+		private int position;
+
+		private Input(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		private void checkAvailable(long length) {
+			if ( length < 0 || position + length > buffer.length ) {
+				throw new CacheException( "Truncated cache entry" );
+			}
+		}
+
+		private int readByte() {
+			checkAvailable( 1 );
+			return buffer[position++];
+		}
+
+		private long readVarLong() {
+			long value = 0;
+			for ( int shift = 0; shift < 64; shift += 7 ) {
+				final int b = readByte();
+				value |= (long) ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return value;
+				}
+			}
+			throw new CacheException( "Malformed variable length integer in cache entry" );
+		}
+
+		private long readZigZagLong() {
+			final long value = readVarLong();
+			return ( value >>> 1 ) ^ -( value & 1 );
+		}
+
+		private int readFixedInt() {
+			checkAvailable( 4 );
+			int value = 0;
+			for ( int i = 0; i < 4; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private long readFixedLong() {
+			checkAvailable( 8 );
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private byte[] readBytes() {
+			final long length = readVarLong();
+			checkAvailable( length );
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + (int) length );
+			position += (int) length;
+			return bytes;
+		}
+
+		private String readString() {
+			return new String( readBytes(), UTF_8 );
+		}
+	}
+}
@@ -502,6 +502,51 @@ public interface AvailableSettings {
 	 */
 	String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
 
+	/**
+	 * Should the inserts of entities using IDENTITY columns be delayed to flush time when they are persisted,
+	 * and be executed as JDBC batches, reading back the generated identifiers through getGeneratedKeys()?
+	 * Only used when the JDBC driver returns the generated keys of all the rows of a batch, as indicated by
+	 * {@link org.hibernate.dialect.identity.IdentityColumnSupport#supportsBatchedGeneratedKeys()}, and
+	 * when {@link #USE_GET_GENERATED_KEYS} is enabled.  Disabled by default.
+	 */
+	String BATCH_IDENTITY_INSERTS = "hibernate.jdbc.batch_identity_inserts";
+
+	/**
+	 * The maximum number of rows of a collection inserted or deleted by one statement.  A value greater than 1
+	 * makes the element collections and many-to-many associations insert their rows through multi-row
+	 * INSERT statements (when {@link org.hibernate.dialect.Dialect#supportsValuesListForInsert() supported})
+	 * and delete them through DELETE statements restricted by an IN list, rather than one statement per row.
+	 * The IN lists and bind parameters are further limited by
+	 * {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()}.  Disabled (0) by default.
+	 */
+	String COLLECTION_MULTI_ROW_DML_SIZE = "hibernate.jdbc.collection_multi_row_dml_size";
+
+	/**
+	 * Should the bags of values and many-to-many bags apply only the rows added and removed since they were
+	 * loaded, rather than deleting and re-inserting all their rows whenever they change?  As the rows of a bag
+	 * are only identified by their element, a bag is still recreated when an element it held several times
+	 * is removed.  Bags of components are always recreated.  Disabled by default.
+	 */
+	String BAG_DELTA_UPDATES = "hibernate.collection.bag_delta_updates";
+
+	/**
+	 * The number of rows read at once by the extra-lazy lists accessing their elements by index.  A value
+	 * greater than 0 makes such lists read the page of rows holding the requested index, ordered by index and
+	 * limited through the {@link org.hibernate.dialect.pagination.LimitHandler} of the Dialect, and keep the
+	 * pages read until they are initialized or changed, rather than selecting one row per access.  Disabled (0)
+	 * by default.
+	 */
+	String EXTRA_LAZY_PAGE_SIZE = "hibernate.collection.extra_lazy_page_size";
+
+	/**
+	 * Should the updates of different entities be batched even when interleaved?  When enabled, the batches of
+	 * the entity updates of a flush are all kept open until the updates are done, rather than executing a batch
+	 * each time an update of another entity follows, reducing the number of round-trips to the database.  As with
+	 * {@link #ORDER_UPDATES}, the updates of different tables are then no longer executed in the order of the
+	 * persistence context.  Default is {@code false}.
+	 */
+	String BATCH_INTERLEAVED_UPDATES = "hibernate.jdbc.batch_interleaved_updates";
+
 	/**
 	 * Enable automatic session close at end of transaction
 	 */
@@ -547,6 +592,24 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * The number of threads compiling the named queries in parallel when they are checked during startup, or
+	 * warmed up in the background.  The default is 1, compiling them on the thread building the SessionFactory.
+	 *
+	 * @see #QUERY_STARTUP_CHECKING
+	 * @see #QUERY_STARTUP_WARM_UP
+	 */
+	String QUERY_STARTUP_CHECKING_THREADS = "hibernate.query.startup_check_threads";
+
+	/**
+	 * When named queries are not checked during startup, should they still be compiled into the query plan cache
+	 * in the background, once the SessionFactory is built (the default is disabled)?  The errors of the queries
+	 * which fail to compile are then only logged.
+	 *
+	 * @see #QUERY_STARTUP_CHECKING
+	 */
+	String QUERY_STARTUP_WARM_UP = "hibernate.query.startup_warm_up";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -561,8 +624,10 @@ public interface AvailableSettings {
 	String SQL_EXCEPTION_CONVERTER = "hibernate.jdbc.sql_exception_converter";
 
 	/**
-	 * Enable wrapping of JDBC result sets in order to speed up column name lookups for
-	 * broken JDBC drivers
+	 * Enable wrapping of JDBC result sets, resolving the column aliases Hibernate reads values by into column
+	 * positions once per loader rather than having the JDBC driver resolve them for every row.  Disabled by
+	 * default, as code casting the result sets to the classes of the JDBC driver (in a
+	 * {@link org.hibernate.usertype.UserType} for example) does not work on wrapped result sets.
 	 */
 	String WRAP_RESULT_SETS = "hibernate.jdbc.wrap_result_sets";
 
@@ -691,6 +756,15 @@ public interface AvailableSettings {
 	 */
 	String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
 
+	/**
+	 * How long, in milliseconds, the update timestamps read while checking whether cached query results are
+	 * up-to-date are kept in a near-cache local to the SessionFactory, saving the round-trips to the update
+	 * timestamps region for the frequently queried spaces.  The updates performed through this SessionFactory
+	 * invalidate the near-cache immediately, but those performed by other nodes of a cluster only become visible
+	 * once this delay expired.  Default is {@code 0}, disabling the near-cache.
+	 */
+	String QUERY_CACHE_TIMESTAMPS_NEAR_CACHE_TTL = "hibernate.cache.query_cache_timestamps_near_cache_ttl";
+
 	/**
 	 * The <tt>CacheProvider</tt> region name prefix
 	 */
@@ -706,6 +780,15 @@ public interface AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * The {@link org.hibernate.cache.spi.entry.CacheEntrySerializer} converting entity cache entries to a binary
+	 * form before storing them into the second-level cache.  Accepts an instance, a class or the name of a class
+	 * implementing the contract, as well as the short name {@code compact} of the built-in
+	 * {@link org.hibernate.cache.spi.entry.CompactCacheEntrySerializer}.  Ignored when
+	 * {@link #USE_STRUCTURED_CACHE structured entries} are used.  Default is none, the entries being stored as-is.
+	 */
+	String CACHE_ENTRY_SERIALIZER = "hibernate.cache.entry_serializer";
+
 	/**
 	 * Enables the automatic eviction of a bi-directional association's collection cache when an element in the
 	 * ManyToOne collection is added/updated/removed without properly managing the change on the OneToMany side.
@@ -787,6 +870,20 @@ public interface AvailableSettings {
 	 */
 	String PREFER_POOLED_VALUES_LO = "hibernate.id.optimizer.pooled.prefer_lo";
 
+	/**
+	 * When using the {@link org.hibernate.id.enhanced.PooledLockFreeOptimizer lock-free pooled optimizer}, the
+	 * number of values each thread claims from the current range at once, handing them out without touching
+	 * any shared state.  The default is 1 (no thread-local blocks).  May also be specified per generator.
+	 */
+	String POOLED_OPTIMIZER_THREAD_BLOCK_SIZE = "hibernate.id.optimizer.pooled.thread_block_size";
+
+	/**
+	 * When using the {@link org.hibernate.id.enhanced.PooledLockFreeOptimizer lock-free pooled optimizer}, the
+	 * fraction (between 0 and 1) of the current range after whose consumption the next range is requested from
+	 * the database in the background.  The default is 0 (no prefetching).  May also be specified per generator.
+	 */
+	String POOLED_OPTIMIZER_PREFETCH_THRESHOLD = "hibernate.id.optimizer.pooled.prefetch_threshold";
+
 	/**
 	 * The maximum number of strong references maintained by {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 128.
 	 * @deprecated in favor of {@link #QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE}
@@ -819,6 +916,14 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * Names a local file into which {@link org.hibernate.engine.query.spi.QueryPlanCache} saves the HQL queries
+	 * it holds plans for when the SessionFactory is closed, and from which it compiles them again when the next
+	 * SessionFactory over the same mappings is built, so that its first requests do not pay for the compilation.
+	 * Not set by default, meaning the query plans are not persisted.
+	 */
+	String QUERY_PLAN_CACHE_FILE = "hibernate.query.plan_cache_file";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
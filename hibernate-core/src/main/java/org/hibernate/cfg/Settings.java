@@ -18,6 +18,7 @@ import org.hibernate.boot.model.naming.Identifier;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.spi.QueryCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.hql.spi.id.MultiTableBulkIdStrategy;
@@ -91,18 +92,27 @@ public final class Settings {
 			LOG.debugf( "Query language substitutions: %s", sessionFactoryOptions.getQuerySubstitutions() );
 			LOG.debugf( "JPA query language strict compliance: %s", enabledDisabled( sessionFactoryOptions.isStrictJpaQueryLanguageCompliance() ) );
 			LOG.debugf( "Named query checking : %s", enabledDisabled( sessionFactoryOptions.isNamedQueryStartupCheckingEnabled() ) );
+			LOG.debugf( "Named query checking threads : %s", sessionFactoryOptions.getNamedQueryStartupCheckingThreads() );
+			LOG.debugf( "Named query background warm-up : %s", enabledDisabled( sessionFactoryOptions.isNamedQueryBackgroundWarmUpEnabled() ) );
 
 			LOG.debugf( "Second-level cache: %s", enabledDisabled( sessionFactoryOptions.isSecondLevelCacheEnabled() ) );
 			LOG.debugf( "Second-level query cache: %s", enabledDisabled( sessionFactoryOptions.isQueryCacheEnabled() ) );
 			LOG.debugf( "Second-level query cache factory: %s", sessionFactoryOptions.getQueryCacheFactory() );
+			LOG.debugf( "Second-level query cache timestamps near-cache TTL: %s ms", sessionFactoryOptions.getQueryCacheTimestampsNearCacheTtl() );
 			LOG.debugf( "Second-level cache region prefix: %s", sessionFactoryOptions.getCacheRegionPrefix() );
 			LOG.debugf( "Optimize second-level cache for minimal puts: %s", enabledDisabled( sessionFactoryOptions.isMinimalPutsEnabled() ) );
 			LOG.debugf( "Structured second-level cache entries: %s", enabledDisabled( sessionFactoryOptions.isStructuredCacheEntriesEnabled() ) );
+			LOG.debugf( "Second-level cache entry serializer: %s", sessionFactoryOptions.getCacheEntrySerializer() );
 			LOG.debugf( "Second-level cache direct-reference entries: %s", enabledDisabled( sessionFactoryOptions.isDirectReferenceCacheEntriesEnabled() ) );
 			LOG.debugf( "Automatic eviction of collection cache: %s", enabledDisabled( sessionFactoryOptions.isAutoEvictCollectionCache() ) );
 
 			LOG.debugf( "JDBC batch size: %s", sessionFactoryOptions.getJdbcBatchSize() );
 			LOG.debugf( "JDBC batch updates for versioned data: %s", enabledDisabled( sessionFactoryOptions.isJdbcBatchVersionedData() ) );
+			LOG.debugf( "JDBC batch inserts for identity columns: %s", enabledDisabled( sessionFactoryOptions.isJdbcBatchIdentityInserts() ) );
+			LOG.debugf( "Collection rows per multi-row statement: %s", sessionFactoryOptions.getCollectionMultiRowDmlSize() );
+			LOG.debugf( "Delta updates of bags: %s", enabledDisabled( sessionFactoryOptions.isBagDeltaUpdatesEnabled() ) );
+			LOG.debugf( "Extra-lazy collection page size: %s", sessionFactoryOptions.getExtraLazyPageSize() );
+			LOG.debugf( "JDBC batching of interleaved updates: %s", enabledDisabled( sessionFactoryOptions.isJdbcBatchInterleavedUpdates() ) );
 			LOG.debugf( "Scrollable result sets: %s", enabledDisabled( sessionFactoryOptions.isScrollableResultSetsEnabled() ) );
 			LOG.debugf( "Wrap result sets: %s", enabledDisabled( sessionFactoryOptions.isWrapResultSetsEnabled() ) );
 			LOG.debugf( "JDBC3 getGeneratedKeys(): %s", enabledDisabled( sessionFactoryOptions.isGetGeneratedKeysEnabled() ) );
@@ -215,6 +225,14 @@ public final class Settings {
 		return sessionFactoryOptions.isNamedQueryStartupCheckingEnabled();
 	}
 
+	public int getNamedQueryStartupCheckingThreads() {
+		return sessionFactoryOptions.getNamedQueryStartupCheckingThreads();
+	}
+
+	public boolean isNamedQueryBackgroundWarmUpEnabled() {
+		return sessionFactoryOptions.isNamedQueryBackgroundWarmUpEnabled();
+	}
+
 	public boolean isSecondLevelCacheEnabled() {
 		return sessionFactoryOptions.isSecondLevelCacheEnabled();
 	}
@@ -227,6 +245,10 @@ public final class Settings {
 		return sessionFactoryOptions.getQueryCacheFactory();
 	}
 
+	public long getQueryCacheTimestampsNearCacheTtl() {
+		return sessionFactoryOptions.getQueryCacheTimestampsNearCacheTtl();
+	}
+
 	public String getCacheRegionPrefix() {
 		return sessionFactoryOptions.getCacheRegionPrefix();
 	}
@@ -239,6 +261,10 @@ public final class Settings {
 		return sessionFactoryOptions.isStructuredCacheEntriesEnabled();
 	}
 
+	public CacheEntrySerializer getCacheEntrySerializer() {
+		return sessionFactoryOptions.getCacheEntrySerializer();
+	}
+
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return sessionFactoryOptions.isDirectReferenceCacheEntriesEnabled();
 	}
@@ -272,6 +298,26 @@ public final class Settings {
 		return sessionFactoryOptions.isJdbcBatchVersionedData();
 	}
 
+	public boolean isJdbcBatchIdentityInserts() {
+		return sessionFactoryOptions.isJdbcBatchIdentityInserts();
+	}
+
+	public int getCollectionMultiRowDmlSize() {
+		return sessionFactoryOptions.getCollectionMultiRowDmlSize();
+	}
+
+	public boolean isBagDeltaUpdatesEnabled() {
+		return sessionFactoryOptions.isBagDeltaUpdatesEnabled();
+	}
+
+	public int getExtraLazyPageSize() {
+		return sessionFactoryOptions.getExtraLazyPageSize();
+	}
+
+	public boolean isJdbcBatchInterleavedUpdates() {
+		return sessionFactoryOptions.isJdbcBatchInterleavedUpdates();
+	}
+
 	public Integer getJdbcFetchSize() {
 		return sessionFactoryOptions.getJdbcFetchSize();
 	}
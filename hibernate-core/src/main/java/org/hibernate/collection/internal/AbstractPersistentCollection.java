@@ -10,10 +10,13 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 
 import javax.naming.NamingException;
 
@@ -36,6 +39,7 @@ import org.hibernate.internal.SessionFactoryRegistry;
 import org.hibernate.internal.util.MarkerObject;
 import org.hibernate.internal.util.collections.EmptyIterator;
 import org.hibernate.internal.util.collections.IdentitySet;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -64,6 +68,8 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	private transient boolean initializing;
 	private Object owner;
 	private int cachedSize = -1;
+	private transient ElementPages elementPages;
+	private transient boolean batchFetched;
 
 	private String role;
 	private Serializable key;
@@ -130,6 +136,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	 * Called by any read-only method of the collection interface
 	 */
 	protected final void read() {
+		recordBatchFetchedUse();
 		initialize( false );
 	}
 
@@ -138,6 +145,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	 */
 	@SuppressWarnings({"JavaDoc"})
 	protected boolean readSize() {
+		recordBatchFetchedUse();
 		if ( !initialized ) {
 			if ( cachedSize != -1 && !hasQueuedOperations() ) {
 				return true;
@@ -155,7 +163,9 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 										if ( hasQueuedOperations() ) {
 											session.flush();
 										}
-										cachedSize = persister.getSize( entry.getLoadedKey(), session );
+										cachedSize = elementPages != null && elementPages.size >= 0
+												? elementPages.size
+												: persister.getSize( entry.getLoadedKey(), session );
 										return true;
 									}
 									else {
@@ -278,6 +288,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	}
 
 	protected Boolean readIndexExistence(final Object index) {
+		recordBatchFetchedUse();
 		if ( !initialized ) {
 			final Boolean extraLazyExistenceCheck = withTemporarySessionIfNeeded(
 					new LazyInitializationWork<Boolean>() {
@@ -306,6 +317,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	}
 
 	protected Boolean readElementExistence(final Object element) {
+		recordBatchFetchedUse();
 		if ( !initialized ) {
 			final Boolean extraLazyExistenceCheck = withTemporarySessionIfNeeded(
 					new LazyInitializationWork<Boolean>() {
@@ -317,6 +329,10 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 								if ( hasQueuedOperations() ) {
 									session.flush();
 								}
+								if ( elementPages != null
+										&& elementPages.contains( element, persister.getElementType(), session.getFactory() ) ) {
+									return true;
+								}
 								return persister.elementExists( entry.getLoadedKey(), element, session );
 							}
 							else {
@@ -336,6 +352,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	protected static final Object UNKNOWN = new MarkerObject( "UNKNOWN" );
 
 	protected Object readElementByIndex(final Object index) {
+		recordBatchFetchedUse();
 		if ( !initialized ) {
 			class ExtraLazyElementByIndexReader implements LazyInitializationWork {
 				private boolean isExtraLazy;
@@ -350,7 +367,18 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 						if ( hasQueuedOperations() ) {
 							session.flush();
 						}
-						element = persister.getElementByIndex( entry.getLoadedKey(), index, session, owner );
+						final int pageSize = getExtraLazyPageSize( persister );
+						if ( pageSize > 0 && index instanceof Integer ) {
+							element = readElementByIndexFromPages(
+									(AbstractCollectionPersister) persister,
+									entry.getLoadedKey(),
+									(Integer) index,
+									pageSize
+							);
+						}
+						else {
+							element = persister.getElementByIndex( entry.getLoadedKey(), index, session, owner );
+						}
 					}
 					else {
 						read();
@@ -370,6 +398,107 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 
 	}
 
+	private static int getExtraLazyPageSize(CollectionPersister persister) {
+		return persister instanceof AbstractCollectionPersister
+				? ( (AbstractCollectionPersister) persister ).getExtraLazyPageSize()
+				: 0;
+	}
+
+	private Object readElementByIndexFromPages(
+			AbstractCollectionPersister persister,
+			Serializable key,
+			int index,
+			int pageSize) {
+		if ( elementPages == null ) {
+			elementPages = new ElementPages( pageSize );
+		}
+		if ( !elementPages.covers( index ) ) {
+			final int page = index / pageSize;
+			if ( !elementPages.isRead( page ) ) {
+				elementPages.add( page, persister.getElementPage( key, page, session, owner ) );
+			}
+			if ( !elementPages.covers( index ) ) {
+				// indexes are missing before the page, which does not hold the index
+				return persister.getElementByIndex( key, index, session, owner );
+			}
+		}
+		return elementPages.get( index );
+	}
+
+	/**
+	 * The pages of rows of an extra-lazy list read by {@link #readElementByIndex}, kept until the list is
+	 * initialized or changed.
+	 */
+	private static final class ElementPages {
+		private final int pageSize;
+		private final Map<Integer, Object> elements = new HashMap<Integer, Object>();
+		private final Set<Integer> readPages = new HashSet<Integer>();
+		// the first and last indexes covered by each page read
+		private final List<int[]> ranges = new ArrayList<int[]>();
+		// the size of the list, once its last page was read
+		private int size = -1;
+
+		private ElementPages(int pageSize) {
+			this.pageSize = pageSize;
+		}
+
+		private boolean isRead(int page) {
+			return readPages.contains( page );
+		}
+
+		private void add(int page, Map<Integer, Object> pageElements) {
+			readPages.add( page );
+			if ( pageElements.isEmpty() ) {
+				if ( page == 0 ) {
+					size = 0;
+				}
+				return;
+			}
+			int first = -1;
+			int last = -1;
+			for ( Integer index : pageElements.keySet() ) {
+				if ( first < 0 ) {
+					first = index;
+				}
+				last = index;
+			}
+			elements.putAll( pageElements );
+			// the rows are read in index order, so that the indexes missing within a page are null elements
+			ranges.add( new int[] { page == 0 ? 0 : first, last } );
+			if ( pageElements.size() < pageSize ) {
+				size = last + 1;
+			}
+		}
+
+		private boolean covers(int index) {
+			if ( size >= 0 && index >= size ) {
+				return true;
+			}
+			for ( int[] range : ranges ) {
+				if ( index >= range[0] && index <= range[1] ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private Object get(int index) {
+			return elements.get( index );
+		}
+
+		private boolean contains(Object element, Type elementType, SessionFactoryImplementor factory) {
+			if ( element == null ) {
+				return false;
+			}
+			for ( Object candidate : elements.values() ) {
+				if ( candidate != null && elementType.isEqual( candidate, element, factory ) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 	protected int getCachedSize() {
 		return cachedSize;
 	}
@@ -384,10 +513,29 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	 * Called by any writer method of the collection interface
 	 */
 	protected final void write() {
+		recordBatchFetchedUse();
 		initialize( true );
 		dirty();
 	}
 
+	/**
+	 * Marks this collection as batch-fetched along with another one in the
+	 * {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style, so that its first access gets notified to the
+	 * {@link org.hibernate.engine.spi.BatchFetchQueue}.
+	 */
+	public void markBatchFetched() {
+		batchFetched = true;
+	}
+
+	private void recordBatchFetchedUse() {
+		if ( batchFetched ) {
+			batchFetched = false;
+			if ( session != null ) {
+				session.getPersistenceContext().getBatchFetchQueue().batchFetchedCollectionUsed( this );
+			}
+		}
+	}
+
 	/**
 	 * Is this collection in a state that would allow us to
 	 * "queue" operations?
@@ -466,6 +614,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 			operationQueue = new ArrayList<DelayedOperation>( 10 );
 		}
 		operationQueue.add( operation );
+		elementPages = null;
 		//needed so that we remove this collection from the second-level cache
 		dirty = true;
 	}
@@ -491,6 +640,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	public void postAction() {
 		operationQueue = null;
 		cachedSize = -1;
+		elementPages = null;
 		clearDirty();
 	}
 
@@ -570,6 +720,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	protected final void setInitialized() {
 		this.initializing = false;
 		this.initialized = true;
+		this.elementPages = null;
 	}
 
 	protected final void setDirectlyAccessible(boolean directlyAccessible) {
@@ -617,6 +768,8 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 			return false;
 		}
 		else {
+			// the elements read belong to the previous session
+			elementPages = null;
 			if ( this.session != null ) {
 				final String msg = generateUnexpectedSessionStateMessage( session );
 				if ( isConnectedToSession() ) {
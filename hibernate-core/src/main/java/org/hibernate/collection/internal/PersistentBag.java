@@ -11,13 +11,16 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.loader.CollectionAliases;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.type.Type;
 
@@ -33,6 +36,12 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	protected List bag;
 
+	/**
+	 * The positions of the elements to insert when applying the changes of the bag row by row, computed
+	 * by {@link #preInsert} as {@link #needsInserting} is called once for each element.
+	 */
+	private transient boolean[] insertedPositions;
+
 	/**
 	 * Constructs a PersistentBag.  Needed for SOAP libraries, etc
 	 */
@@ -182,7 +191,27 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean needsRecreate(CollectionPersister persister) {
-		return !persister.isOneToMany();
+		if ( persister.isOneToMany() ) {
+			return false;
+		}
+		// the rows of an element held several times cannot be deleted one at a time
+		return !isDeltaUpdatable( persister ) || removesDuplicatedElement( persister.getElementType() );
+	}
+
+	private static boolean isDeltaUpdatable(CollectionPersister persister) {
+		return persister instanceof AbstractCollectionPersister
+				&& ( (AbstractCollectionPersister) persister ).isBagDeltaUpdatable();
+	}
+
+	private boolean removesDuplicatedElement(Type elementType) {
+		final ElementCounts snapshotCounts = new ElementCounts( elementType, (List) getSnapshot() );
+		final ElementCounts counts = new ElementCounts( elementType, bag );
+		for ( Occurrences occurrences : snapshotCounts.occurrences() ) {
+			if ( occurrences.count > 1 && counts.count( occurrences.element ) < occurrences.count ) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 
@@ -200,6 +229,16 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 		final Type elementType = persister.getElementType();
 		final ArrayList deletes = new ArrayList();
 		final List sn = (List) getSnapshot();
+		if ( !persister.isOneToMany() && isDeltaUpdatable( persister ) ) {
+			// the occurrences of the snapshot elements in excess of those still in the bag
+			final ElementCounts remaining = new ElementCounts( elementType, bag );
+			for ( Object old : sn ) {
+				if ( old != null && !remaining.take( old ) ) {
+					deletes.add( old );
+				}
+			}
+			return deletes.iterator();
+		}
 		final Iterator olditer = sn.iterator();
 		int i=0;
 		while ( olditer.hasNext() ) {
@@ -229,6 +268,9 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean needsInserting(Object entry, int i, Type elemType) throws HibernateException {
+		if ( insertedPositions != null ) {
+			return insertedPositions[i];
+		}
 		final List sn = (List) getSnapshot();
 		if ( sn.size() > i && elemType.isSame( sn.get( i ), entry ) ) {
 			//a shortcut if its location didn't change!
@@ -246,6 +288,27 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 		}
 	}
 
+	@Override
+	public void preInsert(CollectionPersister persister) throws HibernateException {
+		super.preInsert( persister );
+		insertedPositions = null;
+		if ( !persister.isOneToMany() && isDeltaUpdatable( persister ) && getSnapshot() != null ) {
+			// the occurrences of the elements in excess of those in the snapshot
+			final ElementCounts remaining = new ElementCounts( persister.getElementType(), (List) getSnapshot() );
+			insertedPositions = new boolean[bag.size()];
+			for ( int i = 0; i < insertedPositions.length; i++ ) {
+				final Object element = bag.get( i );
+				insertedPositions[i] = element != null && !remaining.take( element );
+			}
+		}
+	}
+
+	@Override
+	public void postAction() {
+		super.postAction();
+		insertedPositions = null;
+	}
+
 	@Override
 	public boolean isRowUpdatePossible() {
 		return false;
@@ -529,6 +592,86 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 		return super.hashCode();
 	}
 
+	/**
+	 * Counts the occurrences of the elements of a bag, as identified by {@link Type#isSame}.  The {@code null}
+	 * elements are not counted, since they have no row (see {@link #entryExists}).
+	 */
+	private static final class ElementCounts {
+		private final Type elementType;
+		private final Map<Integer, List<Occurrences>> occurrencesByHash = new HashMap<Integer, List<Occurrences>>();
+
+		ElementCounts(Type elementType, List elements) {
+			this.elementType = elementType;
+			for ( Object element : elements ) {
+				if ( element != null ) {
+					find( element, true ).count++;
+				}
+			}
+		}
+
+		int count(Object element) {
+			final Occurrences occurrences = find( element, false );
+			return occurrences == null ? 0 : occurrences.count;
+		}
+
+		/**
+		 * Removes one occurrence of the given element.
+		 *
+		 * @return {@code false} if no occurrence of the element remained
+		 */
+		boolean take(Object element) {
+			final Occurrences occurrences = find( element, false );
+			if ( occurrences == null || occurrences.count == 0 ) {
+				return false;
+			}
+			occurrences.count--;
+			return true;
+		}
+
+		List<Occurrences> occurrences() {
+			final List<Occurrences> result = new ArrayList<Occurrences>();
+			for ( List<Occurrences> bucket : occurrencesByHash.values() ) {
+				result.addAll( bucket );
+			}
+			return result;
+		}
+
+		private Occurrences find(Object element, boolean create) {
+			// entities are the same only when they are the same instance
+			final Integer hash = elementType.isEntityType()
+					? System.identityHashCode( element )
+					: elementType.getHashCode( element );
+			List<Occurrences> bucket = occurrencesByHash.get( hash );
+			if ( bucket == null ) {
+				if ( !create ) {
+					return null;
+				}
+				bucket = new ArrayList<Occurrences>( 1 );
+				occurrencesByHash.put( hash, bucket );
+			}
+			for ( Occurrences occurrences : bucket ) {
+				if ( elementType.isSame( occurrences.element, element ) ) {
+					return occurrences;
+				}
+			}
+			if ( !create ) {
+				return null;
+			}
+			final Occurrences occurrences = new Occurrences( element );
+			bucket.add( occurrences );
+			return occurrences;
+		}
+	}
+
+	private static final class Occurrences {
+		private final Object element;
+		private int count;
+
+		Occurrences(Object element) {
+			this.element = element;
+		}
+	}
+
 	final class Clear implements DelayedOperation {
 		@Override
 		public void operate() {
@@ -2677,6 +2677,16 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Does this dialect support inserting several rows with one INSERT statement, through a list of row values:
+	 * "insert into T (A, B) values (?, ?), (?, ?)"?
+	 *
+	 * @return True if multi-row inserts are supported; false otherwise.
+	 */
+	public boolean supportsValuesListForInsert() {
+		return false;
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
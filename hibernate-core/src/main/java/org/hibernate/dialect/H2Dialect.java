@@ -439,4 +439,9 @@ public class H2Dialect extends Dialect {
 	public IdentityColumnSupport getIdentityColumnSupport() {
 		return new H2IdentityColumnSupport();
 	}
+
+	@Override
+	public boolean supportsValuesListForInsert() {
+		return true;
+	}
 }
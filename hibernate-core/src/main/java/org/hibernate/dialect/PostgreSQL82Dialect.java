@@ -28,4 +28,9 @@ public class PostgreSQL82Dialect extends PostgreSQL81Dialect {
 		// HHH-9562
 		typeContributions.contributeType( PostgresUUIDType.INSTANCE );
 	}
+
+	@Override
+	public boolean supportsValuesListForInsert() {
+		return true;
+	}
 }
@@ -52,4 +52,9 @@ public class SQLServer2008Dialect extends SQLServer2005Dialect {
 
 		return orderByElement.toString();
 	}
+
+	@Override
+	public boolean supportsValuesListForInsert() {
+		return true;
+	}
 }
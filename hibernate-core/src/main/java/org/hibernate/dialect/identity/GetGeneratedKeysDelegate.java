@@ -10,14 +10,19 @@ import java.io.Serializable;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.PostInsertIdentityPersister;
 import org.hibernate.id.insert.AbstractReturningDelegate;
+import org.hibernate.id.insert.Binder;
 import org.hibernate.id.insert.IdentifierGeneratingInsert;
 import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
+import org.hibernate.pretty.MessageHelper;
 
 /**
  * Delegate for dealing with IDENTITY columns using JDBC3 getGeneratedKeys
@@ -70,4 +75,81 @@ public class GetGeneratedKeysDelegate
 			}
 		}
 	}
+
+	/**
+	 * Perform the given inserts as one JDBC batch, and extract the generated identifiers of the inserted rows.
+	 * Only usable when the driver {@link IdentityColumnSupport#supportsBatchedGeneratedKeys() returns the keys}
+	 * of all the rows of a batch.
+	 *
+	 * @param insertSQL The insert command
+	 * @param session The session
+	 * @param binders The binders of the values of the rows to insert
+	 *
+	 * @return The generated identifiers, in the order of the binders
+	 */
+	public Serializable[] performBatchInsert(String insertSQL, SessionImplementor session, Binder[] binders) {
+		try {
+			final PreparedStatement insert = prepare( insertSQL, session );
+			try {
+				for ( Binder binder : binders ) {
+					binder.bindValues( insert );
+					insert.addBatch();
+				}
+				final int[] rowCounts;
+				try {
+					session.getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchStart();
+					rowCounts = insert.executeBatch();
+				}
+				finally {
+					session.getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchEnd();
+				}
+				for ( int i = 0; i < rowCounts.length; i++ ) {
+					if ( rowCounts[i] != 1 && rowCounts[i] != Statement.SUCCESS_NO_INFO ) {
+						throw new HibernateException(
+								"Unexpected row count: " + rowCounts[i] + " for batch position [" + i + "]; expected: 1"
+						);
+					}
+				}
+				return extractBatch( insert, session, binders.length );
+			}
+			finally {
+				releaseStatement( insert, session );
+			}
+		}
+		catch (SQLException sqle) {
+			throw session.getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not insert: " + MessageHelper.infoString( persister ),
+					insertSQL
+			);
+		}
+	}
+
+	private Serializable[] extractBatch(PreparedStatement insert, SessionImplementor session, int batchSize)
+			throws SQLException {
+		final Serializable[] ids = new Serializable[batchSize];
+		ResultSet rs = null;
+		try {
+			rs = insert.getGeneratedKeys();
+			for ( int i = 0; i < batchSize; i++ ) {
+				if ( !rs.next() ) {
+					throw new HibernateException(
+							"The database returned " + i + " natively generated identity values for a batch of "
+									+ batchSize + " inserts; disable " + AvailableSettings.BATCH_IDENTITY_INSERTS
+					);
+				}
+				ids[i] = IdentifierGeneratorHelper.get(
+						rs,
+						persister.getRootTableKeyColumnNames()[0],
+						persister.getIdentifierType()
+				);
+			}
+			return ids;
+		}
+		finally {
+			if ( rs != null ) {
+				session.getJdbcCoordinator().getResourceRegistry().release( rs, insert );
+			}
+		}
+	}
 }
@@ -34,6 +34,14 @@ public interface IdentityColumnSupport {
 	 */
 	public boolean supportsInsertSelectIdentity();
 
+	/**
+	 * Does the JDBC driver return the generated IDENTITY values of all the rows inserted by a batch
+	 * through getGeneratedKeys(), in the order of the batch?
+	 *
+	 * @return True if the IDENTITY inserts can be batched; false otherwise.
+	 */
+	public boolean supportsBatchedGeneratedKeys();
+
 	/**
 	 * Whether this dialect have an Identity clause added to the data type or a
 	 * completely separate identity data type
@@ -25,6 +25,11 @@ public class IdentityColumnSupportImpl implements IdentityColumnSupport {
 		return false;
 	}
 
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		return false;
+	}
+
 	@Override
 	public boolean hasDataTypeInIdentityColumn() {
 		return true;
@@ -15,6 +15,11 @@ public class MySQLIdentityColumnSupport extends IdentityColumnSupportImpl {
 		return true;
 	}
 
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		return true;
+	}
+
 	@Override
 	public String getIdentitySelectString(String table, String column, int type) {
 		return "select last_insert_id()";
@@ -17,6 +17,11 @@ public class PostgreSQL81IdentityColumnSupport extends IdentityColumnSupportImpl
 		return true;
 	}
 
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		return true;
+	}
+
 	@Override
 	public String getIdentitySelectString(String table, String column, int type) {
 		return "select currval('" + table + '_' + column + "_seq')";
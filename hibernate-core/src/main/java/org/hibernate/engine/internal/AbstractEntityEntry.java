@@ -375,13 +375,20 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 	@Override
 	public void forceLocked(Object entity, Object nextVersion) {
 		version = nextVersion;
-		loadedState[ persister.getVersionProperty() ] = version;
+		if ( loadedState != null ) {
+			loadedState[ persister.getVersionProperty() ] = version;
+		}
 		// TODO:  use LockMode.PESSIMISTIC_FORCE_INCREMENT
 		//noinspection deprecation
 		setLockMode( LockMode.FORCE );
 		persister.setPropertyValue( entity, getPersister().getVersionProperty(), nextVersion );
 	}
 
+	@Override
+	public void discardLoadedState() {
+		loadedState = null;
+	}
+
 	@Override
 	public boolean isReadOnly() {
 		final Status status = getStatus();
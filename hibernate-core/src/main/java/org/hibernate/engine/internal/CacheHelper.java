@@ -8,9 +8,11 @@ package org.hibernate.engine.internal;
 
 import java.io.Serializable;
 
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.RegionAccessStrategy;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 
 /**
  * @author Steve Ebersole
@@ -26,15 +28,73 @@ public final class CacheHelper {
 			Object cacheKey,
 			RegionAccessStrategy cacheAccessStrategy) {
 		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		final boolean stats = session.getFactory().getStatistics().isStatisticsEnabled();
 		Serializable cachedValue = null;
 		eventListenerManager.cacheGetStart();
+		final long startTime = stats ? System.nanoTime() : 0;
 		try {
 			cachedValue = (Serializable) cacheAccessStrategy.get( session, cacheKey, session.getTimestamp() );
 		}
 		finally {
+			if ( stats ) {
+				if ( session.getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) session.getFactory().getStatisticsImplementor() ).secondLevelCacheGetLatency( System.nanoTime() - startTime );
+				}
+			}
 			eventListenerManager.cacheGetEnd( cachedValue != null );
 		}
 		return cachedValue;
 	}
 
+	/**
+	 * Reads several items at once from the second-level cache, for instance all the entities of a cached query
+	 * result or the candidates of a batch fetch, in as few round-trips as the cache allows: at once from a
+	 * {@link BulkRegionAccessStrategy}, one by one from the others.
+	 *
+	 * @param session The session
+	 * @param cacheKeys The cache keys of the items to read
+	 * @param cacheAccessStrategy The access strategy of the region holding the items
+	 *
+	 * @return The cached items, in the order of the keys, {@code null} for those not found in the cache
+	 */
+	public static Serializable[] fromSharedCache(
+			SessionImplementor session,
+			Object[] cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		final boolean stats = session.getFactory().getStatistics().isStatisticsEnabled();
+		final Serializable[] cachedValues = new Serializable[cacheKeys.length];
+		boolean hit = false;
+		eventListenerManager.cacheGetStart();
+		final long startTime = stats ? System.nanoTime() : 0;
+		try {
+			if ( cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+				final Object[] values = ( (BulkRegionAccessStrategy) cacheAccessStrategy ).getAll(
+						session,
+						cacheKeys,
+						session.getTimestamp()
+				);
+				for ( int i = 0; i < cacheKeys.length; i++ ) {
+					cachedValues[i] = (Serializable) values[i];
+					hit = hit || cachedValues[i] != null;
+				}
+			}
+			else {
+				for ( int i = 0; i < cacheKeys.length; i++ ) {
+					cachedValues[i] = (Serializable) cacheAccessStrategy.get( session, cacheKeys[i], session.getTimestamp() );
+					hit = hit || cachedValues[i] != null;
+				}
+			}
+		}
+		finally {
+			if ( stats ) {
+				if ( session.getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) session.getFactory().getStatisticsImplementor() ).secondLevelCacheGetLatency( System.nanoTime() - startTime );
+				}
+			}
+			eventListenerManager.cacheGetEnd( hit );
+		}
+		return cachedValues;
+	}
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionEventListenerManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Collects the second-level cache puts of the entities initialized by a two-phase load, so that the entities of the
+ * same region get cached through a single {@link BulkRegionAccessStrategy#putAllFromLoad} call once they are all
+ * initialized, rather than through one call per entity.  The regions whose access strategy is no
+ * {@link BulkRegionAccessStrategy} get one {@link EntityRegionAccessStrategy#putFromLoad} call per entity, still
+ * deferred to the end of the load.
+ *
+ * @see TwoPhaseLoad#initializeEntity(Object, boolean, SessionImplementor, org.hibernate.event.spi.PreLoadEvent, PendingCachePuts)
+ */
+public final class PendingCachePuts {
+	private final List<Group> groups = new ArrayList<Group>();
+
+	/**
+	 * Queue a cache put.
+	 *
+	 * @param cache The access strategy of the region to put the entry into
+	 * @param cacheKey The cache key of the entity
+	 * @param cacheEntry The structured cache entry of the entity
+	 * @param version The version of the entity
+	 * @param minimalPut Whether the put is minimal
+	 */
+	void add(EntityRegionAccessStrategy cache, Object cacheKey, Object cacheEntry, Object version, boolean minimalPut) {
+		Group group = null;
+		for ( Group candidate : groups ) {
+			if ( candidate.cache == cache && candidate.minimalPut == minimalPut ) {
+				group = candidate;
+				break;
+			}
+		}
+		if ( group == null ) {
+			group = new Group( cache, minimalPut );
+			groups.add( group );
+		}
+		group.keys.add( cacheKey );
+		group.entries.add( cacheEntry );
+		group.versions.add( version );
+	}
+
+	/**
+	 * Perform the queued cache puts, one call per region.
+	 *
+	 * @param session The session
+	 */
+	public void flush(SessionImplementor session) {
+		if ( groups.isEmpty() ) {
+			return;
+		}
+		final SessionFactoryImplementor factory = session.getFactory();
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		try {
+			for ( Group group : groups ) {
+				final boolean[] puts;
+				eventListenerManager.cachePutStart();
+				try {
+					puts = putAll( session, group );
+				}
+				finally {
+					eventListenerManager.cachePutEnd();
+				}
+				if ( factory.getStatistics().isStatisticsEnabled() ) {
+					for ( boolean put : puts ) {
+						if ( put ) {
+							factory.getStatisticsImplementor().secondLevelCachePut( group.cache.getRegion().getName() );
+						}
+					}
+				}
+			}
+		}
+		finally {
+			groups.clear();
+		}
+	}
+
+	private static boolean[] putAll(SessionImplementor session, Group group) {
+		if ( group.cache instanceof BulkRegionAccessStrategy ) {
+			return ( (BulkRegionAccessStrategy) group.cache ).putAllFromLoad(
+					session,
+					group.keys.toArray(),
+					group.entries.toArray(),
+					session.getTimestamp(),
+					group.versions.toArray(),
+					group.minimalPut
+			);
+		}
+		final boolean[] puts = new boolean[group.keys.size()];
+		for ( int i = 0; i < puts.length; i++ ) {
+			puts[i] = group.cache.putFromLoad(
+					session,
+					group.keys.get( i ),
+					group.entries.get( i ),
+					session.getTimestamp(),
+					group.versions.get( i ),
+					group.minimalPut
+			);
+		}
+		return puts;
+	}
+
+	private static class Group {
+		private final EntityRegionAccessStrategy cache;
+		private final boolean minimalPut;
+		private final List<Object> keys = new ArrayList<Object>();
+		private final List<Object> entries = new ArrayList<Object>();
+		private final List<Object> versions = new ArrayList<Object>();
+
+		private Group(EntityRegionAccessStrategy cache, boolean minimalPut) {
+			this.cache = cache;
+			this.minimalPut = minimalPut;
+		}
+	}
+}
@@ -15,9 +15,12 @@ import org.hibernate.LockMode;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.engine.OptimisticLockStyle;
+import org.hibernate.engine.spi.CascadeStyle;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -120,12 +123,32 @@ public final class TwoPhaseLoad {
 			final boolean readOnly,
 			final SessionImplementor session,
 			final PreLoadEvent preLoadEvent) {
+		initializeEntity( entity, readOnly, session, preLoadEvent, null );
+	}
+
+	/**
+	 * Perform the second step of 2-phase load, deferring the caching of the entity into the second-level cache
+	 * to the given {@link PendingCachePuts}, so that all the entities loaded together get cached at once.
+	 *
+	 * @param entity The entity being loaded
+	 * @param readOnly Is the entity being loaded as read-only
+	 * @param session The Session
+	 * @param preLoadEvent The (re-used) pre-load event
+	 * @param pendingCachePuts The cache puts to defer the caching of the entity to, {@code null} to cache it
+	 * immediately
+	 */
+	public static void initializeEntity(
+			final Object entity,
+			final boolean readOnly,
+			final SessionImplementor session,
+			final PreLoadEvent preLoadEvent,
+			final PendingCachePuts pendingCachePuts) {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityEntry entityEntry = persistenceContext.getEntry( entity );
 		if ( entityEntry == null ) {
 			throw new AssertionFailure( "possible non-threadsafe access to the session" );
 		}
-		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent );
+		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent, pendingCachePuts );
 	}
 
 	private static void doInitializeEntity(
@@ -133,7 +156,8 @@ public final class TwoPhaseLoad {
 			final EntityEntry entityEntry,
 			final boolean readOnly,
 			final SessionImplementor session,
-			final PreLoadEvent preLoadEvent) throws HibernateException {
+			final PreLoadEvent preLoadEvent,
+			final PendingCachePuts pendingCachePuts) throws HibernateException {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityPersister persister = entityEntry.getPersister();
 		final Serializable id = entityEntry.getId();
@@ -201,6 +225,15 @@ public final class TwoPhaseLoad {
 						version
 				);
 			}
+			else if ( pendingCachePuts != null ) {
+				pendingCachePuts.add(
+						cache,
+						cacheKey,
+						persister.getCacheEntryStructure().structure( entry ),
+						version,
+						useMinimalPuts( session, entityEntry )
+				);
+			}
 			else {
 				final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
 				try {
@@ -251,6 +284,12 @@ public final class TwoPhaseLoad {
 			//mutable property values
 			persistenceContext.setEntryStatus( entityEntry, Status.READ_ONLY );
 		}
+		else if ( persistenceContext.isReadMostly() && isSnapshotRedundant( entity, persister ) ) {
+			//no need to take a snapshot either - the entity
+			//tracks the changes to its attributes itself
+			persistenceContext.setEntryStatus( entityEntry, Status.MANAGED );
+			entityEntry.discardLoadedState();
+		}
 		else {
 			//take a snapshot
 			TypeHelper.deepCopy(
@@ -282,6 +321,29 @@ public final class TwoPhaseLoad {
 		}
 	}
 	
+	/**
+	 * Can a modifiable entity be managed without a snapshot of its loaded state?  That is the case for entities
+	 * tracking their own dirtiness, unless the previous state is needed to update them (optimistic locking
+	 * checking all or the dirty attributes) or to find orphaned associations.
+	 */
+	private static boolean isSnapshotRedundant(Object entity, EntityPersister persister) {
+		if ( !( entity instanceof SelfDirtinessTracker ) ) {
+			return false;
+		}
+		final OptimisticLockStyle optimisticLockStyle = persister.getEntityMetamodel().getOptimisticLockStyle();
+		if ( optimisticLockStyle == OptimisticLockStyle.ALL || optimisticLockStyle == OptimisticLockStyle.DIRTY ) {
+			return false;
+		}
+		final Type[] types = persister.getPropertyTypes();
+		final CascadeStyle[] cascadeStyles = persister.getPropertyCascadeStyles();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( types[i].isEntityType() && cascadeStyles[i].hasOrphanDelete() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * PostLoad cannot occur during initializeEntity, as that call occurs *before*
 	 * the Set collections are added to the persistence context by Loader.
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.engine.jdbc.ColumnNameCache;
+
+/**
+ * Base class of the {@link ResultSet} wrappers generated by {@link ColumnIndexResolvingResultSetFactory}.  The
+ * generated subclass implements every {@link ResultSet} method as a plain call to the wrapped result set, except
+ * that the methods accepting a column label resolve that label through the {@link ColumnNameCache} and call the
+ * corresponding column-index method instead.
+ * <p/>
+ * {@link #equals} and {@link #hashCode} are those of the wrapped result set (as was the case for the
+ * {@link org.hibernate.engine.jdbc.ResultSetWrapperProxy reflective proxy}), so that the wrapper can be used to
+ * release the result set it wraps.
+ */
+public abstract class ColumnIndexResolvingResultSet implements ResultSet {
+	protected final ResultSet delegate;
+	protected final ColumnNameCache columnNameCache;
+
+	protected ColumnIndexResolvingResultSet(ResultSet delegate, ColumnNameCache columnNameCache) {
+		this.delegate = delegate;
+		this.columnNameCache = columnNameCache;
+	}
+
+	/**
+	 * Resolve the given column label to its index, called by the generated methods.
+	 *
+	 * @param columnLabel The column name/alias
+	 *
+	 * @return The column index
+	 *
+	 * @throws SQLException Indicates the column label is unknown to the wrapped result set
+	 */
+	protected final int resolveColumnIndex(String columnLabel) throws SQLException {
+		return columnNameCache.getIndexForColumnName( columnLabel, delegate );
+	}
+
+	public ResultSet getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if ( other instanceof ColumnIndexResolvingResultSet ) {
+			other = ( (ColumnIndexResolvingResultSet) other ).delegate;
+		}
+		return delegate.equals( other );
+	}
+
+	@Override
+	public int hashCode() {
+		return delegate.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return delegate.toString();
+	}
+}
@@ -0,0 +1,295 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import javassist.CannotCompileException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.util.proxy.FactoryHelper;
+import javassist.util.proxy.RuntimeSupport;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.internal.CoreLogging;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Generates (once) a {@link ColumnIndexResolvingResultSet} subclass implementing all of the {@link ResultSet}
+ * methods known to the running JVM, and creates instances of it wrapping driver result sets.
+ * <p/>
+ * Compared to the {@link org.hibernate.engine.jdbc.ResultSetWrapperProxy reflective proxy}, calls to the wrapper
+ * are plain (inlinable) interface calls: there is no {@link java.lang.reflect.InvocationHandler} dispatch, no
+ * method name inspection and no boxing of arguments.  The class is generated rather than written by hand because
+ * the {@link ResultSet} contract differs between the JDBC versions of the supported JVMs.
+ */
+public final class ColumnIndexResolvingResultSetFactory {
+	private static final Logger LOG = CoreLogging.logger( ColumnIndexResolvingResultSetFactory.class );
+
+	private static final String BASE_CLASS_NAME = ColumnIndexResolvingResultSet.class.getName();
+	private static final String GENERATED_CLASS_NAME = BASE_CLASS_NAME + "_$$_generated";
+	private static final String RESULT_SET_CLASS_NAME = ResultSet.class.getName();
+	private static final String RESULT_SET_DESC = "Ljava/sql/ResultSet;";
+	private static final String CONSTRUCTOR_DESC = "(" + RESULT_SET_DESC + "Lorg/hibernate/engine/jdbc/ColumnNameCache;)V";
+	private static final String RESOLVE_METHOD_NAME = "resolveColumnIndex";
+	private static final String RESOLVE_METHOD_DESC = "(Ljava/lang/String;)I";
+
+	private ColumnIndexResolvingResultSetFactory() {
+	}
+
+	/**
+	 * Is the generated wrapper available?  It will not be if the class could not be generated or defined (e.g.
+	 * because of security restrictions), in which case callers should fall back to another way of wrapping.
+	 *
+	 * @return {@code true} if {@link #wrap} can be used.
+	 */
+	public static boolean isAvailable() {
+		return GeneratedClassHolder.CONSTRUCTOR != null;
+	}
+
+	/**
+	 * Wrap the given result set.
+	 *
+	 * @param resultSet The result set to wrap
+	 * @param columnNameCache The column name cache to resolve column labels through
+	 *
+	 * @return The wrapped result set
+	 */
+	public static ResultSet wrap(ResultSet resultSet, ColumnNameCache columnNameCache) {
+		if ( GeneratedClassHolder.CONSTRUCTOR == null ) {
+			throw new HibernateException( "ColumnIndexResolvingResultSet could not be generated" );
+		}
+		try {
+			return GeneratedClassHolder.CONSTRUCTOR.newInstance( resultSet, columnNameCache );
+		}
+		catch (InstantiationException e) {
+			throw new HibernateException( "Unable to instantiate ColumnIndexResolvingResultSet", e );
+		}
+		catch (IllegalAccessException e) {
+			throw new HibernateException( "Unable to instantiate ColumnIndexResolvingResultSet", e );
+		}
+		catch (InvocationTargetException e) {
+			throw new HibernateException( "Unable to instantiate ColumnIndexResolvingResultSet", e.getTargetException() );
+		}
+	}
+
+	private static class GeneratedClassHolder {
+		private static final Constructor<? extends ColumnIndexResolvingResultSet> CONSTRUCTOR = generate();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Constructor<? extends ColumnIndexResolvingResultSet> generate() {
+		try {
+			final ClassFile classFile = make();
+			final Class generated = FactoryHelper.toClass(
+					classFile,
+					ColumnIndexResolvingResultSet.class.getClassLoader(),
+					ColumnIndexResolvingResultSet.class.getProtectionDomain()
+			);
+			return generated.getConstructor( ResultSet.class, ColumnNameCache.class );
+		}
+		catch (Exception e) {
+			LOG.debugf( e, "Unable to generate %s, falling back to reflective ResultSet proxies", GENERATED_CLASS_NAME );
+			return null;
+		}
+		catch (LinkageError e) {
+			LOG.debugf( e, "Unable to generate %s, falling back to reflective ResultSet proxies", GENERATED_CLASS_NAME );
+			return null;
+		}
+	}
+
+	private static ClassFile make() throws CannotCompileException, NoSuchMethodException {
+		final ClassFile classFile = new ClassFile( false, GENERATED_CLASS_NAME, BASE_CLASS_NAME );
+		classFile.setAccessFlags( AccessFlag.PUBLIC | AccessFlag.FINAL );
+		addConstructor( classFile );
+
+		final Set<String> generatedSignatures = new HashSet<String>();
+		for ( Method method : ResultSet.class.getMethods() ) {
+			if ( Modifier.isStatic( method.getModifiers() ) ) {
+				continue;
+			}
+			// getMethods() may report methods redeclared from super-interfaces (e.g. close()) more than once
+			if ( !generatedSignatures.add( method.getName() + RuntimeSupport.makeDescriptor( method.getParameterTypes(), void.class ) ) ) {
+				continue;
+			}
+
+			final Method columnIndexMethod = locateCorrespondingColumnIndexMethod( method );
+			if ( "findColumn".equals( method.getName() ) ) {
+				addFindColumn( classFile, method );
+			}
+			else if ( columnIndexMethod != null ) {
+				addDelegation( classFile, method, columnIndexMethod, true );
+			}
+			else {
+				addDelegation( classFile, method, method, false );
+			}
+		}
+		return classFile;
+	}
+
+	/**
+	 * For a method accepting the column label as first argument, find the equivalent method accepting the
+	 * column index.
+	 */
+	private static Method locateCorrespondingColumnIndexMethod(Method method) {
+		final Class[] parameterTypes = method.getParameterTypes();
+		if ( parameterTypes.length == 0 || parameterTypes[0] != String.class ) {
+			return null;
+		}
+		final Class[] columnIndexParameterTypes = parameterTypes.clone();
+		columnIndexParameterTypes[0] = int.class;
+		try {
+			return ResultSet.class.getMethod( method.getName(), columnIndexParameterTypes );
+		}
+		catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static void addConstructor(ClassFile classFile) throws CannotCompileException {
+		final ConstPool constPool = classFile.getConstPool();
+		final MethodInfo constructor = new MethodInfo( constPool, MethodInfo.nameInit, CONSTRUCTOR_DESC );
+		constructor.setAccessFlags( AccessFlag.PUBLIC );
+
+		final Bytecode code = new Bytecode( constPool, 3, 3 );
+		code.addAload( 0 );
+		code.addAload( 1 );
+		code.addAload( 2 );
+		code.addInvokespecial( BASE_CLASS_NAME, MethodInfo.nameInit, CONSTRUCTOR_DESC );
+		code.addOpcode( Opcode.RETURN );
+
+		constructor.setCodeAttribute( code.toCodeAttribute() );
+		classFile.addMethod( constructor );
+	}
+
+	private static void addFindColumn(ClassFile classFile, Method method) throws CannotCompileException {
+		final ConstPool constPool = classFile.getConstPool();
+		final MethodInfo methodInfo = new MethodInfo( constPool, method.getName(), RuntimeSupport.makeDescriptor( method ) );
+		methodInfo.setAccessFlags( AccessFlag.PUBLIC );
+
+		final Bytecode code = new Bytecode( constPool, 2, 2 );
+		code.addAload( 0 );
+		code.addAload( 1 );
+		code.addInvokevirtual( BASE_CLASS_NAME, RESOLVE_METHOD_NAME, RESOLVE_METHOD_DESC );
+		code.addOpcode( Opcode.IRETURN );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		classFile.addMethod( methodInfo );
+	}
+
+	/**
+	 * Generates {@code method} as a call to {@code targetMethod} on the delegate, passing along all arguments.  If
+	 * {@code resolveColumnLabel} is {@code true}, the first (column label) argument is first resolved into the
+	 * column index.
+	 */
+	private static void addDelegation(
+			ClassFile classFile,
+			Method method,
+			Method targetMethod,
+			boolean resolveColumnLabel) throws CannotCompileException {
+		final ConstPool constPool = classFile.getConstPool();
+		final MethodInfo methodInfo = new MethodInfo( constPool, method.getName(), RuntimeSupport.makeDescriptor( method ) );
+		methodInfo.setAccessFlags( AccessFlag.PUBLIC );
+
+		final Class[] parameterTypes = method.getParameterTypes();
+		int argumentSlots = 0;
+		for ( Class parameterType : parameterTypes ) {
+			argumentSlots += slots( parameterType );
+		}
+		// "this" + arguments, resp. delegate + arguments (and "this" + column label while resolving it)
+		final Bytecode code = new Bytecode(
+				constPool,
+				Math.max( argumentSlots + 1, Math.max( slots( method.getReturnType() ), 3 ) ),
+				argumentSlots + 1
+		);
+		code.addAload( 0 );
+		code.addGetfield( BASE_CLASS_NAME, "delegate", RESULT_SET_DESC );
+
+		int slot = 1;
+		for ( int i = 0; i < parameterTypes.length; i++ ) {
+			if ( i == 0 && resolveColumnLabel ) {
+				code.addAload( 0 );
+				code.addAload( slot );
+				code.addInvokevirtual( BASE_CLASS_NAME, RESOLVE_METHOD_NAME, RESOLVE_METHOD_DESC );
+			}
+			else {
+				addLoad( code, parameterTypes[i], slot );
+			}
+			slot += slots( parameterTypes[i] );
+		}
+
+		code.addInvokeinterface(
+				RESULT_SET_CLASS_NAME,
+				targetMethod.getName(),
+				RuntimeSupport.makeDescriptor( targetMethod ),
+				argumentSlots + 1
+		);
+		addReturn( code, method.getReturnType() );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		classFile.addMethod( methodInfo );
+	}
+
+	private static int slots(Class type) {
+		if ( type == void.class ) {
+			return 0;
+		}
+		return type == long.class || type == double.class ? 2 : 1;
+	}
+
+	private static void addLoad(Bytecode code, Class type, int slot) {
+		if ( !type.isPrimitive() ) {
+			code.addAload( slot );
+		}
+		else if ( type == long.class ) {
+			code.addLload( slot );
+		}
+		else if ( type == float.class ) {
+			code.addFload( slot );
+		}
+		else if ( type == double.class ) {
+			code.addDload( slot );
+		}
+		else {
+			// int, boolean, short, byte and char
+			code.addIload( slot );
+		}
+	}
+
+	private static void addReturn(Bytecode code, Class type) {
+		if ( type == void.class ) {
+			code.addOpcode( Opcode.RETURN );
+		}
+		else if ( !type.isPrimitive() ) {
+			code.addOpcode( Opcode.ARETURN );
+		}
+		else if ( type == long.class ) {
+			code.addOpcode( Opcode.LRETURN );
+		}
+		else if ( type == float.class ) {
+			code.addOpcode( Opcode.FRETURN );
+		}
+		else if ( type == double.class ) {
+			code.addOpcode( Opcode.DRETURN );
+		}
+		else {
+			code.addOpcode( Opcode.IRETURN );
+		}
+	}
+}
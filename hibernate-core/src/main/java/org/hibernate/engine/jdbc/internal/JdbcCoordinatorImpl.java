@@ -13,9 +13,12 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -66,6 +69,8 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	private final ConnectionReleaseMode connectionReleaseMode;
 
 	private transient Batch currentBatch;
+	// the open batches, in order of creation, while interleaving batches
+	private transient LinkedHashMap<BatchKey,Batch> interleavedBatches;
 
 	private transient long transactionTimeOutInstant = -1;
 
@@ -187,8 +192,8 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		LOG.tracev( "Closing JDBC container [{0}]", this );
 		if ( currentBatch != null ) {
 			LOG.closingUnreleasedBatch();
-			currentBatch.release();
 		}
+		abortBatch();
 		cleanup();
 		return logicalConnection.close();
 	}
@@ -199,15 +204,49 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			if ( currentBatch.getKey().equals( key ) ) {
 				return currentBatch;
 			}
+			else if ( interleavedBatches != null ) {
+				final Batch batch = interleavedBatches.get( key );
+				if ( batch != null ) {
+					currentBatch = batch;
+					return currentBatch;
+				}
+			}
 			else {
 				currentBatch.execute();
 				currentBatch.release();
 			}
 		}
 		currentBatch = batchBuilder().buildBatch( key, this );
+		if ( interleavedBatches != null ) {
+			interleavedBatches.put( key, currentBatch );
+		}
 		return currentBatch;
 	}
 
+	@Override
+	public void beginInterleavedBatching() {
+		executeBatch();
+		currentBatch = null;
+		interleavedBatches = new LinkedHashMap<BatchKey,Batch>();
+	}
+
+	@Override
+	public void endInterleavedBatching() {
+		if ( interleavedBatches != null ) {
+			try {
+				// a failing batch aborts (i.e. releases) all of them
+				for ( Batch batch : new ArrayList<Batch>( interleavedBatches.values() ) ) {
+					batch.execute();
+					batch.release();
+				}
+			}
+			finally {
+				interleavedBatches = null;
+				currentBatch = null;
+			}
+		}
+	}
+
 	@Override
 	public void executeBatch() {
 		if ( currentBatch != null ) {
@@ -219,7 +258,15 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	@Override
 	public void abortBatch() {
-		if ( currentBatch != null ) {
+		if ( interleavedBatches != null ) {
+			final List<Batch> batches = new ArrayList<Batch>( interleavedBatches.values() );
+			interleavedBatches = null;
+			currentBatch = null;
+			for ( Batch batch : batches ) {
+				batch.release();
+			}
+		}
+		else if ( currentBatch != null ) {
 			currentBatch.release();
 		}
 	}
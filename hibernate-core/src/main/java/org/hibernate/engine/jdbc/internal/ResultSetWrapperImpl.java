@@ -9,6 +9,8 @@ package org.hibernate.engine.jdbc.internal;
 import java.sql.ResultSet;
 
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
+import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.engine.jdbc.ResultSetWrapperProxy;
 import org.hibernate.engine.jdbc.spi.ResultSetWrapper;
@@ -16,7 +18,8 @@ import org.hibernate.service.ServiceRegistry;
 
 /**
  * Standard Hibernate implementation for wrapping a {@link ResultSet} in a
- " column name cache" wrapper.
+ " column name cache" wrapper.  Uses the {@link ColumnIndexResolvingResultSet} generated with Javassist when
+ * Javassist is the configured bytecode provider, and the reflective {@link ResultSetWrapperProxy} otherwise.
  *
  * @author Steve Ebersole
  * @author Gail Badner
@@ -30,6 +33,10 @@ public class ResultSetWrapperImpl implements ResultSetWrapper {
 
 	@Override
 	public ResultSet wrap(ResultSet resultSet, ColumnNameCache columnNameCache) {
+		if ( Environment.getBytecodeProvider() instanceof BytecodeProviderImpl
+				&& ColumnIndexResolvingResultSetFactory.isAvailable() ) {
+			return ColumnIndexResolvingResultSetFactory.wrap( resultSet, columnNameCache );
+		}
 		return ResultSetWrapperProxy.generateProxy( resultSet, columnNameCache, serviceRegistry );
 	}
 }
@@ -49,6 +49,20 @@ public interface JdbcCoordinator extends Serializable, TransactionCoordinatorOwn
 	 */
 	public Batch getBatch(BatchKey key);
 
+	/**
+	 * Keep the batches for all the batch keys used open until {@link #endInterleavedBatching()} (or
+	 * {@link #abortBatch()}), rather than executing the current batch when a batch for another key is requested.
+	 * The statements of different batches (and other statements) are then no longer executed in the order they
+	 * were added, so this is only appropriate when that order does not matter.
+	 */
+	public void beginInterleavedBatching();
+
+	/**
+	 * Execute all the batches kept open since {@link #beginInterleavedBatching()}, going back to executing the
+	 * current batch when a batch for another key is requested.
+	 */
+	public void endInterleavedBatching();
+
 	/**
 	 * Execute the currently managed batch (if any)
 	 */
@@ -6,32 +6,58 @@
  */
 package org.hibernate.engine.query.spi;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
 
 import org.hibernate.Filter;
+import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.Version;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterImpl;
-import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
+ * <p/>
+ * A missing plan is compiled only once at a time: the threads asking for the same plan meanwhile wait for its
+ * compilation rather than compiling it again.
+ * <p/>
+ * The HQL queries the cache holds plans for can be saved into a local file, and compiled again from it by the
+ * cache of the next SessionFactory built over the same mappings.  Only the query strings are saved: the plans
+ * themselves reference the persisters of their SessionFactory.
  *
  * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
+ * @see Environment#QUERY_PLAN_CACHE_FILE
  *
  * @author Steve Ebersole
  */
@@ -47,12 +73,15 @@ public class QueryPlanCache implements Serializable {
 	 */
 	public static final int DEFAULT_QUERY_PLAN_MAX_COUNT = 2048;
 
+	private static final int PLAN_FILE_VERSION = 1;
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
 	private final SessionFactoryImplementor factory;
 
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap queryPlanCache;
+	private final BoundedConcurrentCache<Object,Object> queryPlanCache;
 
 	/**
 	 * simple cache of param metadata based on query string.  Ideally, the original "user-supplied query"
@@ -62,11 +91,16 @@ public class QueryPlanCache implements Serializable {
 	 * Used solely for caching param metadata for native-sql queries, see {@link #getSQLParameterMetadata} for a
 	 * discussion as to why...
 	 */
-	private final BoundedConcurrentHashMap<String,ParameterMetadata> parameterMetadataCache;
+	private final BoundedConcurrentCache<String,ParameterMetadata> parameterMetadataCache;
 
 
 	private NativeQueryInterpreter nativeQueryInterpreterService;
 
+	/**
+	 * the file the HQL queries are saved into, if any
+	 */
+	private final File planFile;
+
 	/**
 	 * Constructs the QueryPlanCache to be used by the given SessionFactory
 	 *
@@ -99,14 +133,16 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		parameterMetadataCache = new BoundedConcurrentHashMap<String, ParameterMetadata>(
-				maxParameterMetadataCount,
-				20,
-				BoundedConcurrentHashMap.Eviction.LIRS
-		);
+		queryPlanCache = new BoundedConcurrentCache<Object,Object>( maxQueryPlanCount );
+		parameterMetadataCache = new BoundedConcurrentCache<String,ParameterMetadata>( maxParameterMetadataCount );
 
 		nativeQueryInterpreterService = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
+
+		final String planFileName = ConfigurationHelper.getString(
+				Environment.QUERY_PLAN_CACHE_FILE,
+				factory.getProperties()
+		);
+		planFile = planFileName == null ? null : new File( planFileName );
 	}
 
 	/**
@@ -120,12 +156,15 @@ public class QueryPlanCache implements Serializable {
 	 * @return The parameter metadata
 	 */
 	public ParameterMetadata getSQLParameterMetadata(final String query)  {
-		ParameterMetadata value = parameterMetadataCache.get( query );
-		if ( value == null ) {
-			value = nativeQueryInterpreterService.getParameterMetadata( query );
-			parameterMetadataCache.putIfAbsent( query, value );
-		}
-		return value;
+		return parameterMetadataCache.get(
+				query,
+				new BoundedConcurrentCache.ValueLoader<String,ParameterMetadata>() {
+					@Override
+					public ParameterMetadata load(String key) {
+						return nativeQueryInterpreterService.getParameterMetadata( key );
+					}
+				}
+		);
 	}
 
 	/**
@@ -140,15 +179,23 @@ public class QueryPlanCache implements Serializable {
 	 * @throws QueryException Indicates a problem translating the query
 	 * @throws MappingException Indicates a problem translating the query
 	 */
-	@SuppressWarnings("unchecked")
-	public HQLQueryPlan getHQLQueryPlan(String queryString, boolean shallow, Map<String,Filter> enabledFilters)
-			throws QueryException, MappingException {
+	public HQLQueryPlan getHQLQueryPlan(
+			final String queryString,
+			final boolean shallow,
+			final Map<String,Filter> enabledFilters) throws QueryException, MappingException {
 		final HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
 		HQLQueryPlan value = (HQLQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
-			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
-			queryPlanCache.putIfAbsent( key, value );
+			value = (HQLQueryPlan) queryPlanCache.get(
+					key,
+					new BoundedConcurrentCache.ValueLoader<Object,Object>() {
+						@Override
+						public Object load(Object cacheKey) {
+							return new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
+						}
+					}
+			);
 		}
 		else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
@@ -169,12 +216,11 @@ public class QueryPlanCache implements Serializable {
 	 * @throws QueryException Indicates a problem translating the query
 	 * @throws MappingException Indicates a problem translating the query
 	 */
-	@SuppressWarnings("unchecked")
 	public FilterQueryPlan getFilterQueryPlan(
-			String filterString,
-			String collectionRole,
-			boolean shallow,
-			Map<String,Filter> enabledFilters) throws QueryException, MappingException {
+			final String filterString,
+			final String collectionRole,
+			final boolean shallow,
+			final Map<String,Filter> enabledFilters) throws QueryException, MappingException {
 		final FilterQueryPlanKey key =  new FilterQueryPlanKey( filterString, collectionRole, shallow, enabledFilters );
 		FilterQueryPlan value = (FilterQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
@@ -183,8 +229,15 @@ public class QueryPlanCache implements Serializable {
 					collectionRole,
 					filterString
 			);
-			value = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters,factory );
-			queryPlanCache.putIfAbsent( key, value );
+			value = (FilterQueryPlan) queryPlanCache.get(
+					key,
+					new BoundedConcurrentCache.ValueLoader<Object,Object>() {
+						@Override
+						public Object load(Object cacheKey) {
+							return new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters, factory );
+						}
+					}
+			);
 		}
 		else {
 			LOG.tracev( "Located collection-filter query plan in cache ({0} : {1})", collectionRole, filterString );
@@ -202,13 +255,19 @@ public class QueryPlanCache implements Serializable {
 	 * @throws QueryException Indicates a problem translating the query
 	 * @throws MappingException Indicates a problem translating the query
 	 */
-	@SuppressWarnings("unchecked")
 	public NativeSQLQueryPlan getNativeSQLQueryPlan(final NativeSQLQuerySpecification spec) {
 		NativeSQLQueryPlan value = (NativeSQLQueryPlan) queryPlanCache.get( spec );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate native-sql query plan in cache; generating ({0})", spec.getQueryString() );
-			value = nativeQueryInterpreterService.createQueryPlan( spec, factory );
-			queryPlanCache.putIfAbsent( spec, value );
+			value = (NativeSQLQueryPlan) queryPlanCache.get(
+					spec,
+					new BoundedConcurrentCache.ValueLoader<Object,Object>() {
+						@Override
+						public Object load(Object cacheKey) {
+							return nativeQueryInterpreterService.createQueryPlan( spec, factory );
+						}
+					}
+			);
 		}
 		else {
 			LOG.tracev( "Located native-sql query plan in cache ({0})", spec.getQueryString() );
@@ -217,9 +276,149 @@ public class QueryPlanCache implements Serializable {
 	}
 
 	/**
-	 * clean up QueryPlanCache when SessionFactory is closed
+	 * Compile the HQL queries saved by {@link #saveHQLQueries} into the configured file, if it was saved for
+	 * the same mappings.  The queries which do not compile anymore are skipped, and a file which cannot be read
+	 * back, for instance as it was truncated or corrupted, is ignored as a whole.
+	 *
+	 * @return The number of query plans compiled
+	 *
+	 * @see Environment#QUERY_PLAN_CACHE_FILE
+	 */
+	public int loadHQLQueries() {
+		if ( planFile == null || !planFile.isFile() ) {
+			return 0;
+		}
+		final List<HQLQueryPlanKey> keys = new ArrayList<HQLQueryPlanKey>();
+		final long fileLength = planFile.length();
+		try {
+			final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( planFile ) ) );
+			try {
+				if ( in.readInt() != PLAN_FILE_VERSION || !in.readUTF().equals( mappingChecksum() ) ) {
+					LOG.debugf( "Query plan file %s was saved for other mappings; ignoring it", planFile );
+					return 0;
+				}
+				// never trust the sizes read from the file: each query takes at least its flag and its length
+				final int count = in.readInt();
+				if ( count < 0 || count > fileLength / 5 ) {
+					throw new IOException( "Invalid number of queries: " + count );
+				}
+				for ( int i = 0; i < count; i++ ) {
+					final boolean shallow = in.readBoolean();
+					final int length = in.readInt();
+					if ( length < 0 || length > fileLength ) {
+						throw new IOException( "Invalid query length: " + length );
+					}
+					final byte[] query = new byte[length];
+					in.readFully( query );
+					keys.add( new HQLQueryPlanKey( new String( query, UTF_8 ), shallow, null ) );
+				}
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch (IOException e) {
+			LOG.debugf( e, "Unable to read query plan file %s; ignoring it", planFile );
+			return 0;
+		}
+		catch (RuntimeException e) {
+			LOG.warnf( "Unable to read query plan file %s; ignoring it: %s", planFile, e );
+			return 0;
+		}
+
+		int compiled = 0;
+		for ( HQLQueryPlanKey key : keys ) {
+			try {
+				getHQLQueryPlan( key.query, key.shallow, Collections.<String,Filter>emptyMap() );
+				compiled++;
+			}
+			catch (HibernateException e) {
+				LOG.debugf( "Unable to compile saved query [%s]; skipping it: %s", key.query, e.getMessage() );
+			}
+		}
+		LOG.debugf( "Compiled %s query plans from query plan file %s", compiled, planFile );
+		return compiled;
+	}
+
+	/**
+	 * Save the HQL queries this cache holds plans for, except those compiled with enabled filters, into the
+	 * configured file.
+	 *
+	 * @return The number of queries saved
+	 *
+	 * @see Environment#QUERY_PLAN_CACHE_FILE
+	 */
+	public int saveHQLQueries() {
+		if ( planFile == null ) {
+			return 0;
+		}
+		final List<HQLQueryPlanKey> keys = new ArrayList<HQLQueryPlanKey>();
+		for ( Object key : queryPlanCache.keys() ) {
+			if ( key instanceof HQLQueryPlanKey && ( (HQLQueryPlanKey) key ).filterKeys.isEmpty() ) {
+				keys.add( (HQLQueryPlanKey) key );
+			}
+		}
+		// written aside first, so that a concurrent startup never reads a partial file
+		final File tmpFile = new File( planFile.getPath() + ".tmp" );
+		try {
+			final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmpFile ) ) );
+			try {
+				out.writeInt( PLAN_FILE_VERSION );
+				out.writeUTF( mappingChecksum() );
+				out.writeInt( keys.size() );
+				for ( HQLQueryPlanKey key : keys ) {
+					final byte[] query = key.query.getBytes( UTF_8 );
+					out.writeBoolean( key.shallow );
+					out.writeInt( query.length );
+					out.write( query );
+				}
+			}
+			finally {
+				out.close();
+			}
+			if ( !tmpFile.renameTo( planFile ) && !( planFile.delete() && tmpFile.renameTo( planFile ) ) ) {
+				throw new IOException( "Unable to rename " + tmpFile + " to " + planFile );
+			}
+		}
+		catch (IOException e) {
+			LOG.warnf( "Unable to save the HQL queries into query plan file %s: %s", planFile, e.getMessage() );
+			tmpFile.delete();
+			return 0;
+		}
+		LOG.debugf( "Saved %s HQL queries into query plan file %s", keys.size(), planFile );
+		return keys.size();
+	}
+
+	/**
+	 * A checksum of the mappings the queries are compiled against, so that the queries saved for other mappings
+	 * are not compiled.
+	 */
+	private String mappingChecksum() {
+		final StringBuilder buffer = new StringBuilder( Version.getVersionString() )
+				.append( ';' ).append( factory.getDialect().getClass().getName() );
+		for ( EntityPersister persister : new TreeMap<String,EntityPersister>( factory.getEntityPersisters() ).values() ) {
+			buffer.append( ';' ).append( persister.getEntityName() )
+					.append( ':' ).append( persister.getIdentifierPropertyName() );
+			final String[] propertyNames = persister.getPropertyNames();
+			final Type[] propertyTypes = persister.getPropertyTypes();
+			for ( int i = 0; i < propertyNames.length; i++ ) {
+				buffer.append( ',' ).append( propertyNames[i] ).append( '=' ).append( propertyTypes[i].getName() );
+			}
+		}
+		for ( CollectionPersister persister : new TreeMap<String,CollectionPersister>( factory.getCollectionPersisters() ).values() ) {
+			buffer.append( ';' ).append( persister.getRole() )
+					.append( '=' ).append( persister.getElementType().getName() );
+		}
+		final CRC32 checksum = new CRC32();
+		checksum.update( buffer.toString().getBytes( UTF_8 ) );
+		return Long.toHexString( checksum.getValue() );
+	}
+
+	/**
+	 * clean up QueryPlanCache when SessionFactory is closed, saving its HQL queries first if so configured
 	 */
 	public void cleanup() {
+		saveHQLQueries();
 		LOG.trace( "Cleaning QueryPlan Cache" );
 		queryPlanCache.clear();
 		parameterMetadataCache.clear();
@@ -10,10 +10,12 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -330,7 +332,28 @@ public class ActionQueue {
 		}
 
 		for ( ExecutableList<?> l : executableLists ) {
-			executeActions( l );
+			if ( l == updates && session.getFactory().getSessionFactoryOptions().isJdbcBatchInterleavedUpdates() ) {
+				executeInterleavedActions( l );
+			}
+			else {
+				executeActions( l );
+			}
+		}
+	}
+
+	/**
+	 * Perform the actions of a list which may all be batched by statement, as their order does not matter
+	 * (i.e. the updates of different entities, which do not depend on each other).
+	 */
+	private <E extends Executable & Comparable<?> & Serializable> void executeInterleavedActions(ExecutableList<E> list) throws HibernateException {
+		session.getJdbcCoordinator().beginInterleavedBatching();
+		try {
+			executeActions( list );
+			session.getJdbcCoordinator().endInterleavedBatching();
+		}
+		catch (RuntimeException e) {
+			session.getJdbcCoordinator().abortBatch();
+			throw e;
 		}
 	}
 
@@ -442,7 +465,24 @@ public class ActionQueue {
 		//		1) we explicitly iterate list here to perform Executable#execute()
 		//		2) ExecutableList#getQuerySpaces also iterates the Executables to collect query spaces.
 		try {
-			for ( E e : list ) {
+			for ( int i = 0; i < list.size(); i++ ) {
+				final E e = list.get( i );
+				if ( e instanceof EntityIdentityInsertAction && ( (EntityIdentityInsertAction) e ).isBatchable() ) {
+					final List<EntityIdentityInsertAction> batch = collectIdentityInsertBatch( list, i );
+					if ( batch.size() > 1 ) {
+						try {
+							EntityIdentityInsertAction.executeBatch( batch );
+						}
+						finally {
+							for ( EntityIdentityInsertAction action : batch ) {
+								beforeTransactionProcesses.register( action.getBeforeTransactionCompletionProcess() );
+								afterTransactionProcesses.register( action.getAfterTransactionCompletionProcess() );
+							}
+						}
+						i += batch.size() - 1;
+						continue;
+					}
+				}
 				try {
 					e.execute();
 				}
@@ -466,6 +506,35 @@ public class ActionQueue {
 		session.getJdbcCoordinator().executeBatch();
 	}
 
+	/**
+	 * Collect the batchable IDENTITY inserts of the same entity following the given one in the list, up to the
+	 * JDBC batch size, and stopping at the first insert referring to the entity of an insert of the batch (as
+	 * its identifier is only known once the batch is executed).
+	 */
+	private <E extends Executable & Comparable<?> & Serializable> List<EntityIdentityInsertAction> collectIdentityInsertBatch(
+			ExecutableList<E> list,
+			int start) {
+		final EntityIdentityInsertAction first = (EntityIdentityInsertAction) list.get( start );
+		final int batchSize = session.getFactory().getSessionFactoryOptions().getJdbcBatchSize();
+		final List<EntityIdentityInsertAction> batch = new ArrayList<EntityIdentityInsertAction>();
+		final Map<Object, Object> entities = new IdentityHashMap<Object, Object>();
+		batch.add( first );
+		entities.put( first.getInstance(), first );
+		for ( int i = start + 1; i < list.size() && batch.size() < batchSize; i++ ) {
+			final E e = list.get( i );
+			if ( !( e instanceof EntityIdentityInsertAction ) ) {
+				break;
+			}
+			final EntityIdentityInsertAction action = (EntityIdentityInsertAction) e;
+			if ( action.getPersister() != first.getPersister() || !action.isBatchable() || action.refersToAny( entities ) ) {
+				break;
+			}
+			batch.add( action );
+			entities.put( action.getInstance(), action );
+		}
+		return batch;
+	}
+
 	/**
 	 * @param executable The action to execute
 	 */
@@ -7,18 +7,24 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.collection.internal.AbstractPersistentCollection;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.internal.CoreLogging;
+import org.hibernate.loader.AdaptiveBatchSize;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 
@@ -60,6 +66,27 @@ public class BatchFetchQueue {
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
 			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
 
+	/**
+	 * Used to hold the second-level cache entries read ahead of the loading of the entities they represent, keyed
+	 * by the {@link EntityKey} of the entities.  A {@code null} entry records an entity not found in the cache.
+	 * Created lazily.
+	 */
+	private Map<EntityKey, Serializable> prefetchedCacheEntries;
+
+	/**
+	 * Used to hold the entities batch-fetched along with another one in the
+	 * {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style and not accessed yet, with the batch size
+	 * recording whether they are.  Created lazily.
+	 */
+	private Map<EntityKey, AdaptiveBatchSize> batchFetchedEntities;
+
+	/**
+	 * Used to hold the collections batch-fetched along with another one in the
+	 * {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style and not accessed yet, with the batch size
+	 * recording whether they are.  Created lazily.
+	 */
+	private Map<PersistentCollection, AdaptiveBatchSize> batchFetchedCollections;
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -78,6 +105,7 @@ public class BatchFetchQueue {
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		clearPrefetchedCacheEntries();
 	}
 
 
@@ -150,12 +178,17 @@ public class BatchFetchQueue {
 				set.remove(key);
 			}
 		}
+		removePrefetchedCacheEntry( key );
 	}
 
 	/**
 	 * Get a batch of unloaded identifiers for this class, using a slightly
 	 * complex algorithm that tries to grab keys registered immediately after
 	 * the given key.
+	 * <p/>
+	 * The entities found in the second-level cache are left out of the batch.  Their cache entries are read a
+	 * batch at a time, and only for the keys about to join the batch: the entries are not kept, as they could be
+	 * outdated by the time the entities get loaded.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -170,50 +203,150 @@ public class BatchFetchQueue {
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
 
 		// TODO: this needn't exclude subclasses...
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
 		if ( set != null ) {
+			// the keys registered after the given one come first, then those registered right before it
+			final List<EntityKey> preceding = new ArrayList<EntityKey>();
+			final List<EntityKey> candidates = new ArrayList<EntityKey>( batchSize );
+			boolean found = false;
 			for ( EntityKey key : set ) {
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
+				if ( found ) {
+					candidates.add( key );
+					if ( candidates.size() == batchSize - i ) {
+						i = addUncachedIdentifiers( candidates, ids, i, persister );
+						if ( i == batchSize ) {
+							return ids;
+						}
+					}
 				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
+				else if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
+					found = true;
 				}
 				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
+					preceding.add( key );
 				}
-				if ( i == batchSize ) {
-					i = 1; // end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
+			}
+			i = addUncachedIdentifiers( candidates, ids, i, persister );
+			for ( int j = preceding.size() - 1; j >= 0 && i < batchSize; j-- ) {
+				candidates.add( preceding.get( j ) );
+				if ( candidates.size() == batchSize - i || j == 0 ) {
+					i = addUncachedIdentifiers( candidates, ids, i, persister );
 				}
 			}
 		}
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	/**
+	 * Adds the identifiers of the candidate entities which are not in the second-level cache to the batch, reading
+	 * the cache once for all of them rather than once per entity, then clears the candidates.
+	 *
+	 * @return The index of the next free slot of the batch
+	 */
+	private int addUncachedIdentifiers(
+			List<EntityKey> candidates,
+			Serializable[] ids,
+			int index,
+			EntityPersister persister) {
+		if ( candidates.isEmpty() ) {
+			return index;
+		}
 		final SessionImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			final EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
+		final boolean checkCache = session.getCacheMode().isGetEnabled() && persister.hasCache();
+		final List<EntityKey> entityKeys = new ArrayList<EntityKey>( candidates.size() );
+		for ( EntityKey key : candidates ) {
+			if ( isCacheEntryPrefetched( key ) ) {
+				// read ahead along with the other entities of a cached query result
+				if ( prefetchedCacheEntries.get( key ) == null ) {
+					ids[index++] = key.getIdentifier();
+				}
+			}
+			else if ( checkCache ) {
+				entityKeys.add( key );
+			}
+			else {
+				ids[index++] = key.getIdentifier();
+			}
+		}
+		candidates.clear();
+		if ( entityKeys.isEmpty() ) {
+			return index;
+		}
+		final EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
+		final Object[] cacheKeys = new Object[entityKeys.size()];
+		for ( int i = 0; i < cacheKeys.length; i++ ) {
+			cacheKeys[i] = cache.generateCacheKey(
+					entityKeys.get( i ).getIdentifier(),
 					persister,
 					session.getFactory(),
 					session.getTenantIdentifier()
 			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
 		}
-		return false;
+		final Serializable[] cacheEntries = CacheHelper.fromSharedCache( session, cacheKeys, cache );
+		for ( int i = 0; i < cacheEntries.length; i++ ) {
+			if ( cacheEntries[i] == null ) {
+				ids[index++] = entityKeys.get( i ).getIdentifier();
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Registers the second-level cache entry of an entity, read ahead of the loading of the entity, so that
+	 * loading it does not read the cache again.
+	 *
+	 * @param key The key of the entity
+	 * @param cacheEntry The cache entry of the entity, {@code null} if it was not found in the cache
+	 */
+	public void addPrefetchedCacheEntry(EntityKey key, Serializable cacheEntry) {
+		if ( prefetchedCacheEntries == null ) {
+			prefetchedCacheEntries = new HashMap<EntityKey, Serializable>( 8 );
+		}
+		prefetchedCacheEntries.put( key, cacheEntry );
+	}
+
+	/**
+	 * Are any second-level cache entries registered through {@link #addPrefetchedCacheEntry}?
+	 *
+	 * @return true/false
+	 */
+	public boolean hasPrefetchedCacheEntries() {
+		return prefetchedCacheEntries != null && !prefetchedCacheEntries.isEmpty();
+	}
+
+	/**
+	 * Was the second-level cache entry of the given entity read ahead?
+	 *
+	 * @param key The key of the entity
+	 *
+	 * @return true/false
+	 */
+	public boolean isCacheEntryPrefetched(EntityKey key) {
+		return prefetchedCacheEntries != null && prefetchedCacheEntries.containsKey( key );
+	}
+
+	/**
+	 * Removes the second-level cache entry read ahead for the given entity, once it is being loaded.
+	 *
+	 * @param key The key of the entity
+	 *
+	 * @return The cache entry, {@code null} if it was not found in the cache
+	 */
+	public Serializable removePrefetchedCacheEntry(EntityKey key) {
+		return prefetchedCacheEntries == null ? null : prefetchedCacheEntries.remove( key );
+	}
+
+	/**
+	 * Discards the second-level cache entries read ahead, so that they do not outlive the operation which read
+	 * them.
+	 */
+	public void clearPrefetchedCacheEntries() {
+		if ( prefetchedCacheEntries != null ) {
+			prefetchedCacheEntries.clear();
+		}
 	}
 	
 
@@ -248,6 +381,9 @@ public class BatchFetchQueue {
 
 	/**
 	 * Get a batch of uninitialized collection keys for a given role
+	 * <p/>
+	 * The collections found in the second-level cache are left out of the batch, their cache entries being read a
+	 * batch at a time, and only for the keys about to join the batch.
 	 *
 	 * @param collectionPersister The persister for the collection role.
 	 * @param id A key that must be included in the batch fetch
@@ -263,11 +399,13 @@ public class BatchFetchQueue {
 		keys[0] = id;
 
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
 
 		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
+			// the keys registered after the given one come first, then those registered right before it
+			final List<Serializable> preceding = new ArrayList<Serializable>();
+			final List<Serializable> candidates = new ArrayList<Serializable>( batchSize );
+			boolean found = false;
 			for ( Entry<CollectionEntry, PersistentCollection> me : map.entrySet() ) {
 				final CollectionEntry ce = me.getKey();
 				final PersistentCollection collection = me.getValue();
@@ -287,49 +425,186 @@ public class BatchFetchQueue {
 					continue;
 				}
 
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
+				if ( found ) {
+					candidates.add( ce.getLoadedKey() );
+					if ( candidates.size() == batchSize - i ) {
+						i = addUncachedKeys( candidates, keys, i, collectionPersister );
+						if ( i == batchSize ) {
+							return keys; //the batch is full
+						}
+					}
 				}
-
-				final boolean isEqual = collectionPersister.getKeyType().isEqual(
-						id,
-						ce.getLoadedKey(),
-						collectionPersister.getFactory()
-				);
-
-				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
+				else if ( collectionPersister.getKeyType().isEqual( id, ce.getLoadedKey(), collectionPersister.getFactory() ) ) {
+					found = true;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
+				else {
+					preceding.add( ce.getLoadedKey() );
 				}
-
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
+			}
+			i = addUncachedKeys( candidates, keys, i, collectionPersister );
+			for ( int j = preceding.size() - 1; j >= 0 && i < batchSize; j-- ) {
+				candidates.add( preceding.get( j ) );
+				if ( candidates.size() == batchSize - i || j == 0 ) {
+					i = addUncachedKeys( candidates, keys, i, collectionPersister );
 				}
 			}
 		}
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
-		SessionImplementor session = context.getSession();
-		if ( session.getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CollectionRegionAccessStrategy cache = persister.getCacheAccessStrategy();
-			Object cacheKey = cache.generateCacheKey(
-					collectionKey,
+	/**
+	 * Adds the candidate collection keys which are not in the second-level cache to the batch, reading the cache
+	 * once for all of them rather than once per collection, then clears the candidates.
+	 *
+	 * @return The index of the next free slot of the batch
+	 */
+	private int addUncachedKeys(
+			List<Serializable> candidates,
+			Serializable[] keys,
+			int index,
+			CollectionPersister persister) {
+		if ( candidates.isEmpty() ) {
+			return index;
+		}
+		final SessionImplementor session = context.getSession();
+		if ( !session.getCacheMode().isGetEnabled() || !persister.hasCache() ) {
+			for ( Serializable candidate : candidates ) {
+				keys[index++] = candidate;
+			}
+			candidates.clear();
+			return index;
+		}
+		final CollectionRegionAccessStrategy cache = persister.getCacheAccessStrategy();
+		final Object[] cacheKeys = new Object[candidates.size()];
+		for ( int i = 0; i < cacheKeys.length; i++ ) {
+			cacheKeys[i] = cache.generateCacheKey(
+					candidates.get( i ),
 					persister,
 					session.getFactory(),
 					session.getTenantIdentifier()
 			);
-			return CacheHelper.fromSharedCache( session, cacheKey, cache ) != null;
 		}
-		return false;
+		final Serializable[] cacheEntries = CacheHelper.fromSharedCache( session, cacheKeys, cache );
+		for ( int i = 0; i < cacheEntries.length; i++ ) {
+			if ( cacheEntries[i] == null ) {
+				keys[index++] = candidates.get( i );
+			}
+		}
+		candidates.clear();
+		return index;
+	}
+
+
+	// adaptive batch size support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Registers the entities just batch-fetched along with the requested one, so that the batch size learns whether
+	 * they get accessed.
+	 *
+	 * @param persister The entity persister
+	 * @param id The identifier of the requested entity
+	 * @param ids The identifiers of all the entities fetched
+	 * @param batchSize The batch size to notify
+	 */
+	public void addBatchFetchedEntities(
+			EntityPersister persister,
+			Serializable id,
+			Serializable[] ids,
+			AdaptiveBatchSize batchSize) {
+		if ( batchFetchedEntities == null ) {
+			batchFetchedEntities = new HashMap<EntityKey, AdaptiveBatchSize>();
+		}
+		for ( Serializable fetchedId : ids ) {
+			if ( !persister.getIdentifierType().isEqual( id, fetchedId ) ) {
+				batchFetchedEntities.put( context.getSession().generateEntityKey( fetchedId, persister ), batchSize );
+			}
+		}
+	}
+
+	/**
+	 * Notifies the access to an entity, which is counted as used if it was batch-fetched along with another one.
+	 *
+	 * @param key The key of the entity
+	 */
+	public void batchFetchedEntityUsed(EntityKey key) {
+		if ( batchFetchedEntities != null && !batchFetchedEntities.isEmpty() ) {
+			final AdaptiveBatchSize batchSize = batchFetchedEntities.remove( key );
+			if ( batchSize != null ) {
+				batchSize.recordUsed();
+			}
+		}
+	}
+
+	/**
+	 * Registers the collections just batch-fetched along with the requested one, so that the batch size learns
+	 * whether they get accessed.
+	 *
+	 * @param persister The collection persister
+	 * @param id The key of the requested collection
+	 * @param ids The keys of all the collections fetched
+	 * @param batchSize The batch size to notify
+	 */
+	public void addBatchFetchedCollections(
+			CollectionPersister persister,
+			Serializable id,
+			Serializable[] ids,
+			AdaptiveBatchSize batchSize) {
+		if ( batchFetchedCollections == null ) {
+			batchFetchedCollections = new IdentityHashMap<PersistentCollection, AdaptiveBatchSize>();
+		}
+		for ( Serializable fetchedId : ids ) {
+			if ( !persister.getKeyType().isEqual( id, fetchedId, persister.getFactory() ) ) {
+				final PersistentCollection collection = context.getCollection( new CollectionKey( persister, fetchedId ) );
+				if ( collection instanceof AbstractPersistentCollection ) {
+					( (AbstractPersistentCollection) collection ).markBatchFetched();
+					batchFetchedCollections.put( collection, batchSize );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Notifies the first access to a collection marked as batch-fetched along with another one.
+	 *
+	 * @param collection The collection
+	 */
+	public void batchFetchedCollectionUsed(PersistentCollection collection) {
+		if ( batchFetchedCollections != null ) {
+			final AdaptiveBatchSize batchSize = batchFetchedCollections.remove( collection );
+			if ( batchSize != null ) {
+				batchSize.recordUsed();
+			}
+		}
+	}
+
+	/**
+	 * Counts the entities and collections batch-fetched along with other ones and never accessed as unused.
+	 * <p/>
+	 * Called when clearing or closing the session.
+	 */
+	public void clearBatchFetched() {
+		if ( batchFetchedEntities != null ) {
+			recordUnused( batchFetchedEntities.values() );
+			batchFetchedEntities.clear();
+		}
+		if ( batchFetchedCollections != null ) {
+			recordUnused( batchFetchedCollections.values() );
+			batchFetchedCollections.clear();
+		}
+	}
+
+	private static void recordUnused(Collection<AdaptiveBatchSize> batchSizes) {
+		if ( batchSizes.isEmpty() ) {
+			return;
+		}
+		final Map<AdaptiveBatchSize, Integer> counts = new IdentityHashMap<AdaptiveBatchSize, Integer>();
+		for ( AdaptiveBatchSize batchSize : batchSizes ) {
+			final Integer count = counts.get( batchSize );
+			counts.put( batchSize, count == null ? 1 : count + 1 );
+		}
+		for ( Entry<AdaptiveBatchSize, Integer> entry : counts.entrySet() ) {
+			entry.getKey().recordUnused( entry.getValue() );
+		}
 	}
 
 }
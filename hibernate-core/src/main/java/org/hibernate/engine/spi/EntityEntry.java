@@ -117,6 +117,14 @@ public interface EntityEntry {
 
 	void forceLocked(Object entity, Object nextVersion);
 
+	/**
+	 * Discard the snapshot of the loaded state of a managed entity tracking its own dirtiness, for which
+	 * the snapshot is not needed to determine what to update.
+	 *
+	 * @see org.hibernate.Session#setReadMostly(boolean)
+	 */
+	void discardLoadedState();
+
 	boolean isReadOnly();
 
 	void setReadOnly(boolean readOnly, Object entity);
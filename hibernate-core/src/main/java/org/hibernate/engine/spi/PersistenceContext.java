@@ -643,6 +643,25 @@ public interface PersistenceContext {
 	 */
 	public void setDefaultReadOnly(boolean readOnly);
 
+	/**
+	 * Is this persistence context in read-mostly mode?
+	 *
+	 * @return true, no snapshot of the loaded state is kept for modifiable entities tracking their own dirtiness
+	 *
+	 * @see org.hibernate.Session#isReadMostly()
+	 */
+	public boolean isReadMostly();
+
+	/**
+	 * Change whether a snapshot of the loaded state is kept for modifiable entities tracking their own
+	 * dirtiness, which are loaded into this persistence context.
+	 *
+	 * @param readMostly true, no snapshot is kept for such entities; false, a snapshot is kept
+	 *
+	 * @see org.hibernate.Session#setReadMostly(boolean)
+	 */
+	public void setReadMostly(boolean readMostly);
+
 	/**
 	 * Is the entity or proxy read-only?
 	 * <p/>
@@ -447,6 +447,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		session.setDefaultReadOnly( readOnly );
 	}
 
+	@Override
+	public boolean isReadMostly() {
+		return session.isReadMostly();
+	}
+
+	@Override
+	public void setReadMostly(boolean readMostly) {
+		session.setReadMostly( readMostly );
+	}
+
 	@Override
 	public Serializable getIdentifier(Object object) {
 		return session.getIdentifier( object );
@@ -25,6 +25,7 @@ import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.service.spi.EventListenerRegistry;
@@ -203,6 +204,9 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
 		final int count = entityEntries.length;
 
+		final boolean skipCleanEntities = isDefaultFlushEntityEventListenerOnly( flushListeners );
+		int skipped = 0;
+
 		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
 
 			// Update the status of the object and if necessary, schedule an update
@@ -210,6 +214,11 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 			EntityEntry entry = me.getValue();
 			Status status = entry.getStatus();
 
+			if ( skipCleanEntities && isUnequivocallyClean( me.getKey(), entry ) ) {
+				skipped++;
+				continue;
+			}
+
 			if ( status != Status.LOADING && status != Status.GONE ) {
 				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
 				for ( FlushEntityEventListener listener : flushListeners ) {
@@ -218,11 +227,40 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 			}
 		}
 
+		if ( skipped > 0 && LOG.isTraceEnabled() ) {
+			LOG.tracev( "Skipped {0} of {1} entities tracking their own dirtiness and reporting no change", skipped, count );
+		}
+
 		source.getActionQueue().sortActions();
 
 		return count;
 	}
 
+	private static boolean isDefaultFlushEntityEventListenerOnly(Iterable<FlushEntityEventListener> flushListeners) {
+		int count = 0;
+		for ( FlushEntityEventListener listener : flushListeners ) {
+			if ( ++count > 1 || listener.getClass() != DefaultFlushEntityEventListener.class ) {
+				return false;
+			}
+		}
+		return count == 1;
+	}
+
+	/**
+	 * Is the entity one which {@link DefaultFlushEntityEventListener} has nothing to do for?  That is the case
+	 * for managed entities tracking their own dirtiness (typically through bytecode enhancement) which report no
+	 * change, provided they own no collections (which need to be reached by the flush).  Those can be skipped
+	 * without even creating the {@link FlushEntityEvent}, so that flushing a large persistence context of such
+	 * entities costs little more than a walk over its entries.  This includes the entities of read-mostly
+	 * sessions, whose loaded state was discarded: the tracker alone tells they were not changed.
+	 */
+	private static boolean isUnequivocallyClean(Object entity, EntityEntry entry) {
+		return entry.getStatus() == Status.MANAGED
+				&& entity instanceof SelfDirtinessTracker
+				&& !entry.getPersister().hasCollections()
+				&& !entry.requiresDirtyCheck( entity );
+	}
+
 	/**
 	 * process any unreferenced collections and then inspect all known collections,
 	 * scheduling creates/removes/updates
@@ -31,6 +31,7 @@ import org.hibernate.id.IdentifierGenerationException;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.type.Type;
@@ -227,7 +228,9 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 		Serializable id = key == null ? null : key.getIdentifier();
 
 		boolean inTxn = source.isTransactionInProgress();
-		boolean shouldDelayIdentityInserts = !inTxn && !requiresImmediateIdAccess;
+		// the inserts which can be batched are delayed to flush time, to be executed together
+		boolean shouldDelayIdentityInserts = !requiresImmediateIdAccess
+				&& ( !inTxn || isIdentityInsertBatchable( persister ) );
 
 		// Put a placeholder in entries, so we don't recurse back and try to save() the
 		// same object again. QUESTION: should this be done before onSave() is called?
@@ -327,6 +330,11 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 		}
 	}
 
+	private static boolean isIdentityInsertBatchable(EntityPersister persister) {
+		return persister instanceof AbstractEntityPersister
+				&& ( (AbstractEntityPersister) persister ).isIdentityInsertBatchable();
+	}
+
 	private void markInterceptorDirty(Object entity, EntityPersister persister, EventSource source) {
 		if ( persister.getInstrumentationMetadata().isInstrumented() ) {
 			FieldInterceptor interceptor = persister.getInstrumentationMetadata().injectInterceptor(
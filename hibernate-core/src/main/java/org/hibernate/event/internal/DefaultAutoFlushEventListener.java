@@ -12,6 +12,7 @@ import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -41,6 +42,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
+				final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+				final long startTime = stats ? System.nanoTime() : 0;
 				flushEverythingToExecutions(event);
 				if ( flushIsReallyNeeded(event, source) ) {
 					LOG.trace( "Need to execute flush" );
@@ -52,8 +55,11 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 					postPostFlush( source );
 
-					if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
+					if ( stats ) {
 						source.getFactory().getStatisticsImplementor().flush();
+						if ( source.getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+							( (LatencyStatisticsImplementor) source.getFactory().getStatisticsImplementor() ).flushLatency( System.nanoTime() - startTime );
+						}
 					}
 				}
 				else {
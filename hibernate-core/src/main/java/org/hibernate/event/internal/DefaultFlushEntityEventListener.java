@@ -177,11 +177,37 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			// grab its current state
 			values = persister.getPropertyValues( entity );
 
-			checkNaturalId( persister, entry, values, loadedState, session );
+			// without a loaded state, the natural id could only be checked against a snapshot selected from
+			// the database: avoid it when the entity tracks its own changes and reports none to the natural id
+			if ( loadedState != null || !isNaturalIdTrackedAsUnchanged( entity, mightBeDirty, persister ) ) {
+				checkNaturalId( persister, entry, values, loadedState, session );
+			}
 		}
 		return values;
 	}
 
+	private static boolean isNaturalIdTrackedAsUnchanged(Object entity, boolean mightBeDirty, EntityPersister persister) {
+		if ( !mightBeDirty ) {
+			return true;
+		}
+		if ( !( entity instanceof SelfDirtinessTracker ) || !persister.hasNaturalIdentifier() ) {
+			return false;
+		}
+		final String[] dirtyAttributes = ( (SelfDirtinessTracker) entity ).$$_hibernate_getDirtyAttributes();
+		if ( dirtyAttributes == null ) {
+			return false;
+		}
+		final String[] propertyNames = persister.getPropertyNames();
+		for ( int naturalIdPropertyIndex : persister.getNaturalIdentifierProperties() ) {
+			for ( String dirtyAttribute : dirtyAttributes ) {
+				if ( propertyNames[naturalIdPropertyIndex].equals( dirtyAttribute ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 	private boolean wrapCollections(
 			EventSource session,
 			EntityPersister persister,
@@ -11,6 +11,7 @@ import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.FlushEvent;
 import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 
 /**
  * Defines the default flush event listeners used by hibernate for 
@@ -32,6 +33,8 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( persistenceContext.getNumberOfManagedEntities() > 0 ||
 				persistenceContext.getCollectionEntries().size() > 0 ) {
 
+			final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+			final long startTime = stats ? System.nanoTime() : 0;
 			try {
 				source.getEventListenerManager().flushStart();
 
@@ -48,8 +51,11 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 
 			postPostFlush( source );
 
-			if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
+			if ( stats ) {
 				source.getFactory().getStatisticsImplementor().flush();
+				if ( source.getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) source.getFactory().getStatisticsImplementor() ).flushLatency( System.nanoTime() - startTime );
+				}
 			}
 		}
 	}
@@ -22,6 +22,7 @@ import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.internal.Versioning;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -41,6 +42,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 import org.hibernate.type.EmbeddedComponentType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -193,7 +195,14 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			persister.setIdentifier( event.getInstanceToLoad(), event.getEntityId(), event.getSession() );
 		}
 
+		final boolean stats = event.getSession().getFactory().getStatistics().isStatisticsEnabled();
+		final long startTime = stats ? System.nanoTime() : 0;
 		Object entity = doLoad( event, persister, keyToLoad, options );
+		if ( stats ) {
+			if ( event.getSession().getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+				( (LatencyStatisticsImplementor) event.getSession().getFactory().getStatisticsImplementor() ).entityLoadLatency( System.nanoTime() - startTime );
+			}
+		}
 
 		boolean isOptionalInstance = event.getInstanceToLoad() != null;
 
@@ -431,6 +440,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
+			event.getSession().getPersistenceContext().getBatchFetchQueue().batchFetchedEntityUsed( keyToLoad );
 			return entity;
 		}
 
@@ -582,7 +592,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				source.getTenantIdentifier()
 		);
 
-		final Object ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		final Object ce = fromSharedCache( source, event.getEntityId(), persister, ck );
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
 			if ( ce == null ) {
 				factory.getStatisticsImplementor().secondLevelCacheMiss(
@@ -615,6 +625,22 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		return entity;
 	}
 
+	private Object fromSharedCache(
+			SessionImplementor source,
+			Serializable entityId,
+			EntityPersister persister,
+			Object ck) {
+		final BatchFetchQueue batchFetchQueue = source.getPersistenceContext().getBatchFetchQueue();
+		if ( batchFetchQueue.hasPrefetchedCacheEntries() ) {
+			// the cache entry may have been read ahead, along with others, e.g. while reading a cached query result
+			final EntityKey entityKey = source.generateEntityKey( entityId, persister );
+			if ( batchFetchQueue.isCacheEntryPrefetched( entityKey ) ) {
+				return batchFetchQueue.removePrefetchedCacheEntry( entityKey );
+			}
+		}
+		return CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+	}
+
 	private Object convertCacheEntryToEntity(
 			CacheEntry entry,
 			Serializable entityId,
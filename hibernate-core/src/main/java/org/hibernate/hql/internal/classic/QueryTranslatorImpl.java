@@ -56,6 +56,7 @@ import org.hibernate.persister.entity.Queryable;
 import org.hibernate.sql.JoinFragment;
 import org.hibernate.sql.JoinType;
 import org.hibernate.sql.QuerySelect;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.EntityType;
@@ -1002,6 +1003,9 @@ public class QueryTranslatorImpl extends BasicLoader implements FilterTranslator
 						0,
 						milliseconds
 				);
+				if ( session.getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) session.getFactory().getStatisticsImplementor() ).queryExecutionLatency( endTime - startTime );
+				}
 			}
 
 			return result;
@@ -0,0 +1,23 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.util.Properties;
+
+/**
+ * Contract for optimizers which wish to be configured from the parameters of the generator using them.
+ * <p/>
+ * Used instead of constructor injection for the same reasons as {@link InitialValueAwareOptimizer}.
+ */
+public interface ConfigurableOptimizer {
+	/**
+	 * Configure the optimizer.
+	 *
+	 * @param params The params supplied in the generator config (plus some standard useful extras).
+	 */
+	public void configure(Properties params);
+}
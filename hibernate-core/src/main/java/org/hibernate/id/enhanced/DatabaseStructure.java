@@ -8,6 +8,7 @@ package org.hibernate.id.enhanced;
 
 import org.hibernate.boot.model.relational.ExportableProducer;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.SessionImplementor;
 
 /**
@@ -50,6 +51,17 @@ public interface DatabaseStructure extends ExportableProducer {
 	 */
 	public AccessCallback buildCallback(SessionImplementor session);
 
+	/**
+	 * A callback to be able to get the next value from the underlying
+	 * structure outside of any session, through its own JDBC connections.
+	 * Used by {@link PrefetchCapableOptimizer optimizers} obtaining values
+	 * in the background.
+	 *
+	 * @param jdbcServices The JdbcServices, for connection access and error handling.
+	 * @return The next value.
+	 */
+	public AccessCallback buildDetachedCallback(JdbcServices jdbcServices);
+
 	/**
 	 * Prepare this structure for use.  Called sometime after instantiation,
 	 * but before first use.
@@ -27,8 +27,8 @@ public interface Optimizer {
 	/**
 	 * Generate an identifier value accounting for this specific optimization.
 	 *
-	 * All known implementors are synchronized. Consider carefully if a new
-	 * implementation could drop this requirement.
+	 * Implementations must be thread-safe.  Most known implementors are simply
+	 * synchronized; see {@link PooledLockFreeOptimizer} for one which is not.
 	 *
 	 * @param callback Callback to access the underlying value source.
 	 * @return The generated identifier value.
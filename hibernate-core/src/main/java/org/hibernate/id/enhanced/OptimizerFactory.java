@@ -7,6 +7,7 @@
 package org.hibernate.id.enhanced;
 
 import java.lang.reflect.Constructor;
+import java.util.Properties;
 
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.ReflectHelper;
@@ -99,6 +100,30 @@ public class OptimizerFactory {
 		return optimizer;
 	}
 
+	/**
+	 * Builds an optimizer
+	 *
+	 * @param type The optimizer type, either a short-hand name or the {@link Optimizer} class name.
+	 * @param returnClass The generated value java type
+	 * @param incrementSize The increment size.
+	 * @param explicitInitialValue The user supplied initial-value (-1 indicates the user did not specify).
+	 * @param params The params supplied in the generator config, passed along to {@link ConfigurableOptimizer}s
+	 *
+	 * @return The built optimizer
+	 */
+	public static Optimizer buildOptimizer(
+			String type,
+			Class returnClass,
+			int incrementSize,
+			long explicitInitialValue,
+			Properties params) {
+		final Optimizer optimizer = buildOptimizer( type, returnClass, incrementSize, explicitInitialValue );
+		if ( ConfigurableOptimizer.class.isInstance( optimizer ) ) {
+			( (ConfigurableOptimizer) optimizer ).configure( params );
+		}
+		return optimizer;
+	}
+
 	/**
 	 * Deprecated!
 	 *
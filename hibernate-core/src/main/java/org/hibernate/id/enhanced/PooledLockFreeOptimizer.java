@@ -0,0 +1,407 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of the {@link PooledOptimizer} (the database value is interpreted the same way, as the hi value of
+ * the current range) which does not serialize callers on a monitor.  Values are handed out from the current
+ * range with a single CAS; the underlying {@link DatabaseStructure} is only touched, under a lock, by the
+ * thread which finds the range exhausted.
+ * <p/>
+ * When {@value AvailableSettings#POOLED_OPTIMIZER_THREAD_BLOCK_SIZE} is set to a value greater than 1, each
+ * thread additionally claims blocks of that many values from the current range and hands those out without
+ * any shared-memory access.  Values are then still unique, but are no longer generated in increasing order
+ * across threads, and the unused part of a thread's block is lost once that thread goes away.
+ * <p/>
+ * When {@value AvailableSettings#POOLED_OPTIMIZER_PREFETCH_THRESHOLD} is set, the next range is requested from
+ * the database structure in the background as soon as that fraction of the current range has been handed out,
+ * so that the thread exhausting the range normally does not wait on the database.  Prefetching only applies to
+ * the no-tenant state; it needs a {@link #injectPrefetchCallback detached callback} to obtain values outside
+ * of any session.  The background thread belongs to the optimizer and is ended by {@link #stopPrefetch()}, when
+ * the SessionFactory closes.
+ * <p/>
+ * Values are tracked as {@code long}s internally, so the generated values must fit into a {@code long} even if
+ * the identifier type is {@link java.math.BigInteger} or {@link java.math.BigDecimal}.
+ *
+ * @see PooledOptimizer
+ */
+public class PooledLockFreeOptimizer extends AbstractOptimizer
+		implements InitialValueAwareOptimizer, ConfigurableOptimizer, PrefetchCapableOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledLockFreeOptimizer.class.getName()
+	);
+
+	private static final long PREFETCH_TERMINATION_TIMEOUT = 10;
+
+	private static final ThreadFactory PREFETCH_THREAD_FACTORY = new ThreadFactory() {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-id-prefetch-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	};
+
+	/**
+	 * A range of values, {@code [next, hi]}; claiming values is a matter of atomically advancing {@code next}.
+	 */
+	private static class Range {
+		private final AtomicLong next;
+		private final long hi;
+		/**
+		 * The value whose hand-out triggers the prefetch of the next range, or {@code Long.MAX_VALUE} for none.
+		 */
+		private final long prefetchTrigger;
+
+		private Range(long lo, long hi, long prefetchTrigger) {
+			this.next = new AtomicLong( lo );
+			this.hi = hi;
+			this.prefetchTrigger = prefetchTrigger;
+		}
+	}
+
+	/**
+	 * The block of values a thread claimed for itself, {@code [next, last]}.
+	 */
+	private static class ThreadBlock {
+		private long next;
+		private long last = -1;
+	}
+
+	private static class GenerationState {
+		private volatile Range range;
+		private volatile IntegralDataTypeHolder lastSourceValue;
+		/**
+		 * The source value being prefetched in the background, if any; guarded by the state's monitor.
+		 */
+		private Future<IntegralDataTypeHolder> prefetch;
+		private final ThreadLocal<ThreadBlock> threadBlocks = new ThreadLocal<ThreadBlock>() {
+			@Override
+			protected ThreadBlock initialValue() {
+				return new ThreadBlock();
+			}
+		};
+	}
+
+	private long initialValue = -1;
+	private int threadBlockSize = 1;
+	private double prefetchThreshold;
+	private volatile AccessCallback prefetchCallback;
+	/**
+	 * The thread obtaining the values prefetched, created on the first prefetch; guarded by the monitor of
+	 * {@link #noTenantState}, the only state prefetching.
+	 */
+	private ExecutorService prefetchExecutor;
+
+	private final GenerationState noTenantState = new GenerationState();
+	private final ConcurrentMap<String,GenerationState> tenantSpecificState = new ConcurrentHashMap<String, GenerationState>();
+
+	/**
+	 * Constructs a PooledLockFreeOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public PooledLockFreeOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating lock-free pooled optimizer with [incrementSize={0}; returnClass={1}]",
+					incrementSize,
+					returnClass.getName()
+			);
+		}
+	}
+
+	@Override
+	public void configure(Properties params) {
+		threadBlockSize = ConfigurationHelper.getInt( AvailableSettings.POOLED_OPTIMIZER_THREAD_BLOCK_SIZE, params, 1 );
+		if ( threadBlockSize < 1 ) {
+			throw new HibernateException(
+					AvailableSettings.POOLED_OPTIMIZER_THREAD_BLOCK_SIZE + " cannot be less than 1"
+			);
+		}
+		// a thread block can never span ranges
+		threadBlockSize = Math.min( threadBlockSize, incrementSize );
+
+		final String threshold = ConfigurationHelper.getString( AvailableSettings.POOLED_OPTIMIZER_PREFETCH_THRESHOLD, params );
+		try {
+			prefetchThreshold = threshold == null ? 0d : Double.parseDouble( threshold );
+		}
+		catch (NumberFormatException e) {
+			throw new HibernateException(
+					"Unable to parse " + AvailableSettings.POOLED_OPTIMIZER_PREFETCH_THRESHOLD + " [" + threshold + "]"
+			);
+		}
+		if ( prefetchThreshold < 0d || prefetchThreshold >= 1d ) {
+			throw new HibernateException(
+					AvailableSettings.POOLED_OPTIMIZER_PREFETCH_THRESHOLD + " must be within [0, 1)"
+			);
+		}
+	}
+
+	public int getThreadBlockSize() {
+		return threadBlockSize;
+	}
+
+	public double getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	@Override
+	public boolean isPrefetchEnabled() {
+		// with an increment size of 1 there is nothing to overlap the database access with
+		return prefetchThreshold > 0d && incrementSize > 1;
+	}
+
+	@Override
+	public void injectPrefetchCallback(AccessCallback callback) {
+		this.prefetchCallback = callback;
+	}
+
+	@Override
+	public void stopPrefetch() {
+		final ExecutorService executor;
+		synchronized ( noTenantState ) {
+			prefetchCallback = null;
+			executor = prefetchExecutor;
+			prefetchExecutor = null;
+		}
+		if ( executor == null ) {
+			return;
+		}
+		// let the prefetch under way, if any, complete while its connections are still available
+		executor.shutdown();
+		try {
+			if ( !executor.awaitTermination( PREFETCH_TERMINATION_TIMEOUT, TimeUnit.SECONDS ) ) {
+				log.debug( "Timed out waiting for the identifier range prefetch to complete" );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+		if ( threadBlockSize > 1 ) {
+			return generateFromThreadBlock( generationState, callback );
+		}
+
+		Range range = generationState.range;
+		while ( true ) {
+			if ( range != null ) {
+				final long value = range.next.getAndIncrement();
+				if ( value <= range.hi ) {
+					if ( value == range.prefetchTrigger ) {
+						startPrefetch( generationState );
+					}
+					return makeValue( value );
+				}
+			}
+			range = nextRange( generationState, range, callback );
+		}
+	}
+
+	private Serializable generateFromThreadBlock(GenerationState generationState, AccessCallback callback) {
+		final ThreadBlock threadBlock = generationState.threadBlocks.get();
+		if ( threadBlock.next <= threadBlock.last ) {
+			return makeValue( threadBlock.next++ );
+		}
+
+		Range range = generationState.range;
+		while ( true ) {
+			if ( range != null ) {
+				final long start = range.next.getAndAdd( threadBlockSize );
+				if ( start <= range.hi ) {
+					threadBlock.next = start + 1;
+					threadBlock.last = Math.min( start + threadBlockSize - 1, range.hi );
+					if ( start <= range.prefetchTrigger && range.prefetchTrigger <= threadBlock.last ) {
+						startPrefetch( generationState );
+					}
+					return makeValue( start );
+				}
+			}
+			range = nextRange( generationState, range, callback );
+		}
+	}
+
+	/**
+	 * Called when {@code exhaustedRange} ran out of values.  Only the first caller to notice actually
+	 * consults the database structure, the others simply pick up the range it obtained.
+	 */
+	private Range nextRange(GenerationState generationState, Range exhaustedRange, AccessCallback callback) {
+		synchronized ( generationState ) {
+			Range range = generationState.range;
+			if ( range == exhaustedRange ) {
+				range = fetchRange( generationState, callback );
+				generationState.range = range;
+			}
+			return range;
+		}
+	}
+
+	private Range fetchRange(GenerationState generationState, AccessCallback callback) {
+		final IntegralDataTypeHolder prefetched = takePrefetchedValue( generationState );
+		if ( prefetched != null ) {
+			final long value = IdentifierGeneratorHelper.extractLong( prefetched );
+			return newRange( generationState, prefetched, value - ( incrementSize - 1 ), value );
+		}
+
+		final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		final long value = IdentifierGeneratorHelper.extractLong( sourceValue );
+
+		if ( generationState.lastSourceValue == null ) {
+			// same initialization logic as PooledOptimizer
+			if ( sourceValue.lt( 1 ) ) {
+				log.pooledOptimizerReportedInitialValue( sourceValue );
+			}
+			// the call to obtain next-value just gave us the initialValue
+			if ( ( initialValue == -1 && value < incrementSize ) || value == initialValue ) {
+				final IntegralDataTypeHolder hiValue = callback.getNextValue();
+				return newRange( generationState, hiValue, value, IdentifierGeneratorHelper.extractLong( hiValue ) );
+			}
+		}
+
+		return newRange( generationState, sourceValue, value - ( incrementSize - 1 ), value );
+	}
+
+	private Range newRange(GenerationState generationState, IntegralDataTypeHolder sourceValue, long lo, long hi) {
+		generationState.lastSourceValue = sourceValue;
+		long prefetchTrigger = Long.MAX_VALUE;
+		if ( generationState == noTenantState && prefetchCallback != null ) {
+			prefetchTrigger = lo + (long) ( prefetchThreshold * ( hi - lo + 1 ) );
+		}
+		return new Range( lo, hi, prefetchTrigger );
+	}
+
+	/**
+	 * Schedules obtaining the next source value in the background, unless that is already under way.
+	 */
+	private void startPrefetch(GenerationState generationState) {
+		final AccessCallback callback = prefetchCallback;
+		if ( callback == null ) {
+			return;
+		}
+		synchronized ( generationState ) {
+			if ( generationState.prefetch != null || prefetchCallback == null ) {
+				// already under way, or stopped meanwhile
+				return;
+			}
+			final FutureTask<IntegralDataTypeHolder> task = new FutureTask<IntegralDataTypeHolder>(
+					new Callable<IntegralDataTypeHolder>() {
+						@Override
+						public IntegralDataTypeHolder call() {
+							return callback.getNextValue();
+						}
+					}
+			);
+			if ( prefetchExecutor == null ) {
+				prefetchExecutor = Executors.newSingleThreadExecutor( PREFETCH_THREAD_FACTORY );
+			}
+			generationState.prefetch = task;
+			prefetchExecutor.execute( task );
+		}
+	}
+
+	/**
+	 * Called with the state's monitor held: waits for the outstanding prefetch, if any, to complete.  If it failed
+	 * {@code null} is returned and the caller obtains the value itself.
+	 */
+	private IntegralDataTypeHolder takePrefetchedValue(GenerationState generationState) {
+		final Future<IntegralDataTypeHolder> prefetch = generationState.prefetch;
+		if ( prefetch == null ) {
+			return null;
+		}
+		generationState.prefetch = null;
+		try {
+			return prefetch.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			// the prefetched value (if obtained at all) is lost, which merely leaves a gap
+			log.debug( "Interrupted while waiting for the prefetched identifier range" );
+			return null;
+		}
+		catch (ExecutionException e) {
+			log.debug( "Prefetching the next identifier range failed; obtaining it inline", e.getCause() );
+			return null;
+		}
+	}
+
+	private Serializable makeValue(long value) {
+		if ( returnClass == Long.class ) {
+			return value;
+		}
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( value ).makeValue();
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+
+		GenerationState state = tenantSpecificState.get( tenantIdentifier );
+		if ( state == null ) {
+			state = new GenerationState();
+			final GenerationState previous = tenantSpecificState.putIfAbsent( tenantIdentifier, state );
+			if ( previous != null ) {
+				state = previous;
+			}
+		}
+		return state;
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		if ( noTenantState.lastSourceValue == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state for no-tenant" );
+		}
+		return noTenantState.lastSourceValue;
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	@Override
+	public void injectInitialValue(long initialValue) {
+		this.initialValue = initialValue;
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+/**
+ * Contract for optimizers able to obtain the next range of values from the underlying source ahead of time, in
+ * the background, so that generating a value never has to wait on the database under steady load.
+ * <p/>
+ * The {@link AccessCallback} passed to {@link Optimizer#generate} is bound to the session (and thread)
+ * requesting a value and cannot be used for that; instead the generator injects a
+ * {@link DatabaseStructure#buildDetachedCallback detached callback}, which obtains its own JDBC connections.
+ */
+public interface PrefetchCapableOptimizer {
+	/**
+	 * Was prefetching enabled by the optimizer's configuration?
+	 *
+	 * @return {@code true} if the optimizer wants a {@link #injectPrefetchCallback prefetch callback}
+	 */
+	public boolean isPrefetchEnabled();
+
+	/**
+	 * Injects the callback to use for prefetching; it may be called from any thread.
+	 *
+	 * @param callback The session independent callback
+	 */
+	public void injectPrefetchCallback(AccessCallback callback);
+
+	/**
+	 * Stops prefetching, waiting for the value being obtained in the background, if any.  Values are obtained
+	 * inline afterwards.  Called when the SessionFactory closes, before the connections get released.
+	 */
+	public void stopPrefetch();
+}
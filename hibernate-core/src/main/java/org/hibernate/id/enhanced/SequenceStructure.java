@@ -6,9 +6,11 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -18,10 +20,14 @@ import org.hibernate.boot.model.relational.QualifiedName;
 import org.hibernate.boot.model.relational.Sequence;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.resource.transaction.backend.jdbc.internal.JdbcIsolationDelegate;
 
 import org.jboss.logging.Logger;
 
@@ -45,7 +51,7 @@ public class SequenceStructure implements DatabaseStructure {
 	private String sequenceName;
 	private String sql;
 	private boolean applyIncrementSizeToSourceValues;
-	private int accessCounter;
+	private final AtomicInteger accessCounter = new AtomicInteger();
 
 	public SequenceStructure(
 			JdbcEnvironment jdbcEnvironment,
@@ -72,7 +78,7 @@ public class SequenceStructure implements DatabaseStructure {
 
 	@Override
 	public int getTimesAccessed() {
-		return accessCounter;
+		return accessCounter.get();
 	}
 
 	@Override
@@ -89,7 +95,7 @@ public class SequenceStructure implements DatabaseStructure {
 		return new AccessCallback() {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
-				accessCounter++;
+				accessCounter.incrementAndGet();
 				try {
 					final PreparedStatement st = session.getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
 					try {
@@ -134,6 +140,56 @@ public class SequenceStructure implements DatabaseStructure {
 		};
 	}
 
+	@Override
+	public AccessCallback buildDetachedCallback(final JdbcServices jdbcServices) {
+		return new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				if ( sql == null ) {
+					throw new AssertionFailure( "SequenceStyleGenerator's SequenceStructure was not properly initialized" );
+				}
+				final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate(
+						jdbcServices.getBootstrapJdbcConnectionAccess(),
+						jdbcServices.getSqlExceptionHelper()
+				);
+				return isolationDelegate.delegateWork(
+						new AbstractReturningWork<IntegralDataTypeHolder>() {
+							@Override
+							public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+								accessCounter.incrementAndGet();
+								jdbcServices.getSqlStatementLogger().logStatement( sql );
+								final PreparedStatement st = connection.prepareStatement( sql );
+								try {
+									final ResultSet rs = st.executeQuery();
+									try {
+										rs.next();
+										final IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+										value.initialize( rs, 1 );
+										if ( LOG.isDebugEnabled() ) {
+											LOG.debugf( "Sequence value prefetched: %s", value.makeValue() );
+										}
+										return value;
+									}
+									finally {
+										rs.close();
+									}
+								}
+								finally {
+									st.close();
+								}
+							}
+						},
+						false
+				);
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+	}
+
 	@Override
 	public void prepare(Optimizer optimizer) {
 		applyIncrementSizeToSourceValues = optimizer.applyIncrementSizeToSourceValues();
@@ -18,6 +18,7 @@ import org.hibernate.boot.model.relational.QualifiedNameParser;
 import org.hibernate.cfg.Environment;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.id.BulkInsertionCapableIdentifierGenerator;
 import org.hibernate.id.Configurable;
@@ -249,9 +250,16 @@ public class SequenceStyleGenerator
 				optimizationStrategy,
 				identifierType.getReturnedClass(),
 				incrementSize,
-				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
+				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 ),
+				params
 		);
 		this.databaseStructure.prepare( optimizer );
+		if ( PrefetchCapableOptimizer.class.isInstance( optimizer )
+				&& ( (PrefetchCapableOptimizer) optimizer ).isPrefetchEnabled() ) {
+			( (PrefetchCapableOptimizer) optimizer ).injectPrefetchCallback(
+					databaseStructure.buildDetachedCallback( serviceRegistry.getService( JdbcServices.class ) )
+			);
+		}
 	}
 
 	/**
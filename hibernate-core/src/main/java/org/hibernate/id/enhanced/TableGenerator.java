@@ -15,6 +15,7 @@ import java.sql.Types;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -31,8 +32,10 @@ import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.Configurable;
 import org.hibernate.id.ExportableColumn;
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -45,6 +48,7 @@ import org.hibernate.jdbc.AbstractReturningWork;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.PrimaryKey;
 import org.hibernate.mapping.Table;
+import org.hibernate.resource.transaction.backend.jdbc.internal.JdbcIsolationDelegate;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.LongType;
 import org.hibernate.type.StringType;
@@ -236,7 +240,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	private String updateQuery;
 
 	private Optimizer optimizer;
-	private long accessCount;
+	private final AtomicLong accessCount = new AtomicLong();
 
 	@Override
 	public Object generatorKey() {
@@ -341,7 +345,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	 * @return Value for property 'tableAccessCount'.
 	 */
 	public final long getTableAccessCount() {
-		return accessCount;
+		return accessCount.get();
 	}
 
 	@Override
@@ -373,8 +377,15 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 				optimizationStrategy,
 				identifierType.getReturnedClass(),
 				incrementSize,
-				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
+				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 ),
+				params
 		);
+		if ( PrefetchCapableOptimizer.class.isInstance( optimizer )
+				&& ( (PrefetchCapableOptimizer) optimizer ).isPrefetchEnabled() ) {
+			( (PrefetchCapableOptimizer) optimizer ).injectPrefetchCallback(
+					buildDetachedCallback( serviceRegistry.getService( JdbcServices.class ) )
+			);
+		}
 	}
 
 	/**
@@ -533,73 +544,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 					@Override
 					public IntegralDataTypeHolder getNextValue() {
 						return session.getTransactionCoordinator().createIsolationDelegate().delegateWork(
-								new AbstractReturningWork<IntegralDataTypeHolder>() {
-									@Override
-									public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
-										final IntegralDataTypeHolder value = makeValue();
-										int rows;
-										do {
-											final PreparedStatement selectPS = prepareStatement( connection, selectQuery, statementLogger, statsCollector );
-
-											try {
-												selectPS.setString( 1, segmentValue );
-												final ResultSet selectRS = executeQuery( selectPS, statsCollector );
-												if ( !selectRS.next() ) {
-													value.initialize( initialValue );
-
-													final PreparedStatement insertPS = prepareStatement( connection, insertQuery, statementLogger, statsCollector );
-													try {
-														insertPS.setString( 1, segmentValue );
-														value.bind( insertPS, 2 );
-														executeUpdate( insertPS, statsCollector );
-													}
-													finally {
-														insertPS.close();
-													}
-												}
-												else {
-													value.initialize( selectRS, 1 );
-												}
-												selectRS.close();
-											}
-											catch (SQLException e) {
-												LOG.unableToReadOrInitHiValue( e );
-												throw e;
-											}
-											finally {
-												selectPS.close();
-											}
-
-
-											final PreparedStatement updatePS = prepareStatement( connection, updateQuery, statementLogger, statsCollector );
-											try {
-												final IntegralDataTypeHolder updateValue = value.copy();
-												if ( optimizer.applyIncrementSizeToSourceValues() ) {
-													updateValue.add( incrementSize );
-												}
-												else {
-													updateValue.increment();
-												}
-												updateValue.bind( updatePS, 1 );
-												value.bind( updatePS, 2 );
-												updatePS.setString( 3, segmentValue );
-												rows = executeUpdate( updatePS, statsCollector );
-											}
-											catch (SQLException e) {
-												LOG.unableToUpdateQueryHiValue( renderedTableName, e );
-												throw e;
-											}
-											finally {
-												updatePS.close();
-											}
-										}
-										while ( rows == 0 );
-
-										accessCount++;
-
-										return value;
-									}
-								},
+								buildNextValueWork( statementLogger, statsCollector ),
 								true
 						);
 					}
@@ -612,6 +557,105 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		);
 	}
 
+	/**
+	 * A callback obtaining the next hi value outside of any session, through its own JDBC connections, for
+	 * {@link PrefetchCapableOptimizer optimizers} obtaining values in the background.
+	 */
+	private AccessCallback buildDetachedCallback(final JdbcServices jdbcServices) {
+		final SessionEventListenerManager statsCollector = new SessionEventListenerManagerImpl();
+
+		return new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate(
+						jdbcServices.getBootstrapJdbcConnectionAccess(),
+						jdbcServices.getSqlExceptionHelper()
+				);
+				return isolationDelegate.delegateWork(
+						buildNextValueWork( jdbcServices.getSqlStatementLogger(), statsCollector ),
+						true
+				);
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+	}
+
+	private AbstractReturningWork<IntegralDataTypeHolder> buildNextValueWork(
+			final SqlStatementLogger statementLogger,
+			final SessionEventListenerManager statsCollector) {
+		return new AbstractReturningWork<IntegralDataTypeHolder>() {
+			@Override
+			public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+				final IntegralDataTypeHolder value = makeValue();
+				int rows;
+				do {
+					final PreparedStatement selectPS = prepareStatement( connection, selectQuery, statementLogger, statsCollector );
+
+					try {
+						selectPS.setString( 1, segmentValue );
+						final ResultSet selectRS = executeQuery( selectPS, statsCollector );
+						if ( !selectRS.next() ) {
+							value.initialize( initialValue );
+
+							final PreparedStatement insertPS = prepareStatement( connection, insertQuery, statementLogger, statsCollector );
+							try {
+								insertPS.setString( 1, segmentValue );
+								value.bind( insertPS, 2 );
+								executeUpdate( insertPS, statsCollector );
+							}
+							finally {
+								insertPS.close();
+							}
+						}
+						else {
+							value.initialize( selectRS, 1 );
+						}
+						selectRS.close();
+					}
+					catch (SQLException e) {
+						LOG.unableToReadOrInitHiValue( e );
+						throw e;
+					}
+					finally {
+						selectPS.close();
+					}
+
+
+					final PreparedStatement updatePS = prepareStatement( connection, updateQuery, statementLogger, statsCollector );
+					try {
+						final IntegralDataTypeHolder updateValue = value.copy();
+						if ( optimizer.applyIncrementSizeToSourceValues() ) {
+							updateValue.add( incrementSize );
+						}
+						else {
+							updateValue.increment();
+						}
+						updateValue.bind( updatePS, 1 );
+						value.bind( updatePS, 2 );
+						updatePS.setString( 3, segmentValue );
+						rows = executeUpdate( updatePS, statsCollector );
+					}
+					catch (SQLException e) {
+						LOG.unableToUpdateQueryHiValue( renderedTableName, e );
+						throw e;
+					}
+					finally {
+						updatePS.close();
+					}
+				}
+				while ( rows == 0 );
+
+				accessCount.incrementAndGet();
+
+				return value;
+			}
+		};
+	}
+
 	private PreparedStatement prepareStatement(
 			Connection connection,
 			String sql,
@@ -11,6 +11,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -25,8 +26,10 @@ import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.ExportableColumn;
 import org.hibernate.id.IdentifierGenerationException;
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -34,6 +37,7 @@ import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.jdbc.AbstractReturningWork;
 import org.hibernate.mapping.Table;
+import org.hibernate.resource.transaction.backend.jdbc.internal.JdbcIsolationDelegate;
 import org.hibernate.type.LongType;
 
 import org.jboss.logging.Logger;
@@ -62,7 +66,7 @@ public class TableStructure implements DatabaseStructure {
 	private String updateQuery;
 
 	private boolean applyIncrementSizeToSourceValues;
-	private int accessCounter;
+	private final AtomicInteger accessCounter = new AtomicInteger();
 
 	public TableStructure(
 			JdbcEnvironment jdbcEnvironment,
@@ -96,7 +100,7 @@ public class TableStructure implements DatabaseStructure {
 
 	@Override
 	public int getTimesAccessed() {
-		return accessCounter;
+		return accessCounter.get();
 	}
 
 	@Override
@@ -123,64 +127,7 @@ public class TableStructure implements DatabaseStructure {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
 				return session.getTransactionCoordinator().createIsolationDelegate().delegateWork(
-						new AbstractReturningWork<IntegralDataTypeHolder>() {
-							@Override
-							public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
-								final IntegralDataTypeHolder value = makeValue();
-								int rows;
-								do {
-									final PreparedStatement selectStatement = prepareStatement(
-											connection,
-											selectQuery,
-											statementLogger,
-											statsCollector
-									);
-									try {
-										final ResultSet selectRS = executeQuery( selectStatement, statsCollector );
-										if ( !selectRS.next() ) {
-											final String err = "could not read a hi value - you need to populate the table: " + tableNameText;
-											LOG.error( err );
-											throw new IdentifierGenerationException( err );
-										}
-										value.initialize( selectRS, 1 );
-										selectRS.close();
-									}
-									catch (SQLException sqle) {
-										LOG.error( "could not read a hi value", sqle );
-										throw sqle;
-									}
-									finally {
-										selectStatement.close();
-									}
-
-
-									final PreparedStatement updatePS = prepareStatement(
-											connection,
-											updateQuery,
-											statementLogger,
-											statsCollector
-									);
-									try {
-										final int increment = applyIncrementSizeToSourceValues ? incrementSize : 1;
-										final IntegralDataTypeHolder updateValue = value.copy().add( increment );
-										updateValue.bind( updatePS, 1 );
-										value.bind( updatePS, 2 );
-										rows = executeUpdate( updatePS, statsCollector );
-									}
-									catch (SQLException e) {
-										LOG.unableToUpdateQueryHiValue( tableNameText, e );
-										throw e;
-									}
-									finally {
-										updatePS.close();
-									}
-								} while ( rows == 0 );
-
-								accessCounter++;
-
-								return value;
-							}
-						},
+						buildNextValueWork( statementLogger, statsCollector ),
 						true
 				);
 			}
@@ -192,6 +139,96 @@ public class TableStructure implements DatabaseStructure {
 		};
 	}
 
+	@Override
+	public AccessCallback buildDetachedCallback(final JdbcServices jdbcServices) {
+		final SessionEventListenerManager statsCollector = new SessionEventListenerManagerImpl();
+
+		return new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				if ( selectQuery == null || updateQuery == null ) {
+					throw new AssertionFailure( "SequenceStyleGenerator's TableStructure was not properly initialized" );
+				}
+				final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate(
+						jdbcServices.getBootstrapJdbcConnectionAccess(),
+						jdbcServices.getSqlExceptionHelper()
+				);
+				return isolationDelegate.delegateWork(
+						buildNextValueWork( jdbcServices.getSqlStatementLogger(), statsCollector ),
+						true
+				);
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+	}
+
+	private AbstractReturningWork<IntegralDataTypeHolder> buildNextValueWork(
+			final SqlStatementLogger statementLogger,
+			final SessionEventListenerManager statsCollector) {
+		return new AbstractReturningWork<IntegralDataTypeHolder>() {
+			@Override
+			public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+				final IntegralDataTypeHolder value = makeValue();
+				int rows;
+				do {
+					final PreparedStatement selectStatement = prepareStatement(
+							connection,
+							selectQuery,
+							statementLogger,
+							statsCollector
+					);
+					try {
+						final ResultSet selectRS = executeQuery( selectStatement, statsCollector );
+						if ( !selectRS.next() ) {
+							final String err = "could not read a hi value - you need to populate the table: " + tableNameText;
+							LOG.error( err );
+							throw new IdentifierGenerationException( err );
+						}
+						value.initialize( selectRS, 1 );
+						selectRS.close();
+					}
+					catch (SQLException sqle) {
+						LOG.error( "could not read a hi value", sqle );
+						throw sqle;
+					}
+					finally {
+						selectStatement.close();
+					}
+
+
+					final PreparedStatement updatePS = prepareStatement(
+							connection,
+							updateQuery,
+							statementLogger,
+							statsCollector
+					);
+					try {
+						final int increment = applyIncrementSizeToSourceValues ? incrementSize : 1;
+						final IntegralDataTypeHolder updateValue = value.copy().add( increment );
+						updateValue.bind( updatePS, 1 );
+						value.bind( updatePS, 2 );
+						rows = executeUpdate( updatePS, statsCollector );
+					}
+					catch (SQLException e) {
+						LOG.unableToUpdateQueryHiValue( tableNameText, e );
+						throw e;
+					}
+					finally {
+						updatePS.close();
+					}
+				} while ( rows == 0 );
+
+				accessCounter.incrementAndGet();
+
+				return value;
+			}
+		};
+	}
+
 	private PreparedStatement prepareStatement(
 			Connection connection,
 			String sql,
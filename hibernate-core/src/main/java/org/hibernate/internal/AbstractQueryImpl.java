@@ -31,6 +31,7 @@ import org.hibernate.NonUniqueResultException;
 import org.hibernate.PropertyNotFoundException;
 import org.hibernate.Query;
 import org.hibernate.QueryException;
+import org.hibernate.ScrollMode;
 import org.hibernate.Session;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
@@ -951,6 +952,14 @@ public abstract class AbstractQueryImpl implements Query {
 
 	// Execution methods ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	public Iterator<?> scrollIterator() throws HibernateException {
+		return scrollIterator( true );
+	}
+
+	public Iterator<?> scrollIterator(boolean evictProcessedEntities) throws HibernateException {
+		return new ScrollableResultsIterator( scroll( ScrollMode.FORWARD_ONLY ), session, evictProcessedEntities );
+	}
+
 	public Object uniqueResult() throws HibernateException {
 		return uniqueElement( list() );
 	}
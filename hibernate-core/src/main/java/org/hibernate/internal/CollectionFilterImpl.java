@@ -68,6 +68,13 @@ public class CollectionFilterImpl extends QueryImpl {
 		throw new UnsupportedOperationException( "Can't scroll filters" );
 	}
 
+	/**
+	 * @see org.hibernate.Query#scrollIterator(boolean)
+	 */
+	public Iterator<?> scrollIterator(boolean evictProcessedEntities) throws HibernateException {
+		throw new UnsupportedOperationException( "Can't scroll filters" );
+	}
+
 	public Type[] typeArray() {
 		List typeList = getTypes();
 		int size = typeList.size();
@@ -33,6 +33,7 @@ import org.hibernate.engine.loading.internal.EntityLoadContext;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.stat.LatencyStatistics;
 import org.hibernate.type.BasicType;
 import org.hibernate.type.SerializationException;
 import org.hibernate.type.Type;
@@ -1747,4 +1748,20 @@ public interface CoreMessageLogger extends BasicLogger {
 	@Message(value = "Hikari properties were encountered, but the Hikari ConnectionProvider was not found on the classpath; these properties are going to be ignored.",
 			id = 472)
 	void hikariProviderClassNotFound();
+
+	@LogMessage(level = INFO)
+	@Message(value = "Query execution latency: %s", id = 473)
+	void queryExecutionLatency(LatencyStatistics latency);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Entity load latency: %s", id = 474)
+	void entityLoadLatency(LatencyStatistics latency);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Flush latency: %s", id = 475)
+	void flushLatency(LatencyStatistics latency);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Second level cache get latency: %s", id = 476)
+	void secondLevelCacheGetLatency(LatencyStatistics latency);
 }
@@ -9,6 +9,13 @@ package org.hibernate.internal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
@@ -17,6 +24,7 @@ import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.NamedQueryDefinition;
 import org.hibernate.engine.spi.NamedSQLQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.procedure.ProcedureCallMemento;
 
@@ -143,58 +151,198 @@ public class NamedQueryRepository {
 	}
 
 	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache) {
-		Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+		return checkNamedQueries( queryPlanCache, 1 );
+	}
 
-		// Check named HQL queries
+	/**
+	 * Compile the named HQL and native SQL queries into the query plan cache, using up to the given number of
+	 * threads.
+	 *
+	 * @param queryPlanCache The query plan cache receiving the plans
+	 * @param threads The number of threads compiling the queries; {@code 1} compiles them on the calling thread
+	 *
+	 * @return The errors of the queries which failed to compile, keyed by query name
+	 */
+	public Map<String,HibernateException> checkNamedQueries(final QueryPlanCache queryPlanCache, int threads) {
+		final Map<String, NamedQueryDefinition> namedQueryDefinitionMap = this.namedQueryDefinitionMap;
+		final Map<String, NamedSQLQueryDefinition> namedSqlQueryDefinitionMap = this.namedSqlQueryDefinitionMap;
 		log.debugf( "Checking %s named HQL queries", namedQueryDefinitionMap.size() );
-		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
-				//TODO: BUG! this currently fails for named queries for non-POJO entities
-				queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
+
+		final int queryCount = namedQueryDefinitionMap.size() + namedSqlQueryDefinitionMap.size();
+		if ( threads <= 1 || queryCount <= 1 ) {
+			final Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+			for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
+				final HibernateException error = checkNamedQuery( namedQueryDefinition, queryPlanCache );
+				if ( error != null ) {
+					errors.put( namedQueryDefinition.getName(), error );
+				}
 			}
-			catch ( HibernateException e ) {
-				errors.put( namedQueryDefinition.getName(), e );
+			for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
+				final HibernateException error = checkNamedSQLQuery( namedSQLQueryDefinition, queryPlanCache );
+				if ( error != null ) {
+					errors.put( namedSQLQueryDefinition.getName(), error );
+				}
 			}
+			return errors;
+		}
 
+		// the query plan cache compiles each distinct query once, however many threads ask for it
+		final Map<String, Future<HibernateException>> checks = new HashMap<String, Future<HibernateException>>();
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min( threads, queryCount ),
+				new CheckingThreadFactory()
+		);
+		try {
+			for ( final NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
+				checks.put(
+						namedQueryDefinition.getName(),
+						executor.submit(
+								new Callable<HibernateException>() {
+									@Override
+									public HibernateException call() {
+										return checkNamedQuery( namedQueryDefinition, queryPlanCache );
+									}
+								}
+						)
+				);
+			}
+			for ( final NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
+				checks.put(
+						namedSQLQueryDefinition.getName(),
+						executor.submit(
+								new Callable<HibernateException>() {
+									@Override
+									public HibernateException call() {
+										return checkNamedSQLQuery( namedSQLQueryDefinition, queryPlanCache );
+									}
+								}
+						)
+				);
+			}
 
+			final Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+			for ( Map.Entry<String, Future<HibernateException>> check : checks.entrySet() ) {
+				final HibernateException error = awaitCheck( check.getValue() );
+				if ( error != null ) {
+					errors.put( check.getKey(), error );
+				}
+			}
+			return errors;
 		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
 
-		// Check native-sql queries
-		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
+	/**
+	 * Compile the named HQL and native SQL queries into the query plan cache on the calling thread, one at a time,
+	 * until the given session factory gets closed.
+	 *
+	 * @param queryPlanCache The query plan cache receiving the plans
+	 * @param sessionFactory The session factory owning the queries
+	 *
+	 * @return The errors of the queries which failed to compile, keyed by query name
+	 */
+	Map<String,HibernateException> warmUpNamedQueries(QueryPlanCache queryPlanCache, SessionFactoryImplementor sessionFactory) {
+		final Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
+			if ( sessionFactory.isClosed() ) {
+				return errors;
+			}
+			final HibernateException error = checkNamedQuery( namedQueryDefinition, queryPlanCache );
+			if ( error != null ) {
+				errors.put( namedQueryDefinition.getName(), error );
+			}
+		}
 		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
-				// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
-				// currently not doable though because of the resultset-ref stuff...
-				NativeSQLQuerySpecification spec;
-				if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
-					if ( definition == null ) {
-						throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
-					}
-					spec = new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							definition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
-				}
-				else {
-					spec =  new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							namedSQLQueryDefinition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
+			if ( sessionFactory.isClosed() ) {
+				return errors;
+			}
+			final HibernateException error = checkNamedSQLQuery( namedSQLQueryDefinition, queryPlanCache );
+			if ( error != null ) {
+				errors.put( namedSQLQueryDefinition.getName(), error );
+			}
+		}
+		return errors;
+	}
+
+	private static HibernateException awaitCheck(Future<HibernateException> check) {
+		try {
+			return check.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while checking the named queries", e );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Unable to check the named queries", cause );
+		}
+	}
+
+	private HibernateException checkNamedQuery(NamedQueryDefinition namedQueryDefinition, QueryPlanCache queryPlanCache) {
+		// this will throw an error if there's something wrong.
+		try {
+			log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
+			//TODO: BUG! this currently fails for named queries for non-POJO entities
+			queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+			return null;
+		}
+		catch ( HibernateException e ) {
+			return e;
+		}
+	}
+
+	private HibernateException checkNamedSQLQuery(
+			NamedSQLQueryDefinition namedSQLQueryDefinition,
+			QueryPlanCache queryPlanCache) {
+		// this will throw an error if there's something wrong.
+		try {
+			log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
+			// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
+			// currently not doable though because of the resultset-ref stuff...
+			NativeSQLQuerySpecification spec;
+			if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
+				ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
+				if ( definition == null ) {
+					throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
 				}
-				queryPlanCache.getNativeSQLQueryPlan( spec );
+				spec = new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						definition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
 			}
-			catch ( HibernateException e ) {
-				errors.put( namedSQLQueryDefinition.getName(), e );
+			else {
+				spec =  new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						namedSQLQueryDefinition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
 			}
+			queryPlanCache.getNativeSQLQueryPlan( spec );
+			return null;
 		}
+		catch ( HibernateException e ) {
+			return e;
+		}
+	}
 
-		return errors;
+	private static class CheckingThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-named-query-check-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
 	}
 }
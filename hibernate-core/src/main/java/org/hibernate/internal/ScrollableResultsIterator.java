@@ -0,0 +1,173 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.JDBCException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.HibernateIterator;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * {@link HibernateIterator} over forward-only {@link ScrollableResults}, reading rows one at a time as the
+ * iterator is advanced rather than materializing them all the way {@link org.hibernate.Query#list()} does.
+ * <p/>
+ * Unless told otherwise, the entities returned as part of a row are evicted from the session when the iterator
+ * moves on to the next row, so that iterating over a large result does not grow the persistence context (whether
+ * the entities associated to them are evicted as well depends on their evict cascading).  Entities which were
+ * already associated with the session when the iteration started are kept, and so are the entities modified
+ * while processing their row, whose changes evicting would discard.  The underlying JDBC resources are released
+ * once the iterator is exhausted or {@link #close() closed}.
+ *
+ * @see org.hibernate.Query#scrollIterator()
+ */
+public class ScrollableResultsIterator implements HibernateIterator {
+	private final ScrollableResults scrollableResults;
+	private final SessionImplementor session;
+	private final boolean evictProcessedEntities;
+	/**
+	 * The entities associated with the session before the iteration, which are never evicted.
+	 */
+	private final Set<Object> preexistingEntities;
+
+	private Object[] currentRow;
+	private boolean hasNext;
+	private boolean advanced;
+	private boolean closed;
+
+	public ScrollableResultsIterator(
+			ScrollableResults scrollableResults,
+			SessionImplementor session,
+			boolean evictProcessedEntities) {
+		this.scrollableResults = scrollableResults;
+		this.session = session;
+		// there is nothing to evict from for stateless sessions
+		this.evictProcessedEntities = evictProcessedEntities && EventSource.class.isInstance( session );
+		this.preexistingEntities = this.evictProcessedEntities
+				? collectManagedEntities( session.getPersistenceContext() )
+				: Collections.<Object>emptySet();
+	}
+
+	private static Set<Object> collectManagedEntities(PersistenceContext persistenceContext) {
+		if ( persistenceContext.getNumberOfManagedEntities() == 0 ) {
+			return Collections.emptySet();
+		}
+		final Set<Object> entities = Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>() );
+		for ( Map.Entry<Object, EntityEntry> entry : persistenceContext.reentrantSafeEntityEntries() ) {
+			entities.add( entry.getKey() );
+		}
+		return entities;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( !advanced ) {
+			advance();
+		}
+		return hasNext;
+	}
+
+	@Override
+	public Object next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException( "No more results" );
+		}
+		advanced = false;
+		currentRow = scrollableResults.get();
+		// same as Query#list(): single results as is, multiple results per row as Object[]
+		return currentRow.length == 1 ? currentRow[0] : currentRow;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException( "Not a mutable result iterator" );
+	}
+
+	private void advance() {
+		if ( closed ) {
+			hasNext = false;
+			return;
+		}
+		evictCurrentRow();
+		hasNext = scrollableResults.next();
+		advanced = true;
+		if ( !hasNext ) {
+			close();
+		}
+	}
+
+	private void evictCurrentRow() {
+		if ( currentRow == null ) {
+			return;
+		}
+		if ( evictProcessedEntities ) {
+			final PersistenceContext persistenceContext = session.getPersistenceContext();
+			for ( Object result : currentRow ) {
+				if ( result == null || preexistingEntities.contains( result ) ) {
+					continue;
+				}
+				final EntityEntry entry = persistenceContext.getEntry( result );
+				if ( entry != null && !isModified( result, entry ) ) {
+					( (EventSource) session ).evict( result );
+				}
+			}
+		}
+		currentRow = null;
+	}
+
+	/**
+	 * Would evicting the entity discard changes not flushed yet?  Checks the state of the entity and of its
+	 * collections the way flushing does, conservatively.
+	 */
+	private boolean isModified(Object entity, EntityEntry entry) {
+		if ( entry.getStatus() != Status.MANAGED ) {
+			return true;
+		}
+		if ( entry.isReadOnly() ) {
+			return false;
+		}
+		final EntityPersister persister = entry.getPersister();
+		final Object[] values = persister.getPropertyValues( entity );
+		final Type[] types = persister.getPropertyTypes();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( types[i].isCollectionType() && values[i] != null ) {
+				if ( !( values[i] instanceof PersistentCollection ) || ( (PersistentCollection) values[i] ).isDirty() ) {
+					// replaced or changed collection
+					return true;
+				}
+			}
+		}
+		if ( entity instanceof SelfDirtinessTracker ) {
+			return ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
+		final Object[] loadedState = entry.getLoadedState();
+		return loadedState == null || persister.findDirty( values, loadedState, entity, session ) != null;
+	}
+
+	@Override
+	public void close() throws JDBCException {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		evictCurrentRow();
+		scrollableResults.close();
+	}
+}
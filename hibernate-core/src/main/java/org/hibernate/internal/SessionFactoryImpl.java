@@ -107,6 +107,10 @@ import org.hibernate.event.spi.EventType;
 import org.hibernate.exception.spi.SQLExceptionConverter;
 import org.hibernate.id.IdentifierGenerator;
 import org.hibernate.id.UUIDGenerator;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PrefetchCapableOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
 import org.hibernate.id.factory.IdentifierGeneratorFactory;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.integrator.spi.IntegratorService;
@@ -200,7 +204,8 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 	private final transient ConcurrentMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<EntityNameResolver, Object>();
 	private final transient QueryPlanCache queryPlanCache;
 	private final transient CacheImplementor cacheAccess;
-	private transient boolean isClosed;
+	private transient volatile boolean isClosed;
+	private transient volatile Thread namedQueryWarmUp;
 	private final transient TypeResolver typeResolver;
 	private final transient TypeHelper typeHelper;
 	private final transient SessionFactoryOptions sessionFactoryOptions;
@@ -538,6 +543,13 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 			fetchProfiles.put( fetchProfile.getName(), fetchProfile );
 		}
 
+		// compile the HQL queries saved by the previous SessionFactory, if any
+		queryPlanCache.loadHQLQueries();
+
+		if ( !settings.isNamedQueryStartupCheckingEnabled() && settings.isNamedQueryBackgroundWarmUpEnabled() ) {
+			warmUpNamedQueries();
+		}
+
 		this.observer.sessionFactoryCreated( this );
 
 		SessionFactoryRegistry.INSTANCE.addSessionFactory(
@@ -761,7 +773,51 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 	}
 
 	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
+		return namedQueryRepository.checkNamedQueries(
+				queryPlanCache,
+				settings.getNamedQueryStartupCheckingThreads()
+		);
+	}
+
+	/**
+	 * Compile the named queries into the query plan cache in the background, so that the first executions
+	 * of the named queries find their plans.  The queries failing to compile are only logged, they fail
+	 * again when they are used.  The warm-up stops when the session factory is closed.
+	 */
+	private void warmUpNamedQueries() {
+		final Thread warmUp = new Thread( "hibernate-named-query-warm-up" ) {
+			@Override
+			public void run() {
+				final Map<String,HibernateException> errors = namedQueryRepository.warmUpNamedQueries(
+						queryPlanCache,
+						SessionFactoryImpl.this
+				);
+				for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
+					if ( isClosed() ) {
+						return;
+					}
+					LOG.namedQueryError( entry.getKey(), entry.getValue() );
+				}
+			}
+		};
+		warmUp.setDaemon( true );
+		namedQueryWarmUp = warmUp;
+		warmUp.start();
+	}
+
+	private void stopNamedQueryWarmUp() {
+		final Thread warmUp = namedQueryWarmUp;
+		if ( warmUp == null ) {
+			return;
+		}
+		warmUp.interrupt();
+		try {
+			warmUp.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		namedQueryWarmUp = null;
 	}
 
 	@Override
@@ -1048,6 +1104,11 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 
 		isClosed = true;
 
+		stopIdentifierPrefetch();
+
+		// the warm-up must not compile queries into the query plan cache being cleaned up
+		stopNamedQueryWarmUp();
+
 		settings.getMultiTableBulkIdStrategy().release( jdbcServices, buildLocalConnectionAccess() );
 
 		Iterator iter = entityPersisters.values().iterator();
@@ -1085,6 +1146,27 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 		serviceRegistry.destroy();
 	}
 
+	/**
+	 * Stops the identifier optimizers obtaining values in the background, before the connections get released.
+	 */
+	private void stopIdentifierPrefetch() {
+		for ( IdentifierGenerator generator : identifierGenerators.values() ) {
+			final Optimizer optimizer;
+			if ( generator instanceof SequenceStyleGenerator ) {
+				optimizer = ( (SequenceStyleGenerator) generator ).getOptimizer();
+			}
+			else if ( generator instanceof TableGenerator ) {
+				optimizer = ( (TableGenerator) generator ).getOptimizer();
+			}
+			else {
+				continue;
+			}
+			if ( optimizer instanceof PrefetchCapableOptimizer ) {
+				( (PrefetchCapableOptimizer) optimizer ).stopPrefetch();
+			}
+		}
+	}
+
 	public Cache getCache() {
 		return cacheAccess;
 	}
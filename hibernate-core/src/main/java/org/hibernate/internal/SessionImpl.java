@@ -2043,6 +2043,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		persistenceContext.setDefaultReadOnly( defaultReadOnly );
 	}
 
+	@Override
+	public boolean isReadMostly() {
+		return persistenceContext.isReadMostly();
+	}
+
+	@Override
+	public void setReadMostly(boolean readMostly) {
+		persistenceContext.setReadMostly( readMostly );
+	}
+
 	@Override
 	public boolean isReadOnly(Object entityOrProxy) {
 		errorIfClosed();
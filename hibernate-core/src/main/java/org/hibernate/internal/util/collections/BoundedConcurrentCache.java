@@ -0,0 +1,773 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent cache bounded by its number of entries, or by their total weight, using the W-TinyLFU policy.
+ * <p/>
+ * New entries go into a small LRU admission window.  An entry pushed out of the window only enters the main space
+ * (a segmented LRU) if it was used more often recently than the entry it would push out there, as estimated by a
+ * {@link FrequencySketch}.  A burst of entries used only once therefore does not flush out the ones used all the
+ * time, which is what happens to an LRU cache.
+ * <p/>
+ * Entries can also expire a fixed time after they were written, and an {@link EvictionListener} can be told about
+ * the entries evicted to honor the bound, e.g. to move them into another tier.
+ * <p/>
+ * Reads do not take any lock: they go to a {@link ConcurrentHashMap}, then record the use into a lossy buffer.
+ * Whichever thread next gets the eviction lock replays the buffer against the policy.  Only writes take that lock.
+ * <p/>
+ * {@link #get(Object, ValueLoader)} loads a missing value at most once at a time per key: concurrent callers for
+ * the same key wait for the load in progress instead of each repeating it.
+ * <p/>
+ * Neither {@code null} keys nor {@code null} values are supported.  The content of the cache is not serialized,
+ * only its bounds: a deserialized cache has neither weigher nor eviction listener.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class BoundedConcurrentCache<K,V> implements Serializable {
+	/**
+	 * The maximum weight of a cache which never evicts.
+	 */
+	public static final long UNBOUNDED = Long.MAX_VALUE;
+
+	private static final int READ_BUFFER_SIZE = 128;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int READ_DRAIN_MASK = 31;
+	private static final double WINDOW_PERCENTAGE = 0.01d;
+	private static final double PROTECTED_PERCENTAGE = 0.80d;
+	private static final int ADMIT_HASHDOS_THRESHOLD = 6;
+
+	private static final int WINDOW = 0;
+	private static final int PROBATION = 1;
+	private static final int PROTECTED = 2;
+
+	/**
+	 * Loads the value of a key missing from the cache.
+	 *
+	 * @param <K> The key type
+	 * @param <V> The value type
+	 */
+	public interface ValueLoader<K,V> {
+		/**
+		 * Load the value of the given key.
+		 *
+		 * @param key The key
+		 *
+		 * @return The value, never {@code null}
+		 */
+		V load(K key);
+	}
+
+	/**
+	 * Computes the weight of the entries of a cache bounded by their total weight.
+	 *
+	 * @param <K> The key type
+	 * @param <V> The value type
+	 */
+	public interface Weigher<K,V> {
+		/**
+		 * Compute the weight of an entry, which must not change for as long as it is cached.
+		 *
+		 * @param key The key
+		 * @param value The value
+		 *
+		 * @return The weight, never negative
+		 */
+		int weigh(K key, V value);
+	}
+
+	/**
+	 * Told about the entries evicted to honor the bound of a cache, but not about those removed or expired.
+	 * <p/>
+	 * It is called just before the entry is removed, while it is still cached, and under the eviction lock of the
+	 * cache: it must neither block nor write to the cache.
+	 *
+	 * @param <K> The key type
+	 * @param <V> The value type
+	 */
+	public interface EvictionListener<K,V> {
+		/**
+		 * An entry was evicted.
+		 *
+		 * @param key The key
+		 * @param value The value
+		 * @param writeTime The time the value was written, as given by {@link System#nanoTime()}, 0 for the caches
+		 * whose entries do not expire
+		 */
+		void onEviction(K key, V value, long writeTime);
+	}
+
+	private final long maximumWeight;
+	private final long expectedEntries;
+	private final long expireAfterWriteNanos;
+	private final transient Weigher<? super K,? super V> weigher;
+	private final transient EvictionListener<? super K,? super V> evictionListener;
+
+	private final transient ConcurrentHashMap<K,Node<K,V>> data;
+	private final transient ConcurrentHashMap<K,FutureTask<V>> loads;
+	private final transient AtomicReferenceArray<Node<K,V>> readBuffer;
+	private final transient AtomicLong readCount;
+
+	// guarded by the eviction lock ~~~~~~
+	private final transient ReentrantLock evictionLock;
+	private final transient FrequencySketch sketch;
+	private final transient AccessOrderDeque<K,V> window;
+	private final transient AccessOrderDeque<K,V> probation;
+	private final transient AccessOrderDeque<K,V> protectedSpace;
+	private final transient long windowMaximum;
+	private final transient long protectedMaximum;
+	private final transient Random random;
+	private transient long windowWeight;
+	private transient long protectedWeight;
+	private transient long weightedSize;
+	private transient long nextExpirationSweep;
+
+	/**
+	 * Create a cache holding up to the given number of entries.
+	 *
+	 * @param maximumSize The maximum number of entries
+	 */
+	public BoundedConcurrentCache(int maximumSize) {
+		this( maximumSize, maximumSize, null, 0, null );
+	}
+
+	/**
+	 * Create a cache bounded by the total weight of its entries.
+	 *
+	 * @param maximumWeight The maximum total weight of the entries, {@link #UNBOUNDED} for no bound
+	 * @param expectedEntries The number of entries the cache is expected to hold when full, to size the estimates
+	 * of the frequencies of use
+	 * @param weigher The weigher of the entries, {@code null} for every entry to weigh 1
+	 * @param expireAfterWriteNanos The time after which an entry expires once written, in nanoseconds, 0 for never
+	 * @param evictionListener Told about the entries evicted to honor the maximum weight, may be {@code null}
+	 */
+	public BoundedConcurrentCache(
+			long maximumWeight,
+			long expectedEntries,
+			Weigher<? super K,? super V> weigher,
+			long expireAfterWriteNanos,
+			EvictionListener<? super K,? super V> evictionListener) {
+		if ( maximumWeight <= 0 ) {
+			throw new IllegalArgumentException( "Illegal maximum weight: " + maximumWeight );
+		}
+		this.maximumWeight = maximumWeight;
+		this.expectedEntries = expectedEntries;
+		this.expireAfterWriteNanos = expireAfterWriteNanos;
+		this.weigher = weigher;
+		this.evictionListener = evictionListener;
+		this.data = new ConcurrentHashMap<K,Node<K,V>>( (int) Math.max( 16, Math.min( expectedEntries, 1024 ) ) );
+		this.loads = new ConcurrentHashMap<K,FutureTask<V>>();
+		this.readBuffer = new AtomicReferenceArray<Node<K,V>>( READ_BUFFER_SIZE );
+		this.readCount = new AtomicLong();
+		this.evictionLock = new ReentrantLock();
+		this.sketch = new FrequencySketch( maximumWeight == UNBOUNDED ? 16 : expectedEntries );
+		this.window = new AccessOrderDeque<K,V>();
+		this.probation = new AccessOrderDeque<K,V>();
+		this.protectedSpace = new AccessOrderDeque<K,V>();
+		if ( maximumWeight == UNBOUNDED ) {
+			this.windowMaximum = UNBOUNDED;
+			this.protectedMaximum = UNBOUNDED;
+		}
+		else {
+			this.windowMaximum = Math.max( 1L, (long) ( maximumWeight * WINDOW_PERCENTAGE ) );
+			this.protectedMaximum = (long) ( ( maximumWeight - windowMaximum ) * PROTECTED_PERCENTAGE );
+		}
+		this.random = new Random();
+		this.nextExpirationSweep = expireAfterWriteNanos > 0 ? System.nanoTime() + expireAfterWriteNanos : 0;
+	}
+
+	/**
+	 * The maximum total weight of the entries of this cache, which is their maximum number unless it was given
+	 * a weigher.
+	 */
+	public long getMaximumSize() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Get the value cached for the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value, {@code null} if none
+	 */
+	public V get(K key) {
+		final Node<K,V> node = data.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		if ( isExpired( node.writeTime ) ) {
+			if ( data.remove( key, node ) ) {
+				afterRemoval( node );
+			}
+			return null;
+		}
+		recordRead( node );
+		return node.value;
+	}
+
+	/**
+	 * Get the value cached for the given key, loading it and caching it if missing.  The value of a key is only
+	 * loaded by one thread at a time: the other threads asking for the same key meanwhile wait for it, and get the
+	 * same value or exception.  A failed load leaves nothing in the cache.
+	 * <p/>
+	 * The loader must not ask this cache for the key it is loading, as it would wait for itself.
+	 *
+	 * @param key The key
+	 * @param loader Loads the value if it is not cached
+	 *
+	 * @return The cached or loaded value
+	 */
+	public V get(final K key, final ValueLoader<? super K,V> loader) {
+		final V cached = get( key );
+		if ( cached != null ) {
+			return cached;
+		}
+		final FutureTask<V> load = new FutureTask<V>(
+				new Callable<V>() {
+					@Override
+					public V call() {
+						// the load which just ended may have been removed since our miss
+						final Node<K,V> node = data.get( key );
+						if ( node != null && !isExpired( node.writeTime ) ) {
+							return node.value;
+						}
+						final V value = loader.load( key );
+						final V previous = putIfAbsent( key, value );
+						return previous == null ? value : previous;
+					}
+				}
+		);
+		final FutureTask<V> inProgress = loads.putIfAbsent( key, load );
+		if ( inProgress != null ) {
+			return await( inProgress );
+		}
+		try {
+			load.run();
+			return await( load );
+		}
+		finally {
+			loads.remove( key, load );
+		}
+	}
+
+	/**
+	 * Cache the given value for the given key, unless a value is already cached for it.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 *
+	 * @return The value already cached, {@code null} if the given one was cached
+	 */
+	public V putIfAbsent(K key, V value) {
+		final Node<K,V> node = newNode( key, value, currentTime() );
+		for ( ;; ) {
+			final Node<K,V> existing = data.putIfAbsent( key, node );
+			if ( existing == null ) {
+				afterWrite( node, null );
+				return null;
+			}
+			if ( !isExpired( existing.writeTime ) ) {
+				recordRead( existing );
+				return existing.value;
+			}
+			if ( data.replace( key, existing, node ) ) {
+				afterWrite( node, existing );
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Cache the given value for the given key, replacing any value cached for it.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 */
+	public void put(K key, V value) {
+		put( key, value, currentTime() );
+	}
+
+	/**
+	 * Cache the given value for the given key, replacing any value cached for it, as if it had been written at the
+	 * given time.  Meant for restoring an entry moved out of this cache, e.g. by an {@link EvictionListener}, without
+	 * extending its lifetime.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 * @param writeTime The time the value was written, as given by {@link System#nanoTime()}
+	 */
+	public void put(K key, V value, long writeTime) {
+		final Node<K,V> node = newNode( key, value, expireAfterWriteNanos > 0 ? writeTime : 0L );
+		afterWrite( node, data.put( key, node ) );
+	}
+
+	/**
+	 * Remove the value cached for the given key, if any.
+	 *
+	 * @param key The key
+	 *
+	 * @return The removed value, {@code null} if none
+	 */
+	public V remove(K key) {
+		final Node<K,V> node = data.remove( key );
+		if ( node == null ) {
+			return null;
+		}
+		afterRemoval( node );
+		return isExpired( node.writeTime ) ? null : node.value;
+	}
+
+	/**
+	 * Get the value cached for the given key, without counting as a use of the entry.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value, {@code null} if none
+	 */
+	public V peek(K key) {
+		final Node<K,V> node = data.get( key );
+		return node == null || isExpired( node.writeTime ) ? null : node.value;
+	}
+
+	/**
+	 * Is a (non expired) value cached for the given key?  Unlike {@link #get(Object)}, this does not count as a use
+	 * of the entry.
+	 *
+	 * @param key The key
+	 *
+	 * @return true/false
+	 */
+	public boolean containsKey(K key) {
+		final Node<K,V> node = data.get( key );
+		return node != null && !isExpired( node.writeTime );
+	}
+
+	/**
+	 * Remove all the entries.
+	 */
+	public void clear() {
+		evictionLock.lock();
+		try {
+			for ( Node<K,V> node : data.values() ) {
+				node.retired = true;
+			}
+			data.clear();
+			window.clear();
+			probation.clear();
+			protectedSpace.clear();
+			windowWeight = 0;
+			protectedWeight = 0;
+			weightedSize = 0;
+			sketch.clear();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * The number of entries currently cached; may momentarily exceed the maximum size, until the pending
+	 * evictions are applied.
+	 */
+	public int size() {
+		return data.size();
+	}
+
+	/**
+	 * The total weight of the entries, as far as the eviction policy has accounted for them.
+	 */
+	public long weightedSize() {
+		evictionLock.lock();
+		try {
+			return weightedSize;
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * A snapshot of the keys currently cached, in no particular order.
+	 */
+	public List<K> keys() {
+		return new ArrayList<K>( data.keySet() );
+	}
+
+	/**
+	 * A snapshot of the (non expired) entries currently cached, without affecting the eviction policy.
+	 */
+	public Map<K,V> toMap() {
+		final Map<K,V> result = new HashMap<K,V>();
+		for ( Node<K,V> node : data.values() ) {
+			if ( !isExpired( node.writeTime ) ) {
+				result.put( node.key, node.value );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Apply the pending reads, expirations and evictions right away, rather than on the next access.
+	 */
+	public void cleanUp() {
+		evictionLock.lock();
+		try {
+			maintenance();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private Object readResolve() {
+		return new BoundedConcurrentCache<K,V>( maximumWeight, expectedEntries, null, expireAfterWriteNanos, null );
+	}
+
+	private Node<K,V> newNode(K key, V value, long writeTime) {
+		if ( value == null ) {
+			throw new NullPointerException( "null values are not supported" );
+		}
+		return new Node<K,V>( key, value, weigher == null ? 1 : weigher.weigh( key, value ), writeTime );
+	}
+
+	private static <V> V await(FutureTask<V> load) {
+		boolean interrupted = false;
+		try {
+			for ( ;; ) {
+				try {
+					return load.get();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+				catch (ExecutionException e) {
+					final Throwable cause = e.getCause();
+					if ( cause instanceof RuntimeException ) {
+						throw (RuntimeException) cause;
+					}
+					if ( cause instanceof Error ) {
+						throw (Error) cause;
+					}
+					throw new IllegalStateException( cause );
+				}
+			}
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private long currentTime() {
+		return expireAfterWriteNanos > 0 ? System.nanoTime() : 0L;
+	}
+
+	private boolean isExpired(long writeTime) {
+		return expireAfterWriteNanos > 0 && System.nanoTime() - writeTime >= expireAfterWriteNanos;
+	}
+
+	private void recordRead(Node<K,V> node) {
+		final long count = readCount.getAndIncrement();
+		readBuffer.lazySet( (int) ( count & READ_BUFFER_MASK ), node );
+		if ( ( count & READ_DRAIN_MASK ) == 0 && evictionLock.tryLock() ) {
+			try {
+				maintenance();
+			}
+			finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterWrite(Node<K,V> node, Node<K,V> previous) {
+		evictionLock.lock();
+		try {
+			if ( previous != null ) {
+				unlink( previous );
+			}
+			if ( !node.retired ) {
+				node.queue = WINDOW;
+				window.linkLast( node );
+				node.linked = true;
+				windowWeight += node.weight;
+				weightedSize += node.weight;
+				sketch.increment( node.key );
+			}
+			maintenance();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void afterRemoval(Node<K,V> node) {
+		evictionLock.lock();
+		try {
+			unlink( node );
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	// guarded by the eviction lock ~~~~~~
+
+	private void maintenance() {
+		for ( int i = 0; i < READ_BUFFER_SIZE; i++ ) {
+			final Node<K,V> node = readBuffer.getAndSet( i, null );
+			if ( node != null ) {
+				onAccess( node );
+			}
+		}
+		if ( expireAfterWriteNanos > 0 ) {
+			final long now = System.nanoTime();
+			if ( now - nextExpirationSweep >= 0 ) {
+				expireEntries( window );
+				expireEntries( probation );
+				expireEntries( protectedSpace );
+				nextExpirationSweep = now + Math.max( expireAfterWriteNanos / 2, 1L );
+			}
+		}
+		evictEntries();
+	}
+
+	private void onAccess(Node<K,V> node) {
+		if ( !node.linked ) {
+			return;
+		}
+		sketch.increment( node.key );
+		switch ( node.queue ) {
+			case WINDOW:
+				window.moveToLast( node );
+				break;
+			case PROBATION:
+				probation.unlink( node );
+				node.queue = PROTECTED;
+				protectedSpace.linkLast( node );
+				protectedWeight += node.weight;
+				demoteFromProtected();
+				break;
+			default:
+				protectedSpace.moveToLast( node );
+		}
+	}
+
+	private void demoteFromProtected() {
+		while ( protectedWeight > protectedMaximum ) {
+			final Node<K,V> demoted = protectedSpace.first();
+			if ( demoted == null ) {
+				return;
+			}
+			protectedSpace.unlink( demoted );
+			protectedWeight -= demoted.weight;
+			demoted.queue = PROBATION;
+			probation.linkLast( demoted );
+		}
+	}
+
+	private void evictEntries() {
+		if ( maximumWeight == UNBOUNDED ) {
+			return;
+		}
+		// the entries pushed out of the admission window compete with the main space for a place
+		int candidates = 0;
+		while ( windowWeight > windowMaximum ) {
+			final Node<K,V> node = window.first();
+			if ( node == null ) {
+				break;
+			}
+			window.unlink( node );
+			windowWeight -= node.weight;
+			node.queue = PROBATION;
+			probation.linkLast( node );
+			candidates++;
+		}
+
+		while ( weightedSize > maximumWeight ) {
+			final Node<K,V> victim = probation.first();
+			if ( victim == null ) {
+				final Node<K,V> node = protectedSpace.first() != null ? protectedSpace.first() : window.first();
+				if ( node == null ) {
+					return;
+				}
+				evict( node );
+				continue;
+			}
+			final Node<K,V> candidate = probation.last();
+			if ( candidates == 0 || candidate == victim || admit( candidate.key, victim.key ) ) {
+				evict( victim );
+			}
+			else {
+				evict( candidate );
+				candidates--;
+			}
+		}
+	}
+
+	private boolean admit(K candidateKey, K victimKey) {
+		final int victimFrequency = sketch.frequency( victimKey );
+		final int candidateFrequency = sketch.frequency( candidateKey );
+		if ( candidateFrequency > victimFrequency ) {
+			return true;
+		}
+		if ( candidateFrequency >= ADMIT_HASHDOS_THRESHOLD ) {
+			// admit a warm candidate now and then, so that inflating the frequency of the victim
+			// cannot keep out every new entry
+			return ( random.nextInt() & 127 ) == 0;
+		}
+		return false;
+	}
+
+	private void expireEntries(AccessOrderDeque<K,V> deque) {
+		Node<K,V> node = deque.first();
+		while ( node != null ) {
+			final Node<K,V> next = node.next;
+			if ( isExpired( node.writeTime ) ) {
+				data.remove( node.key, node );
+				unlink( node );
+			}
+			node = next;
+		}
+	}
+
+	private void evict(Node<K,V> node) {
+		if ( evictionListener != null && data.get( node.key ) == node && !isExpired( node.writeTime ) ) {
+			evictionListener.onEviction( node.key, node.value, node.writeTime );
+		}
+		data.remove( node.key, node );
+		unlink( node );
+	}
+
+	private void unlink(Node<K,V> node) {
+		node.retired = true;
+		if ( !node.linked ) {
+			return;
+		}
+		switch ( node.queue ) {
+			case WINDOW:
+				window.unlink( node );
+				windowWeight -= node.weight;
+				break;
+			case PROBATION:
+				probation.unlink( node );
+				break;
+			default:
+				protectedSpace.unlink( node );
+				protectedWeight -= node.weight;
+		}
+		node.linked = false;
+		weightedSize -= node.weight;
+	}
+
+	/**
+	 * A cache entry, linked into one of the segments of the eviction policy.
+	 */
+	private static final class Node<K,V> {
+		private final K key;
+		private final V value;
+		private final int weight;
+		private final long writeTime;
+
+		// guarded by the eviction lock
+		private Node<K,V> prev;
+		private Node<K,V> next;
+		private int queue;
+		private boolean linked;
+		private boolean retired;
+
+		private Node(K key, V value, int weight, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+		}
+	}
+
+	/**
+	 * An intrusive doubly-linked list of nodes, from the least to the most recently used.
+	 */
+	private static final class AccessOrderDeque<K,V> {
+		private Node<K,V> first;
+		private Node<K,V> last;
+
+		private Node<K,V> first() {
+			return first;
+		}
+
+		private Node<K,V> last() {
+			return last;
+		}
+
+		private void linkLast(Node<K,V> node) {
+			node.prev = last;
+			node.next = null;
+			if ( last == null ) {
+				first = node;
+			}
+			else {
+				last.next = node;
+			}
+			last = node;
+		}
+
+		private void unlink(Node<K,V> node) {
+			final Node<K,V> prev = node.prev;
+			final Node<K,V> next = node.next;
+			if ( prev == null ) {
+				first = next;
+			}
+			else {
+				prev.next = next;
+			}
+			if ( next == null ) {
+				last = prev;
+			}
+			else {
+				next.prev = prev;
+			}
+			node.prev = null;
+			node.next = null;
+		}
+
+		private void moveToLast(Node<K,V> node) {
+			if ( node != last ) {
+				unlink( node );
+				linkLast( node );
+			}
+		}
+
+		private void clear() {
+			Node<K,V> node = first;
+			while ( node != null ) {
+				final Node<K,V> next = node.next;
+				node.prev = null;
+				node.next = null;
+				node.linked = false;
+				node = next;
+			}
+			first = null;
+			last = null;
+		}
+	}
+}
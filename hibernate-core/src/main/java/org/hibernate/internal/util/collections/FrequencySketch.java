@@ -0,0 +1,114 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+/**
+ * Estimates how often keys were recently used, for the admission decisions of a {@link BoundedConcurrentCache}.
+ * <p/>
+ * This is a Count-Min sketch of 4-bit counters (four per key, packed 16 to a {@code long}).  Once it has recorded
+ * ten times as many uses as it has rows, all the counters are halved, so that old popularity fades away.
+ * <p/>
+ * Not thread-safe: only used under the eviction lock of the owning cache.
+ */
+final class FrequencySketch {
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+	};
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+	private static final int MAXIMUM_WIDTH = 1 << 24;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+
+	/**
+	 * Create a sketch sized for a cache of the given maximum size.
+	 *
+	 * @param maximumSize The maximum number of entries of the cache
+	 */
+	FrequencySketch(long maximumSize) {
+		final int width = (int) Math.min( ceilingPowerOfTwo( Math.max( maximumSize, 16 ) ), MAXIMUM_WIDTH );
+		this.table = new long[width];
+		this.tableMask = width - 1;
+		this.sampleSize = 10 * width;
+	}
+
+	/**
+	 * The estimated number of recent uses of the given key, capped at 15.
+	 */
+	int frequency(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for ( int i = 0; i < 4; i++ ) {
+			final int index = indexOf( hash, i );
+			final int count = (int) ( ( table[index] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+			frequency = Math.min( frequency, count );
+		}
+		return frequency;
+	}
+
+	/**
+	 * Record a use of the given key.
+	 */
+	void increment(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		boolean added = false;
+		for ( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf( hash, i ), start + i );
+		}
+		if ( added && ++size == sampleSize ) {
+			reset();
+		}
+	}
+
+	void clear() {
+		for ( int i = 0; i < table.length; i++ ) {
+			table[i] = 0L;
+		}
+		size = 0;
+	}
+
+	private boolean incrementAt(int index, int counter) {
+		final int offset = counter << 2;
+		final long mask = 0xfL << offset;
+		if ( ( table[index] & mask ) != mask ) {
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	private void reset() {
+		int odd = 0;
+		for ( int i = 0; i < table.length; i++ ) {
+			odd += Long.bitCount( table[i] & ONE_MASK );
+			table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+		}
+		size = ( size >>> 1 ) - ( odd >>> 2 );
+	}
+
+	private int indexOf(int hash, int depth) {
+		long h = ( hash + SEEDS[depth] ) * SEEDS[depth];
+		h += h >>> 32;
+		return ( (int) h ) & tableMask;
+	}
+
+	private static int spread(int hash) {
+		int h = hash;
+		h = ( ( h >>> 16 ) ^ h ) * 0x45d9f3b;
+		h = ( ( h >>> 16 ) ^ h ) * 0x45d9f3b;
+		return ( h >>> 16 ) ^ h;
+	}
+
+	private static long ceilingPowerOfTwo(long value) {
+		return 1L << ( Long.SIZE - Long.numberOfLeadingZeros( value - 1 ) );
+	}
+}
@@ -0,0 +1,529 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link Map} using open addressing (linear probing) rather than chaining: keys and values are stored next to
+ * each other in a single array, so that unlike {@link java.util.HashMap} no entry object is allocated per mapping.
+ * This makes a significant difference in footprint for the maps of the persistence context, which may hold
+ * hundreds of thousands of mappings.
+ * <p/>
+ * The (spread) hash codes of the keys are kept in a separate array, so that probing neither has to dereference
+ * the keys it passes by nor to call their {@code equals} method (both being expensive for keys such as
+ * {@link org.hibernate.engine.spi.EntityKey} or {@link org.hibernate.engine.spi.CollectionKey}), and rehashing
+ * does not need to ask the keys for their hash code again.  Removals shift the following keys back rather than
+ * leaving tombstones behind, so that lookups never degrade.
+ * <p/>
+ * {@code null} keys are not supported, {@code null} values are.  Like {@link java.util.HashMap}, this map is not
+ * thread-safe and its iterators are fail-fast; it does not preserve any ordering either.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class OpenAddressingHashMap<K,V> extends AbstractMap<K,V> {
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+	/**
+	 * The key of slot {@code i} is at index {@code 2 * i}, its value at {@code 2 * i + 1}.  The number of slots is
+	 * always a power of 2.
+	 */
+	private Object[] table;
+	/**
+	 * The hash of the key of each slot, {@code 0} for free slots.
+	 */
+	private int[] hashes;
+	private int mask;
+	private int threshold;
+	private int size;
+	private int modCount;
+
+	private transient Set<K> keySet;
+	private transient Collection<V> values;
+	private transient Set<Map.Entry<K,V>> entrySet;
+
+	/**
+	 * Create a map with default sizing.
+	 */
+	public OpenAddressingHashMap() {
+		this( DEFAULT_CAPACITY );
+	}
+
+	/**
+	 * Create a map able to hold the given number of mappings without resizing.
+	 *
+	 * @param expectedSize The number of mappings expected to be held
+	 */
+	public OpenAddressingHashMap(int expectedSize) {
+		if ( expectedSize < 0 ) {
+			throw new IllegalArgumentException( "Illegal expected size: " + expectedSize );
+		}
+		allocate( capacityFor( expectedSize ) );
+	}
+
+	private static int capacityFor(int expectedSize) {
+		final long required = (long) Math.ceil( expectedSize / (double) LOAD_FACTOR ) + 1;
+		int capacity = 2;
+		while ( capacity < required && capacity < MAXIMUM_CAPACITY ) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		table = new Object[capacity * 2];
+		hashes = new int[capacity];
+		mask = capacity - 1;
+		threshold = Math.min( capacity - 1, (int) ( capacity * LOAD_FACTOR ) );
+	}
+
+	/**
+	 * Spread the (not necessarily well distributed) key hash codes, {@code 0} being reserved for free slots.
+	 */
+	private static int hash(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		h ^= h >>> 16;
+		return h == 0 ? 1 : h;
+	}
+
+	/**
+	 * Locate the slot holding the given key.
+	 *
+	 * @return The slot index, or {@code -1} if the key is not mapped
+	 */
+	private int indexOf(Object key) {
+		if ( key == null ) {
+			return -1;
+		}
+		final int hash = hash( key );
+		int slot = hash & mask;
+		while ( true ) {
+			final int candidateHash = hashes[slot];
+			if ( candidateHash == 0 ) {
+				return -1;
+			}
+			if ( candidateHash == hash ) {
+				final Object candidate = table[slot << 1];
+				if ( candidate == key || candidate.equals( key ) ) {
+					return slot;
+				}
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf( key ) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		for ( int i = 0; i < hashes.length; i++ ) {
+			if ( hashes[i] != 0 ) {
+				final Object candidate = table[( i << 1 ) + 1];
+				if ( candidate == value || ( candidate != null && candidate.equals( value ) ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int slot = indexOf( key );
+		return slot < 0 ? null : (V) table[( slot << 1 ) + 1];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if ( key == null ) {
+			throw new NullPointerException( "Null keys are not supported" );
+		}
+		final int hash = hash( key );
+		int slot = hash & mask;
+		while ( true ) {
+			final int candidateHash = hashes[slot];
+			if ( candidateHash == 0 ) {
+				break;
+			}
+			if ( candidateHash == hash ) {
+				final Object candidate = table[slot << 1];
+				if ( candidate == key || candidate.equals( key ) ) {
+					final int valueIndex = ( slot << 1 ) + 1;
+					final V previous = (V) table[valueIndex];
+					table[valueIndex] = value;
+					return previous;
+				}
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+
+		hashes[slot] = hash;
+		table[slot << 1] = key;
+		table[( slot << 1 ) + 1] = value;
+		modCount++;
+		if ( ++size > threshold ) {
+			resize();
+		}
+		return null;
+	}
+
+	private void resize() {
+		final int capacity = mask + 1;
+		if ( capacity >= MAXIMUM_CAPACITY ) {
+			// keep at least one slot free, so that probing always terminates
+			if ( size >= mask ) {
+				throw new IllegalStateException( "Maximum capacity exceeded" );
+			}
+			threshold = mask - 1;
+			return;
+		}
+		final Object[] oldTable = table;
+		final int[] oldHashes = hashes;
+		allocate( capacity << 1 );
+		for ( int i = 0; i < oldHashes.length; i++ ) {
+			final int hash = oldHashes[i];
+			if ( hash != 0 ) {
+				int slot = hash & mask;
+				while ( hashes[slot] != 0 ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				hashes[slot] = hash;
+				table[slot << 1] = oldTable[i << 1];
+				table[( slot << 1 ) + 1] = oldTable[( i << 1 ) + 1];
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		final int slot = indexOf( key );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final V previous = (V) table[( slot << 1 ) + 1];
+		removeSlot( slot, null );
+		return previous;
+	}
+
+	/**
+	 * Free the given slot, moving back the keys of the same cluster which can no longer be reached from their
+	 * home slot because of the gap.
+	 *
+	 * @param slot The slot to free
+	 * @param moved If not {@code null}, collects the mappings which got moved from a slot after the end of the
+	 * table (i.e. wrapped around to its start) to a slot before it, see {@link HashIterator}.
+	 */
+	private void removeSlot(int slot, List<Object> moved) {
+		modCount++;
+		size--;
+		int free = slot;
+		int current = slot;
+		while ( true ) {
+			current = ( current + 1 ) & mask;
+			final int hash = hashes[current];
+			if ( hash == 0 ) {
+				break;
+			}
+			final int home = hash & mask;
+			// the key can be moved to the free slot unless its home slot lies cyclically in (free, current]
+			final boolean homeAfterFree = free <= current
+					? free < home && home <= current
+					: free < home || home <= current;
+			if ( !homeAfterFree ) {
+				final Object key = table[current << 1];
+				hashes[free] = hash;
+				table[free << 1] = key;
+				table[( free << 1 ) + 1] = table[( current << 1 ) + 1];
+				if ( moved != null && current < free ) {
+					moved.add( key );
+					moved.add( table[( current << 1 ) + 1] );
+				}
+				free = current;
+			}
+		}
+		hashes[free] = 0;
+		table[free << 1] = null;
+		table[( free << 1 ) + 1] = null;
+	}
+
+	@Override
+	public void clear() {
+		if ( size > 0 ) {
+			modCount++;
+			size = 0;
+			Arrays.fill( hashes, 0 );
+			Arrays.fill( table, null );
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if ( keySet == null ) {
+			keySet = new KeySet();
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( values == null ) {
+			values = new Values();
+		}
+		return values;
+	}
+
+	@Override
+	public Set<Map.Entry<K,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Iterates the slots from the end of the table to its start.  Removing the current mapping only moves mappings
+	 * from slots after it, which were already iterated, into its slot, except when the cluster wraps around the end
+	 * of the table: such mappings are remembered and iterated last.
+	 */
+	private abstract class HashIterator<E> implements Iterator<E> {
+		private int nextSlot;
+		private int currentSlot = -1;
+		private List<Object> wrapped;
+		private int wrappedIndex;
+		private Object currentWrappedKey;
+		private int expectedModCount = modCount;
+
+		private HashIterator() {
+			nextSlot = hashes.length;
+			advance();
+		}
+
+		private void advance() {
+			do {
+				nextSlot--;
+			} while ( nextSlot >= 0 && hashes[nextSlot] == 0 );
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextSlot >= 0 || ( wrapped != null && wrappedIndex < wrapped.size() );
+		}
+
+		@SuppressWarnings("unchecked")
+		protected final E nextMapping() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( nextSlot >= 0 ) {
+				currentSlot = nextSlot;
+				currentWrappedKey = null;
+				advance();
+				return mapping( (K) table[currentSlot << 1], (V) table[( currentSlot << 1 ) + 1], currentSlot );
+			}
+			if ( wrapped != null && wrappedIndex < wrapped.size() ) {
+				currentSlot = -1;
+				currentWrappedKey = wrapped.get( wrappedIndex );
+				final Object value = wrapped.get( wrappedIndex + 1 );
+				wrappedIndex += 2;
+				return mapping( (K) currentWrappedKey, (V) value, -1 );
+			}
+			throw new NoSuchElementException();
+		}
+
+		protected abstract E mapping(K key, V value, int slot);
+
+		@Override
+		public void remove() {
+			if ( currentSlot < 0 && currentWrappedKey == null ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( currentWrappedKey != null ) {
+				// all the slots were iterated already, moving mappings around does no harm anymore
+				OpenAddressingHashMap.this.remove( currentWrappedKey );
+				currentWrappedKey = null;
+			}
+			else {
+				if ( wrapped == null ) {
+					wrapped = new ArrayList<Object>( 2 );
+				}
+				removeSlot( currentSlot, wrapped );
+				currentSlot = -1;
+				// the next slot may have been emptied if the cluster wrapped around
+				if ( nextSlot >= 0 && hashes[nextSlot] == 0 ) {
+					advance();
+				}
+			}
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public E next() {
+			return nextMapping();
+		}
+	}
+
+	private class KeyIterator extends HashIterator<K> {
+		@Override
+		protected K mapping(K key, V value, int slot) {
+			return key;
+		}
+	}
+
+	private class ValueIterator extends HashIterator<V> {
+		@Override
+		protected V mapping(K key, V value, int slot) {
+			return value;
+		}
+	}
+
+	private class EntryIterator extends HashIterator<Map.Entry<K,V>> {
+		@Override
+		protected Map.Entry<K,V> mapping(K key, V value, int slot) {
+			return new MapEntry( key, value );
+		}
+	}
+
+	private class MapEntry extends SimpleEntry<K,V> {
+		private MapEntry(K key, V value) {
+			super( key, value );
+		}
+
+		@Override
+		public V setValue(V value) {
+			super.setValue( value );
+			// writes through, but is no structural modification
+			return put( getKey(), value );
+		}
+	}
+
+	private class KeySet extends AbstractSet<K> {
+		@Override
+		public Iterator<K> iterator() {
+			return new KeyIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey( o );
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			final int slot = indexOf( o );
+			if ( slot < 0 ) {
+				return false;
+			}
+			removeSlot( slot, null );
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private class Values extends AbstractCollection<V> {
+		@Override
+		public Iterator<V> iterator() {
+			return new ValueIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsValue( o );
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+		@Override
+		public Iterator<Map.Entry<K,V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Map.Entry entry = (Map.Entry) o;
+			final int slot = indexOf( entry.getKey() );
+			if ( slot < 0 ) {
+				return false;
+			}
+			final Object value = table[( slot << 1 ) + 1];
+			return value == null ? entry.getValue() == null : value.equals( entry.getValue() );
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if ( !contains( o ) ) {
+				return false;
+			}
+			removeSlot( indexOf( ( (Map.Entry) o ).getKey() ), null );
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.dialect.Dialect;
+
+/**
+ * The batch size of an entity or collection batch-fetched in the {@link BatchFetchStyle#ADAPTIVE} style.
+ * <p/>
+ * The entities and collections fetched along with the requested one are recorded as used when the session
+ * accesses them afterwards, and as unused when the session is cleared or closed first.  After each sample
+ * of such outcomes, the batch size doubles when most of them were used and halves when most of them were
+ * not, between 2 and a multiple of the mapped batch size bounded by
+ * {@link Dialect#getInExpressionCountLimit()}.
+ */
+public class AdaptiveBatchSize {
+	private static final int MIN_BATCH_SIZE = 2;
+	private static final int MAX_GROWTH = 4;
+	private static final int SAMPLE_SIZE = 32;
+
+	private final int maxBatchSize;
+	private volatile int batchSize;
+	private final AtomicInteger used = new AtomicInteger();
+	private final AtomicInteger unused = new AtomicInteger();
+
+	/**
+	 * Constructs an AdaptiveBatchSize
+	 *
+	 * @param batchSize The mapped batch size, which is the initial batch size
+	 * @param dialect The dialect, limiting the number of ids of a batch
+	 */
+	public AdaptiveBatchSize(int batchSize, Dialect dialect) {
+		int max = batchSize * MAX_GROWTH;
+		final int inExpressionCountLimit = dialect.getInExpressionCountLimit();
+		if ( inExpressionCountLimit > 0 ) {
+			max = Math.min( max, inExpressionCountLimit );
+		}
+		this.maxBatchSize = Math.max( max, MIN_BATCH_SIZE );
+		this.batchSize = Math.min( Math.max( batchSize, MIN_BATCH_SIZE ), maxBatchSize );
+	}
+
+	/**
+	 * The current number of ids to fetch in a batch.
+	 *
+	 * @return The batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * The greatest number of ids this batch size may grow to.
+	 *
+	 * @return The maximum batch size
+	 */
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * Record the access to an entity or collection fetched along with another one.
+	 */
+	public void recordUsed() {
+		if ( used.incrementAndGet() + unused.get() >= SAMPLE_SIZE ) {
+			adjust();
+		}
+	}
+
+	/**
+	 * Record entities or collections fetched along with other ones, and never accessed.
+	 *
+	 * @param count The number of entities or collections
+	 */
+	public void recordUnused(int count) {
+		if ( unused.addAndGet( count ) + used.get() >= SAMPLE_SIZE ) {
+			adjust();
+		}
+	}
+
+	private synchronized void adjust() {
+		final int usedCount = used.get();
+		final int unusedCount = unused.get();
+		final int total = usedCount + unusedCount;
+		if ( total < SAMPLE_SIZE ) {
+			// the sample was just used by another thread
+			return;
+		}
+		used.addAndGet( -usedCount );
+		unused.addAndGet( -unusedCount );
+		if ( usedCount * 4 >= total * 3 ) {
+			batchSize = Math.min( maxBatchSize, batchSize * 2 );
+		}
+		else if ( usedCount * 4 < total ) {
+			batchSize = Math.max( MIN_BATCH_SIZE, batchSize / 2 );
+		}
+	}
+}
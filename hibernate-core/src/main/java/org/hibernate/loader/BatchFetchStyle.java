@@ -39,7 +39,16 @@ public enum BatchFetchStyle {
 	 * Dynamically builds its SQL based on the actual number of available ids.  Does still limit to the batch-size
 	 * defined on the entity/collection
 	 */
-	DYNAMIC;
+	DYNAMIC,
+	/**
+	 * Builds its SQL like {@link #DYNAMIC}, but adjusts the batch-size of each entity/collection to how many of the
+	 * entities/collections fetched along with the requested ones actually get accessed by the session afterwards.
+	 * The batch-size defined on the entity/collection is the initial one; it grows up to 4 times this size, within
+	 * the {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit() limit} of the Dialect, and shrinks down to 2.
+	 *
+	 * @see org.hibernate.loader.AdaptiveBatchSize
+	 */
+	ADAPTIVE;
 
 	private static final Logger log = Logger.getLogger( BatchFetchStyle.class );
 
@@ -44,6 +44,7 @@ import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
 import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.internal.PendingCachePuts;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
@@ -66,6 +67,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FetchingScrollableResultsImpl;
 import org.hibernate.internal.ScrollableResultsImpl;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -74,6 +76,7 @@ import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 import org.hibernate.transform.CacheableResultTransformer;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.AssociationType;
@@ -782,7 +785,10 @@ public abstract class Loader {
 			numberOfPersistersToProcess = entitySpan;
 		}
 
-		final Object[] hydratedKeyState = new Object[numberOfPersistersToProcess];
+		// scalar-only queries have no keys to hydrate, no need to allocate anything for every row
+		final Object[] hydratedKeyState = numberOfPersistersToProcess == 0
+				? ArrayHelper.EMPTY_OBJECT_ARRAY
+				: new Object[numberOfPersistersToProcess];
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
 			final Type idType = persisters[i].getIdentifierType();
@@ -1128,9 +1134,11 @@ public abstract class Loader {
 		if ( hydratedObjects != null ) {
 			int hydratedObjectsSize = hydratedObjects.size();
 			LOG.tracev( "Total objects hydrated: {0}", hydratedObjectsSize );
+			final PendingCachePuts pendingCachePuts = new PendingCachePuts();
 			for ( Object hydratedObject : hydratedObjects ) {
-				TwoPhaseLoad.initializeEntity( hydratedObject, readOnly, session, pre );
+				TwoPhaseLoad.initializeEntity( hydratedObject, readOnly, session, pre, pendingCachePuts );
 			}
+			pendingCachePuts.flush( session );
 		}
 
 		if ( collectionPersisters != null ) {
@@ -1514,7 +1522,7 @@ public abstract class Loader {
 			LOG.debugf( "Result row: %s", StringHelper.toString( keys ) );
 		}
 
-		final Object[] rowResults = new Object[cols];
+		final Object[] rowResults = cols == 0 ? ArrayHelper.EMPTY_OBJECT_ARRAY : new Object[cols];
 
 		for ( int i = 0; i < cols; i++ ) {
 
@@ -2626,6 +2634,9 @@ public abstract class Loader {
 					result.size(),
 					milliseconds
 			);
+			if ( getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+				( (LatencyStatisticsImplementor) getFactory().getStatisticsImplementor() ).queryExecutionLatency( endTime - startTime );
+			}
 		}
 
 		return result;
@@ -2701,6 +2712,9 @@ public abstract class Loader {
 						0,
 						milliseconds
 				);
+				if ( getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) getFactory().getStatisticsImplementor() ).queryExecutionLatency( endTime - startTime );
+				}
 			}
 
 			if ( needsFetchingScroll() ) {
@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.hibernate.HibernateException;
 import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.QueryParameters;
@@ -24,9 +25,11 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.AdaptiveBatchSize;
 import org.hibernate.loader.JoinWalker;
 import org.hibernate.loader.Loader;
 import org.hibernate.loader.spi.AfterLoadAction;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
 import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.type.Type;
@@ -60,6 +63,7 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 
 	public static class DynamicBatchingCollectionInitializer extends BatchingCollectionInitializer {
 		private final int maxBatchSize;
+		private final AdaptiveBatchSize adaptiveBatchSize;
 		private final Loader singleKeyLoader;
 		private final DynamicBatchingCollectionLoader batchLoader;
 
@@ -70,6 +74,9 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				LoadQueryInfluencers influencers) {
 			super( collectionPersister );
 			this.maxBatchSize = maxBatchSize;
+			this.adaptiveBatchSize = collectionPersister instanceof AbstractCollectionPersister
+					? ( (AbstractCollectionPersister) collectionPersister ).getAdaptiveBatchSize()
+					: null;
 
 			if ( collectionPersister.isOneToMany() ) {
 				this.singleKeyLoader = new OneToManyLoader( collectionPersister, 1, factory, influencers );
@@ -84,9 +91,9 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 		@Override
 		public void initialize(Serializable id, SessionImplementor session) throws HibernateException {
 			// first, figure out how many batchable ids we have...
-			final Serializable[] batch = session.getPersistenceContext()
-					.getBatchFetchQueue()
-					.getCollectionBatch( collectionPersister(), id, maxBatchSize );
+			final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+			final int batchSize = adaptiveBatchSize == null ? maxBatchSize : adaptiveBatchSize.getBatchSize();
+			final Serializable[] batch = batchFetchQueue.getCollectionBatch( collectionPersister(), id, batchSize );
 			final int numberOfIds = ArrayHelper.countNonNull( batch );
 			if ( numberOfIds <= 1 ) {
 				singleKeyLoader.loadCollection( session, id, collectionPersister().getKeyType() );
@@ -97,6 +104,9 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
 
 			batchLoader.doBatchedCollectionLoad( session, idsToLoad, collectionPersister().getKeyType() );
+			if ( adaptiveBatchSize != null ) {
+				batchFetchQueue.addBatchFetchedCollections( collectionPersister(), id, idsToLoad, adaptiveBatchSize );
+			}
 		}
 	}
 
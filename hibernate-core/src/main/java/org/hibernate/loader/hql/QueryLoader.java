@@ -43,6 +43,7 @@ import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.persister.entity.Queryable;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -548,6 +549,9 @@ public class QueryLoader extends BasicLoader {
 						0,
 						milliseconds
 				);
+				if ( session.getFactory().getStatisticsImplementor() instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) session.getFactory().getStatisticsImplementor() ).queryExecutionLatency( endTime - startTime );
+				}
 			}
 
 			return result;
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hibernate.engine.internal.PendingCachePuts;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.PostLoadEvent;
@@ -223,14 +224,17 @@ public abstract class AbstractRowReader implements RowReader {
 			return;
 		}
 
+		final PendingCachePuts pendingCachePuts = new PendingCachePuts();
 		for ( HydratedEntityRegistration registration : hydratedEntityRegistrations ) {
 			TwoPhaseLoad.initializeEntity(
 					registration.getInstance(),
 					context.isReadOnly(),
 					context.getSession(),
-					preLoadEvent
+					preLoadEvent,
+					pendingCachePuts
 			);
 		}
+		pendingCachePuts.flush( context.getSession() );
 	}
 
 	private void finishLoadingCollections(ResultSetProcessingContextImpl context) {
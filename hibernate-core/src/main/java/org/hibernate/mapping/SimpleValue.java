@@ -53,6 +53,14 @@ public class SimpleValue implements KeyValue {
 
 	public static final String DEFAULT_ID_GEN_STRATEGY = "assigned";
 
+	/**
+	 * Global optimizer settings which may also be overridden per generator.
+	 */
+	private static final String[] POOLED_OPTIMIZER_SETTINGS = new String[] {
+			AvailableSettings.POOLED_OPTIMIZER_THREAD_BLOCK_SIZE,
+			AvailableSettings.POOLED_OPTIMIZER_PREFETCH_THRESHOLD
+	};
+
 	private final MetadataImplementor metadata;
 
 	private final List<Selectable> columns = new ArrayList<Selectable>();
@@ -254,6 +262,14 @@ public class SimpleValue implements KeyValue {
 				AvailableSettings.PREFER_POOLED_VALUES_LO,
 				cs.getSetting( AvailableSettings.PREFER_POOLED_VALUES_LO, StandardConverters.BOOLEAN, false )
 		);
+		for ( String optimizerSetting : POOLED_OPTIMIZER_SETTINGS ) {
+			if ( !params.containsKey( optimizerSetting ) ) {
+				final String value = cs.getSetting( optimizerSetting, StandardConverters.STRING );
+				if ( value != null ) {
+					params.setProperty( optimizerSetting, value );
+				}
+			}
+		}
 
 		identifierGeneratorFactory.setDialect( dialect );
 		identifierGenerator = identifierGeneratorFactory.createIdentifierGenerator( identifierGeneratorStrategy, getType(), params );
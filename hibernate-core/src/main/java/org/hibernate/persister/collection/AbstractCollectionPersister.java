@@ -10,9 +10,12 @@ import java.io.Serializable;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,12 +33,14 @@ import org.hibernate.cache.spi.entry.StructuredMapCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.ExecuteUpdateResultCheckStyle;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SubselectFetch;
@@ -48,7 +53,10 @@ import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
+import org.hibernate.loader.AdaptiveBatchSize;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.loader.collection.CollectionInitializer;
+import org.hibernate.mapping.Bag;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Formula;
@@ -76,6 +84,7 @@ import org.hibernate.persister.walking.spi.CompositionDefinition;
 import org.hibernate.persister.walking.spi.EntityDefinition;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.sql.Alias;
+import org.hibernate.sql.Delete;
 import org.hibernate.sql.SelectFragment;
 import org.hibernate.sql.SimpleSelect;
 import org.hibernate.sql.Template;
@@ -121,6 +130,21 @@ public abstract class AbstractCollectionPersister
 	private final String sqlDetectRowByIndexString;
 	private final String sqlDetectRowByElementString;
 
+	// multi-row DML (see AvailableSettings.COLLECTION_MULTI_ROW_DML_SIZE)
+	private final int multiRowInsertSize;
+	private final String sqlMultiRowInsertString;
+	private final int multiRowDeleteSize;
+	private final String multiRowDeleteColumn;
+	private final String multiRowDeleteValue;
+	private final String sqlMultiRowDeleteString;
+
+	// see AvailableSettings.BAG_DELTA_UPDATES
+	private final boolean bagDeltaUpdatable;
+
+	// see AvailableSettings.EXTRA_LAZY_PAGE_SIZE
+	private final int extraLazyPageSize;
+	private final String sqlSelectRowsByIndexString;
+
 	protected final boolean hasWhere;
 	protected final String sqlWhereString;
 	private final String sqlWhereStringTemplate;
@@ -180,6 +204,7 @@ public abstract class AbstractCollectionPersister
 	private final boolean isMutable;
 	private final boolean isVersioned;
 	protected final int batchSize;
+	private final AdaptiveBatchSize adaptiveBatchSize;
 	private final FetchMode fetchMode;
 	private final boolean hasOrphanDelete;
 	private final boolean subselectLoadable;
@@ -287,6 +312,9 @@ public abstract class AbstractCollectionPersister
 			batch = factory.getSettings().getDefaultBatchFetchSize();
 		}
 		batchSize = batch;
+		adaptiveBatchSize = batch > 1 && factory.getSettings().getBatchFetchStyle() == BatchFetchStyle.ADAPTIVE
+				? new AdaptiveBatchSize( batch, factory.getDialect() )
+				: null;
 
 		isVersioned = collectionBinding.isOptimisticLocked();
 
@@ -494,6 +522,64 @@ public abstract class AbstractCollectionPersister
 			deleteAllCheckStyle = ExecuteUpdateResultCheckStyle.NONE;
 		}
 
+		final int multiRowDmlSize = isOneToMany() ? 0 : factory.getSessionFactoryOptions().getCollectionMultiRowDmlSize();
+		final int parameterLimit = dialect.getInExpressionCountLimit();
+		if ( multiRowDmlSize > 1 && collectionBinding.getCustomSQLInsert() == null && dialect.supportsValuesListForInsert() ) {
+			int parametersPerRow = keyColumnNames.length + ArrayHelper.countTrue( elementColumnIsSettable );
+			if ( hasIdentifier ) {
+				parametersPerRow++;
+			}
+			if ( hasIndex ) {
+				parametersPerRow += ArrayHelper.countTrue( indexColumnIsSettable );
+			}
+			multiRowInsertSize = parameterLimit > 0
+					? Math.min( multiRowDmlSize, parameterLimit / parametersPerRow )
+					: multiRowDmlSize;
+		}
+		else {
+			multiRowInsertSize = 0;
+		}
+		sqlMultiRowInsertString = multiRowInsertSize > 1 ? generateMultiRowInsertString( multiRowInsertSize ) : null;
+
+		// the rows are deleted by a single column (along with the key)
+		String deleteColumn = null;
+		String deleteValue = null;
+		if ( multiRowDmlSize > 1 && collectionBinding.getCustomSQLDelete() == null ) {
+			if ( hasIdentifier ) {
+				deleteColumn = identifierColumnName;
+				deleteValue = "?";
+			}
+			else if ( hasIndex && !indexContainsFormula ) {
+				if ( indexColumnNames.length == 1 ) {
+					deleteColumn = indexColumnNames[0];
+					deleteValue = "?";
+				}
+			}
+			else if ( !elementIsPureFormula && elementColumnNames.length == 1 && elementColumnIsInPrimaryKey[0] ) {
+				deleteColumn = elementColumnNames[0];
+				deleteValue = elementColumnWriters[0];
+			}
+		}
+		multiRowDeleteColumn = deleteColumn;
+		multiRowDeleteValue = deleteValue;
+		if ( deleteColumn == null ) {
+			multiRowDeleteSize = 0;
+		}
+		else {
+			multiRowDeleteSize = parameterLimit > 0
+					? Math.min( multiRowDmlSize, parameterLimit - keyColumnNames.length )
+					: multiRowDmlSize;
+		}
+		sqlMultiRowDeleteString = multiRowDeleteSize > 1 ? generateMultiRowDeleteString( multiRowDeleteSize ) : null;
+
+		// the rows of a bag are located by the values of their element columns
+		bagDeltaUpdatable = factory.getSessionFactoryOptions().isBagDeltaUpdatesEnabled()
+				&& collectionBinding instanceof Bag
+				&& !isOneToMany()
+				&& !elementIsPureFormula
+				&& !elementType.isComponentType()
+				&& !isLob( elementType.sqlTypes( factory ) );
+
 		sqlSelectSizeString = generateSelectSizeString( collectionBinding.isIndexed() && !collectionBinding.isMap() );
 		sqlDetectRowByIndexString = generateDetectRowByIndexString();
 		sqlDetectRowByElementString = generateDetectRowByElementString();
@@ -504,6 +590,19 @@ public abstract class AbstractCollectionPersister
 		isLazy = collectionBinding.isLazy();
 		isExtraLazy = collectionBinding.isExtraLazy();
 
+		// the pages of an extra-lazy list are read ordered by index
+		if ( isExtraLazy
+				&& collectionBinding instanceof List
+				&& !indexContainsFormula
+				&& ArrayHelper.countTrue( elementColumnIsSettable ) == elementColumnIsSettable.length
+				&& dialect.getLimitHandler().supportsLimit() ) {
+			extraLazyPageSize = factory.getSessionFactoryOptions().getExtraLazyPageSize();
+		}
+		else {
+			extraLazyPageSize = 0;
+		}
+		sqlSelectRowsByIndexString = extraLazyPageSize > 0 ? generateSelectRowsByIndexString() : null;
+
 		isInverse = collectionBinding.isInverse();
 
 		if ( collectionBinding.isArray() ) {
@@ -1031,6 +1130,16 @@ public abstract class AbstractCollectionPersister
 				.toStatementString();
 	}
 
+	protected String generateSelectRowsByIndexString() {
+		return new SimpleSelect( dialect )
+				.setTableName( getTableName() )
+				.addCondition( getKeyColumnNames(), "=?" )
+				.addColumns( getElementColumnNames(), elementColumnAliases )
+				.addColumns( getIndexColumnNames(), indexColumnAliases )
+				.setOrderBy( " order by " + StringHelper.join( ", ", getIndexColumnNames() ) )
+				.toStatementString();
+	}
+
 	protected String generateDetectRowByElementString() {
 		return new SimpleSelect( dialect )
 				.setTableName( getTableName() )
@@ -1247,7 +1356,12 @@ public abstract class AbstractCollectionPersister
 		try {
 			// create all the new entries
 			Iterator entries = collection.entries( this );
-			if ( entries.hasNext() ) {
+			if ( entries.hasNext() && isMultiRowInsertEnabled() ) {
+				collection.preInsert( this );
+				final int count = insertMultiRows( collection, id, entries, true, session );
+				LOG.debugf( "Done inserting collection: %s rows inserted", count );
+			}
+			else if ( entries.hasNext() ) {
 				Expectation expectation = Expectations.appropriateExpectation( getInsertCheckStyle() );
 				collection.preInsert( this );
 				int i = 0;
@@ -1371,7 +1485,11 @@ public abstract class AbstractCollectionPersister
 		try {
 			// delete all the deleted entries
 			Iterator deletes = collection.getDeletes( this, !deleteByIndex );
-			if ( deletes.hasNext() ) {
+			if ( deletes.hasNext() && isMultiRowDeleteEnabled() ) {
+				final int count = deleteMultiRows( id, deletes, deleteByIndex, session );
+				LOG.debugf( "Done deleting collection rows: %s deleted", count );
+			}
+			else if ( deletes.hasNext() ) {
 				int offset = 1;
 				int count = 0;
 				while ( deletes.hasNext() ) {
@@ -1487,6 +1605,11 @@ public abstract class AbstractCollectionPersister
 			// insert all the new entries
 			collection.preInsert( this );
 			Iterator entries = collection.entries( this );
+			if ( isMultiRowInsertEnabled() ) {
+				final int count = insertMultiRows( collection, id, entries, false, session );
+				LOG.debugf( "Done inserting rows: %s inserted", count );
+				return;
+			}
 			Expectation expectation = Expectations.appropriateExpectation( getInsertCheckStyle() );
 			boolean callable = isInsertCallable();
 			boolean useBatch = expectation.canBeBatched();
@@ -1677,6 +1800,205 @@ public abstract class AbstractCollectionPersister
 		return spaces;
 	}
 
+	/**
+	 * Are the rows of this collection inserted by multi-row INSERT statements?
+	 */
+	protected boolean isMultiRowInsertEnabled() {
+		return multiRowInsertSize > 1 && !isInsertCallable();
+	}
+
+	/**
+	 * Are the rows of this collection deleted by DELETE statements restricted by an IN list?
+	 */
+	protected boolean isMultiRowDeleteEnabled() {
+		return multiRowDeleteSize > 1 && !isDeleteCallable();
+	}
+
+	/**
+	 * Can the changes of this bag be applied by deleting and inserting the rows of the elements removed and
+	 * added, rather than by recreating the whole collection?
+	 *
+	 * @return {@code true} if the changes of the bag may be applied row by row
+	 */
+	public boolean isBagDeltaUpdatable() {
+		return bagDeltaUpdatable;
+	}
+
+	private static boolean isLob(int[] sqlTypes) {
+		for ( int sqlType : sqlTypes ) {
+			if ( sqlType == Types.BLOB || sqlType == Types.CLOB || sqlType == Types.NCLOB ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Insert the entries of the collection which exist (when recreating it) or need inserting, by chunks
+	 * of up to {@link #multiRowInsertSize} rows.
+	 */
+	private int insertMultiRows(
+			PersistentCollection collection,
+			Serializable id,
+			Iterator entries,
+			boolean recreate,
+			SessionImplementor session) throws SQLException {
+		final java.util.List<Object> chunk = new ArrayList<Object>( multiRowInsertSize );
+		final java.util.List<Integer> positions = new ArrayList<Integer>( multiRowInsertSize );
+		int i = 0;
+		int count = 0;
+		while ( entries.hasNext() ) {
+			final Object entry = entries.next();
+			if ( recreate ? collection.entryExists( entry, i ) : collection.needsInserting( entry, i, elementType ) ) {
+				chunk.add( entry );
+				positions.add( i );
+				if ( chunk.size() == multiRowInsertSize ) {
+					count += executeMultiRowInsert( collection, id, chunk, positions, session );
+					chunk.clear();
+					positions.clear();
+				}
+			}
+			i++;
+		}
+		if ( !chunk.isEmpty() ) {
+			count += executeMultiRowInsert( collection, id, chunk, positions, session );
+		}
+		return count;
+	}
+
+	private int executeMultiRowInsert(
+			PersistentCollection collection,
+			Serializable id,
+			java.util.List<Object> entries,
+			java.util.List<Integer> positions,
+			SessionImplementor session) throws SQLException {
+		final int rows = entries.size();
+		final String sql = rows == multiRowInsertSize ? sqlMultiRowInsertString : generateMultiRowInsertString( rows );
+		final PreparedStatement st = session.getJdbcCoordinator().getStatementPreparer().prepareStatement( sql, false );
+		try {
+			int loc = 1;
+			for ( int r = 0; r < rows; r++ ) {
+				final Object entry = entries.get( r );
+				final int i = positions.get( r );
+				loc = writeKey( st, id, loc, session );
+				if ( hasIdentifier ) {
+					loc = writeIdentifier( st, collection.getIdentifier( entry, i ), loc, session );
+				}
+				if ( hasIndex /* && !indexIsFormula */) {
+					loc = writeIndex( st, collection.getIndex( entry, i, this ), loc, session );
+				}
+				loc = writeElement( st, collection.getElement( entry ), loc, session );
+			}
+			multiRowExpectation( getInsertCheckStyle(), rows ).verifyOutcome(
+					session.getJdbcCoordinator().getResultSetReturn().executeUpdate( st ), st, -1
+			);
+		}
+		finally {
+			session.getJdbcCoordinator().getResourceRegistry().release( st );
+			session.getJdbcCoordinator().afterStatementExecution();
+		}
+		for ( int r = 0; r < rows; r++ ) {
+			collection.afterRowInsert( this, entries.get( r ), positions.get( r ) );
+		}
+		return rows;
+	}
+
+	/**
+	 * Delete the rows of the given identifiers, indexes or elements, by chunks of up to
+	 * {@link #multiRowDeleteSize} rows.
+	 */
+	private int deleteMultiRows(Serializable id, Iterator deletes, boolean deleteByIndex, SessionImplementor session)
+			throws SQLException {
+		final java.util.List<Object> chunk = new ArrayList<Object>( multiRowDeleteSize );
+		int count = 0;
+		while ( deletes.hasNext() ) {
+			chunk.add( deletes.next() );
+			if ( chunk.size() == multiRowDeleteSize || !deletes.hasNext() ) {
+				count += executeMultiRowDelete( id, chunk, deleteByIndex, session );
+				chunk.clear();
+			}
+		}
+		return count;
+	}
+
+	private int executeMultiRowDelete(Serializable id, java.util.List<Object> deletes, boolean deleteByIndex, SessionImplementor session)
+			throws SQLException {
+		final int rows = deletes.size();
+		final String sql = rows == multiRowDeleteSize ? sqlMultiRowDeleteString : generateMultiRowDeleteString( rows );
+		final PreparedStatement st = session.getJdbcCoordinator().getStatementPreparer().prepareStatement( sql, false );
+		try {
+			int loc = 1;
+			if ( !hasIdentifier ) {
+				loc = writeKey( st, id, loc, session );
+			}
+			for ( Object entry : deletes ) {
+				if ( hasIdentifier ) {
+					loc = writeIdentifier( st, entry, loc, session );
+				}
+				else if ( deleteByIndex ) {
+					loc = writeIndexToWhere( st, entry, loc, session );
+				}
+				else {
+					loc = writeElementToWhere( st, entry, loc, session );
+				}
+			}
+			multiRowExpectation( getDeleteCheckStyle(), rows ).verifyOutcome(
+					session.getJdbcCoordinator().getResultSetReturn().executeUpdate( st ), st, -1
+			);
+		}
+		finally {
+			session.getJdbcCoordinator().getResourceRegistry().release( st );
+			session.getJdbcCoordinator().afterStatementExecution();
+		}
+		return rows;
+	}
+
+	private static Expectation multiRowExpectation(ExecuteUpdateResultCheckStyle style, int rows) {
+		if ( style == ExecuteUpdateResultCheckStyle.COUNT ) {
+			return new Expectations.BasicExpectation( rows ) {
+			};
+		}
+		return Expectations.NONE;
+	}
+
+	/**
+	 * Generate an INSERT of the given number of rows, repeating the row values of the INSERT of one row.
+	 */
+	protected String generateMultiRowInsertString(int rows) {
+		final String sql = getSQLInsertRowString();
+		final String values = sql.substring( sql.lastIndexOf( " values (" ) + 8 );
+		final StringBuilder buf = new StringBuilder( sql.length() + ( values.length() + 2 ) * ( rows - 1 ) );
+		buf.append( sql );
+		for ( int r = 1; r < rows; r++ ) {
+			buf.append( ", " ).append( values );
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Generate a DELETE of the rows of the given number of identifiers, indexes or elements.
+	 */
+	protected String generateMultiRowDeleteString(int rows) {
+		final Delete delete = new Delete().setTableName( qualifiedTableName );
+		if ( !hasIdentifier ) {
+			delete.addPrimaryKeyColumns( keyColumnNames );
+		}
+		final StringBuilder in = new StringBuilder( multiRowDeleteColumn ).append( " in (" );
+		for ( int r = 0; r < rows; r++ ) {
+			if ( r > 0 ) {
+				in.append( ", " );
+			}
+			in.append( multiRowDeleteValue );
+		}
+		delete.addWhereFragment( in.append( ')' ).toString() );
+
+		if ( getFactory().getSessionFactoryOptions().isCommentsEnabled() ) {
+			delete.setComment( "delete collection rows " + getRole() );
+		}
+
+		return delete.toStatementString();
+	}
+
 	protected abstract String generateDeleteString();
 
 	protected abstract String generateDeleteRowString();
@@ -2015,6 +2337,78 @@ public abstract class AbstractCollectionPersister
 		}
 	}
 
+	/**
+	 * The number of rows of this extra-lazy list read at once by {@link #getElementPage}.
+	 *
+	 * @return The number of rows of a page, or {@code 0} when the elements are read one at a time
+	 */
+	public int getExtraLazyPageSize() {
+		return extraLazyPageSize;
+	}
+
+	/**
+	 * Read a page of the rows of this extra-lazy list, the rows being ordered by index.
+	 *
+	 * @param key The collection key
+	 * @param page The number of the page, the first page being {@code 0}
+	 * @param session The session
+	 * @param owner The collection owner
+	 *
+	 * @return The elements of the page by index, in index order
+	 */
+	public Map<Integer, Object> getElementPage(Serializable key, int page, SessionImplementor session, Object owner) {
+		final RowSelection selection = new RowSelection();
+		selection.setFirstRow( page * extraLazyPageSize );
+		selection.setMaxRows( extraLazyPageSize );
+		final LimitHandler limitHandler = dialect.getLimitHandler();
+		final String sql = limitHandler.processSql( sqlSelectRowsByIndexString, selection );
+		try {
+			PreparedStatement st = session
+					.getJdbcCoordinator()
+					.getStatementPreparer()
+					.prepareStatement( sql );
+			try {
+				int col = 1;
+				col += limitHandler.bindLimitParametersAtStartOfQuery( selection, st, col );
+				getKeyType().nullSafeSet( st, key, col, session );
+				col += keyColumnNames.length;
+				limitHandler.bindLimitParametersAtEndOfQuery( selection, st, col );
+				limitHandler.setMaxRows( selection, st );
+				ResultSet rs = session.getJdbcCoordinator().getResultSetReturn().extract( st );
+				try {
+					if ( !limitHandler.supportsLimitOffset() ) {
+						// the rows of the previous pages are part of the result
+						int skipped = 0;
+						while ( skipped < selection.getFirstRow() && rs.next() ) {
+							skipped++;
+						}
+					}
+					final Map<Integer, Object> elements = new LinkedHashMap<Integer, Object>();
+					while ( elements.size() < extraLazyPageSize && rs.next() ) {
+						final Integer index = (Integer) readIndex( rs, indexColumnAliases, session );
+						elements.put( index, readElement( rs, owner, elementColumnAliases, session ) );
+					}
+					return elements;
+				}
+				finally {
+					session.getJdbcCoordinator().getResourceRegistry().release( rs, st );
+				}
+			}
+			finally {
+				session.getJdbcCoordinator().getResourceRegistry().release( st );
+				session.getJdbcCoordinator().afterStatementExecution();
+			}
+		}
+		catch ( SQLException sqle ) {
+			throw getSQLExceptionHelper().convert(
+					sqle,
+					"could not read rows: " +
+							MessageHelper.collectionInfoString( this, key, getFactory() ),
+					sql
+			);
+		}
+	}
+
 	@Override
 	public boolean isExtraLazy() {
 		return isExtraLazy;
@@ -2039,6 +2433,16 @@ public abstract class AbstractCollectionPersister
 		return batchSize;
 	}
 
+	/**
+	 * The batch size adjusted to the use of the batch-fetched collections, in the
+	 * {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style.
+	 *
+	 * @return The adaptive batch size, or {@code null} when not batch-fetched in this style
+	 */
+	public AdaptiveBatchSize getAdaptiveBatchSize() {
+		return adaptiveBatchSize;
+	}
+
 	@Override
 	public String getMappedByProperty() {
 		return mappedByProperty;
@@ -41,11 +41,14 @@ import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.CacheEntrySerializer;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
+import org.hibernate.cache.spi.entry.SerializedCacheEntry;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.dialect.identity.GetGeneratedKeysDelegate;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.internal.CacheHelper;
@@ -83,6 +86,8 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.loader.AdaptiveBatchSize;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
@@ -158,6 +163,7 @@ public abstract class AbstractEntityPersister
 	private final String versionColumnName;
 	private final boolean hasFormulaProperties;
 	protected final int batchSize;
+	private final AdaptiveBatchSize adaptiveBatchSize;
 	private final boolean hasSubselectLoadableCollections;
 	protected final String rowIdName;
 
@@ -254,6 +260,7 @@ public abstract class AbstractEntityPersister
 	protected ExecuteUpdateResultCheckStyle[] deleteResultCheckStyles;
 
 	private InsertGeneratedIdentifierDelegate identityDelegate;
+	private boolean identityInsertBatchable;
 
 	private boolean[] tableHasColumns;
 
@@ -519,6 +526,9 @@ public abstract class AbstractEntityPersister
 			batch = factory.getSessionFactoryOptions().getDefaultBatchFetchSize();
 		}
 		batchSize = batch;
+		adaptiveBatchSize = batch > 1 && factory.getSettings().getBatchFetchStyle() == BatchFetchStyle.ADAPTIVE
+				? new AdaptiveBatchSize( batch, factory.getDialect() )
+				: null;
 		hasSubselectLoadableCollections = persistentClass.hasSubselectLoadableCollections();
 
 		propertyMapping = new BasicEntityPropertyMapping( this );
@@ -830,8 +840,13 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
-		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
-				? new StructuredCacheEntryHelper( this )
+		if ( factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this );
+		}
+
+		final CacheEntrySerializer cacheEntrySerializer = factory.getSessionFactoryOptions().getCacheEntrySerializer();
+		return cacheEntrySerializer != null
+				? new SerializedCacheEntryHelper( this, cacheEntrySerializer )
 				: new StandardCacheEntryHelper( this );
 	}
 
@@ -1118,6 +1133,16 @@ public abstract class AbstractEntityPersister
 		return batchSize > 1;
 	}
 
+	/**
+	 * The batch size adjusted to the use of the batch-fetched entities, in the
+	 * {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style.
+	 *
+	 * @return The adaptive batch size, or {@code null} when not batch-fetched in this style
+	 */
+	public AdaptiveBatchSize getAdaptiveBatchSize() {
+		return adaptiveBatchSize;
+	}
+
 	public String[] getIdentifierColumnNames() {
 		return rootTableKeyColumnNames;
 	}
@@ -2789,6 +2814,66 @@ public abstract class AbstractEntityPersister
 		return identityDelegate.performInsert( sql, session, binder );
 	}
 
+	/**
+	 * Can the IDENTITY inserts of this entity be executed as JDBC batches, by
+	 * {@link #insert(Object[][], Object[], SessionImplementor)}?
+	 *
+	 * @return {@code true} if IDENTITY inserts can be batched
+	 */
+	public boolean isIdentityInsertBatchable() {
+		return identityInsertBatchable;
+	}
+
+	/**
+	 * Perform the SQL INSERTs of several entities using IDENTITY ids, executing the INSERTs into the root table
+	 * as one JDBC batch.  Only usable when {@link #isIdentityInsertBatchable()}.
+	 *
+	 * @param fields The state of each entity
+	 * @param objects The entities
+	 * @param session The session
+	 *
+	 * @return The generated identifiers, in the order of the entities
+	 */
+	public Serializable[] insert(final Object[][] fields, final Object[] objects, final SessionImplementor session)
+			throws HibernateException {
+		if ( !identityInsertBatchable ) {
+			throw new AssertionFailure( "IDENTITY inserts cannot be batched for " + getEntityName() );
+		}
+		if ( LOG.isTraceEnabled() ) {
+			LOG.tracev( "Inserting {0} entities: {1} (native id, batched)", objects.length, getEntityName() );
+		}
+
+		final Binder[] binders = new Binder[objects.length];
+		for ( int i = 0; i < objects.length; i++ ) {
+			final Object[] entityFields = fields[i];
+			final Object object = objects[i];
+			// apply any pre-insert in-memory value generation
+			preInsertInMemoryValueGeneration( entityFields, object, session );
+			binders[i] = new Binder() {
+				public void bindValues(PreparedStatement ps) throws SQLException {
+					dehydrate( null, entityFields, getPropertyInsertability(), propertyColumnInsertable, 0, ps, session, false );
+				}
+
+				public Object getEntity() {
+					return object;
+				}
+			};
+		}
+
+		final Serializable[] ids = ( (GetGeneratedKeysDelegate) identityDelegate ).performBatchInsert(
+				getSQLIdentityInsertString(),
+				session,
+				binders
+		);
+		final int span = getTableSpan();
+		for ( int i = 0; i < objects.length; i++ ) {
+			for ( int j = 1; j < span; j++ ) {
+				insert( ids[i], fields[i], getPropertyInsertability(), j, getSQLInsertStrings()[j], objects[i], session );
+			}
+		}
+		return ids;
+	}
+
 	public String getIdentitySelectString() {
 		//TODO: cache this in an instvar
 		return getFactory().getDialect().getIdentityColumnSupport()
@@ -3830,6 +3915,12 @@ public abstract class AbstractEntityPersister
 			sqlIdentityInsertString = customSQLInsert[0] == null
 					? generateIdentityInsertString( getPropertyInsertability() )
 					: customSQLInsert[0];
+			identityInsertBatchable = identityDelegate instanceof GetGeneratedKeysDelegate
+					&& getFactory().getSessionFactoryOptions().isJdbcBatchIdentityInserts()
+					&& getFactory().getSessionFactoryOptions().getJdbcBatchSize() > 1
+					&& getFactory().getDialect().getIdentityColumnSupport().supportsBatchedGeneratedKeys()
+					&& !entityMetamodel.isDynamicInsert()
+					&& !isInsertCallable( 0 );
 		}
 		else {
 			sqlIdentityInsertString = null;
@@ -5196,6 +5287,33 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class SerializedCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final SerializedCacheEntry structure;
+
+		private SerializedCacheEntryHelper(EntityPersister persister, CacheEntrySerializer serializer) {
+			this.persister = persister;
+			this.structure = new SerializedCacheEntry( persister, serializer );
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SessionImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					persister.hasUninitializedLazyProperties( entity ),
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
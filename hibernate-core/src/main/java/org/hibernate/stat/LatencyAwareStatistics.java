@@ -0,0 +1,32 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat;
+
+/**
+ * Optional contract for the {@link Statistics} which also expose the latency distributions of the main operations.
+ * It is a separate contract so that the existing implementations of {@link Statistics} keep compiling.
+ *
+ * @since 5.1
+ */
+public interface LatencyAwareStatistics extends Statistics {
+	/**
+	 * The latency distribution of the sql/hql query executions
+	 */
+	public LatencyStatistics getQueryExecutionLatency();
+	/**
+	 * The latency distribution of the entity loads, from the session, the second-level cache or the database
+	 */
+	public LatencyStatistics getEntityLoadLatency();
+	/**
+	 * The latency distribution of the flushes
+	 */
+	public LatencyStatistics getFlushLatency();
+	/**
+	 * The latency distribution of the gets from the second-level cache
+	 */
+	public LatencyStatistics getSecondLevelCacheGetLatency();
+}
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Latency distribution of an operation, in nanoseconds.
+ * <p/>
+ * Latencies are recorded into buckets whose width grows with the latency, so that the percentiles are
+ * approximated within about 3% of the actual values, whatever their magnitude.
+ */
+public interface LatencyStatistics extends Serializable {
+	/**
+	 * The number of operations recorded
+	 */
+	public long getCount();
+
+	/**
+	 * The mean latency, in nanoseconds
+	 */
+	public long getMean();
+
+	/**
+	 * The highest latency, in nanoseconds
+	 */
+	public long getMax();
+
+	/**
+	 * The latency below which the given percentage of the operations completed, in nanoseconds.
+	 *
+	 * @param percentile the percentage, between 0 and 100, e.g. {@code 99.9}
+	 *
+	 * @return the latency, or 0 if no operation was recorded
+	 */
+	public long getPercentile(double percentile);
+}
@@ -0,0 +1,214 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.hibernate.stat.LatencyStatistics;
+
+/**
+ * Lock-free log-linear latency histogram: each power of two range of latencies is split into 32 buckets of
+ * equal width, which bounds the relative error of the percentiles to 1/32.  Latencies above 2<sup>40</sup>
+ * nanoseconds (about 18 minutes) all fall into the last bucket.
+ * <p/>
+ * The buckets are striped the same way as {@link StripedCounter}: operations are recorded in a single set of
+ * buckets until two threads collide on a bucket, from then on each thread records in the set of buckets of its
+ * stripe, allocated the first time the stripe is used.  Each set of buckets tracks its own maximum, so that the
+ * maximum is not a contention point either.
+ */
+public class ConcurrentLatencyStatisticsImpl implements LatencyStatistics {
+	private static final AtomicReferenceFieldUpdater<ConcurrentLatencyStatisticsImpl, AtomicReferenceArray> STRIPES_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater( ConcurrentLatencyStatisticsImpl.class, AtomicReferenceArray.class, "stripes" );
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 40;
+	private static final int BUCKET_COUNT = bucketIndex( ( 1L << MAX_EXPONENT ) - 1 ) + 1;
+	// the maximum is kept in the slot following the buckets
+	private static final int MAX_INDEX = BUCKET_COUNT;
+
+	private final AtomicLongArray base = new AtomicLongArray( BUCKET_COUNT + 1 );
+	private volatile AtomicReferenceArray<AtomicLongArray> stripes;
+	private final StripedCounter count = new StripedCounter();
+	private final StripedCounter total = new StripedCounter();
+
+	static int bucketIndex(long value) {
+		if ( value < SUB_BUCKET_COUNT ) {
+			return (int) Math.max( value, 0L );
+		}
+		final int exponent = Math.min( 63 - Long.numberOfLeadingZeros( value ), MAX_EXPONENT - 1 );
+		final int shift = exponent - SUB_BUCKET_BITS;
+		// keep the SUB_BUCKET_BITS bits following the leading one
+		final int subBucket = (int) Math.min( value >>> shift, ( SUB_BUCKET_COUNT << 1 ) - 1 ) - SUB_BUCKET_COUNT;
+		return ( shift + 1 ) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long highestValue(int bucketIndex) {
+		if ( bucketIndex < SUB_BUCKET_COUNT ) {
+			return bucketIndex;
+		}
+		final int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+		final long lowestValue = (long) ( bucketIndex % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT ) << shift;
+		return lowestValue + ( 1L << shift ) - 1;
+	}
+
+	/**
+	 * Records an operation
+	 *
+	 * @param nanos the latency of the operation, in nanoseconds
+	 */
+	void record(long nanos) {
+		final int bucket = bucketIndex( nanos );
+		AtomicLongArray buckets = base;
+		AtomicReferenceArray<AtomicLongArray> stripes = this.stripes;
+		if ( stripes == null ) {
+			final long current = buckets.get( bucket );
+			if ( buckets.compareAndSet( bucket, current, current + 1 ) ) {
+				recorded( buckets, nanos );
+				return;
+			}
+			if ( StripedCounter.STRIPE_COUNT == 1 ) {
+				// a single processor does not benefit from striping
+				buckets.incrementAndGet( bucket );
+				recorded( buckets, nanos );
+				return;
+			}
+			stripes = stripe();
+		}
+		buckets = stripeBuckets( stripes );
+		buckets.incrementAndGet( bucket );
+		recorded( buckets, nanos );
+	}
+
+	private void recorded(AtomicLongArray buckets, long nanos) {
+		count.increment();
+		total.add( nanos );
+		for ( long old = buckets.get( MAX_INDEX );
+				nanos > old && !buckets.compareAndSet( MAX_INDEX, old, nanos );
+				old = buckets.get( MAX_INDEX ) ) {
+		}
+	}
+
+	private AtomicReferenceArray<AtomicLongArray> stripe() {
+		STRIPES_UPDATER.compareAndSet( this, null, new AtomicReferenceArray<AtomicLongArray>( StripedCounter.STRIPE_COUNT ) );
+		return stripes;
+	}
+
+	private static AtomicLongArray stripeBuckets(AtomicReferenceArray<AtomicLongArray> stripes) {
+		final int stripe = StripedCounter.threadStripe();
+		final AtomicLongArray buckets = stripes.get( stripe );
+		if ( buckets != null ) {
+			return buckets;
+		}
+		stripes.compareAndSet( stripe, null, new AtomicLongArray( BUCKET_COUNT + 1 ) );
+		return stripes.get( stripe );
+	}
+
+	/**
+	 * Resets the statistics, which is only accurate in the absence of concurrent operations.
+	 */
+	void clear() {
+		reset( base );
+		final AtomicReferenceArray<AtomicLongArray> stripes = this.stripes;
+		if ( stripes != null ) {
+			for ( int i = 0; i < stripes.length(); i++ ) {
+				final AtomicLongArray buckets = stripes.get( i );
+				if ( buckets != null ) {
+					reset( buckets );
+				}
+			}
+		}
+		count.reset();
+		total.reset();
+	}
+
+	private static void reset(AtomicLongArray buckets) {
+		for ( int i = 0; i < buckets.length(); i++ ) {
+			buckets.set( i, 0L );
+		}
+	}
+
+	@Override
+	public long getCount() {
+		return count.get();
+	}
+
+	@Override
+	public long getMean() {
+		final long count = this.count.get();
+		return count == 0 ? 0 : total.get() / count;
+	}
+
+	@Override
+	public long getMax() {
+		long max = base.get( MAX_INDEX );
+		final AtomicReferenceArray<AtomicLongArray> stripes = this.stripes;
+		if ( stripes != null ) {
+			for ( int i = 0; i < stripes.length(); i++ ) {
+				final AtomicLongArray buckets = stripes.get( i );
+				if ( buckets != null ) {
+					max = Math.max( max, buckets.get( MAX_INDEX ) );
+				}
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public long getPercentile(double percentile) {
+		// work on a copy, so that the rank and the buckets agree while operations keep being recorded
+		final long[] snapshot = new long[BUCKET_COUNT];
+		accumulate( base, snapshot );
+		final AtomicReferenceArray<AtomicLongArray> stripes = this.stripes;
+		if ( stripes != null ) {
+			for ( int i = 0; i < stripes.length(); i++ ) {
+				final AtomicLongArray buckets = stripes.get( i );
+				if ( buckets != null ) {
+					accumulate( buckets, snapshot );
+				}
+			}
+		}
+		long recorded = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			recorded += snapshot[i];
+		}
+		if ( recorded == 0 ) {
+			return 0L;
+		}
+		final long max = getMax();
+		final double fraction = Math.min( Math.max( percentile, 0d ), 100d ) / 100d;
+		final long rank = Math.max( (long) Math.ceil( fraction * recorded ), 1L );
+		long cumulated = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			cumulated += snapshot[i];
+			if ( cumulated >= rank ) {
+				return Math.min( highestValue( i ), max );
+			}
+		}
+		return max;
+	}
+
+	private static void accumulate(AtomicLongArray buckets, long[] snapshot) {
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			snapshot[i] += buckets.get( i );
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyStatistics"
+				+ "[count=" + getCount()
+				+ ",mean=" + getMean()
+				+ ",p50=" + getPercentile( 50d )
+				+ ",p99=" + getPercentile( 99d )
+				+ ",p999=" + getPercentile( 99.9d )
+				+ ",max=" + getMax()
+				+ ']';
+	}
+}
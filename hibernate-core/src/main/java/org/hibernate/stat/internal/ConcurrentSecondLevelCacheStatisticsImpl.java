@@ -8,7 +8,6 @@ package org.hibernate.stat.internal;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
@@ -24,9 +23,9 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	private final transient Region region;
 	private final transient EntityRegionAccessStrategy entityRegionAccessStrategy;
 	private final transient CollectionRegionAccessStrategy collectionRegionAccessStrategy;
-	private AtomicLong hitCount = new AtomicLong();
-	private AtomicLong missCount = new AtomicLong();
-	private AtomicLong putCount = new AtomicLong();
+	private StripedCounter hitCount = new StripedCounter();
+	private StripedCounter missCount = new StripedCounter();
+	private StripedCounter putCount = new StripedCounter();
 
 	ConcurrentSecondLevelCacheStatisticsImpl(Region region,
 			EntityRegionAccessStrategy entityRegionAccessStrategy,
@@ -97,14 +96,14 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	}
 
 	void incrementHitCount() {
-		hitCount.getAndIncrement();
+		hitCount.increment();
 	}
 
 	void incrementMissCount() {
-		missCount.getAndIncrement();
+		missCount.increment();
 	}
 
 	void incrementPutCount() {
-		putCount.getAndIncrement();
+		putCount.increment();
 	}
 }
@@ -0,0 +1,118 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A counter which stays cheap to update from many threads at once, along the lines of the JDK 8
+ * {@code LongAdder}.
+ * <p/>
+ * As long as updates do not collide, they are applied to a single base value, so that an uncontended counter
+ * costs no more than an {@link java.util.concurrent.atomic.AtomicLong}.  The first time a thread fails to update
+ * the base value because of a concurrent update, the counter is striped: from then on, each thread updates the
+ * stripe its identifier maps to, each stripe sitting on a cache line of its own.  Reading the counter sums the
+ * stripes, hence is not an atomic snapshot when the counter is being updated concurrently.
+ *
+ * @see java.util.concurrent.atomic.AtomicLong
+ */
+final class StripedCounter implements Serializable {
+	private static final AtomicLongFieldUpdater<StripedCounter> BASE_UPDATER =
+			AtomicLongFieldUpdater.newUpdater( StripedCounter.class, "base" );
+	private static final AtomicReferenceFieldUpdater<StripedCounter, AtomicLongArray> STRIPES_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater( StripedCounter.class, AtomicLongArray.class, "stripes" );
+
+	private static final int MAX_STRIPE_COUNT = 64;
+	// 8 longs span a 64 bytes cache line
+	private static final int STRIPE_WIDTH = 8;
+	static final int STRIPE_COUNT = stripeCount( Runtime.getRuntime().availableProcessors() );
+
+	private volatile long base;
+	private volatile AtomicLongArray stripes;
+
+	private static int stripeCount(int processors) {
+		int count = 1;
+		while ( count < processors && count < MAX_STRIPE_COUNT ) {
+			count <<= 1;
+		}
+		return count;
+	}
+
+	public void increment() {
+		add( 1L );
+	}
+
+	public void add(long delta) {
+		AtomicLongArray stripes = this.stripes;
+		if ( stripes == null ) {
+			long base = this.base;
+			if ( BASE_UPDATER.compareAndSet( this, base, base + delta ) ) {
+				return;
+			}
+			if ( STRIPE_COUNT == 1 ) {
+				// a single processor does not benefit from striping, keep retrying
+				do {
+					base = this.base;
+				} while ( !BASE_UPDATER.compareAndSet( this, base, base + delta ) );
+				return;
+			}
+			stripes = stripe();
+		}
+		stripes.addAndGet( stripeIndex(), delta );
+	}
+
+	private AtomicLongArray stripe() {
+		// the first stripe is left unused, its cache line being shared with the array header
+		STRIPES_UPDATER.compareAndSet( this, null, new AtomicLongArray( ( STRIPE_COUNT + 1 ) * STRIPE_WIDTH ) );
+		return stripes;
+	}
+
+	private static int stripeIndex() {
+		return ( threadStripe() + 1 ) * STRIPE_WIDTH;
+	}
+
+	/**
+	 * The stripe the current thread updates, between 0 inclusive and {@link #STRIPE_COUNT} exclusive.
+	 */
+	static int threadStripe() {
+		// spread the thread identifiers, which are usually sequential
+		final int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+		return ( hash ^ ( hash >>> 16 ) ) & ( STRIPE_COUNT - 1 );
+	}
+
+	public long get() {
+		long sum = base;
+		final AtomicLongArray stripes = this.stripes;
+		if ( stripes != null ) {
+			for ( int i = STRIPE_WIDTH; i < stripes.length(); i += STRIPE_WIDTH ) {
+				sum += stripes.get( i );
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Resets the counter to zero, which is only accurate in the absence of concurrent updates.
+	 */
+	public void reset() {
+		base = 0L;
+		final AtomicLongArray stripes = this.stripes;
+		if ( stripes != null ) {
+			for ( int i = STRIPE_WIDTH; i < stripes.length(); i += STRIPE_WIDTH ) {
+				stripes.set( i, 0L );
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString( get() );
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.spi;
+
+import org.hibernate.stat.LatencyAwareStatistics;
+
+/**
+ * Optional contract for the {@link StatisticsImplementor} which also collect the latency distributions of the main
+ * operations; the callbacks are only invoked when the statistics service implements it.
+ *
+ * @since 5.1
+ */
+public interface LatencyStatisticsImplementor extends StatisticsImplementor, LatencyAwareStatistics {
+	/**
+	 * Callback indicating the latency of a sql/hql query execution.
+	 *
+	 * @param nanoseconds execution time, in nanoseconds
+	 */
+	public void queryExecutionLatency(long nanoseconds);
+
+	/**
+	 * Callback indicating the latency of an entity load, wherever the entity came from.
+	 *
+	 * @param nanoseconds load time, in nanoseconds
+	 */
+	public void entityLoadLatency(long nanoseconds);
+
+	/**
+	 * Callback indicating the latency of a flush.
+	 *
+	 * @param nanoseconds flush time, in nanoseconds
+	 */
+	public void flushLatency(long nanoseconds);
+
+	/**
+	 * Callback indicating the latency of a get from the second level cache.
+	 *
+	 * @param nanoseconds get time, in nanoseconds
+	 */
+	public void secondLevelCacheGetLatency(long nanoseconds);
+}
@@ -23,6 +23,8 @@ import org.hibernate.engine.spi.Mapping;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 import org.hibernate.type.descriptor.java.MutabilityPlan;
@@ -49,6 +51,11 @@ public abstract class AbstractStandardBasicType<T>
 	// sqlTypes need always to be in sync with sqlTypeDescriptor
 	private int[] sqlTypes;
 
+	// SqlTypeDescriptors typically build a new extractor/binder per call; keep the ones last built for the
+	// (possibly remapped) descriptor so that reading/binding a value does not allocate them every time
+	private transient volatile ValueHandler<ValueExtractor<T>> extractorCache;
+	private transient volatile ValueHandler<ValueBinder<T>> binderCache;
+
 	public AbstractStandardBasicType(SqlTypeDescriptor sqlTypeDescriptor, JavaTypeDescriptor<T> javaTypeDescriptor) {
 		this.sqlTypeDescriptor = sqlTypeDescriptor;
 		this.sqlTypes = new int[] { sqlTypeDescriptor.getSqlType() };
@@ -238,7 +245,7 @@ public abstract class AbstractStandardBasicType<T>
 	}
 
 	protected final T nullSafeGet(ResultSet rs, String name, WrapperOptions options) throws SQLException {
-		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, name, options );
+		return getExtractor( options ).extract( rs, name, options );
 	}
 
 	public Object get(ResultSet rs, String name, SessionImplementor session) throws HibernateException, SQLException {
@@ -257,13 +264,54 @@ public abstract class AbstractStandardBasicType<T>
 
 	@SuppressWarnings({ "unchecked" })
 	protected final void nullSafeSet(PreparedStatement st, Object value, int index, WrapperOptions options) throws SQLException {
-		remapSqlTypeDescriptor( options ).getBinder( javaTypeDescriptor ).bind( st, ( T ) value, index, options );
+		getBinder( options ).bind( st, ( T ) value, index, options );
 	}
 
 	protected SqlTypeDescriptor remapSqlTypeDescriptor(WrapperOptions options) {
 		return options.remapSqlTypeDescriptor( sqlTypeDescriptor );
 	}
 
+	private ValueExtractor<T> getExtractor(WrapperOptions options) {
+		final SqlTypeDescriptor remapped = remapSqlTypeDescriptor( options );
+		final ValueHandler<ValueExtractor<T>> cached = extractorCache;
+		if ( cached != null && cached.matches( remapped, javaTypeDescriptor ) ) {
+			return cached.handler;
+		}
+		final ValueExtractor<T> extractor = remapped.getExtractor( javaTypeDescriptor );
+		extractorCache = new ValueHandler<ValueExtractor<T>>( remapped, javaTypeDescriptor, extractor );
+		return extractor;
+	}
+
+	private ValueBinder<T> getBinder(WrapperOptions options) {
+		final SqlTypeDescriptor remapped = remapSqlTypeDescriptor( options );
+		final ValueHandler<ValueBinder<T>> cached = binderCache;
+		if ( cached != null && cached.matches( remapped, javaTypeDescriptor ) ) {
+			return cached.handler;
+		}
+		final ValueBinder<T> binder = remapped.getBinder( javaTypeDescriptor );
+		binderCache = new ValueHandler<ValueBinder<T>>( remapped, javaTypeDescriptor, binder );
+		return binder;
+	}
+
+	/**
+	 * An extractor or binder, along with the descriptors it was built for.
+	 */
+	private static final class ValueHandler<H> {
+		private final SqlTypeDescriptor sqlTypeDescriptor;
+		private final JavaTypeDescriptor javaTypeDescriptor;
+		private final H handler;
+
+		private ValueHandler(SqlTypeDescriptor sqlTypeDescriptor, JavaTypeDescriptor javaTypeDescriptor, H handler) {
+			this.sqlTypeDescriptor = sqlTypeDescriptor;
+			this.javaTypeDescriptor = javaTypeDescriptor;
+			this.handler = handler;
+		}
+
+		private boolean matches(SqlTypeDescriptor sqlTypeDescriptor, JavaTypeDescriptor javaTypeDescriptor) {
+			return this.sqlTypeDescriptor == sqlTypeDescriptor && this.javaTypeDescriptor == javaTypeDescriptor;
+		}
+	}
+
 	public void set(PreparedStatement st, T value, int index, SessionImplementor session) throws HibernateException, SQLException {
 		nullSafeSet( st, value, index, session );
 	}
@@ -341,7 +389,7 @@ public abstract class AbstractStandardBasicType<T>
 	@Override
 	public T extract(CallableStatement statement, int startIndex, final SessionImplementor session) throws SQLException {
 		final WrapperOptions options = getOptions(session);
-		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract(
+		return getExtractor( options ).extract(
 				statement,
 				startIndex,
 				options
@@ -351,7 +399,7 @@ public abstract class AbstractStandardBasicType<T>
 	@Override
 	public T extract(CallableStatement statement, String[] paramNames, final SessionImplementor session) throws SQLException {
 		final WrapperOptions options = getOptions(session);
-		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( statement, paramNames, options );
+		return getExtractor( options ).extract( statement, paramNames, options );
 	}
 	
 	// TODO : have SessionImplementor extend WrapperOptions
@@ -16,6 +16,7 @@ import org.hibernate.type.descriptor.ValueBinder;
 import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.java.LongTypeDescriptor;
 
 /**
  * Descriptor for {@link Types#BIGINT BIGINT} handling.
@@ -25,6 +26,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class BigIntTypeDescriptor implements SqlTypeDescriptor {
 	public static final BigIntTypeDescriptor INSTANCE = new BigIntTypeDescriptor();
 
+	// used when the Java type is Long itself: no wrap/unwrap conversions, and no wasNull() calls for non-zero values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Long> primitiveBinder;
+	private transient ValueExtractor<Long> primitiveExtractor;
+
 	public BigIntTypeDescriptor() {
 	}
 
@@ -39,7 +45,19 @@ public class BigIntTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == LongTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Long>( LongTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Long value, int index, WrapperOptions options) throws SQLException {
+						st.setLong( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -49,7 +67,30 @@ public class BigIntTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == LongTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Long>( LongTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Long doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final long value = rs.getLong( name );
+						return value == 0L && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Long doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getLong( index );
+					}
+
+					@Override
+					protected Long doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getLong( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
@@ -28,6 +28,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class BitTypeDescriptor implements SqlTypeDescriptor {
 	public static final BitTypeDescriptor INSTANCE = new BitTypeDescriptor();
 
+	// used when the Java type is Boolean itself: no wrap/unwrap conversions, and no wasNull() calls for true values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Boolean> primitiveBinder;
+	private transient ValueExtractor<Boolean> primitiveExtractor;
+
 	public BitTypeDescriptor() {
 	}
 
@@ -41,7 +46,19 @@ public class BitTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.BooleanTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Boolean>( org.hibernate.type.descriptor.java.BooleanTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Boolean value, int index, WrapperOptions options) throws SQLException {
+						st.setBoolean( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -51,7 +68,30 @@ public class BitTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.BooleanTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Boolean>( org.hibernate.type.descriptor.java.BooleanTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Boolean doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final boolean value = rs.getBoolean( name );
+						return !value && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Boolean doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getBoolean( index );
+					}
+
+					@Override
+					protected Boolean doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getBoolean( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
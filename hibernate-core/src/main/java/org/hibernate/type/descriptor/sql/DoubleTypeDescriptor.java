@@ -25,6 +25,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class DoubleTypeDescriptor implements SqlTypeDescriptor {
 	public static final DoubleTypeDescriptor INSTANCE = new DoubleTypeDescriptor();
 
+	// used when the Java type is Double itself: no wrap/unwrap conversions, and no wasNull() calls for non-zero values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Double> primitiveBinder;
+	private transient ValueExtractor<Double> primitiveExtractor;
+
 	public DoubleTypeDescriptor() {
 	}
 
@@ -39,7 +44,19 @@ public class DoubleTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.DoubleTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Double>( org.hibernate.type.descriptor.java.DoubleTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Double value, int index, WrapperOptions options) throws SQLException {
+						st.setDouble( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -49,7 +66,30 @@ public class DoubleTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.DoubleTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Double>( org.hibernate.type.descriptor.java.DoubleTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Double doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final double value = rs.getDouble( name );
+						return value == 0d && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Double doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getDouble( index );
+					}
+
+					@Override
+					protected Double doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getDouble( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
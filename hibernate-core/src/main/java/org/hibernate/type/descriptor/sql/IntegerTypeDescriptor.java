@@ -25,6 +25,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class IntegerTypeDescriptor implements SqlTypeDescriptor {
 	public static final IntegerTypeDescriptor INSTANCE = new IntegerTypeDescriptor();
 
+	// used when the Java type is Integer itself: no wrap/unwrap conversions, and no wasNull() calls for non-zero values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Integer> primitiveBinder;
+	private transient ValueExtractor<Integer> primitiveExtractor;
+
 	public IntegerTypeDescriptor() {
 	}
 
@@ -39,7 +44,19 @@ public class IntegerTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Integer>( org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Integer value, int index, WrapperOptions options) throws SQLException {
+						st.setInt( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -49,7 +66,30 @@ public class IntegerTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Integer>( org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Integer doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final int value = rs.getInt( name );
+						return value == 0 && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Integer doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getInt( index );
+					}
+
+					@Override
+					protected Integer doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getInt( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
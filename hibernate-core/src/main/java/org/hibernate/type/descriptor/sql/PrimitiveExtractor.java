@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.type.descriptor.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.type.descriptor.JdbcTypeNameMapper;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Specialization of {@link BasicExtractor} for values read through one of the primitive {@link ResultSet} getters
+ * straight into the corresponding wrapper type (e.g. {@code getInt} into an {@link Integer}).
+ * <p/>
+ * Since drivers return {@code 0} (resp. {@code false}) for SQL NULLs, {@link ResultSet#wasNull()} only needs to be
+ * consulted for those values, and the value needs no {@link JavaTypeDescriptor#wrap} conversion.  Implementations
+ * of {@link #doExtract(ResultSet, String, WrapperOptions)} hence return {@code null} for SQL NULLs themselves.
+ *
+ * @param <J> The wrapper type
+ */
+public abstract class PrimitiveExtractor<J> extends BasicExtractor<J> {
+	private static final Logger log = CoreLogging.logger( PrimitiveExtractor.class );
+
+	public PrimitiveExtractor(JavaTypeDescriptor<J> javaDescriptor, SqlTypeDescriptor sqlDescriptor) {
+		super( javaDescriptor, sqlDescriptor );
+	}
+
+	@Override
+	public J extract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+		final J value = doExtract( rs, name, options );
+		if ( log.isTraceEnabled() ) {
+			log.tracef(
+					"extracted value ([%s] : [%s]) - [%s]",
+					name,
+					JdbcTypeNameMapper.getTypeName( getSqlDescriptor().getSqlType() ),
+					value == null ? "null" : getJavaDescriptor().extractLoggableRepresentation( value )
+			);
+		}
+		return value;
+	}
+}
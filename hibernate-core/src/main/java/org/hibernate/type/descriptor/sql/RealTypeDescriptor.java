@@ -25,6 +25,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class RealTypeDescriptor implements SqlTypeDescriptor {
 	public static final RealTypeDescriptor INSTANCE = new RealTypeDescriptor();
 
+	// used when the Java type is Float itself: no wrap/unwrap conversions, and no wasNull() calls for non-zero values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Float> primitiveBinder;
+	private transient ValueExtractor<Float> primitiveExtractor;
+
 	public RealTypeDescriptor() {
 	}
 
@@ -39,7 +44,19 @@ public class RealTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.FloatTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Float>( org.hibernate.type.descriptor.java.FloatTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Float value, int index, WrapperOptions options) throws SQLException {
+						st.setFloat( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -49,7 +66,30 @@ public class RealTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == org.hibernate.type.descriptor.java.FloatTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Float>( org.hibernate.type.descriptor.java.FloatTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Float doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final float value = rs.getFloat( name );
+						return value == 0f && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Float doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getFloat( index );
+					}
+
+					@Override
+					protected Float doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getFloat( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
@@ -16,6 +16,7 @@ import org.hibernate.type.descriptor.ValueBinder;
 import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.java.ShortTypeDescriptor;
 
 /**
  * Descriptor for {@link Types#SMALLINT SMALLINT} handling.
@@ -25,6 +26,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class SmallIntTypeDescriptor implements SqlTypeDescriptor {
 	public static final SmallIntTypeDescriptor INSTANCE = new SmallIntTypeDescriptor();
 
+	// used when the Java type is Short itself: no wrap/unwrap conversions, and no wasNull() calls for non-zero values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Short> primitiveBinder;
+	private transient ValueExtractor<Short> primitiveExtractor;
+
 	public SmallIntTypeDescriptor() {
 	}
 
@@ -39,7 +45,19 @@ public class SmallIntTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == ShortTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Short>( ShortTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Short value, int index, WrapperOptions options) throws SQLException {
+						st.setShort( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -49,7 +67,30 @@ public class SmallIntTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == ShortTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Short>( ShortTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Short doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final short value = rs.getShort( name );
+						return value == 0 && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Short doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getShort( index );
+					}
+
+					@Override
+					protected Short doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getShort( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
@@ -15,6 +15,7 @@ import java.sql.Types;
 import org.hibernate.type.descriptor.ValueBinder;
 import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.ByteTypeDescriptor;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 
 /**
@@ -28,6 +29,11 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 public class TinyIntTypeDescriptor implements SqlTypeDescriptor {
 	public static final TinyIntTypeDescriptor INSTANCE = new TinyIntTypeDescriptor();
 
+	// used when the Java type is Byte itself: no wrap/unwrap conversions, and no wasNull() calls for non-zero values
+	// (built lazily, as they are not serializable)
+	private transient ValueBinder<Byte> primitiveBinder;
+	private transient ValueExtractor<Byte> primitiveExtractor;
+
 	public TinyIntTypeDescriptor() {
 	}
 
@@ -42,7 +48,19 @@ public class TinyIntTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueBinder<X> getBinder(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == ByteTypeDescriptor.INSTANCE ) {
+			if ( primitiveBinder == null ) {
+				primitiveBinder = new BasicBinder<Byte>( ByteTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected void doBind(PreparedStatement st, Byte value, int index, WrapperOptions options) throws SQLException {
+						st.setByte( index, value );
+					}
+				};
+			}
+			return (ValueBinder<X>) primitiveBinder;
+		}
 		return new BasicBinder<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
@@ -52,7 +70,30 @@ public class TinyIntTypeDescriptor implements SqlTypeDescriptor {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <X> ValueExtractor<X> getExtractor(final JavaTypeDescriptor<X> javaTypeDescriptor) {
+		if ( javaTypeDescriptor == ByteTypeDescriptor.INSTANCE ) {
+			if ( primitiveExtractor == null ) {
+				primitiveExtractor = new PrimitiveExtractor<Byte>( ByteTypeDescriptor.INSTANCE, this ) {
+					@Override
+					protected Byte doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+						final byte value = rs.getByte( name );
+						return value == 0 && rs.wasNull() ? null : value;
+					}
+
+					@Override
+					protected Byte doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+						return statement.getByte( index );
+					}
+
+					@Override
+					protected Byte doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+						return statement.getByte( name );
+					}
+				};
+			}
+			return (ValueExtractor<X>) primitiveExtractor;
+		}
 		return new BasicExtractor<X>( javaTypeDescriptor, this ) {
 			@Override
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
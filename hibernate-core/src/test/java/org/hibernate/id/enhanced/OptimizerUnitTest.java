@@ -6,13 +6,28 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -237,6 +252,206 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testBasicPooledLockFreeOptimizerUsage() {
+		Long next;
+		// same expectations as the pooled optimizer
+		SourceMock sequence = new SourceMock( 1, 10 );
+		Optimizer optimizer = buildPooledLockFreeOptimizer( -1, 10, 1 );
+		for ( int i = 1; i <= 11; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // twice to initialize state
+		assertEquals( 11, sequence.getCurrentValue() );
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 12, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+		assertEquals( 21, optimizer.getLastSourceValue().makeValue().intValue() );
+	}
+
+	@Test
+	public void testSubsequentPooledLockFreeOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1001, 3, 5 );
+		final Optimizer optimizer = buildPooledLockFreeOptimizer( 1, 3, 1 );
+
+		Long next = (Long) optimizer.generate( sequence );
+		assertEquals( 1001 +1 , next.intValue() );
+		assertEquals( (5+1), sequence.getTimesCalled() );
+		assertEquals( (1001+3), sequence.getCurrentValue() );
+
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+2), next.intValue() );
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+3), next.intValue() );
+		assertEquals( (5+1), sequence.getTimesCalled() );
+
+		// force a "clock over"
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+4), next.intValue() );
+		assertEquals( (5+2), sequence.getTimesCalled() );
+		assertEquals( (1001+6), sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testPooledLockFreeOptimizerThreadBlockUsage() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = buildPooledLockFreeOptimizer( -1, 10, 4 );
+		for ( int i = 1; i <= 11; i++ ) {
+			final Long next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() );
+		// the last thread block of a range is cut short at the range boundary
+		final Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 12, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentPooledLockFreeOptimizerUsage() throws Exception {
+		final int threads = 8;
+		final int valuesPerThread = 10000;
+		for ( final int threadBlockSize : new int[] { 1, 7 } ) {
+			final SourceMock sequence = new SourceMock( 1, 50 );
+			final Optimizer optimizer = buildPooledLockFreeOptimizer( -1, 50, threadBlockSize );
+			final Set<Long> values = Collections.newSetFromMap( new ConcurrentHashMap<Long, Boolean>() );
+			final CountDownLatch start = new CountDownLatch( 1 );
+			final ExecutorService executor = Executors.newFixedThreadPool( threads );
+			try {
+				final List<Future<?>> futures = new ArrayList<Future<?>>();
+				for ( int t = 0; t < threads; t++ ) {
+					futures.add(
+							executor.submit(
+									new Callable<Void>() {
+										@Override
+										public Void call() throws Exception {
+											start.await();
+											for ( int i = 0; i < valuesPerThread; i++ ) {
+												assertTrue( values.add( (Long) optimizer.generate( sequence ) ) );
+											}
+											return null;
+										}
+									}
+							)
+					);
+				}
+				start.countDown();
+				for ( Future<?> future : futures ) {
+					future.get();
+				}
+			}
+			finally {
+				executor.shutdown();
+			}
+
+			assertEquals( threads * valuesPerThread, values.size() );
+			// every value comes from a range obtained from the source
+			for ( Long value : values ) {
+				assertTrue( value >= 1 && value <= sequence.getCurrentValue() );
+			}
+			// ...and the source was not consulted more than necessary (allowing for partially used thread blocks)
+			final int maxRanges = ( threads * valuesPerThread ) / ( 50 - threadBlockSize + 1 ) + threads + 2;
+			assertTrue( sequence.getTimesCalled() <= maxRanges );
+		}
+	}
+
+	@Test
+	public void testPooledLockFreeOptimizerPrefetch() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final PooledLockFreeOptimizer optimizer = buildPrefetchingPooledLockFreeOptimizer( 10, "0.5" );
+		assertTrue( optimizer.isPrefetchEnabled() );
+		final CountingCallback prefetchCallback = new CountingCallback( sequence );
+		optimizer.injectPrefetchCallback( prefetchCallback );
+
+		for ( int i = 1; i <= 5; i++ ) {
+			assertEquals( i, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 0, prefetchCallback.getTimesCalled() );
+
+		// handing out the value half-way through the range triggers the prefetch...
+		for ( int i = 6; i <= 11; i++ ) {
+			assertEquals( i, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		}
+		// ...which the "clock over" then picks up instead of calling the session's callback
+		assertEquals( 12, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		assertEquals( 1, prefetchCallback.getTimesCalled() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+		assertEquals( 21, optimizer.getLastSourceValue().makeValue().intValue() );
+
+		for ( int i = 13; i <= 21; i++ ) {
+			assertEquals( i, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		}
+		assertEquals( 22, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		assertEquals( 2, prefetchCallback.getTimesCalled() );
+		assertEquals( 31, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testPooledLockFreeOptimizerFailedPrefetch() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final PooledLockFreeOptimizer optimizer = buildPrefetchingPooledLockFreeOptimizer( 10, "0.5" );
+		optimizer.injectPrefetchCallback(
+				new AccessCallback() {
+					@Override
+					public IntegralDataTypeHolder getNextValue() {
+						throw new IllegalStateException( "database unavailable" );
+					}
+
+					@Override
+					public String getTenantIdentifier() {
+						return null;
+					}
+				}
+		);
+
+		for ( int i = 1; i <= 11; i++ ) {
+			assertEquals( i, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		}
+		// the failed prefetch is not fatal, the value is simply obtained inline
+		assertEquals( 12, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testPooledLockFreeOptimizerStopPrefetch() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final PooledLockFreeOptimizer optimizer = buildPrefetchingPooledLockFreeOptimizer( 10, "0.5" );
+		final CountingCallback prefetchCallback = new CountingCallback( sequence );
+		optimizer.injectPrefetchCallback( prefetchCallback );
+
+		for ( int i = 1; i <= 6; i++ ) {
+			assertEquals( i, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		}
+		// stopping waits for the prefetch under way...
+		optimizer.stopPrefetch();
+		assertEquals( 1, prefetchCallback.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+
+		// ...whose value is still used, but the next ranges are obtained inline
+		for ( int i = 7; i <= 22; i++ ) {
+			assertEquals( i, ( (Long) optimizer.generate( sequence ) ).intValue() );
+		}
+		assertEquals( 1, prefetchCallback.getTimesCalled() );
+		assertEquals( 4, sequence.getTimesCalled() );
+		assertEquals( 31, sequence.getCurrentValue() );
+
+		// stopping again is harmless
+		optimizer.stopPrefetch();
+	}
+
+	@Test
+	public void testPooledLockFreeOptimizerPrefetchDisabledByDefault() {
+		final PooledLockFreeOptimizer optimizer = (PooledLockFreeOptimizer) buildPooledLockFreeOptimizer( -1, 10, 1 );
+		assertFalse( optimizer.isPrefetchEnabled() );
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -253,6 +468,30 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LO, initial, increment );
 	}
 
+	private static Optimizer buildPooledLockFreeOptimizer(long initial, int increment, int threadBlockSize) {
+		final Properties params = new Properties();
+		params.setProperty( AvailableSettings.POOLED_OPTIMIZER_THREAD_BLOCK_SIZE, Integer.toString( threadBlockSize ) );
+		return OptimizerFactory.buildOptimizer(
+				StandardOptimizerDescriptor.POOLED_LOCK_FREE.getExternalName(),
+				Long.class,
+				increment,
+				initial,
+				params
+		);
+	}
+
+	private static PooledLockFreeOptimizer buildPrefetchingPooledLockFreeOptimizer(int increment, String threshold) {
+		final Properties params = new Properties();
+		params.setProperty( AvailableSettings.POOLED_OPTIMIZER_PREFETCH_THRESHOLD, threshold );
+		return (PooledLockFreeOptimizer) OptimizerFactory.buildOptimizer(
+				StandardOptimizerDescriptor.POOLED_LOCK_FREE.getExternalName(),
+				Long.class,
+				increment,
+				-1,
+				params
+		);
+	}
+
 	private static Optimizer buildOptimizer(
 			StandardOptimizerDescriptor descriptor,
 			long initial,
@@ -260,6 +499,30 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return OptimizerFactory.buildOptimizer( descriptor.getExternalName(), Long.class, increment, initial );
 	}
 
+	private static class CountingCallback implements AccessCallback {
+		private final AccessCallback delegate;
+		private volatile int timesCalled;
+
+		private CountingCallback(AccessCallback delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public IntegralDataTypeHolder getNextValue() {
+			timesCalled++;
+			return delegate.getNextValue();
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+
+		public int getTimesCalled() {
+			return timesCalled;
+		}
+	}
+
 	private static class SourceMock implements AccessCallback {
 		private IdentifierGeneratorHelper.BasicHolder value = new IdentifierGeneratorHelper.BasicHolder( Long.class );
 		private long initialValue;
@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests of the latency histogram and of the striped counters backing the statistics
+ */
+public class ConcurrentLatencyStatisticsTest extends BaseUnitTestCase {
+	@Test
+	public void testBucketBoundaries() {
+		long previousHighestValue = -1;
+		for ( int i = 0; i < ConcurrentLatencyStatisticsImpl.bucketIndex( Long.MAX_VALUE ); i++ ) {
+			final long highestValue = ConcurrentLatencyStatisticsImpl.highestValue( i );
+			assertEquals( i, ConcurrentLatencyStatisticsImpl.bucketIndex( previousHighestValue + 1 ) );
+			assertEquals( i, ConcurrentLatencyStatisticsImpl.bucketIndex( highestValue ) );
+			// the width of a bucket is at most 1/32 of its lowest value
+			assertTrue( ( highestValue - previousHighestValue - 1 ) * 32 <= previousHighestValue + 1 );
+			previousHighestValue = highestValue;
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		final ConcurrentLatencyStatisticsImpl latency = new ConcurrentLatencyStatisticsImpl();
+		assertEquals( 0, latency.getPercentile( 50d ) );
+
+		for ( long i = 1; i <= 1000; i++ ) {
+			latency.record( i * 1000 );
+		}
+		assertEquals( 1000, latency.getCount() );
+		assertEquals( 1000000, latency.getMax() );
+		assertEquals( 500500, latency.getMean() );
+		assertApproximately( 500000, latency.getPercentile( 50d ) );
+		assertApproximately( 990000, latency.getPercentile( 99d ) );
+		assertApproximately( 999000, latency.getPercentile( 99.9d ) );
+		assertEquals( 1000000, latency.getPercentile( 100d ) );
+
+		latency.clear();
+		assertEquals( 0, latency.getCount() );
+		assertEquals( 0, latency.getMax() );
+		assertEquals( 0, latency.getPercentile( 99d ) );
+	}
+
+	private static void assertApproximately(long expected, long actual) {
+		assertTrue( "expected " + expected + " but was " + actual, Math.abs( expected - actual ) <= expected / 32 );
+	}
+
+	@Test
+	public void testConcurrentRecords() throws InterruptedException {
+		final ConcurrentLatencyStatisticsImpl latency = new ConcurrentLatencyStatisticsImpl();
+		final int threadCount = 8;
+		final int records = 100000;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final Thread[] threads = new Thread[threadCount];
+		for ( int i = 0; i < threadCount; i++ ) {
+			final long slowest = ( i + 1 ) * 1000L;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					for ( int j = 0; j < records; j++ ) {
+						// all the threads hit the same bucket, but for their last record
+						latency.record( j == records - 1 ? slowest : 10L );
+					}
+				}
+			};
+			threads[i].start();
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( threadCount * records, latency.getCount() );
+		assertEquals( threadCount * 1000L, latency.getMax() );
+		assertEquals( 10L, latency.getPercentile( 99d ) );
+		assertEquals( threadCount * 1000L, latency.getPercentile( 100d ) );
+
+		latency.clear();
+		assertEquals( 0, latency.getCount() );
+		assertEquals( 0, latency.getMax() );
+		assertEquals( 0, latency.getPercentile( 100d ) );
+	}
+
+	@Test
+	public void testConcurrentIncrements() throws InterruptedException {
+		final StripedCounter counter = new StripedCounter();
+		final int threadCount = 8;
+		final int increments = 100000;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final Thread[] threads = new Thread[threadCount];
+		for ( int i = 0; i < threadCount; i++ ) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					for ( int j = 0; j < increments; j++ ) {
+						counter.increment();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( threadCount * increments, counter.get() );
+
+		counter.reset();
+		assertEquals( 0, counter.get() );
+		counter.add( 42 );
+		assertEquals( 42, counter.get() );
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.identity.H2IdentityColumnSupport;
+import org.hibernate.dialect.identity.IdentityColumnSupport;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the batching of the inserts of entities using IDENTITY columns.  As the H2 driver only returns the key
+ * of the last row of a batch, the connections emulate a driver returning the keys of all the rows.
+ */
+@RequiresDialect(H2Dialect.class)
+public class IdentityInsertBatchingTest extends BaseCoreFunctionalTestCase {
+	private static final AtomicInteger batchExecutions = new AtomicInteger();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Node.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.DIALECT, BatchedKeysH2Dialect.class.getName() );
+		configuration.setProperty( AvailableSettings.CONNECTION_PROVIDER, BatchedKeysConnectionProvider.class.getName() );
+		configuration.setProperty( AvailableSettings.USE_GET_GENERATED_KEYS, "true" );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "5" );
+		configuration.setProperty( AvailableSettings.BATCH_IDENTITY_INSERTS, "true" );
+	}
+
+	@Test
+	public void testInsertsAreBatched() {
+		final List<Node> nodes = new ArrayList<Node>();
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 12; i++ ) {
+			final Node node = new Node( "node" + i );
+			s.persist( node );
+			nodes.add( node );
+		}
+		// the inserts are delayed to flush time
+		assertNull( nodes.get( 0 ).id );
+		batchExecutions.set( 0 );
+		s.flush();
+		assertEquals( 3, batchExecutions.get() );
+
+		final Set<Long> ids = new HashSet<Long>();
+		for ( Node node : nodes ) {
+			assertNotNull( node.id );
+			ids.add( node.id );
+			assertSame( node, s.get( Node.class, node.id ) );
+		}
+		assertEquals( nodes.size(), ids.size() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( Node node : nodes ) {
+			assertEquals( node.name, ( (Node) s.get( Node.class, node.id ) ).name );
+		}
+		s.createQuery( "delete Node" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testReferencedEntityIsInsertedFirst() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Node root = new Node( "root" );
+		s.persist( root );
+		final List<Node> children = new ArrayList<Node>();
+		for ( int i = 0; i < 4; i++ ) {
+			final Node child = new Node( "child" + i );
+			child.parent = root;
+			s.persist( child );
+			children.add( child );
+		}
+		final Node grandChild = new Node( "grandChild" );
+		grandChild.parent = children.get( 0 );
+		s.persist( grandChild );
+		batchExecutions.set( 0 );
+		s.getTransaction().commit();
+		s.close();
+		// the root alone, the children, then the grand child alone
+		assertEquals( 1, batchExecutions.get() );
+
+		s = openSession();
+		s.beginTransaction();
+		for ( Node child : children ) {
+			assertEquals( root.id, ( (Node) s.get( Node.class, child.id ) ).parent.id );
+		}
+		assertEquals( children.get( 0 ).id, ( (Node) s.get( Node.class, grandChild.id ) ).parent.id );
+		s.createQuery( "update Node set parent = null" ).executeUpdate();
+		s.createQuery( "delete Node" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Node")
+	public static class Node {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+
+		private String name;
+
+		@ManyToOne
+		private Node parent;
+
+		public Node() {
+		}
+
+		public Node(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class BatchedKeysH2Dialect extends H2Dialect {
+		@Override
+		public IdentityColumnSupport getIdentityColumnSupport() {
+			return new H2IdentityColumnSupport() {
+				@Override
+				public boolean supportsBatchedGeneratedKeys() {
+					return true;
+				}
+			};
+		}
+	}
+
+	/**
+	 * Returns connections whose statements executing a batch of inserts returning generated keys execute each
+	 * insert as it is added to the batch, collecting its key.
+	 */
+	public static class BatchedKeysConnectionProvider extends DriverManagerConnectionProviderImpl {
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = super.getConnection();
+			if ( Proxy.isProxyClass( connection.getClass() ) ) {
+				return connection;
+			}
+			return (Connection) Proxy.newProxyInstance(
+					getClass().getClassLoader(),
+					new Class[] { Connection.class },
+					new InvocationHandler() {
+						@Override
+						public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+							final Object result = invokeTarget( connection, method, args );
+							if ( method.getName().equals( "prepareStatement" ) && args.length == 2
+									&& Integer.valueOf( Statement.RETURN_GENERATED_KEYS ).equals( args[1] ) ) {
+								return batchedKeysStatement( (PreparedStatement) result );
+							}
+							return result;
+						}
+					}
+			);
+		}
+	}
+
+	private static PreparedStatement batchedKeysStatement(final PreparedStatement statement) {
+		return (PreparedStatement) Proxy.newProxyInstance(
+				IdentityInsertBatchingTest.class.getClassLoader(),
+				new Class[] { PreparedStatement.class },
+				new InvocationHandler() {
+					private final List<Long> keys = new ArrayList<Long>();
+					private List<Long> batchKeys;
+
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( method.getName().equals( "addBatch" ) && args == null ) {
+							statement.executeUpdate();
+							final ResultSet rs = statement.getGeneratedKeys();
+							rs.next();
+							keys.add( rs.getLong( 1 ) );
+							rs.close();
+							return null;
+						}
+						if ( method.getName().equals( "executeBatch" ) ) {
+							batchExecutions.incrementAndGet();
+							batchKeys = new ArrayList<Long>( keys );
+							keys.clear();
+							final int[] rowCounts = new int[batchKeys.size()];
+							for ( int i = 0; i < rowCounts.length; i++ ) {
+								rowCounts[i] = 1;
+							}
+							return rowCounts;
+						}
+						if ( method.getName().equals( "getGeneratedKeys" ) && batchKeys != null ) {
+							return keysResultSet( batchKeys );
+						}
+						return invokeTarget( statement, method, args );
+					}
+				}
+		);
+	}
+
+	private static ResultSet keysResultSet(final List<Long> keys) {
+		return (ResultSet) Proxy.newProxyInstance(
+				IdentityInsertBatchingTest.class.getClassLoader(),
+				new Class[] { ResultSet.class },
+				new InvocationHandler() {
+					private int row = -1;
+
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( method.getName().equals( "next" ) ) {
+							return ++row < keys.size();
+						}
+						if ( method.getName().equals( "getLong" ) ) {
+							return keys.get( row );
+						}
+						if ( method.getName().equals( "close" ) ) {
+							return null;
+						}
+						throw new UnsupportedOperationException( method.getName() );
+					}
+				}
+		);
+	}
+
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke( target, args );
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests batching interleaved updates of different entities.
+ */
+public class InterleavedUpdateBatchingTest extends BaseCoreFunctionalTestCase {
+	private static final int COUNT = 10;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Ship.class, Port.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		configuration.setProperty( AvailableSettings.BATCH_INTERLEAVED_UPDATES, "true" );
+		// disable in-vm nullability checking (so we can force in-db not-null constraint violations)
+		configuration.setProperty( AvailableSettings.CHECK_NULLABILITY, "false" );
+	}
+
+	@Test
+	public void testInterleavedUpdates() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			s.persist( new Ship( i, "ship #" + i ) );
+			s.persist( new Port( i, "port #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final BatchCounter batchCounter = new BatchCounter();
+		s = sessionFactory().withOptions().eventListeners( batchCounter ).openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			( (Ship) s.get( Ship.class, i ) ).name += "'";
+			( (Port) s.get( Port.class, i ) ).name += "'";
+		}
+		s.flush();
+		// one batch for each entity, rather than one per update
+		assertEquals( 2, batchCounter.count );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			assertEquals( "ship #" + i + "'", ( (Ship) s.get( Ship.class, i ) ).name );
+			assertEquals( "port #" + i + "'", ( (Port) s.get( Port.class, i ) ).name );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testFailedInterleavedUpdates() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			s.persist( new Ship( i, "ship #" + i ) );
+			s.persist( new Port( i, "port #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		try {
+			for ( int i = 0; i < COUNT; i++ ) {
+				( (Ship) s.get( Ship.class, i ) ).name = null;
+				( (Port) s.get( Port.class, i ) ).name += "'";
+			}
+			s.flush();
+			fail( "Expecting failed flush" );
+		}
+		catch (Exception expected) {
+		}
+		finally {
+			s.getTransaction().rollback();
+			s.close();
+		}
+
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			assertEquals( "port #" + i, ( (Port) s.get( Port.class, i ) ).name );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	private static class BatchCounter extends BaseSessionEventListener {
+		private int count;
+
+		@Override
+		public void jdbcExecuteBatchStart() {
+			count++;
+		}
+	}
+
+	@Entity(name = "Ship")
+	public static class Ship {
+		@Id
+		private Integer id;
+		@Column(nullable = false)
+		private String name;
+
+		public Ship() {
+		}
+
+		public Ship(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Port")
+	public static class Port {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Port() {
+		}
+
+		public Port(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.loader.AdaptiveBatchSize;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests the adjustment of batch sizes to the use of the batch-fetched entities and collections, in the
+ * {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style.
+ */
+public class AdaptiveBatchFetchTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Purchase.class, Customer.class, Supplier.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.BATCH_FETCH_STYLE, "ADAPTIVE" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+	}
+
+	@Test
+	public void testBatchSizeGrowsWhenBatchFetchedEntitiesAreUsed() {
+		createPurchases();
+		final AdaptiveBatchSize batchSize = entityBatchSize( Customer.class );
+		assertEquals( 4, batchSize.getBatchSize() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( Purchase purchase : purchases( s ) ) {
+			assertNotNull( purchase.customer.getName() );
+		}
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 16, batchSize.getMaxBatchSize() );
+		assertEquals( 16, batchSize.getBatchSize() );
+
+		deletePurchases();
+	}
+
+	@Test
+	public void testBatchSizeShrinksWhenBatchFetchedEntitiesAreNotUsed() {
+		createPurchases();
+		final AdaptiveBatchSize batchSize = entityBatchSize( Supplier.class );
+		assertEquals( 4, batchSize.getBatchSize() );
+
+		for ( int i = 0; i < 11; i++ ) {
+			Session s = openSession();
+			s.beginTransaction();
+			assertNotNull( purchases( s ).get( i ).supplier.getName() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertEquals( 2, batchSize.getBatchSize() );
+
+		deletePurchases();
+	}
+
+	@Test
+	public void testCollectionBatchSizeGrowsWhenBatchFetchedCollectionsAreUsed() {
+		createPurchases();
+		final AdaptiveBatchSize batchSize = ( (AbstractCollectionPersister) sessionFactory().getCollectionPersister(
+				Customer.class.getName() + ".tags"
+		) ).getAdaptiveBatchSize();
+		assertEquals( 4, batchSize.getBatchSize() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Customer> customers = s.createQuery( "from Customer order by id" ).list();
+		for ( Customer customer : customers ) {
+			assertEquals( 1, customer.tags.size() );
+		}
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 16, batchSize.getBatchSize() );
+
+		deletePurchases();
+	}
+
+	private AdaptiveBatchSize entityBatchSize(Class<?> entityClass) {
+		return ( (AbstractEntityPersister) sessionFactory().getEntityPersister( entityClass.getName() ) )
+				.getAdaptiveBatchSize();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Purchase> purchases(Session s) {
+		return s.createQuery( "from Purchase order by id" ).list();
+	}
+
+	private void createPurchases() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 100; i++ ) {
+			final Customer customer = new Customer( i, "customer" + i );
+			customer.tags.add( "tag" + i );
+			s.persist( customer );
+			final Supplier supplier = new Supplier( i, "supplier" + i );
+			s.persist( supplier );
+			s.persist( new Purchase( i, customer, supplier ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deletePurchases() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Purchase" ).executeUpdate();
+		for ( Object customer : s.createQuery( "from Customer" ).list() ) {
+			s.delete( customer );
+		}
+		s.createQuery( "delete Supplier" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Purchase")
+	public static class Purchase {
+		@Id
+		private Integer id;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Customer customer;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Supplier supplier;
+
+		public Purchase() {
+		}
+
+		public Purchase(Integer id, Customer customer, Supplier supplier) {
+			this.id = id;
+			this.customer = customer;
+			this.supplier = supplier;
+		}
+	}
+
+	@Entity(name = "Customer")
+	@BatchSize(size = 4)
+	public static class Customer {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ElementCollection
+		@CollectionTable(name = "Customer_tags")
+		@BatchSize(size = 4)
+		private Set<String> tags = new HashSet<String>();
+
+		public Customer() {
+		}
+
+		public Customer(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity(name = "Supplier")
+	@BatchSize(size = 4)
+	public static class Supplier {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Supplier() {
+		}
+
+		public Supplier(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that batch fetching reads and writes the second-level cache entries of the whole batch at once, without
+ * keeping the entries read along with the batch.
+ */
+public class BatchFetchCacheAccessTest extends BaseCoreFunctionalTestCase {
+	private static final int COUNT = 100;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Beacon.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testBatchReadAndCachedAtOnce() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= COUNT; i++ ) {
+			s.persist( new Beacon( i, "beacon #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		sessionFactory().getCache().evictEntityRegion( Beacon.class );
+		statistics.clear();
+		CacheAccessCounter counter = new CacheAccessCounter();
+		initializeAll( counter );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( COUNT, statistics.getSecondLevelCachePutCount() );
+		// the entity demanding the load, then the rest of the batch at once
+		assertEquals( 2, counter.gets );
+		assertEquals( 1, counter.puts );
+
+		// the rest of the batch is found in the cache at once, and read again when the entities get initialized
+		sessionFactory().getCache().evictEntity( Beacon.class, 1 );
+		statistics.clear();
+		counter = new CacheAccessCounter();
+		initializeAll( counter );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( COUNT - 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 2 + COUNT - 1, counter.gets );
+		assertEquals( 1, counter.puts );
+	}
+
+	@Test
+	public void testCacheEntriesReadForBatchAreNotKept() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= COUNT; i++ ) {
+			s.persist( new Beacon( i, "beacon #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntity( Beacon.class, 1 );
+		s = openSession();
+		final List<Beacon> beacons = new ArrayList<Beacon>();
+		for ( int i = 1; i <= COUNT; i++ ) {
+			beacons.add( (Beacon) s.load( Beacon.class, i ) );
+		}
+		Hibernate.initialize( beacons.get( 0 ) );
+		assertFalse( ( (SessionImplementor) s ).getPersistenceContext().getBatchFetchQueue().hasPrefetchedCacheEntries() );
+
+		// the bulk update evicts the region: the other entities must not be initialized from outdated entries
+		final Session other = openSession();
+		other.beginTransaction();
+		other.createQuery( "update Beacon set name = 'renamed'" ).executeUpdate();
+		other.getTransaction().commit();
+		other.close();
+
+		assertEquals( "renamed", beacons.get( 1 ).getName() );
+		s.close();
+	}
+
+	private void initializeAll(CacheAccessCounter counter) {
+		final Session s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		final List<Beacon> beacons = new ArrayList<Beacon>();
+		for ( int i = 1; i <= COUNT; i++ ) {
+			beacons.add( (Beacon) s.load( Beacon.class, i ) );
+		}
+		for ( Beacon beacon : beacons ) {
+			Hibernate.initialize( beacon );
+			assertTrue( beacon.getName().startsWith( "beacon #" ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	private static class CacheAccessCounter extends BaseSessionEventListener {
+		private int gets;
+		private int puts;
+
+		@Override
+		public void cacheGetStart() {
+			gets++;
+		}
+
+		@Override
+		public void cachePutStart() {
+			puts++;
+		}
+	}
+
+	@Entity(name = "Beacon")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@BatchSize(size = COUNT)
+	public static class Beacon {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Beacon() {
+		}
+
+		public Beacon(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Map;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.Version;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CompactCacheEntrySerializer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests storing entity cache entries in the binary form of the {@link CompactCacheEntrySerializer}.
+ */
+public class CompactCacheEntrySerializerTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Voyage.class, CharterVoyage.class, Vessel.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.CACHE_REGION_PREFIX, "" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.CACHE_ENTRY_SERIALIZER, CompactCacheEntrySerializer.SHORT_NAME );
+	}
+
+	@Test
+	public void testCompactCacheEntries() {
+		final Date departure = new Timestamp( 1234567890123L );
+		( (Timestamp) departure ).setNanos( 123456789 );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Vessel vessel = new Vessel( 1L, "Calypso" );
+		s.persist( vessel );
+		final Voyage voyage = new Voyage( 1L, "Toulon - Marseille", vessel );
+		voyage.fare = new BigDecimal( "-1234.56" );
+		voyage.departure = departure;
+		voyage.route = new Route( "Toulon", null );
+		voyage.cabin = Cabin.SUITE;
+		voyage.bookable = true;
+		voyage.berths = -3;
+		s.persist( voyage );
+		final CharterVoyage charter = new CharterVoyage( 2L, "Nice - Ajaccio", vessel );
+		charter.charterer = "École navale";
+		s.persist( charter );
+		s.getTransaction().commit();
+		s.close();
+
+		// nonstrict-read-write caches the entities on load only
+		s = openSession();
+		s.beginTransaction();
+		s.get( Voyage.class, 1L );
+		s.get( Voyage.class, 2L );
+		s.getTransaction().commit();
+		s.close();
+
+		final Map entries = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "voyage" ).getEntries();
+		assertEquals( 2, entries.size() );
+		for ( Object entry : entries.values() ) {
+			assertTrue( entry instanceof byte[] );
+		}
+
+		// the binary form is much smaller than the serialized disassembled state
+		final EntityPersister persister = sessionFactory().getEntityPersister( Voyage.class.getName() );
+		for ( Object entry : entries.values() ) {
+			final CacheEntry cacheEntry = (CacheEntry) persister.getCacheEntryStructure().destructure(
+					entry,
+					sessionFactory()
+			);
+			final int serializedLength = SerializationHelper.serialize( cacheEntry ).length;
+			assertTrue( ( (byte[]) entry ).length * 4 < serializedLength );
+		}
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		final Voyage cachedVoyage = (Voyage) s.get( Voyage.class, 1L );
+		assertEquals( "Toulon - Marseille", cachedVoyage.name );
+		assertEquals( new BigDecimal( "-1234.56" ), cachedVoyage.fare );
+		assertEquals( departure, cachedVoyage.departure );
+		assertEquals( "Toulon", cachedVoyage.route.origin );
+		assertNull( cachedVoyage.route.destination );
+		assertEquals( Cabin.SUITE, cachedVoyage.cabin );
+		assertTrue( cachedVoyage.bookable );
+		assertEquals( -3, cachedVoyage.berths );
+		assertEquals( 0, cachedVoyage.version );
+		assertEquals( "Calypso", cachedVoyage.vessel.name );
+		final Voyage cachedCharter = (Voyage) s.get( Voyage.class, 2L );
+		assertEquals( "École navale", ( (CharterVoyage) cachedCharter ).charterer );
+		assertNull( cachedCharter.fare );
+		assertEquals( "Nice - Ajaccio", cachedCharter.name );
+		s.getTransaction().commit();
+		s.close();
+		// both voyages and their vessel
+		assertEquals( 3, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getSecondLevelCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Voyage" ).executeUpdate();
+		s.createQuery( "delete Vessel" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	public enum Cabin {
+		STANDARD,
+		SUITE
+	}
+
+	@Embeddable
+	public static class Route {
+		private String origin;
+		private String destination;
+
+		public Route() {
+		}
+
+		public Route(String origin, String destination) {
+			this.origin = origin;
+			this.destination = destination;
+		}
+	}
+
+	@Entity(name = "Vessel")
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "vessel")
+	public static class Vessel {
+		@Id
+		private Long id;
+		private String name;
+
+		public Vessel() {
+		}
+
+		public Vessel(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Voyage")
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "voyage")
+	public static class Voyage {
+		@Id
+		private Long id;
+		@Version
+		private int version;
+		private String name;
+		private BigDecimal fare;
+		@Temporal(TemporalType.TIMESTAMP)
+		private Date departure;
+		private Route route;
+		@Enumerated(EnumType.STRING)
+		private Cabin cabin;
+		private boolean bookable;
+		private int berths;
+		@ManyToOne
+		private Vessel vessel;
+
+		public Voyage() {
+		}
+
+		public Voyage(Long id, String name, Vessel vessel) {
+			this.id = id;
+			this.name = name;
+			this.vessel = vessel;
+		}
+	}
+
+	@Entity(name = "CharterVoyage")
+	public static class CharterVoyage extends Voyage {
+		private String charterer;
+
+		public CharterVoyage() {
+		}
+
+		public CharterVoyage(Long id, String name, Vessel vessel) {
+			super( id, name, vessel );
+		}
+	}
+}
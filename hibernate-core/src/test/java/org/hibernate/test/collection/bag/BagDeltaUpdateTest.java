@@ -0,0 +1,244 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.collection.bag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the application of the changes of bags row by row, rather than by recreating them.
+ */
+public class BagDeltaUpdateTest extends BaseCoreFunctionalTestCase {
+	private static final List<String> statements = Collections.synchronizedList( new ArrayList<String>() );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Owner.class, Tag.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.BAG_DELTA_UPDATES, "true" );
+		configuration.setProperty( AvailableSettings.STATEMENT_INSPECTOR, RecordingStatementInspector.class.getName() );
+	}
+
+	@Test
+	public void testValueBag() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = new Owner( 1 );
+		for ( int i = 0; i < 20; i++ ) {
+			owner.names.add( "name" + i );
+		}
+		owner.names.add( "name0" );
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+
+		// removing and adding single occurrences only touches their rows
+		s = openSession();
+		s.beginTransaction();
+		Owner loaded = (Owner) s.get( Owner.class, 1 );
+		loaded.names.remove( "name5" );
+		loaded.names.remove( "name6" );
+		loaded.names.add( "name1" );
+		loaded.names.add( "name20" );
+		statements.clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, count( "delete from Owner_names" ) );
+		assertEquals( 2, count( "insert into Owner_names" ) );
+		assertEquals( 21, namesOf( 1 ).size() );
+		assertEquals( 2, Collections.frequency( namesOf( 1 ), "name1" ) );
+
+		// removing one of the occurrences of a duplicated element recreates the bag
+		s = openSession();
+		s.beginTransaction();
+		loaded = (Owner) s.get( Owner.class, 1 );
+		loaded.names.remove( "name0" );
+		statements.clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, count( "delete from Owner_names" ) );
+		assertEquals( 20, count( "insert into Owner_names" ) );
+		final List<String> names = namesOf( 1 );
+		assertEquals( 20, names.size() );
+		assertEquals( 1, Collections.frequency( names, "name0" ) );
+		assertEquals( 2, Collections.frequency( names, "name1" ) );
+		assertEquals( 0, Collections.frequency( names, "name5" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Owner.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testValueBagWithNullElements() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = new Owner( 3 );
+		owner.names.add( "name0" );
+		owner.names.add( null );
+		owner.names.add( "name1" );
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+
+		// the null elements have no row, hence are neither inserted nor deleted
+		s = openSession();
+		s.beginTransaction();
+		final Owner loaded = (Owner) s.get( Owner.class, 3 );
+		loaded.names.add( null );
+		loaded.names.add( "name2" );
+		statements.clear();
+		s.flush();
+		assertEquals( 0, count( "delete from Owner_names" ) );
+		assertEquals( 1, count( "insert into Owner_names" ) );
+
+		loaded.names.remove( "name0" );
+		statements.clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, count( "delete from Owner_names" ) );
+		assertEquals( 0, count( "insert into Owner_names" ) );
+		final List<String> names = namesOf( 3 );
+		assertEquals( 2, names.size() );
+		assertEquals( 1, Collections.frequency( names, "name1" ) );
+		assertEquals( 1, Collections.frequency( names, "name2" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Owner.class, 3 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testManyToManyBag() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = new Owner( 2 );
+		for ( int i = 0; i < 10; i++ ) {
+			final Tag tag = new Tag( i );
+			s.persist( tag );
+			owner.tags.add( tag );
+		}
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		Owner loaded = (Owner) s.get( Owner.class, 2 );
+		loaded.tags.remove( 3 );
+		final Tag tag = new Tag( 10 );
+		s.persist( tag );
+		loaded.tags.add( tag );
+		statements.clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, count( "delete from Owner_tags" ) );
+		assertEquals( 1, count( "insert into Owner_tags" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		loaded = (Owner) s.get( Owner.class, 2 );
+		assertEquals( 10, loaded.tags.size() );
+		for ( Tag t : loaded.tags ) {
+			assertEquals( false, t.id == 3 );
+		}
+		s.delete( loaded );
+		s.flush();
+		s.createQuery( "delete Tag" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private List<String> namesOf(Integer id) {
+		final Session s = openSession();
+		try {
+			return new ArrayList<String>( ( (Owner) s.get( Owner.class, id ) ).names );
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	private static int count(String prefix) {
+		int count = 0;
+		synchronized ( statements ) {
+			for ( String statement : statements ) {
+				if ( statement.startsWith( prefix ) ) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+
+	@Entity(name = "Owner")
+	public static class Owner {
+		@Id
+		private Integer id;
+
+		@ElementCollection
+		@CollectionTable(name = "Owner_names")
+		private List<String> names = new ArrayList<String>();
+
+		@ManyToMany
+		@JoinTable(name = "Owner_tags")
+		private List<Tag> tags = new ArrayList<Tag>();
+
+		public Owner() {
+		}
+
+		public Owner(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private Integer id;
+
+		public Tag() {
+		}
+
+		public Tag(Integer id) {
+			this.id = id;
+		}
+	}
+}
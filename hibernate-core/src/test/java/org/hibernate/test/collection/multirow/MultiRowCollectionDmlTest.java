@@ -0,0 +1,207 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.collection.multirow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+import javax.persistence.OrderColumn;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the insertion and deletion of collection rows by multi-row statements.
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiRowCollectionDmlTest extends BaseCoreFunctionalTestCase {
+	private static final List<String> statements = Collections.synchronizedList( new ArrayList<String>() );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Owner.class, Tag.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.COLLECTION_MULTI_ROW_DML_SIZE, "10" );
+		configuration.setProperty( AvailableSettings.STATEMENT_INSPECTOR, RecordingStatementInspector.class.getName() );
+	}
+
+	@Test
+	public void testElementCollections() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = new Owner( 1 );
+		for ( int i = 0; i < 25; i++ ) {
+			owner.names.add( "name" + i );
+			owner.numbers.add( i );
+		}
+		statements.clear();
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+		// 3 inserts of up to 10 rows for each collection
+		assertEquals( 3, count( "insert into Owner_names" ) );
+		assertEquals( 3, count( "insert into Owner_numbers" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		Owner loaded = (Owner) s.get( Owner.class, 1 );
+		for ( int i = 0; i < 12; i++ ) {
+			loaded.names.remove( "name" + i );
+		}
+		for ( int i = 25; i < 30; i++ ) {
+			loaded.names.add( "name" + i );
+		}
+		loaded.numbers.subList( 20, 25 ).clear();
+		statements.clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, count( "delete from Owner_names" ) );
+		assertEquals( 1, count( "insert into Owner_names" ) );
+		assertEquals( 1, count( "delete from Owner_numbers" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		loaded = (Owner) s.get( Owner.class, 1 );
+		final Set<String> expectedNames = new HashSet<String>();
+		for ( int i = 12; i < 30; i++ ) {
+			expectedNames.add( "name" + i );
+		}
+		assertEquals( expectedNames, loaded.names );
+		assertEquals( 20, loaded.numbers.size() );
+		for ( int i = 0; i < 20; i++ ) {
+			assertEquals( Integer.valueOf( i ), loaded.numbers.get( i ) );
+		}
+		s.delete( loaded );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testManyToMany() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = new Owner( 2 );
+		for ( int i = 0; i < 15; i++ ) {
+			final Tag tag = new Tag( i );
+			s.persist( tag );
+			owner.tags.add( tag );
+		}
+		statements.clear();
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, count( "insert into Owner_tags" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		Owner loaded = (Owner) s.get( Owner.class, 2 );
+		final List<Tag> removed = new ArrayList<Tag>();
+		for ( Tag tag : loaded.tags ) {
+			if ( tag.id % 2 == 0 ) {
+				removed.add( tag );
+			}
+		}
+		loaded.tags.removeAll( removed );
+		statements.clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, count( "delete from Owner_tags" ) );
+
+		s = openSession();
+		s.beginTransaction();
+		loaded = (Owner) s.get( Owner.class, 2 );
+		assertEquals( 7, loaded.tags.size() );
+		for ( Tag tag : loaded.tags ) {
+			assertEquals( 1, tag.id % 2 );
+		}
+		s.delete( loaded );
+		s.flush();
+		s.createQuery( "delete Tag" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static int count(String prefix) {
+		int count = 0;
+		synchronized ( statements ) {
+			for ( String statement : statements ) {
+				if ( statement.startsWith( prefix ) ) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+
+	@Entity(name = "Owner")
+	public static class Owner {
+		@Id
+		private Integer id;
+
+		@ElementCollection
+		@CollectionTable(name = "Owner_names")
+		private Set<String> names = new HashSet<String>();
+
+		@ElementCollection
+		@CollectionTable(name = "Owner_numbers")
+		@OrderColumn
+		private List<Integer> numbers = new ArrayList<Integer>();
+
+		@ManyToMany
+		@JoinTable(name = "Owner_tags")
+		private Set<Tag> tags = new HashSet<Tag>();
+
+		public Owner() {
+		}
+
+		public Owner(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private Integer id;
+
+		public Tag() {
+		}
+
+		public Tag(Integer id) {
+			this.id = id;
+		}
+	}
+}
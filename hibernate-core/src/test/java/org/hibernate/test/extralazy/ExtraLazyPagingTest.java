@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.extralazy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.OrderColumn;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the reading of the elements of extra-lazy lists by pages of rows.
+ */
+public class ExtraLazyPagingTest extends BaseCoreFunctionalTestCase {
+	private static final List<String> statements = Collections.synchronizedList( new ArrayList<String>() );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Catalog.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.EXTRA_LAZY_PAGE_SIZE, "10" );
+		configuration.setProperty( AvailableSettings.STATEMENT_INSPECTOR, RecordingStatementInspector.class.getName() );
+	}
+
+	@Test
+	public void testElementsAreReadByPage() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Catalog catalog = new Catalog( 1 );
+		for ( int i = 0; i < 35; i++ ) {
+			catalog.items.add( "item" + i );
+		}
+		s.persist( catalog );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final Catalog loaded = (Catalog) s.get( Catalog.class, 1 );
+		statements.clear();
+		for ( int i = 0; i < 35; i++ ) {
+			assertEquals( "item" + i, loaded.items.get( i ) );
+		}
+		// 4 pages, the last one telling the size of the list
+		assertEquals( 4, statements.size() );
+		assertNull( loaded.items.get( 40 ) );
+		assertEquals( 35, loaded.items.size() );
+		assertTrue( loaded.items.contains( "item12" ) );
+		assertEquals( 4, statements.size() );
+		assertFalse( loaded.items.contains( "item99" ) );
+		assertEquals( 5, statements.size() );
+		assertFalse( Hibernate.isInitialized( loaded.items ) );
+
+		// a change of the list discards the pages read
+		loaded.items.set( 3, "changed" );
+		assertTrue( Hibernate.isInitialized( loaded.items ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final Catalog reloaded = (Catalog) s.get( Catalog.class, 1 );
+		statements.clear();
+		assertEquals( "changed", reloaded.items.get( 3 ) );
+		assertEquals( "item34", reloaded.items.get( 34 ) );
+		assertEquals( 2, statements.size() );
+		s.delete( reloaded );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testListWithMissingIndexes() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Catalog catalog = new Catalog( 2 );
+		for ( int i = 0; i < 26; i++ ) {
+			catalog.items.add( i % 4 == 0 ? null : "item" + i );
+		}
+		s.persist( catalog );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final Catalog loaded = (Catalog) s.get( Catalog.class, 2 );
+		for ( int i = 0; i < 26; i++ ) {
+			assertEquals( i % 4 == 0 ? null : "item" + i, loaded.items.get( i ) );
+		}
+		assertEquals( 26, loaded.items.size() );
+		s.delete( loaded );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+
+	@Entity(name = "Catalog")
+	public static class Catalog {
+		@Id
+		private Integer id;
+
+		@ElementCollection
+		@CollectionTable(name = "Catalog_items")
+		@OrderColumn
+		@LazyCollection(LazyCollectionOption.EXTRA)
+		private List<String> items = new ArrayList<String>();
+
+		public Catalog() {
+		}
+
+		public Catalog(Integer id) {
+			this.id = id;
+		}
+	}
+}
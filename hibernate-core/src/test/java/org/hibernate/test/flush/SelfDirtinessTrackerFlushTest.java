@@ -0,0 +1,341 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.flush;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.bytecode.enhance.spi.CollectionTracker;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests flushing entities which track their own dirtiness, which are not dispatched to the flush entity
+ * listeners as long as they report no change, and which are loaded without snapshot in read-mostly sessions.
+ */
+public class SelfDirtinessTrackerFlushTest extends BaseCoreFunctionalTestCase {
+	private static final List<String> statements = Collections.synchronizedList( new ArrayList<String>() );
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+
+	public abstract static class Tracked implements SelfDirtinessTracker {
+		private transient Set<String> dirtyAttributes;
+		private transient boolean suspended;
+
+		@Override
+		public boolean $$_hibernate_hasDirtyAttributes() {
+			return dirtyAttributes != null && !dirtyAttributes.isEmpty();
+		}
+
+		@Override
+		public String[] $$_hibernate_getDirtyAttributes() {
+			return dirtyAttributes == null ? new String[0] : dirtyAttributes.toArray( new String[dirtyAttributes.size()] );
+		}
+
+		@Override
+		public void $$_hibernate_trackChange(String attribute) {
+			if ( !suspended ) {
+				if ( dirtyAttributes == null ) {
+					dirtyAttributes = new HashSet<String>();
+				}
+				dirtyAttributes.add( attribute );
+			}
+		}
+
+		@Override
+		public void $$_hibernate_clearDirtyAttributes() {
+			dirtyAttributes = null;
+		}
+
+		@Override
+		public void $$_hibernate_suspendDirtyTracking(boolean suspend) {
+			suspended = suspend;
+		}
+
+		@Override
+		public CollectionTracker $$_hibernate_getCollectionTracker() {
+			return null;
+		}
+	}
+
+	@Entity(name = "Counter")
+	public static class Counter extends Tracked {
+		@Id
+		private Integer id;
+		private int value;
+
+		public Counter() {
+		}
+
+		public Counter(Integer id) {
+			this.id = id;
+		}
+
+		public void setValue(int value) {
+			this.value = value;
+			$$_hibernate_trackChange( "value" );
+		}
+	}
+
+	@Entity(name = "Gauge")
+	public static class Gauge extends Tracked {
+		private static int levelReads;
+
+		private Integer id;
+		private int level;
+
+		public Gauge() {
+		}
+
+		public Gauge(Integer id) {
+			this.id = id;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public int getLevel() {
+			levelReads++;
+			return level;
+		}
+
+		public void setLevel(int level) {
+			this.level = level;
+			$$_hibernate_trackChange( "level" );
+		}
+	}
+
+	@Entity(name = "Account")
+	public static class Account extends Tracked {
+		@Id
+		private Integer id;
+		@NaturalId
+		private String code;
+		private int balance;
+		@ElementCollection
+		@CollectionTable(name = "Account_owners")
+		private Set<String> owners = new HashSet<String>();
+
+		public Account() {
+		}
+
+		public Account(Integer id, String code) {
+			this.id = id;
+			this.code = code;
+		}
+
+		public void setCode(String code) {
+			this.code = code;
+			$$_hibernate_trackChange( "code" );
+		}
+
+		public void setBalance(int balance) {
+			this.balance = balance;
+			$$_hibernate_trackChange( "balance" );
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Counter.class, Gauge.class, Account.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( Environment.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( Environment.STATEMENT_INSPECTOR, RecordingStatementInspector.class.getName() );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOnlyChangedEntitiesAreUpdated() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.persist( new Counter( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		final List<Counter> counters = s.createQuery( "from Counter c order by c.id" ).list();
+		s.flush();
+		assertEquals( 0, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		counters.get( 3 ).setValue( 42 );
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		// the tracker was reset by the update
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 42, ( (Counter) s.get( Counter.class, 3 ) ).value );
+		assertEquals( 0, ( (Counter) s.get( Counter.class, 4 ) ).value );
+		s.createQuery( "delete from Counter" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testReadMostlySession() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.persist( new Counter( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.setReadMostly( true );
+		s.beginTransaction();
+		final List<Counter> counters = s.createQuery( "from Counter c order by c.id" ).list();
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		for ( Counter counter : counters ) {
+			assertNull( persistenceContext.getEntry( counter ).getLoadedState() );
+			assertFalse( s.isReadOnly( counter ) );
+		}
+		s.flush();
+		assertEquals( 0, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		counters.get( 3 ).setValue( 42 );
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		// the updated state serves as snapshot from now on
+		assertNotNull( persistenceContext.getEntry( counters.get( 3 ) ).getLoadedState() );
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s.delete( counters.get( 5 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 42, ( (Counter) s.get( Counter.class, 3 ) ).value );
+		assertNull( s.get( Counter.class, 5 ) );
+		// sessions keep snapshots by default
+		final Object counter = s.get( Counter.class, 4 );
+		assertNotNull( ( (SessionImplementor) s ).getPersistenceContext().getEntry( counter ).getLoadedState() );
+		s.createQuery( "delete from Counter" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testReadMostlyFlushIssuesNoStatement() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.persist( new Gauge( i ) );
+			final Account account = new Account( i, "account" + i );
+			account.owners.add( "owner" + i );
+			s.persist( account );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.setReadMostly( true );
+		s.beginTransaction();
+		final List<Gauge> gauges = s.createQuery( "from Gauge g order by g.id" ).list();
+		final List<Account> accounts = s.createQuery( "from Account a order by a.id" ).list();
+		statements.clear();
+		Gauge.levelReads = 0;
+		s.flush();
+		// neither the clean entities nor the immutable natural ids of the accounts need a statement
+		assertEquals( 0, statements.size() );
+		// and the clean gauges, owning no collection, were not even read
+		assertEquals( 0, Gauge.levelReads );
+
+		gauges.get( 2 ).setLevel( 7 );
+		s.flush();
+		assertTrue( Gauge.levelReads > 0 );
+		assertEquals( 1, statements.size() );
+		statements.clear();
+
+		accounts.get( 3 ).setBalance( 42 );
+		s.flush();
+		assertEquals( 1, statements.size() );
+		assertTrue( statements.get( 0 ).toLowerCase().startsWith( "update" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.setReadMostly( true );
+		s.beginTransaction();
+		final Account account = (Account) s.get( Account.class, 3 );
+		assertEquals( 42, account.balance );
+		account.setCode( "changed" );
+		try {
+			s.flush();
+			fail( "the altered immutable natural id should have been detected" );
+		}
+		catch (HibernateException expected) {
+		}
+		s.getTransaction().rollback();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( Object entity : s.createQuery( "from Account" ).list() ) {
+			s.delete( entity );
+		}
+		s.createQuery( "delete from Gauge" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
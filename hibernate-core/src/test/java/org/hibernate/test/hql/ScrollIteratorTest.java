@@ -0,0 +1,191 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.hql;
+
+import java.util.Iterator;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link org.hibernate.Query#scrollIterator()}
+ */
+public class ScrollIteratorTest extends BaseCoreFunctionalTestCase {
+	private static final int ROWS = 25;
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Person.class };
+	}
+
+	@Before
+	public void createPersons() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( int i = 0; i < ROWS; i++ ) {
+			s.persist( new Person( i, "person #" + i ) );
+		}
+		t.commit();
+		s.close();
+	}
+
+	@After
+	public void deletePersons() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		s.createQuery( "delete from Person" ).executeUpdate();
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testProcessedEntitiesAreEvicted() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+
+		final Iterator persons = s.createQuery( "from Person p order by p.id" ).setFetchSize( 5 ).scrollIterator();
+		int count = 0;
+		while ( persons.hasNext() ) {
+			final Person person = (Person) persons.next();
+			assertEquals( Integer.valueOf( count++ ), person.id );
+			assertTrue( s.contains( person ) );
+			assertEquals( 1, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+		}
+		assertEquals( ROWS, count );
+		assertEquals( 0, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testModifiedEntitiesAreNotEvicted() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+
+		final Iterator persons = s.createQuery( "from Person p order by p.id" ).scrollIterator();
+		while ( persons.hasNext() ) {
+			final Person person = (Person) persons.next();
+			if ( person.id % 2 == 0 ) {
+				person.name = "renamed #" + person.id;
+			}
+		}
+		// the modified entities are kept, so that their changes get flushed
+		assertEquals( ( ROWS + 1 ) / 2, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		for ( int i = 0; i < ROWS; i++ ) {
+			final Person person = (Person) s.get( Person.class, i );
+			assertEquals( i % 2 == 0 ? "renamed #" + i : "person #" + i, person.name );
+		}
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testPreviouslyManagedEntitiesAreNotEvicted() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+
+		final Person managed = (Person) s.get( Person.class, 3 );
+		final Iterator persons = s.createQuery( "from Person p order by p.id" ).scrollIterator();
+		int count = 0;
+		while ( persons.hasNext() ) {
+			persons.next();
+			count++;
+		}
+		assertEquals( ROWS, count );
+		assertTrue( s.contains( managed ) );
+		assertEquals( 1, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testProcessedEntitiesAreKept() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+
+		final Iterator persons = s.createQuery( "from Person p" ).scrollIterator( false );
+		int count = 0;
+		while ( persons.hasNext() ) {
+			persons.next();
+			count++;
+		}
+		assertEquals( ROWS, count );
+		assertEquals( ROWS, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testMultipleResultsPerRow() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+
+		final Iterator rows = s.createQuery( "select p.id, p.name from Person p where p.id = 3" ).scrollIterator();
+		assertTrue( rows.hasNext() );
+		final Object[] row = (Object[]) rows.next();
+		assertEquals( 3, row[0] );
+		assertEquals( "person #3", row[1] );
+		assertFalse( rows.hasNext() );
+
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testClose() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+
+		final Iterator persons = s.createQuery( "from Person p order by p.id" ).scrollIterator();
+		persons.next();
+		persons.next();
+		Hibernate.close( persons );
+		assertFalse( persons.hasNext() );
+		assertEquals( 0, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+		assertFalse( ( (SessionImplementor) s ).getJdbcCoordinator().getResourceRegistry().hasRegisteredResources() );
+
+		t.commit();
+		s.close();
+	}
+}
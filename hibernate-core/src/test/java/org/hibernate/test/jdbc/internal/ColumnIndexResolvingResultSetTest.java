@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.jdbc.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.engine.jdbc.internal.ColumnIndexResolvingResultSet;
+import org.hibernate.engine.jdbc.internal.ColumnIndexResolvingResultSetFactory;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the generated {@link ColumnIndexResolvingResultSet}, using a recording mock as the "driver" result set.
+ */
+public class ColumnIndexResolvingResultSetTest extends BaseUnitTestCase {
+	private final List<String> calls = new ArrayList<String>();
+	private ResultSet driverResultSet;
+
+	@Before
+	public void setUp() {
+		driverResultSet = (ResultSet) Proxy.newProxyInstance(
+				getClass().getClassLoader(),
+				new Class[] { ResultSet.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( "equals".equals( method.getName() ) ) {
+							return proxy == args[0];
+						}
+						if ( "hashCode".equals( method.getName() ) ) {
+							return System.identityHashCode( proxy );
+						}
+						calls.add( method.getName() + Arrays.toString( method.getParameterTypes() ) );
+						if ( "findColumn".equals( method.getName() ) ) {
+							return "ID".equals( args[0] ) ? 1 : 2;
+						}
+						if ( "getLong".equals( method.getName() ) ) {
+							return 42L;
+						}
+						if ( "getString".equals( method.getName() ) ) {
+							return "value #" + args[0];
+						}
+						if ( "next".equals( method.getName() ) ) {
+							return true;
+						}
+						return null;
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testColumnLabelsAreResolvedOnce() throws Exception {
+		assertTrue( ColumnIndexResolvingResultSetFactory.isAvailable() );
+		final ResultSet resultSet = ColumnIndexResolvingResultSetFactory.wrap( driverResultSet, new ColumnNameCache( 2 ) );
+
+		for ( int row = 0; row < 3; row++ ) {
+			assertTrue( resultSet.next() );
+			assertEquals( 42L, resultSet.getLong( "ID" ) );
+			assertEquals( "value #2", resultSet.getString( "NAME" ) );
+		}
+		assertEquals( 2, resultSet.findColumn( "NAME" ) );
+		resultSet.updateObject( "NAME", "new value", Types.VARCHAR );
+
+		assertEquals(
+				Arrays.asList(
+						"next[]",
+						"findColumn[class java.lang.String]",
+						"getLong[int]",
+						"findColumn[class java.lang.String]",
+						"getString[int]",
+						"next[]",
+						"getLong[int]",
+						"getString[int]",
+						"next[]",
+						"getLong[int]",
+						"getString[int]",
+						"updateObject[int, class java.lang.Object, int]"
+				),
+				calls
+		);
+	}
+
+	@Test
+	public void testIdentity() throws Exception {
+		final ColumnNameCache cache = new ColumnNameCache( 2 );
+		final ResultSet resultSet = ColumnIndexResolvingResultSetFactory.wrap( driverResultSet, cache );
+
+		// the wrapper stands in for the driver's result set when releasing it
+		assertTrue( resultSet.equals( driverResultSet ) );
+		assertTrue( resultSet.equals( ColumnIndexResolvingResultSetFactory.wrap( driverResultSet, cache ) ) );
+		assertEquals( driverResultSet.hashCode(), resultSet.hashCode() );
+		assertSame( driverResultSet, ( (ColumnIndexResolvingResultSet) resultSet ).getDelegate() );
+	}
+}
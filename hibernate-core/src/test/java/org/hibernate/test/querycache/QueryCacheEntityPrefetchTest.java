@@ -0,0 +1,128 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests reading the second-level cache entries of all the entities of a cached query result at once.
+ */
+public class QueryCacheEntityPrefetchTest extends BaseCoreFunctionalTestCase {
+	private static final String QUERY = "from Buoy b order by b.id";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Buoy.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testEntitiesReadAtOnce() throws InterruptedException {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 6; i++ ) {
+			s.persist( new Buoy( i, "buoy #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		Thread.sleep( 200 );
+		assertEquals( 6, list().size() );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		CacheGetCounter counter = new CacheGetCounter();
+		List<Buoy> buoys = list( counter );
+		assertEquals( 6, buoys.size() );
+		assertEquals( "buoy #4", buoys.get( 3 ).name );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 6, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		// the query result, the update timestamps, then all the entities at once
+		assertEquals( 3, counter.count );
+
+		// the entities missing from the cache are batch loaded
+		sessionFactory().getCache().evictEntity( Buoy.class, 2 );
+		sessionFactory().getCache().evictEntity( Buoy.class, 5 );
+		statistics.clear();
+		counter = new CacheGetCounter();
+		buoys = list( counter );
+		assertEquals( 6, buoys.size() );
+		assertEquals( "buoy #5", buoys.get( 4 ).name );
+		assertEquals( 4, statistics.getSecondLevelCacheHitCount() );
+		// loading the first missing entity loaded the other one along
+		assertEquals( 1, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 3, counter.count );
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Buoy> list(CacheGetCounter... counters) {
+		final Session s = sessionFactory().withOptions().eventListeners( counters ).openSession();
+		s.beginTransaction();
+		try {
+			return s.createQuery( QUERY ).setCacheable( true ).list();
+		}
+		finally {
+			s.getTransaction().commit();
+			s.close();
+		}
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	private static class CacheGetCounter extends BaseSessionEventListener {
+		private int count;
+
+		@Override
+		public void cacheGetStart() {
+			count++;
+		}
+	}
+
+	@Entity(name = "Buoy")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@BatchSize(size = 10)
+	public static class Buoy {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Buoy() {
+		}
+
+		public Buoy(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
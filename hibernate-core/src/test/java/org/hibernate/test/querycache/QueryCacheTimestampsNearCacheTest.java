@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.QueryStatistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests checking the update timestamps of all the spaces of a cached query at once, through the near-cache.
+ */
+public class QueryCacheTimestampsNearCacheTest extends BaseCoreFunctionalTestCase {
+	private static final String QUERY = "select s.name, p.name from Ship s, Port p where s.id = p.id";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Ship.class, Port.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.QUERY_CACHE_TIMESTAMPS_NEAR_CACHE_TTL, "60000" );
+	}
+
+	@Test
+	public void testNearCachedTimestamps() throws InterruptedException {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Ship( 1, "Calypso" ) );
+		s.persist( new Port( 1, "Toulon" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		Thread.sleep( 200 );
+
+		assertEquals( 1, list().size() );
+		final QueryStatistics queryStatistics = sessionFactory().getStatistics().getQueryStatistics( QUERY );
+		assertEquals( 1, queryStatistics.getCachePutCount() );
+
+		// the timestamps of both spaces are read at once...
+		CacheGetCounter counter = new CacheGetCounter();
+		assertEquals( 1, list( counter ).size() );
+		assertEquals( 1, queryStatistics.getCacheHitCount() );
+		assertEquals( 2, counter.count );
+		assertEquals( 2, sessionFactory().getStatistics().getUpdateTimestampsCacheHitCount() );
+
+		// ...then kept in the near-cache
+		counter = new CacheGetCounter();
+		assertEquals( 1, list( counter ).size() );
+		assertEquals( 2, queryStatistics.getCacheHitCount() );
+		assertEquals( 1, counter.count );
+
+		Thread.sleep( 200 );
+		s = openSession();
+		s.beginTransaction();
+		( (Port) s.get( Port.class, 1 ) ).name = "Marseille";
+		s.getTransaction().commit();
+		s.close();
+
+		// the update invalidated the near-cached timestamp of the port space
+		counter = new CacheGetCounter();
+		final List result = list( counter );
+		assertEquals( "Marseille", ( (Object[]) result.get( 0 ) )[1] );
+		assertEquals( 2, queryStatistics.getCacheHitCount() );
+		assertEquals( 2, queryStatistics.getCacheMissCount() );
+		assertEquals( 2, counter.count );
+	}
+
+	private List list(CacheGetCounter... counters) {
+		final Session s = sessionFactory().withOptions().eventListeners( counters ).openSession();
+		s.beginTransaction();
+		try {
+			return s.createQuery( QUERY ).setCacheable( true ).list();
+		}
+		finally {
+			s.getTransaction().commit();
+			s.close();
+		}
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	private static class CacheGetCounter extends BaseSessionEventListener {
+		private int count;
+
+		@Override
+		public void cacheGetStart() {
+			count++;
+		}
+	}
+
+	@Entity(name = "Ship")
+	public static class Ship {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Ship() {
+		}
+
+		public Ship(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Port")
+	public static class Port {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Port() {
+		}
+
+		public Port(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.ResultSetMappingDefinition;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.NamedQueryDefinitionBuilder;
+import org.hibernate.engine.spi.NamedSQLQueryDefinition;
+import org.hibernate.engine.spi.NamedSQLQueryDefinitionBuilder;
+import org.hibernate.internal.NamedQueryRepository;
+import org.hibernate.procedure.ProcedureCallMemento;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the compilation of the named queries by several threads, and in the background.
+ */
+public class NamedQueryCheckingTest extends BaseCoreFunctionalTestCase {
+	public String[] getMappings() {
+		return new String[]{
+			"queryplan/filter-defs.hbm.xml",
+			"queryplan/Joined.hbm.xml"
+		};
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.QUERY_STARTUP_CHECKING_THREADS, "4" );
+		configuration.setProperty( AvailableSettings.QUERY_STARTUP_WARM_UP, "true" );
+	}
+
+	@Test
+	public void testParallelCheckingReportsTheSameErrors() {
+		final Map<String, NamedQueryDefinition> namedQueries = new HashMap<String, NamedQueryDefinition>();
+		for ( int i = 0; i < 20; i++ ) {
+			addNamedQuery( namedQueries, "valid" + i, "from Person p where p.id > " + i );
+		}
+		addNamedQuery( namedQueries, "unknownEntity", "from Unknown" );
+		addNamedQuery( namedQueries, "unknownProperty", "from Person p where p.unknown = 1" );
+
+		final Map<String, NamedSQLQueryDefinition> namedSqlQueries = new HashMap<String, NamedSQLQueryDefinition>();
+		namedSqlQueries.put(
+				"unknownResultSetRef",
+				new NamedSQLQueryDefinitionBuilder( "unknownResultSetRef" )
+						.setQuery( "select * from FILTER_HQL_JOINED_PERSON" )
+						.setResultSetRef( "unknown" )
+						.createNamedQueryDefinition()
+		);
+
+		final NamedQueryRepository repository = new NamedQueryRepository(
+				namedQueries,
+				namedSqlQueries,
+				Collections.<String, ResultSetMappingDefinition>emptyMap(),
+				Collections.<String, ProcedureCallMemento>emptyMap()
+		);
+
+		final Map<String, HibernateException> serialErrors =
+				repository.checkNamedQueries( new QueryPlanCache( sessionFactory() ), 1 );
+		final Map<String, HibernateException> parallelErrors =
+				repository.checkNamedQueries( new QueryPlanCache( sessionFactory() ), 4 );
+
+		final Set<String> expected = new HashSet<String>();
+		expected.add( "unknownEntity" );
+		expected.add( "unknownProperty" );
+		expected.add( "unknownResultSetRef" );
+		assertEquals( expected, serialErrors.keySet() );
+		assertEquals( expected, parallelErrors.keySet() );
+		for ( HibernateException error : parallelErrors.values() ) {
+			assertTrue( error.getMessage() != null );
+		}
+	}
+
+	@Test
+	public void testCloseStopsTheWarmUp() {
+		final SessionFactory sf = new Configuration()
+				.addResource( "org/hibernate/test/queryplan/filter-defs.hbm.xml" )
+				.addResource( "org/hibernate/test/queryplan/Joined.hbm.xml" )
+				.setProperty( AvailableSettings.QUERY_STARTUP_CHECKING, "false" )
+				.setProperty( AvailableSettings.QUERY_STARTUP_WARM_UP, "true" )
+				.buildSessionFactory();
+		sf.close();
+		for ( Thread thread : Thread.getAllStackTraces().keySet() ) {
+			assertFalse(
+					"the named query warm-up outlived the session factory",
+					"hibernate-named-query-warm-up".equals( thread.getName() )
+			);
+		}
+	}
+
+	private static void addNamedQuery(Map<String, NamedQueryDefinition> namedQueries, String name, String query) {
+		namedQueries.put(
+				name,
+				new NamedQueryDefinitionBuilder( name ).setQuery( query ).createNamedQueryDefinition()
+		);
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.hibernate.Filter;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the saving of the HQL queries of the query plan cache, and their compilation from the saved file.
+ */
+public class PersistentQueryPlanCacheTest extends BaseCoreFunctionalTestCase {
+	private File planFile;
+
+	public String[] getMappings() {
+		return new String[]{
+			"queryplan/filter-defs.hbm.xml",
+			"queryplan/Joined.hbm.xml"
+		};
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		try {
+			planFile = File.createTempFile( "query-plans", ".bin" );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( e );
+		}
+		planFile.delete();
+		planFile.deleteOnExit();
+		configuration.setProperty( AvailableSettings.QUERY_PLAN_CACHE_FILE, planFile.getAbsolutePath() );
+	}
+
+	@Test
+	public void testSaveAndLoad() {
+		final Map<String, Filter> noFilters = Collections.emptyMap();
+		final QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		cache.getHQLQueryPlan( "from Person", false, noFilters );
+		cache.getHQLQueryPlan( "from Person where name = :name", true, noFilters );
+		final Session s = openSession();
+		s.enableFilter( "sex" ).setParameter( "sexCode", Character.valueOf( 'F' ) );
+		cache.getHQLQueryPlan(
+				"from Person where name is null",
+				false,
+				( (SessionImplementor) s ).getLoadQueryInfluencers().getEnabledFilters()
+		);
+		s.close();
+
+		// the plans compiled with enabled filters are not saved
+		final int saved = cache.saveHQLQueries();
+		assertTrue( saved >= 2 );
+		assertTrue( planFile.isFile() );
+
+		// the cache of the next SessionFactory over the same mappings compiles them
+		assertEquals( saved, new QueryPlanCache( sessionFactory() ).loadHQLQueries() );
+	}
+
+	@Test
+	public void testFileOfOtherMappingsIsIgnored() throws IOException {
+		final DataOutputStream out = new DataOutputStream( new FileOutputStream( planFile ) );
+		try {
+			out.writeInt( 1 );
+			out.writeUTF( "other mappings" );
+			out.writeInt( 1 );
+			out.writeBoolean( false );
+			final byte[] query = "from Person".getBytes( "UTF-8" );
+			out.writeInt( query.length );
+			out.write( query );
+		}
+		finally {
+			out.close();
+		}
+		assertEquals( 0, new QueryPlanCache( sessionFactory() ).loadHQLQueries() );
+	}
+
+	@Test
+	public void testCorruptedFileIsIgnored() throws IOException {
+		final QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		cache.getHQLQueryPlan( "from Person", false, Collections.<String, Filter>emptyMap() );
+		assertTrue( cache.saveHQLQueries() >= 1 );
+		final String mappingChecksum;
+		final DataInputStream in = new DataInputStream( new FileInputStream( planFile ) );
+		try {
+			in.readInt();
+			mappingChecksum = in.readUTF();
+		}
+		finally {
+			in.close();
+		}
+
+		// sizes far beyond the length of the file must not be trusted
+		writePlanFile( mappingChecksum, Integer.MAX_VALUE, Integer.MAX_VALUE );
+		assertEquals( 0, new QueryPlanCache( sessionFactory() ).loadHQLQueries() );
+		writePlanFile( mappingChecksum, 1, Integer.MAX_VALUE );
+		assertEquals( 0, new QueryPlanCache( sessionFactory() ).loadHQLQueries() );
+		writePlanFile( mappingChecksum, 1, -1 );
+		assertEquals( 0, new QueryPlanCache( sessionFactory() ).loadHQLQueries() );
+		// neither must a truncated file
+		writePlanFile( mappingChecksum, 2, 11 );
+		assertEquals( 0, new QueryPlanCache( sessionFactory() ).loadHQLQueries() );
+	}
+
+	private void writePlanFile(String mappingChecksum, int count, int queryLength) throws IOException {
+		final DataOutputStream out = new DataOutputStream( new FileOutputStream( planFile ) );
+		try {
+			out.writeInt( 1 );
+			out.writeUTF( mappingChecksum );
+			out.writeInt( count );
+			out.writeBoolean( false );
+			out.writeInt( queryLength );
+			out.write( "from Person".getBytes( "UTF-8" ) );
+		}
+		finally {
+			out.close();
+		}
+	}
+}
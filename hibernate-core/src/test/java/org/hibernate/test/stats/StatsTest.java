@@ -16,6 +16,8 @@ import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.LatencyAwareStatistics;
+import org.hibernate.stat.LatencyStatistics;
 import org.hibernate.stat.QueryStatistics;
 
 import org.hibernate.testing.junit4.BaseUnitTestCase;
@@ -24,6 +26,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Show the difference between fetch and load
@@ -232,6 +235,48 @@ public class StatsTest extends BaseUnitTestCase {
 		sf.close();
 	}
 
+	@Test
+	public void testLatencyStatGathering() {
+		SessionFactory sf = buildBaseConfiguration()
+				.setProperty( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.buildSessionFactory();
+
+		Session s = sf.openSession();
+		Transaction tx = s.beginTransaction();
+		Continent europe = fillDb( s );
+		tx.commit();
+		s.close();
+
+		sf.getStatistics().clear();
+
+		s = sf.openSession();
+		tx = s.beginTransaction();
+		s.createQuery( "from Country" ).list();
+		s.get( Continent.class, europe.getId() );
+		s.flush();
+		assertTrue( sf.getStatistics() instanceof LatencyAwareStatistics );
+		LatencyAwareStatistics statistics = (LatencyAwareStatistics) sf.getStatistics();
+		LatencyStatistics queryLatency = statistics.getQueryExecutionLatency();
+		assertEquals( 1, queryLatency.getCount() );
+		assertTrue( queryLatency.getMax() > 0 );
+		assertTrue( queryLatency.getPercentile( 50d ) <= queryLatency.getMax() );
+		assertEquals( 1, statistics.getEntityLoadLatency().getCount() );
+		assertEquals( statistics.getFlushCount(), statistics.getFlushLatency().getCount() );
+		assertTrue( statistics.getFlushLatency().getCount() > 0 );
+		tx.commit();
+		s.close();
+
+		statistics.clear();
+		assertEquals( 0, statistics.getQueryExecutionLatency().getCount() );
+
+		s = sf.openSession();
+		tx = s.beginTransaction();
+		cleanDb( s );
+		tx.commit();
+		s.close();
+		sf.close();
+	}
+
 	private Continent fillDb(Session s) {
 		Continent europe = new Continent();
 		europe.setName("Europe");
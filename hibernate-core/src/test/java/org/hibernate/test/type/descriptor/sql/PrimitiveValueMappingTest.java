@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.type.descriptor.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.engine.jdbc.LobCreator;
+import org.hibernate.engine.jdbc.NonContextualLobCreator;
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.BooleanTypeDescriptor;
+import org.hibernate.type.descriptor.java.LongTypeDescriptor;
+import org.hibernate.type.descriptor.java.StringTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BigIntTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BitTypeDescriptor;
+import org.hibernate.type.descriptor.sql.IntegerTypeDescriptor;
+import org.hibernate.type.descriptor.sql.PrimitiveExtractor;
+import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the primitive extractors and binders of the numeric and boolean {@link SqlTypeDescriptor}s.
+ */
+public class PrimitiveValueMappingTest extends BaseUnitTestCase {
+	private final WrapperOptions wrapperOptions = new WrapperOptions() {
+		public boolean useStreamForLobBinding() {
+			return false;
+		}
+
+		public LobCreator getLobCreator() {
+			return NonContextualLobCreator.INSTANCE;
+		}
+
+		public SqlTypeDescriptor remapSqlTypeDescriptor(SqlTypeDescriptor sqlTypeDescriptor) {
+			return sqlTypeDescriptor;
+		}
+	};
+
+	public static final String COLUMN_NAME = "n/a";
+	public static final int BIND_POSITION = -1;
+
+	@Test
+	public void testPrimitiveExtractorsAreShared() {
+		final ValueExtractor<Integer> extractor = IntegerTypeDescriptor.INSTANCE.getExtractor(
+				org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE
+		);
+		assertTrue( PrimitiveExtractor.class.isInstance( extractor ) );
+		assertSame(
+				extractor,
+				IntegerTypeDescriptor.INSTANCE.getExtractor( org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE )
+		);
+		assertSame(
+				IntegerTypeDescriptor.INSTANCE.getBinder( org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE ),
+				IntegerTypeDescriptor.INSTANCE.getBinder( org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE )
+		);
+
+		// any other java type still goes through wrap/unwrap
+		assertFalse( PrimitiveExtractor.class.isInstance( IntegerTypeDescriptor.INSTANCE.getExtractor( StringTypeDescriptor.INSTANCE ) ) );
+	}
+
+	@Test
+	public void testIntegerHandling() throws SQLException {
+		final ValueExtractor<Integer> extractor = IntegerTypeDescriptor.INSTANCE.getExtractor(
+				org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE
+		);
+		assertEquals( Integer.valueOf( 42 ), extractor.extract( resultSet( "getInt", 42, false ), COLUMN_NAME, wrapperOptions ) );
+		assertEquals( Integer.valueOf( 0 ), extractor.extract( resultSet( "getInt", 0, false ), COLUMN_NAME, wrapperOptions ) );
+		assertNull( extractor.extract( resultSet( "getInt", 0, true ), COLUMN_NAME, wrapperOptions ) );
+
+		final ValueBinder<Integer> binder = IntegerTypeDescriptor.INSTANCE.getBinder(
+				org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE
+		);
+		binder.bind( PreparedStatementProxy.generateProxy( new PreparedStatementProxy<Integer>( "setInt", 42 ) ), 42, BIND_POSITION, wrapperOptions );
+		binder.bind( PreparedStatementProxy.generateProxy( new PreparedStatementProxy<Integer>( "setInt", null ) ), null, BIND_POSITION, wrapperOptions );
+	}
+
+	@Test
+	public void testBigIntHandling() throws SQLException {
+		final ValueExtractor<Long> extractor = BigIntTypeDescriptor.INSTANCE.getExtractor( LongTypeDescriptor.INSTANCE );
+		assertEquals( Long.valueOf( 42L ), extractor.extract( resultSet( "getLong", 42L, false ), COLUMN_NAME, wrapperOptions ) );
+		assertNull( extractor.extract( resultSet( "getLong", 0L, true ), COLUMN_NAME, wrapperOptions ) );
+
+		final ValueBinder<Long> binder = BigIntTypeDescriptor.INSTANCE.getBinder( LongTypeDescriptor.INSTANCE );
+		final PreparedStatement ps = PreparedStatementProxy.generateProxy( new PreparedStatementProxy<Long>( "setLong", 42L ) );
+		binder.bind( ps, 42L, BIND_POSITION, wrapperOptions );
+	}
+
+	@Test
+	public void testBitHandling() throws SQLException {
+		final ValueExtractor<Boolean> extractor = BitTypeDescriptor.INSTANCE.getExtractor( BooleanTypeDescriptor.INSTANCE );
+		assertEquals( Boolean.TRUE, extractor.extract( resultSet( "getBoolean", true, false ), COLUMN_NAME, wrapperOptions ) );
+		assertEquals( Boolean.FALSE, extractor.extract( resultSet( "getBoolean", false, false ), COLUMN_NAME, wrapperOptions ) );
+		assertNull( extractor.extract( resultSet( "getBoolean", false, true ), COLUMN_NAME, wrapperOptions ) );
+	}
+
+	/**
+	 * Builds a result set returning {@code value} from the {@code getterName} getter, like drivers do for SQL
+	 * NULLs when {@code wasNull} is {@code true}.
+	 */
+	private static ResultSet resultSet(final String getterName, final Object value, final boolean wasNull) {
+		return (ResultSet) Proxy.newProxyInstance(
+				ResultSet.class.getClassLoader(),
+				new Class[] { ResultSet.class },
+				new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( method.getName().equals( getterName ) && args.length >= 1 ) {
+							return value;
+						}
+						if ( method.getName().equals( "wasNull" ) ) {
+							return wasNull;
+						}
+						throw new UnsupportedOperationException( "Unexpected call ResultSet." + method.getName() );
+					}
+				}
+		);
+	}
+}
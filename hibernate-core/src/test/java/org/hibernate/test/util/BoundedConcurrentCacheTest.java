@@ -0,0 +1,245 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BoundedConcurrentCacheTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicOperations() {
+		final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>( 10 );
+		assertNull( cache.get( "a" ) );
+		assertNull( cache.putIfAbsent( "a", "1" ) );
+		assertEquals( "1", cache.putIfAbsent( "a", "2" ) );
+		assertEquals( "1", cache.get( "a" ) );
+		assertEquals( 1, cache.size() );
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertNull( cache.get( "a" ) );
+
+		final BoundedConcurrentCache<String, String> copy = (BoundedConcurrentCache<String, String>)
+				SerializationHelper.clone( cache );
+		assertEquals( 10, copy.getMaximumSize() );
+		assertNull( copy.putIfAbsent( "a", "1" ) );
+	}
+
+	@Test
+	public void testBoundedSize() {
+		final BoundedConcurrentCache<Integer, Integer> cache = new BoundedConcurrentCache<Integer, Integer>( 100 );
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.putIfAbsent( i, i );
+		}
+		cache.cleanUp();
+		assertEquals( 100, cache.size() );
+	}
+
+	@Test
+	public void testFrequentEntriesSurviveScan() {
+		final BoundedConcurrentCache<Integer, Integer> cache = new BoundedConcurrentCache<Integer, Integer>( 100 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.putIfAbsent( i, i );
+		}
+		for ( int round = 0; round < 10; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				cache.get( i );
+			}
+			cache.cleanUp();
+		}
+		// a scan of entries used once does not flush out the frequently used ones
+		for ( int i = 1000; i < 11000; i++ ) {
+			cache.putIfAbsent( i, i );
+		}
+		cache.cleanUp();
+		int retained = 0;
+		for ( int i = 0; i < 50; i++ ) {
+			if ( cache.get( i ) != null ) {
+				retained++;
+			}
+		}
+		assertTrue( "Only " + retained + " frequent entries retained", retained >= 45 );
+	}
+
+	@Test
+	public void testSingleFlightLoad() throws Exception {
+		final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>( 10 );
+		final AtomicInteger loads = new AtomicInteger();
+		final CountDownLatch loading = new CountDownLatch( 1 );
+		final CountDownLatch release = new CountDownLatch( 1 );
+		final BoundedConcurrentCache.ValueLoader<String, String> loader = new BoundedConcurrentCache.ValueLoader<String, String>() {
+			@Override
+			public String load(String key) {
+				loads.incrementAndGet();
+				loading.countDown();
+				try {
+					release.await( 10, TimeUnit.SECONDS );
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return key.toUpperCase();
+			}
+		};
+
+		final int threads = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<String>> results = new ArrayList<Future<String>>();
+			for ( int i = 0; i < threads; i++ ) {
+				results.add(
+						executor.submit(
+								new Callable<String>() {
+									@Override
+									public String call() {
+										return cache.get( "plan", loader );
+									}
+								}
+						)
+				);
+			}
+			assertTrue( loading.await( 10, TimeUnit.SECONDS ) );
+			// let the other threads pile up behind the load in progress
+			Thread.sleep( 100 );
+			release.countDown();
+			for ( Future<String> result : results ) {
+				assertEquals( "PLAN", result.get( 10, TimeUnit.SECONDS ) );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals( 1, loads.get() );
+		assertEquals( "PLAN", cache.get( "plan", loader ) );
+		assertEquals( 1, loads.get() );
+	}
+
+	@Test
+	public void testFailedLoadIsNotCached() {
+		final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>( 10 );
+		final IllegalArgumentException failure = new IllegalArgumentException( "unexpected token" );
+		try {
+			cache.get(
+					"plan",
+					new BoundedConcurrentCache.ValueLoader<String, String>() {
+						@Override
+						public String load(String key) {
+							throw failure;
+						}
+					}
+			);
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			assertSame( failure, e );
+		}
+		assertNull( cache.get( "plan" ) );
+		assertEquals(
+				"loaded",
+				cache.get(
+						"plan",
+						new BoundedConcurrentCache.ValueLoader<String, String>() {
+							@Override
+							public String load(String key) {
+								return "loaded";
+							}
+						}
+				)
+		);
+	}
+
+	@Test
+	public void testBoundedWeight() {
+		final BoundedConcurrentCache<Integer, String> cache = new BoundedConcurrentCache<Integer, String>(
+				100,
+				10,
+				new BoundedConcurrentCache.Weigher<Integer, String>() {
+					@Override
+					public int weigh(Integer key, String value) {
+						return value.length();
+					}
+				},
+				0,
+				null
+		);
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, "0123456789" );
+		}
+		cache.cleanUp();
+		assertEquals( 10, cache.size() );
+		assertEquals( 100, cache.weightedSize() );
+	}
+
+	@Test
+	public void testExpiredEntriesAreNotReturned() throws Exception {
+		final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>(
+				10,
+				10,
+				null,
+				TimeUnit.MILLISECONDS.toNanos( 50 ),
+				null
+		);
+		cache.put( "a", "1" );
+		assertTrue( cache.containsKey( "a" ) );
+		Thread.sleep( 100 );
+		assertFalse( cache.containsKey( "a" ) );
+		assertNull( cache.get( "a" ) );
+		assertTrue( cache.toMap().isEmpty() );
+		assertNull( cache.putIfAbsent( "a", "2" ) );
+		assertEquals( "2", cache.get( "a" ) );
+	}
+
+	@Test
+	public void testEvictionListenerSeesOnlyEvictions() {
+		final Map<Integer, Integer> evicted = new HashMap<Integer, Integer>();
+		final BoundedConcurrentCache<Integer, Integer> cache = new BoundedConcurrentCache<Integer, Integer>(
+				10,
+				10,
+				null,
+				0,
+				new BoundedConcurrentCache.EvictionListener<Integer, Integer>() {
+					@Override
+					public void onEviction(Integer key, Integer value, long writeTime) {
+						evicted.put( key, value );
+					}
+				}
+		);
+		cache.put( -1, -1 );
+		assertEquals( Integer.valueOf( -1 ), cache.remove( -1 ) );
+		for ( int i = 0; i < 20; i++ ) {
+			cache.put( i, i );
+		}
+		cache.cleanUp();
+		assertEquals( 10, evicted.size() );
+		assertFalse( evicted.containsKey( -1 ) );
+		for ( Map.Entry<Integer, Integer> entry : evicted.entrySet() ) {
+			assertEquals( entry.getKey(), entry.getValue() );
+			assertFalse( cache.containsKey( entry.getKey() ) );
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OpenAddressingHashMapTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicOperations() {
+		final Map<String, String> map = new OpenAddressingHashMap<String, String>();
+		assertTrue( map.isEmpty() );
+		assertNull( map.put( "a", "1" ) );
+		assertNull( map.put( "b", null ) );
+		assertEquals( "1", map.put( "a", "2" ) );
+		assertEquals( 2, map.size() );
+		assertEquals( "2", map.get( "a" ) );
+		assertTrue( map.containsKey( "b" ) );
+		assertTrue( map.containsValue( null ) );
+		assertFalse( map.containsKey( "c" ) );
+		assertNull( map.get( null ) );
+		assertEquals( "2", map.remove( "a" ) );
+		assertNull( map.remove( "a" ) );
+		assertEquals( 1, map.size() );
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertFalse( map.containsKey( "b" ) );
+
+		try {
+			map.put( null, "1" );
+			fail();
+		}
+		catch (NullPointerException expected) {
+		}
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		final Random random = new Random( 42 );
+		final Map<Key, Integer> expected = new HashMap<Key, Integer>();
+		final Map<Key, Integer> map = new OpenAddressingHashMap<Key, Integer>( 4 );
+		for ( int i = 0; i < 100000; i++ ) {
+			final Key key = new Key( random.nextInt( 2000 ) );
+			switch ( random.nextInt( 3 ) ) {
+				case 0:
+					assertEquals( expected.remove( key ), map.remove( key ) );
+					break;
+				case 1:
+					assertEquals( expected.get( key ), map.get( key ) );
+					break;
+				default:
+					assertEquals( expected.put( key, i ), map.put( key, i ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		assertEquals( expected, map );
+		assertEquals( map, expected );
+		assertEquals( expected.hashCode(), map.hashCode() );
+	}
+
+	@Test
+	public void testIteratorRemoval() {
+		final Random random = new Random( 42 );
+		for ( int round = 0; round < 200; round++ ) {
+			final Map<Key, Integer> map = new OpenAddressingHashMap<Key, Integer>();
+			final int count = 1 + random.nextInt( 200 );
+			for ( int i = 0; i < count; i++ ) {
+				map.put( new Key( random.nextInt( 1000 ) ), i );
+			}
+			final Set<Key> expectedRemaining = new HashSet<Key>();
+			final Set<Key> visited = new HashSet<Key>();
+			final int size = map.size();
+			final Iterator<Key> keys = map.keySet().iterator();
+			while ( keys.hasNext() ) {
+				final Key key = keys.next();
+				assertTrue( "visited twice : " + key, visited.add( key ) );
+				if ( random.nextBoolean() ) {
+					keys.remove();
+				}
+				else {
+					expectedRemaining.add( key );
+				}
+			}
+			assertEquals( size, visited.size() );
+			assertEquals( expectedRemaining, map.keySet() );
+		}
+	}
+
+	@Test
+	public void testViews() {
+		final Map<Key, String> map = new OpenAddressingHashMap<Key, String>();
+		for ( int i = 0; i < 10; i++ ) {
+			map.put( new Key( i ), "value #" + i );
+		}
+		for ( Map.Entry<Key, String> entry : map.entrySet() ) {
+			entry.setValue( entry.getValue() + "'" );
+		}
+		assertEquals( "value #3'", map.get( new Key( 3 ) ) );
+		assertTrue( map.values().contains( "value #9'" ) );
+
+		final Iterator<String> values = map.values().iterator();
+		while ( values.hasNext() ) {
+			if ( values.next().equals( "value #5'" ) ) {
+				values.remove();
+			}
+		}
+		assertEquals( 9, map.size() );
+		assertFalse( map.containsKey( new Key( 5 ) ) );
+		assertTrue( map.keySet().remove( new Key( 6 ) ) );
+		assertEquals( 8, map.size() );
+
+		final Iterator<Key> keys = map.keySet().iterator();
+		keys.next();
+		map.put( new Key( 42 ), "value #42" );
+		try {
+			keys.next();
+			fail();
+		}
+		catch (ConcurrentModificationException expected) {
+		}
+	}
+
+	/**
+	 * Key with a poorly distributed hash code, to get long clusters.
+	 */
+	private static class Key {
+		private final int value;
+
+		private Key(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key && ( (Key) o ).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value / 7;
+		}
+
+		@Override
+		public String toString() {
+			return "Key#" + value;
+		}
+	}
+}
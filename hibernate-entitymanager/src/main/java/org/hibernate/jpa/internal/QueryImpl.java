@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -446,6 +447,39 @@ public class QueryImpl<X> extends AbstractQueryImpl<X>
 		}
 	}
 
+	/**
+	 * Return the query results as an {@link Iterator} reading the rows one at a time through forward-only
+	 * {@link org.hibernate.ScrollableResults}, rather than materializing them all like {@link #getResultList()}
+	 * does.  The entities of a row are detached when the iterator moves on to the next row.
+	 * <p/>
+	 * The returned iterator is a {@link org.hibernate.engine.HibernateIterator}; it releases its JDBC resources
+	 * when exhausted and should otherwise be closed, e.g. through {@link org.hibernate.Hibernate#close(Iterator)}.
+	 * Note that exceptions thrown while iterating are not converted to JPA exceptions.
+	 *
+	 * @return The result iterator
+	 *
+	 * @see org.hibernate.Query#scrollIterator()
+	 */
+	@SuppressWarnings("unchecked")
+	public Iterator<X> getResultIterator() {
+		getEntityManager().checkOpen( true );
+		checkTransaction();
+		beforeQuery();
+		try {
+			applyEntityGraphQueryHint();
+			return (Iterator<X>) query.scrollIterator();
+		}
+		catch (QueryExecutionRequestException he) {
+			throw new IllegalStateException( he );
+		}
+		catch (TypeMismatchException e) {
+			throw new IllegalArgumentException( e );
+		}
+		catch (HibernateException he) {
+			throw getEntityManager().convert( he );
+		}
+	}
+
 	/**
 	 * For JPA native SQL queries, we may need to perform a flush before executing the query.
 	 */
@@ -552,6 +586,11 @@ public class QueryImpl<X> extends AbstractQueryImpl<X>
 	}
 
 	private List<X> list() {
+		applyEntityGraphQueryHint();
+		return query.list();
+	}
+
+	private void applyEntityGraphQueryHint() {
 		if ( getEntityGraphQueryHint() != null ) {
 			SessionImplementor sessionImpl = (SessionImplementor) getEntityManager().getSession();
 			HQLQueryPlan entityGraphQueryPlan = new HQLQueryPlan(
@@ -564,7 +603,6 @@ public class QueryImpl<X> extends AbstractQueryImpl<X>
 			// Safe to assume QueryImpl at this point.
 			unwrap( org.hibernate.internal.QueryImpl.class ).setQueryPlan( entityGraphQueryPlan );
 		}
-		return query.list();
 	}
 
 }
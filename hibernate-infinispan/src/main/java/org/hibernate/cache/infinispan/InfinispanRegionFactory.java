@@ -26,6 +26,8 @@ import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.collection.CollectionRegionImpl;
 import org.hibernate.cache.infinispan.entity.EntityRegionImpl;
 import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.infinispan.impl.BaseTransactionalDataRegion;
+import org.hibernate.cache.infinispan.impl.NearCache;
 import org.hibernate.cache.infinispan.naturalid.NaturalIdRegionImpl;
 import org.hibernate.cache.infinispan.query.QueryResultsRegionImpl;
 import org.hibernate.cache.infinispan.timestamp.ClusteredTimestampsRegionImpl;
@@ -95,6 +97,10 @@ public class InfinispanRegionFactory implements RegionFactory {
 
 	private static final String MAX_IDLE_SUFFIX = ".expiration.max_idle";
 
+	private static final String NEAR_CACHE_MAX_ENTRIES_SUFFIX = ".near_cache.max_entries";
+
+	private static final String NEAR_CACHE_LIFESPAN_SUFFIX = ".near_cache.lifespan";
+
 //   private static final String STATISTICS_SUFFIX = ".statistics";
 
 	/**
@@ -281,8 +287,10 @@ public class InfinispanRegionFactory implements RegionFactory {
 					metadata.isVersioned()
 			);
 		}
-		final AdvancedCache cache = getCache( regionName, metadata.isMutable() ? ENTITY_KEY : IMMUTABLE_ENTITY_KEY, properties, metadata );
+		final String typeKey = metadata.isMutable() ? ENTITY_KEY : IMMUTABLE_ENTITY_KEY;
+		final AdvancedCache cache = getCache( regionName, typeKey, properties, metadata );
 		final EntityRegionImpl region = new EntityRegionImpl( cache, regionName, transactionManager, metadata, this, buildCacheKeysFactory() );
+		configureNearCache( region, regionName, typeKey );
 		startRegion( region, regionName );
 		return region;
 	}
@@ -513,6 +521,25 @@ public class InfinispanRegionFactory implements RegionFactory {
 		return new DefaultCacheManager( holder, true );
 	}
 
+	private void configureNearCache(BaseTransactionalDataRegion region, String regionName, String typeKey) {
+		TypeOverrides override = typeOverrides.get( regionName );
+		if ( override == null || !override.isNearCacheOverridden() ) {
+			override = typeOverrides.get( typeKey );
+		}
+		if ( override.getNearCacheMaxEntries() <= 0 ) {
+			return;
+		}
+		final Configuration cfg = region.getCache().getCacheConfiguration();
+		if ( cfg.transaction().transactionMode().isTransactional() ) {
+			// a transactional cache exposes the uncommitted writes of a transaction to its reads,
+			// which must not leak into the near cache, shared by all the transactions
+			log.warnf( "Near cache is not supported with the transactional cache of region %s; ignoring it", regionName );
+			return;
+		}
+		log.debugf( "Using a near cache of %d entries for region %s", override.getNearCacheMaxEntries(), regionName );
+		region.setNearCache( new NearCache( override.getNearCacheMaxEntries(), override.getNearCacheLifespan() ) );
+	}
+
 	private void startRegion(BaseRegion region, String regionName) {
 		regionNames.add( regionName );
 		getCacheCommandFactory( region.getCache() ).addRegion( regionName, region );
@@ -567,6 +594,14 @@ public class InfinispanRegionFactory implements RegionFactory {
 			cfgOverride = getOrCreateConfig( prefixLoc, key, suffixLoc );
 			cfgOverride.setExpirationMaxIdle( Long.parseLong( extractProperty( key, properties ) ) );
 		}
+		else if ( (suffixLoc = key.indexOf( NEAR_CACHE_MAX_ENTRIES_SUFFIX )) != -1 ) {
+			cfgOverride = getOrCreateConfig( prefixLoc, key, suffixLoc );
+			cfgOverride.setNearCacheMaxEntries( Integer.parseInt( extractProperty( key, properties ) ) );
+		}
+		else if ( (suffixLoc = key.indexOf( NEAR_CACHE_LIFESPAN_SUFFIX )) != -1 ) {
+			cfgOverride = getOrCreateConfig( prefixLoc, key, suffixLoc );
+			cfgOverride.setNearCacheLifespan( Long.parseLong( extractProperty( key, properties ) ) );
+		}
 	}
 
 	private String extractProperty(String key, Properties properties) {
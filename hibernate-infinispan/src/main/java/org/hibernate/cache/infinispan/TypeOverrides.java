@@ -42,6 +42,10 @@ public class TypeOverrides implements Serializable {
 
 	private boolean isExposeStatistics;
 
+	private int nearCacheMaxEntries;
+
+	private long nearCacheLifespan = -1;
+
 	public String getCacheName() {
 		return cacheName;
 	}
@@ -148,6 +152,47 @@ public class TypeOverrides implements Serializable {
 		this.isExposeStatistics = isExposeStatistics;
 	}
 
+	public int getNearCacheMaxEntries() {
+		return nearCacheMaxEntries;
+	}
+
+   /**
+    * Maximum number of entries held in the in-JVM near cache layered in front
+    * of the cache of this cached type. 0 (the default) disables the near cache.
+    *
+    * @param nearCacheMaxEntries number of maximum near cache entries
+    */
+	public void setNearCacheMaxEntries(int nearCacheMaxEntries) {
+		markAsOverriden( "nearCacheMaxEntries" );
+		this.nearCacheMaxEntries = nearCacheMaxEntries;
+	}
+
+	public long getNearCacheLifespan() {
+		return nearCacheLifespan;
+	}
+
+   /**
+    * Maximum lifespan of an entry of the near cache, in milliseconds.
+    * -1 (the default) means the entries are only dropped when invalidated
+    * or evicted.
+    *
+    * @param nearCacheLifespan long representing the maximum lifespan,
+    *                          in milliseconds, of a near cache entry
+    */
+	public void setNearCacheLifespan(long nearCacheLifespan) {
+		markAsOverriden( "nearCacheLifespan" );
+		this.nearCacheLifespan = nearCacheLifespan;
+	}
+
+   /**
+    * Whether the near cache settings of this cached type were configured.
+    *
+    * @return true if any near cache setting was overridden
+    */
+	public boolean isNearCacheOverridden() {
+		return overridden.contains( "nearCacheMaxEntries" ) || overridden.contains( "nearCacheLifespan" );
+	}
+
    /**
     * Apply the configuration overrides in this {@link TypeOverrides} instance
     * to the cache configuration builder passed as parameter.
@@ -195,6 +240,8 @@ public class TypeOverrides implements Serializable {
 				+ ", maxEntries=" + evictionMaxEntries
 				+ ", lifespan=" + expirationLifespan
 				+ ", maxIdle=" + expirationMaxIdle
+				+ ", nearCacheMaxEntries=" + nearCacheMaxEntries
+				+ ", nearCacheLifespan=" + nearCacheLifespan
 				+ '}';
 	}
 
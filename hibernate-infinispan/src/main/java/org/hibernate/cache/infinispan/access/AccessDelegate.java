@@ -22,6 +22,17 @@ import org.hibernate.engine.spi.SessionImplementor;
 public interface AccessDelegate {
 	Object get(SessionImplementor session, Object key, long txTimestamp) throws CacheException;
 
+	/**
+	 * Attempt to retrieve several objects from the cache in a single round-trip.
+	 *
+	 * @param session Current session
+	 * @param keys The keys of the items to be retrieved
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects, in the order of the keys, <tt>null</tt> for those not found
+	 * @throws CacheException if the cache retrieval failed
+	 */
+	Object[] getAll(SessionImplementor session, Object[] keys, long txTimestamp) throws CacheException;
+
 	/**
 	 * Attempt to cache an object, after loading from the database.
 	 *
@@ -50,6 +61,27 @@ public interface AccessDelegate {
 	boolean putFromLoad(SessionImplementor session, Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
 			throws CacheException;
 
+	/**
+	 * Attempt to cache several objects, after loading them from the database, explicitly
+	 * specifying the minimalPut behavior.
+	 *
+	 * @param session Current session.
+	 * @param keys The item keys
+	 * @param values The items, in the order of the keys
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param versions the item version numbers, in the order of the keys
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 * @return for each item, <tt>true</tt> if it was successfully cached
+	 * @throws org.hibernate.cache.CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	boolean[] putAllFromLoad(
+			SessionImplementor session,
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException;
+
 	/**
 	 * Called after an item has been inserted (before the transaction completes),
 	 * instead of calling evict().
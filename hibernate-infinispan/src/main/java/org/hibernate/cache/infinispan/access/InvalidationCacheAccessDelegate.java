@@ -6,8 +6,14 @@
  */
 package org.hibernate.cache.infinispan.access;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.infinispan.impl.BaseTransactionalDataRegion;
+import org.hibernate.cache.infinispan.impl.NearCache;
 import org.hibernate.cache.infinispan.util.Caches;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.infinispan.AdvancedCache;
@@ -27,6 +33,7 @@ public abstract class InvalidationCacheAccessDelegate implements AccessDelegate
 	protected final BaseRegion region;
 	protected final PutFromLoadValidator putValidator;
 	protected final AdvancedCache<Object, Object> writeCache;
+	protected final NearCache nearCache;
 
 	public static InvalidationCacheAccessDelegate create(BaseRegion region, PutFromLoadValidator validator) {
 		if (region.getCache().getCacheConfiguration().transaction().transactionMode().isTransactional()) {
@@ -49,6 +56,9 @@ public abstract class InvalidationCacheAccessDelegate implements AccessDelegate
 		this.cache = region.getCache();
 		this.putValidator = validator;
 		this.writeCache = Caches.ignoreReturnValuesCache( cache );
+		this.nearCache = region instanceof BaseTransactionalDataRegion
+				? ((BaseTransactionalDataRegion) region).getNearCache()
+				: null;
 	}
 
    /**
@@ -67,13 +77,76 @@ public abstract class InvalidationCacheAccessDelegate implements AccessDelegate
 		if ( !region.checkValid() ) {
 			return null;
 		}
+		if ( nearCache != null ) {
+			final Object nearVal = nearCache.get( key );
+			if ( nearVal != null ) {
+				return nearVal;
+			}
+		}
+		final long stamp = nearCache == null ? 0 : nearCache.stamp( key );
 		final Object val = cache.get( key );
 		if ( val == null ) {
 			putValidator.registerPendingPut(session, key, txTimestamp );
 		}
+		else if ( nearCache != null ) {
+			nearCache.putIfNotInvalidated( key, val, stamp );
+		}
 		return val;
 	}
 
+	/**
+	 * Retrieves several objects from the cache in a single round-trip, registering the pending
+	 * puts of the keys that are not found just like {@link #get} does.
+	 *
+	 * @param session Current session
+	 * @param keys The keys of the items to be retrieved
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects, in the order of the keys, <tt>null</tt> for those not found
+	 * @throws CacheException if the cache retrieval failed
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object[] getAll(SessionImplementor session, Object[] keys, long txTimestamp) throws CacheException {
+		final Object[] values = new Object[keys.length];
+		if ( !region.checkValid() ) {
+			return values;
+		}
+		final HashSet<Object> missing = new HashSet<Object>( Arrays.asList( keys ) );
+		if ( nearCache != null ) {
+			for ( int i = 0; i < keys.length; i++ ) {
+				values[i] = nearCache.get( keys[i] );
+				if ( values[i] != null ) {
+					missing.remove( keys[i] );
+				}
+			}
+			if ( missing.isEmpty() ) {
+				return values;
+			}
+		}
+		final long[] stamps = new long[keys.length];
+		if ( nearCache != null ) {
+			for ( int i = 0; i < keys.length; i++ ) {
+				if ( values[i] == null ) {
+					stamps[i] = nearCache.stamp( keys[i] );
+				}
+			}
+		}
+		final Map<Object, Object> found = cache.getAll( missing );
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( values[i] != null ) {
+				continue;
+			}
+			values[i] = found.get( keys[i] );
+			if ( values[i] == null ) {
+				putValidator.registerPendingPut( session, keys[i], txTimestamp );
+			}
+			else if ( nearCache != null ) {
+				nearCache.putIfNotInvalidated( keys[i], values[i], stamps[i] );
+			}
+		}
+		return values;
+	}
+
 	@Override
 	public boolean putFromLoad(SessionImplementor session, Object key, Object value, long txTimestamp, Object version) {
 		return putFromLoad(session, key, value, txTimestamp, version, false );
@@ -130,6 +203,25 @@ public abstract class InvalidationCacheAccessDelegate implements AccessDelegate
 		return true;
 	}
 
+	/**
+	 * Puts each of the items through {@link #putFromLoad(SessionImplementor, Object, Object, long, Object, boolean)}, as
+	 * every key is validated against its own pending put.
+	 */
+	@Override
+	public boolean[] putAllFromLoad(
+			SessionImplementor session,
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException {
+		final boolean[] puts = new boolean[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			puts[i] = putFromLoad( session, keys[i], values[i], txTimestamp, versions[i], minimalPutOverride );
+		}
+		return puts;
+	}
+
 	@Override
 	public void remove(SessionImplementor session, Object key) throws CacheException {
 		if ( !putValidator.beginInvalidatingKey(session, key)) {
@@ -164,7 +256,17 @@ public abstract class InvalidationCacheAccessDelegate implements AccessDelegate
 
 	@Override
 	public void evict(Object key) throws CacheException {
-		writeCache.remove( key );
+		if ( nearCache == null ) {
+			writeCache.remove( key );
+			return;
+		}
+		nearCache.invalidate( key );
+		try {
+			writeCache.remove( key );
+		}
+		finally {
+			nearCache.invalidate( key );
+		}
 	}
 
 	@Override
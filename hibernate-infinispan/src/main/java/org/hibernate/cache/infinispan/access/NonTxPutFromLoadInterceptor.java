@@ -43,9 +43,26 @@ public class NonTxPutFromLoadInterceptor extends BaseCustomInterceptor {
 
 	@Override
 	public Object visitInvalidateCommand(InvocationContext ctx, InvalidateCommand command) throws Throwable {
-		if (!ctx.isOriginLocal() && command instanceof BeginInvalidationCommand) {
-			for (Object key : command.getKeys()) {
-				putFromLoadValidator.beginInvalidatingKey(((BeginInvalidationCommand) command).getSessionTransactionId(), key);
+		if (!ctx.isOriginLocal()) {
+			if (command instanceof BeginInvalidationCommand) {
+				for (Object key : command.getKeys()) {
+					putFromLoadValidator.beginInvalidatingKey(((BeginInvalidationCommand) command).getSessionTransactionId(), key);
+				}
+			}
+			else {
+				// plain invalidations (evictions) do not go through the validator; the near cache is invalidated
+				// both before and after the entries are, so that it can't keep a value read in between
+				for (Object key : command.getKeys()) {
+					putFromLoadValidator.invalidateNearCache(key);
+				}
+				try {
+					return invokeNextInterceptor(ctx, command);
+				}
+				finally {
+					for (Object key : command.getKeys()) {
+						putFromLoadValidator.invalidateNearCache(key);
+					}
+				}
 			}
 		}
 		return invokeNextInterceptor(ctx, command);
@@ -19,6 +19,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.infinispan.impl.NearCache;
 import org.hibernate.cache.infinispan.util.CacheCommandInitializer;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -119,6 +120,11 @@ public class PutFromLoadValidator {
 	 */
 	private int regionInvalidations = 0;
 
+	/**
+	 * Near cache of the region, invalidated along with the pending puts; <code>null</code> if the region has none.
+	 */
+	private volatile NearCache nearCache;
+
 	/**
 	 * Allows propagation of current Session to callbacks invoked from interceptors
 	 */
@@ -228,6 +234,29 @@ public class PutFromLoadValidator {
 		cci.removePutFromLoadValidator(cache.getName());
 	}
 
+	/**
+	 * Registers the near cache of the region, so that it gets invalidated whenever a key or the region
+	 * is (begun or ended being) invalidated, locally or from a remote node.
+	 *
+	 * @param nearCache near cache of the region, or <code>null</code>
+	 */
+	public void setNearCache(NearCache nearCache) {
+		this.nearCache = nearCache;
+	}
+
+	/**
+	 * Invalidates the given key in the near cache, if any. To be called for the invalidations which do not go
+	 * through {@link #beginInvalidatingKey(Object, Object)}, such as the plain evictions of remote nodes.
+	 *
+	 * @param key key that is invalidated
+	 */
+	public void invalidateNearCache(Object key) {
+		final NearCache nearCache = this.nearCache;
+		if (nearCache != null) {
+			nearCache.invalidate(key);
+		}
+	}
+
 	public void setCurrentSession(SessionImplementor session) {
 		currentSession.set(session);
 	}
@@ -406,6 +435,7 @@ public class PutFromLoadValidator {
 			regionInvalidationTimestamp = Long.MAX_VALUE;
 			regionInvalidations++;
 		}
+		invalidateNearCache();
 
 		try {
 			// Acquire the lock for each entry to ensure any ongoing
@@ -438,6 +468,7 @@ public class PutFromLoadValidator {
 	 * Called when the region invalidation is finished.
 	 */
 	public void endInvalidatingRegion() {
+		invalidateNearCache();
 		synchronized (this) {
 			if (--regionInvalidations == 0) {
 				regionInvalidationTimestamp = System.currentTimeMillis();
@@ -534,6 +565,7 @@ public class PutFromLoadValidator {
 	}
 
 	public boolean beginInvalidatingWithPFER(Object lockOwner, Object key, Object valueForPFER) {
+		final NearCache nearCache = this.nearCache;
 		for (;;) {
 			PendingPutMap pending = new PendingPutMap(null);
 			PendingPutMap prev = pendingPuts.putIfAbsent(key, pending);
@@ -551,6 +583,11 @@ public class PutFromLoadValidator {
 					long now = System.currentTimeMillis();
 					pending.invalidate(now);
 					pending.addInvalidator(lockOwner, valueForPFER, now);
+					// only counted once registered, so that it is ended along with the invalidator; like the
+					// invalidator, it is dropped as leaked after the expiration period
+					if (nearCache != null) {
+						nearCache.beginInvalidating(key, expirationPeriod);
+					}
 				}
 				finally {
 					pending.releaseLock();
@@ -562,6 +599,9 @@ public class PutFromLoadValidator {
 			}
 			else {
 				log.tracef("beginInvalidatingKey(%s#%s, %s) failed to acquire lock", cache.getName(), key, lockOwnerToString(lockOwner));
+				if (nearCache != null) {
+					nearCache.invalidate(key);
+				}
 				return false;
 			}
 		}
@@ -580,6 +620,12 @@ public class PutFromLoadValidator {
 	 * @return
 	 */
 	public boolean endInvalidatingKey(Object lockOwner, Object key, boolean doPFER) {
+		// the entry has been updated or removed from the cache by now, so the near cache must not
+		// keep any value read before that
+		final NearCache nearCache = this.nearCache;
+		if (nearCache != null) {
+			nearCache.endInvalidating(key);
+		}
 		PendingPutMap pending = pendingPuts.get(key);
 		if (pending == null) {
 			if (trace) {
@@ -610,6 +656,13 @@ public class PutFromLoadValidator {
 		}
 	}
 
+	private void invalidateNearCache() {
+		final NearCache nearCache = this.nearCache;
+		if (nearCache != null) {
+			nearCache.invalidateAll();
+		}
+	}
+
 	public Object registerRemoteInvalidations(Object[] keys) {
 		SessionImplementor session = currentSession.get();
 		TransactionCoordinator transactionCoordinator = session == null ? null : session.getTransactionCoordinator();
@@ -9,6 +9,7 @@ package org.hibernate.cache.infinispan.entity;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.access.InvalidationCacheAccessDelegate;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -22,7 +23,7 @@ import org.hibernate.persister.entity.EntityPersister;
  * @author Galder Zamarreño
  * @since 3.5
  */
-class ReadOnlyAccess implements EntityRegionAccessStrategy {
+class ReadOnlyAccess implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	protected final EntityRegionImpl region;
 	protected final InvalidationCacheAccessDelegate delegate;
@@ -44,6 +45,10 @@ class ReadOnlyAccess implements EntityRegionAccessStrategy {
 		return delegate.get( session, key, txTimestamp );
 	}
 
+	public Object[] getAll(SessionImplementor session, Object[] keys, long txTimestamp) throws CacheException {
+		return delegate.getAll( session, keys, txTimestamp );
+	}
+
 	public EntityRegion getRegion() {
 		return this.region;
 	}
@@ -57,6 +62,16 @@ class ReadOnlyAccess implements EntityRegionAccessStrategy {
 		return delegate.putFromLoad( session, key, value, txTimestamp, version, minimalPutOverride );
 	}
 
+	public boolean[] putAllFromLoad(
+			SessionImplementor session,
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException {
+		return delegate.putAllFromLoad( session, keys, values, txTimestamp, versions, minimalPutOverride );
+	}
+
 	public void remove(SessionImplementor session, Object key) throws CacheException {
 		delegate.remove ( session, key );
 	}
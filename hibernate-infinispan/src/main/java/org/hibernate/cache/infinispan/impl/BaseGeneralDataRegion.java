@@ -6,9 +6,13 @@
  */
 package org.hibernate.cache.infinispan.impl;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.util.Caches;
-import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.cache.spi.BulkGeneralDataRegion;
 import org.hibernate.cache.spi.RegionFactory;
 
 import org.hibernate.engine.spi.SessionImplementor;
@@ -21,7 +25,7 @@ import org.infinispan.AdvancedCache;
  * @author Galder Zamarreño
  * @since 3.5
  */
-public abstract class BaseGeneralDataRegion extends BaseRegion implements GeneralDataRegion {
+public abstract class BaseGeneralDataRegion extends BaseRegion implements BulkGeneralDataRegion {
 	private final AdvancedCache putCache;
 
    /**
@@ -54,6 +58,28 @@ public abstract class BaseGeneralDataRegion extends BaseRegion implements Genera
 		return cache.get( key );
 	}
 
+	@Override
+	public Object[] getAll(SessionImplementor session, Object[] keys) throws CacheException {
+		return getAll( cache, keys );
+	}
+
+	/**
+	 * Gets the values of the given keys in a single call to the cache, which fetches the remote
+	 * ones in a single round-trip per owner.
+	 *
+	 * @param cache the cache to read from
+	 * @param keys the keys to look up
+	 * @return the values, in the order of the keys, with {@code null} for the missing ones
+	 */
+	protected static Object[] getAll(AdvancedCache cache, Object[] keys) {
+		final Map values = cache.getAll( new HashSet<Object>( Arrays.asList( keys ) ) );
+		final Object[] results = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			results[i] = values.get( keys[i] );
+		}
+		return results;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public void put(SessionImplementor session, Object key, Object value) throws CacheException {
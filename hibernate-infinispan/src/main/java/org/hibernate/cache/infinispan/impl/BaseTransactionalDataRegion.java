@@ -6,6 +6,7 @@
  */
 package org.hibernate.cache.infinispan.impl;
 
+import org.hibernate.cache.infinispan.access.PutFromLoadValidator;
 import org.hibernate.cache.spi.CacheDataDescription;
 import org.hibernate.cache.spi.CacheKeysFactory;
 import org.hibernate.cache.spi.RegionFactory;
@@ -27,6 +28,7 @@ public abstract class BaseTransactionalDataRegion
 
 	private final CacheDataDescription metadata;
 	private final CacheKeysFactory cacheKeysFactory;
+	private NearCache nearCache;
 
    /**
     * Base transactional region constructor
@@ -54,4 +56,31 @@ public abstract class BaseTransactionalDataRegion
 	public CacheKeysFactory getCacheKeysFactory() {
 		return cacheKeysFactory;
 	}
+
+	/**
+	 * Puts a near cache in front of the cache of this region, to be set before the access strategies of the region
+	 * are built. The near cache is invalidated through the {@link PutFromLoadValidator} of the region.
+	 *
+	 * @param nearCache the near cache
+	 */
+	public synchronized void setNearCache(NearCache nearCache) {
+		this.nearCache = nearCache;
+		getValidator().setNearCache( nearCache );
+	}
+
+	/**
+	 * @return the near cache in front of the cache of this region, or <code>null</code> if it has none
+	 */
+	public synchronized NearCache getNearCache() {
+		return nearCache;
+	}
+
+	@Override
+	public void invalidateRegion() {
+		final NearCache nearCache = getNearCache();
+		if ( nearCache != null ) {
+			nearCache.invalidateAll();
+		}
+		super.invalidateRegion();
+	}
 }
@@ -0,0 +1,232 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.infinispan.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
+
+/**
+ * A small, in-JVM cache of the entries read from the Infinispan cache of a region, serving the frequently
+ * read entries without going through the Infinispan invocation chain, nor any remote call.
+ * <p/>
+ * The near cache never decides by itself whether an entry can be cached: it is only populated with values read
+ * from the region cache, and it is invalidated by the invalidation protocol of the region, that is whenever
+ * a key begins and ends being invalidated (locally or from a remote node) or the whole region is invalidated.
+ * As an entry read from the region cache may be stale by the time it would be stored, every population is
+ * conditioned by the {@link #stamp(Object) invalidation stamp} of its key taken before the read: the entry is not
+ * stored if the key was invalidated in between, nor while the key is being invalidated.  The stamps are kept per
+ * stripe of keys rather than per key, so an invalidation only makes the concurrent populations of the keys
+ * sharing its stripe fail, and invalidating the whole region makes all of them fail.
+ * <p/>
+ * Neither reads nor invalidations take any lock; a population is checked again once stored, and undone if an
+ * invalidation slipped in meanwhile.
+ *
+ * @see org.hibernate.cache.infinispan.access.PutFromLoadValidator
+ */
+public class NearCache {
+	private static final int STRIPE_COUNT = 64;
+	// 8 longs span a 64 bytes cache line
+	private static final int STRIPE_WIDTH = 8;
+
+	private final int maxEntries;
+	private final long lifespan;
+	private final BoundedConcurrentCache<Object, Object> entries;
+	private final ConcurrentHashMap<Object, Invalidation> invalidating = new ConcurrentHashMap<Object, Invalidation>();
+	// the first stripe is left unused, its cache line being shared with the array header
+	private final AtomicLongArray invalidations = new AtomicLongArray( ( STRIPE_COUNT + 1 ) * STRIPE_WIDTH );
+
+	/**
+	 * Creates a near cache.
+	 *
+	 * @param maxEntries The maximum number of entries held, beyond which the least frequently used ones are dropped
+	 * @param lifespan The maximum time an entry is held, in milliseconds; -1 for no limit
+	 */
+	public NearCache(int maxEntries, long lifespan) {
+		this.maxEntries = maxEntries;
+		this.lifespan = lifespan;
+		this.entries = new BoundedConcurrentCache<Object, Object>(
+				maxEntries,
+				maxEntries,
+				null,
+				lifespan > 0 ? TimeUnit.MILLISECONDS.toNanos( lifespan ) : 0,
+				null
+		);
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public long getLifespan() {
+		return lifespan;
+	}
+
+	/**
+	 * Get the value held for a key.
+	 *
+	 * @param key The cache key
+	 * @return The value, or <tt>null</tt> if none is held or it has expired
+	 */
+	public Object get(Object key) {
+		return entries.get( key );
+	}
+
+	/**
+	 * Take the invalidation stamp of a key, to be passed to {@link #putIfNotInvalidated}, before reading the value
+	 * from the region cache.
+	 *
+	 * @param key The cache key
+	 * @return The current stamp of the key
+	 */
+	public long stamp(Object key) {
+		return invalidations.get( stripeIndex( key ) );
+	}
+
+	/**
+	 * Store a value read from the region cache, unless an invalidation happened since the stamp was taken.
+	 *
+	 * @param key The cache key
+	 * @param value The value read from the region cache
+	 * @param stamp The stamp taken before reading the value
+	 * @return <tt>true</tt> if the value was stored
+	 */
+	public boolean putIfNotInvalidated(Object key, Object value, long stamp) {
+		if ( isInvalidatedSince( key, stamp ) ) {
+			return false;
+		}
+		entries.put( key, value );
+		// an invalidation may have removed the key just before the value was stored
+		if ( isInvalidatedSince( key, stamp ) ) {
+			entries.remove( key );
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Drop the value held for a key, and prevent the values read concurrently from being stored.
+	 *
+	 * @param key The cache key
+	 */
+	public void invalidate(Object key) {
+		invalidations.incrementAndGet( stripeIndex( key ) );
+		entries.remove( key );
+	}
+
+	/**
+	 * Drop the value held for a key, and prevent any value from being stored for it until
+	 * {@link #endInvalidating} is called as many times as this method was, or the given timeout elapses
+	 * (as the end of an invalidation begun by a remote node may never arrive).
+	 *
+	 * @param key The cache key
+	 * @param timeout The time after which the invalidation is considered leaked, in milliseconds
+	 */
+	public void beginInvalidating(Object key, long timeout) {
+		final long now = System.currentTimeMillis();
+		while ( true ) {
+			final Invalidation current = invalidating.get( key );
+			if ( current == null ) {
+				if ( invalidating.putIfAbsent( key, new Invalidation( 1, now + timeout ) ) == null ) {
+					break;
+				}
+			}
+			else {
+				final int count = current.isExpired( now ) ? 1 : current.count + 1;
+				if ( invalidating.replace( key, current, new Invalidation( count, now + timeout ) ) ) {
+					break;
+				}
+			}
+		}
+		invalidate( key );
+	}
+
+	/**
+	 * Drop the value held for a key, and allow values to be stored for it again once all the invalidations
+	 * begun have ended.
+	 *
+	 * @param key The cache key
+	 */
+	public void endInvalidating(Object key) {
+		final long now = System.currentTimeMillis();
+		while ( true ) {
+			final Invalidation current = invalidating.get( key );
+			if ( current == null ) {
+				break;
+			}
+			if ( current.count <= 1 || current.isExpired( now ) ) {
+				if ( invalidating.remove( key, current ) ) {
+					break;
+				}
+			}
+			else if ( invalidating.replace( key, current, new Invalidation( current.count - 1, current.deadline ) ) ) {
+				break;
+			}
+		}
+		invalidate( key );
+	}
+
+	/**
+	 * Drop all the values, and prevent the values read concurrently from being stored.
+	 */
+	public void invalidateAll() {
+		for ( int i = STRIPE_WIDTH; i < invalidations.length(); i += STRIPE_WIDTH ) {
+			invalidations.incrementAndGet( i );
+		}
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public String toString() {
+		return "NearCache{maxEntries=" + maxEntries + ", lifespan=" + lifespan + '}';
+	}
+
+	private static int stripeIndex(Object key) {
+		// spread the hash codes, which often differ in their high bits only
+		final int hash = key.hashCode() * 0x9E3779B9;
+		return ( ( ( hash ^ ( hash >>> 16 ) ) & ( STRIPE_COUNT - 1 ) ) + 1 ) * STRIPE_WIDTH;
+	}
+
+	private boolean isInvalidatedSince(Object key, long stamp) {
+		if ( invalidations.get( stripeIndex( key ) ) != stamp ) {
+			return true;
+		}
+		final Invalidation invalidation = invalidating.get( key );
+		if ( invalidation == null ) {
+			return false;
+		}
+		if ( invalidation.isExpired( System.currentTimeMillis() ) ) {
+			// leaked, e.g. by a remote node which never ended it
+			invalidating.remove( key, invalidation );
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The invalidations of a key in progress.  Instances are immutable, and compared by identity when replaced.
+	 */
+	private static final class Invalidation {
+		private final int count;
+		private final long deadline;
+
+		private Invalidation(int count, long deadline) {
+			this.count = count;
+			this.deadline = deadline;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= deadline;
+		}
+	}
+}
@@ -9,6 +9,7 @@ package org.hibernate.cache.infinispan.naturalid;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.access.AccessDelegate;
 import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -17,7 +18,7 @@ import org.hibernate.persister.entity.EntityPersister;
 /**
  * @author Strong Liu <stliu@hibernate.org>
  */
-class ReadOnlyAccess implements NaturalIdRegionAccessStrategy {
+class ReadOnlyAccess implements NaturalIdRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	protected final NaturalIdRegionImpl region;
 	protected final AccessDelegate delegate;
@@ -57,6 +58,11 @@ class ReadOnlyAccess implements NaturalIdRegionAccessStrategy {
 		return delegate.get( session, key, txTimestamp );
 	}
 
+	@Override
+	public Object[] getAll(SessionImplementor session, Object[] keys, long txTimestamp) throws CacheException {
+		return delegate.getAll( session, keys, txTimestamp );
+	}
+
 	@Override
 	public boolean putFromLoad(SessionImplementor session, Object key, Object value, long txTimestamp, Object version) throws CacheException {
 		return delegate.putFromLoad( session, key, value, txTimestamp, version );
@@ -68,6 +74,17 @@ class ReadOnlyAccess implements NaturalIdRegionAccessStrategy {
 		return delegate.putFromLoad( session, key, value, txTimestamp, version, minimalPutOverride );
 	}
 
+	@Override
+	public boolean[] putAllFromLoad(
+			SessionImplementor session,
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException {
+		return delegate.putAllFromLoad( session, keys, values, txTimestamp, versions, minimalPutOverride );
+	}
+
 	@Override
 	public void remove(SessionImplementor session, Object key) throws CacheException {
 		delegate.remove( session, key );
@@ -6,6 +6,8 @@
  */
 package org.hibernate.cache.infinispan.timestamp;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.transaction.Transaction;
@@ -90,6 +92,38 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 		return value;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object[] getAll(SessionImplementor session, Object[] keys) throws CacheException {
+		final Object[] values = new Object[keys.length];
+		List<Object> missingKeys = null;
+		for ( int i = 0; i < keys.length; i++ ) {
+			values[i] = localCache.get( keys[i] );
+			if ( values[i] == null ) {
+				if ( missingKeys == null ) {
+					missingKeys = new ArrayList<Object>();
+				}
+				missingKeys.add( keys[i] );
+			}
+		}
+
+		// only go remote for the timestamps not replicated yet, all in one go
+		if ( missingKeys != null && checkValid() ) {
+			// see get()
+			final AdvancedCache remoteCache = isValid() ? cache : cache.withFlags( Flag.SKIP_CACHE_STORE );
+			final Object[] missingValues = getAll( remoteCache, missingKeys.toArray() );
+			for ( int i = 0, j = 0; i < keys.length; i++ ) {
+				if ( values[i] == null ) {
+					values[i] = missingValues[j++];
+					if ( values[i] != null ) {
+						localCache.put( keys[i], values[i] );
+					}
+				}
+			}
+		}
+		return values;
+	}
+
 	@Override
 	public void evictAll() throws CacheException {
 		// TODO Is this a valid operation on a timestamps cache?
@@ -89,6 +89,15 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
 		return null;
 	}
 
+	@Override
+	public Object[] getAll(SessionImplementor session, Object[] keys) throws CacheException {
+		if ( checkValid() ) {
+			return getAll( cache, keys );
+		}
+
+		return new Object[keys.length];
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public void put(SessionImplementor session, final Object key, final Object value) throws CacheException {
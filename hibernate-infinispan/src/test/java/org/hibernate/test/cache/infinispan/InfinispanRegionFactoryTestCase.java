@@ -16,13 +16,17 @@ import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.InfinispanRegionFactory;
 import org.hibernate.cache.infinispan.collection.CollectionRegionImpl;
 import org.hibernate.cache.infinispan.entity.EntityRegionImpl;
+import org.hibernate.cache.infinispan.impl.NearCache;
 import org.hibernate.cache.infinispan.query.QueryResultsRegionImpl;
 import org.hibernate.cache.infinispan.timestamp.TimestampsRegionImpl;
 import org.hibernate.cache.infinispan.tm.HibernateTransactionManagerLookup;
 import org.hibernate.cache.internal.CacheDataDescriptionImpl;
 import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.transaction.jta.platform.internal.AbstractJtaPlatform;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.transaction.jta.platform.internal.JBossStandAloneJtaPlatform;
 import org.hibernate.service.ServiceRegistry;
 
@@ -50,6 +54,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 
 /**
  * InfinispanRegionFactoryTestCase.
@@ -310,6 +315,51 @@ public class InfinispanRegionFactoryTestCase  {
 		}
 	}
 
+	@Test
+	public void testBuildEntityRegionWithNearCache() {
+		final String address = "com.acme.Address";
+		Properties p = createProperties();
+		p.setProperty("hibernate.cache.infinispan.com.acme.Address.near_cache.max_entries", "100");
+		p.setProperty("hibernate.cache.infinispan.com.acme.Address.near_cache.lifespan", "60000");
+		InfinispanRegionFactory factory = createRegionFactory(p);
+		try {
+			EntityRegionImpl region = (EntityRegionImpl) factory.buildEntityRegion(address, p, IMMUTABLE_NON_VERSIONED);
+			NearCache nearCache = region.getNearCache();
+			assertNotNull(nearCache);
+			assertEquals(100, nearCache.getMaxEntries());
+			assertEquals(60000, nearCache.getLifespan());
+			assertNull(((EntityRegionImpl) factory.buildEntityRegion("com.acme.Person", p, IMMUTABLE_NON_VERSIONED)).getNearCache());
+
+			EntityRegionAccessStrategy access = region.buildAccessStrategy(AccessType.READ_ONLY);
+			SessionImplementor session = mock(SessionImplementor.class);
+			long txTimestamp = System.currentTimeMillis();
+			assertNull(access.get(session, "k", txTimestamp));
+			assertTrue(access.putFromLoad(session, "k", "v", txTimestamp, null));
+			assertEquals("v", access.get(session, "k", txTimestamp));
+			assertEquals(1, nearCache.size());
+
+			// served by the near cache, without reaching the region cache
+			region.getCache().remove("k");
+			assertEquals("v", access.get(session, "k", txTimestamp));
+
+			access.evict("k");
+			assertEquals(0, nearCache.size());
+			assertNull(access.get(session, "k", txTimestamp));
+
+			// not populated while the key is being invalidated
+			access.remove(session, "k");
+			region.getCache().put("k", "stale");
+			assertEquals("stale", access.get(session, "k", txTimestamp));
+			assertEquals(0, nearCache.size());
+			access.unlockItem(session, "k", null);
+			region.getCache().put("k", "v2");
+			assertEquals("v2", access.get(session, "k", System.currentTimeMillis()));
+			assertEquals(1, nearCache.size());
+		} finally {
+			factory.stop();
+		}
+	}
+
 	@Test(expected = CacheException.class)
 	public void testTimestampValidation() {
 		Properties p = createProperties();
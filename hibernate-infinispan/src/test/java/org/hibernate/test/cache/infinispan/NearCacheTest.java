@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache.infinispan;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.cache.infinispan.impl.NearCache;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link NearCache}.
+ */
+public class NearCacheTest {
+	@Test
+	public void testNotPopulatedWhileInvalidating() {
+		NearCache nearCache = new NearCache(10, -1);
+		nearCache.beginInvalidating("k", 60000);
+		nearCache.beginInvalidating("k", 60000);
+		assertFalse(nearCache.putIfNotInvalidated("k", "v", nearCache.stamp("k")));
+		nearCache.endInvalidating("k");
+		assertFalse(nearCache.putIfNotInvalidated("k", "v", nearCache.stamp("k")));
+		nearCache.endInvalidating("k");
+		assertTrue(nearCache.putIfNotInvalidated("k", "v", nearCache.stamp("k")));
+		assertEquals("v", nearCache.get("k"));
+	}
+
+	@Test
+	public void testStaleStampIsRejected() {
+		NearCache nearCache = new NearCache(10, -1);
+		long stamp = nearCache.stamp("k");
+		nearCache.invalidate("k");
+		assertFalse(nearCache.putIfNotInvalidated("k", "v", stamp));
+		assertNull(nearCache.get("k"));
+
+		stamp = nearCache.stamp("k");
+		nearCache.invalidateAll();
+		assertFalse(nearCache.putIfNotInvalidated("k", "v", stamp));
+		assertNull(nearCache.get("k"));
+	}
+
+	@Test
+	public void testInvalidationOnlyAffectsItsStripe() {
+		NearCache nearCache = new NearCache(100, -1);
+		long[] stamps = new long[100];
+		for (int i = 0; i < stamps.length; i++) {
+			stamps[i] = nearCache.stamp(i);
+		}
+		nearCache.beginInvalidating("other", 60000);
+		int stored = 0;
+		for (int i = 0; i < stamps.length; i++) {
+			if (nearCache.putIfNotInvalidated(i, i, stamps[i])) {
+				stored++;
+			}
+		}
+		// only the few keys sharing the stripe of the invalidated key are rejected
+		assertTrue(stored < stamps.length);
+		assertTrue(stored >= stamps.length - 5);
+		nearCache.endInvalidating("other");
+	}
+
+	@Test
+	public void testLeakedInvalidationExpires() throws Exception {
+		NearCache nearCache = new NearCache(10, -1);
+		// as if the end of the invalidation, sent by a remote node, never arrived
+		nearCache.beginInvalidating("k", 50);
+		assertFalse(nearCache.putIfNotInvalidated("k", "v", nearCache.stamp("k")));
+		Thread.sleep(100);
+		assertTrue(nearCache.putIfNotInvalidated("k", "v", nearCache.stamp("k")));
+		assertEquals("v", nearCache.get("k"));
+	}
+
+	@Test
+	public void testBoundedSize() {
+		NearCache nearCache = new NearCache(10, -1);
+		for (int i = 0; i < 100; i++) {
+			nearCache.putIfNotInvalidated(i, i, nearCache.stamp("k"));
+		}
+		assertTrue(nearCache.size() <= 10);
+	}
+
+	@Test
+	public void testConcurrentPopulationNeverOutlivesInvalidation() throws Exception {
+		final NearCache nearCache = new NearCache(100, -1);
+		final AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] readers = new Future<?>[4];
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() {
+						while (running.get()) {
+							nearCache.putIfNotInvalidated("k", "stale", nearCache.stamp("k"));
+						}
+						return null;
+					}
+				});
+			}
+			for (int i = 0; i < 1000; i++) {
+				nearCache.beginInvalidating("k", 60000);
+				assertNull(nearCache.get("k"));
+				nearCache.endInvalidating("k");
+			}
+			running.set(false);
+			for (Future<?> reader : readers) {
+				reader.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stream;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Query;
+
+/**
+ * Exposes query results as {@link Stream}s, reading the rows one at a time through
+ * {@link Query#scrollIterator() forward-only scrolling} so that large results can be processed in constant memory.
+ * The entities of a row are evicted from the session once the stream moves on to the next row.
+ * <p/>
+ * The JDBC resources are released once all the rows are consumed or when the stream is closed, so streams which
+ * may not be fully consumed should be closed, e.g. using try-with-resources:
+ * <pre>
+ * try ( Stream&lt;Item&gt; items = QueryStreams.stream( session.createQuery( "from Item" ).setFetchSize( 100 ) ) ) {
+ *     items.forEach( ... );
+ * }
+ * </pre>
+ * For JPA queries, use the iterator of {@code query.unwrap( org.hibernate.jpa.internal.QueryImpl.class ).getResultIterator()}.
+ */
+public final class QueryStreams {
+	private QueryStreams() {
+	}
+
+	/**
+	 * Execute the query, returning its results as a sequential {@link Stream}.
+	 *
+	 * @param query The query to execute
+	 * @param <T> The result type
+	 *
+	 * @return The results
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Stream<T> stream(Query query) {
+		return stream( (Iterator<T>) query.scrollIterator() );
+	}
+
+	/**
+	 * Expose a {@link org.hibernate.engine.HibernateIterator} (e.g. one returned by
+	 * {@link Query#scrollIterator()}) as a sequential {@link Stream} closing it when the stream is closed.
+	 *
+	 * @param iterator The iterator
+	 * @param <T> The result type
+	 *
+	 * @return The stream
+	 */
+	public static <T> Stream<T> stream(Iterator<T> iterator) {
+		return StreamSupport.stream( Spliterators.spliteratorUnknownSize( iterator, Spliterator.ORDERED ), false )
+				.onClose( () -> Hibernate.close( iterator ) );
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.registry.selector.spi.StrategySelector;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.DefaultWeigher;
+import org.hibernate.cache.localcache.internal.Timestamper;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheCollectionRegion;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheEntityRegion;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheNaturalIdRegion;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheQueryResultsRegion;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheTimestampsRegion;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link RegionFactory} keeping the cached data within the VM, in size or weight bounded caches using the
+ * W-TinyLFU eviction policy, which keeps the entries accessed most often rather than the ones accessed last.
+ * <p/>
+ * Every setting can be given for all the regions, or for a single region by inserting the region name, e.g.
+ * {@code hibernate.cache.localcache.com.acme.Order.max_entries} for the region {@code com.acme.Order}.  Off-heap
+ * storage only applies to entity and collection regions, and the timestamps region is never bounded.
+ */
+public class LocalCacheRegionFactory implements RegionFactory {
+	private static final Logger LOG = Logger.getLogger( LocalCacheRegionFactory.class );
+
+	private static final String PREFIX = "hibernate.cache.localcache.";
+
+	/**
+	 * The maximum number of entries of a region, 10000 by default.  A region bounded by {@link #MAX_WEIGHT} only
+	 * uses it as an estimate of how many entries it holds.  Zero or less for no bound.
+	 */
+	public static final String MAX_ENTRIES = PREFIX + "max_entries";
+
+	/**
+	 * The maximum total weight of the entries of a region, as computed by the {@link #WEIGHER}, in place of a
+	 * maximum number of entries.  Not set by default.
+	 */
+	public static final String MAX_WEIGHT = PREFIX + "max_weight";
+
+	/**
+	 * The {@link Weigher} of the regions bounded by {@link #MAX_WEIGHT}, as an instance or a class name.  By default,
+	 * binary cache entries weigh their length in bytes and any other entry weighs 1.
+	 */
+	public static final String WEIGHER = PREFIX + "weigher";
+
+	/**
+	 * The number of seconds after which an entry expires once written.  Not set by default.
+	 */
+	public static final String EXPIRE_AFTER_WRITE = PREFIX + "expire_after_write";
+
+	/**
+	 * The number of bytes of the off-heap tier receiving, in binary form, the entries evicted from the heap.  0, the
+	 * default, for no off-heap tier.
+	 */
+	public static final String OFF_HEAP_MAX_BYTES = PREFIX + "off_heap.max_bytes";
+
+	private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	private final LocalCacheAccessStrategyFactory accessStrategyFactory = new LocalCacheAccessStrategyFactory();
+	private final List<BoundedLocalCache> caches = new CopyOnWriteArrayList<BoundedLocalCache>();
+	private SessionFactoryOptions settings;
+	private Weigher weigher;
+
+	@Override
+	public void start(SessionFactoryOptions settings, Properties properties) throws CacheException {
+		this.settings = settings;
+		this.weigher = settings.getServiceRegistry().getService( StrategySelector.class ).resolveDefaultableStrategy(
+				Weigher.class,
+				properties.get( WEIGHER ),
+				DefaultWeigher.INSTANCE
+		);
+	}
+
+	@Override
+	public void stop() {
+		// drops the off-heap slabs, whose direct memory is only freed once they are collected
+		for ( BoundedLocalCache cache : caches ) {
+			cache.release();
+		}
+		caches.clear();
+		settings = null;
+		weigher = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * A put into a local cache costs no more than the lookup a minimal put would do first.
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new LocalCacheEntityRegion(
+				accessStrategyFactory,
+				regionName,
+				buildCache( regionName, properties, true ),
+				settings,
+				metadata
+		);
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new LocalCacheNaturalIdRegion(
+				accessStrategyFactory,
+				regionName,
+				buildCache( regionName, properties, false ),
+				settings,
+				metadata
+		);
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(
+			String regionName,
+			Properties properties,
+			CacheDataDescription metadata) throws CacheException {
+		return new LocalCacheCollectionRegion(
+				accessStrategyFactory,
+				regionName,
+				buildCache( regionName, properties, true ),
+				settings,
+				metadata
+		);
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new LocalCacheQueryResultsRegion(
+				accessStrategyFactory,
+				regionName,
+				buildCache( regionName, properties, false )
+		);
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new LocalCacheTimestampsRegion(
+				accessStrategyFactory,
+				regionName,
+				register( new BoundedLocalCache( BoundedLocalCache.UNBOUNDED, 0, BoundedLocalCache.UNIT_WEIGHER, 0, 0 ) )
+		);
+	}
+
+	private BoundedLocalCache buildCache(String regionName, Properties properties, boolean offHeapCapable) {
+		final long maxEntries = getLong( MAX_ENTRIES, regionName, properties, DEFAULT_MAX_ENTRIES );
+		final long maxWeight = getLong( MAX_WEIGHT, regionName, properties, 0 );
+		final long expireAfterWrite = getLong( EXPIRE_AFTER_WRITE, regionName, properties, 0 );
+		final long offHeapBytes = offHeapCapable ? getLong( OFF_HEAP_MAX_BYTES, regionName, properties, 0 ) : 0;
+
+		final long maximum;
+		final Weigher regionWeigher;
+		if ( maxWeight > 0 ) {
+			maximum = maxWeight;
+			regionWeigher = weigher;
+		}
+		else {
+			maximum = maxEntries > 0 ? maxEntries : BoundedLocalCache.UNBOUNDED;
+			regionWeigher = BoundedLocalCache.UNIT_WEIGHER;
+		}
+		LOG.debugf(
+				"Starting local cache region [%s]: maximum %s %s, expire after write %ss, off-heap %s bytes",
+				regionName,
+				maximum,
+				maxWeight > 0 ? "weight" : "entries",
+				expireAfterWrite,
+				offHeapBytes
+		);
+		return register(
+				new BoundedLocalCache(
+						maximum,
+						maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES,
+						regionWeigher,
+						TimeUnit.SECONDS.toNanos( expireAfterWrite ),
+						offHeapBytes
+				)
+		);
+	}
+
+	private BoundedLocalCache register(BoundedLocalCache cache) {
+		caches.add( cache );
+		return cache;
+	}
+
+	private static long getLong(String setting, String regionName, Properties properties, int defaultValue) {
+		final String regionSetting = PREFIX + regionName + '.' + setting.substring( PREFIX.length() );
+		if ( properties.containsKey( regionSetting ) ) {
+			return ConfigurationHelper.getLong( regionSetting, properties, defaultValue );
+		}
+		return ConfigurationHelper.getLong( setting, properties, defaultValue );
+	}
+}
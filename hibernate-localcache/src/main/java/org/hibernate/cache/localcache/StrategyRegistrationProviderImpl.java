@@ -0,0 +1,39 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.boot.registry.selector.SimpleStrategyRegistrationImpl;
+import org.hibernate.boot.registry.selector.StrategyRegistration;
+import org.hibernate.boot.registry.selector.StrategyRegistrationProvider;
+import org.hibernate.cache.spi.RegionFactory;
+
+/**
+ * Makes the local cache region factory available to the Hibernate
+ * {@link org.hibernate.boot.registry.selector.spi.StrategySelector} service.
+ */
+public class StrategyRegistrationProviderImpl implements StrategyRegistrationProvider {
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterable<StrategyRegistration> getStrategyRegistrations() {
+		final List<StrategyRegistration> strategyRegistrations = new ArrayList<StrategyRegistration>();
+
+		strategyRegistrations.add(
+				new SimpleStrategyRegistrationImpl(
+						RegionFactory.class,
+						LocalCacheRegionFactory.class,
+						"localcache",
+						LocalCacheRegionFactory.class.getName(),
+						LocalCacheRegionFactory.class.getSimpleName()
+				)
+		);
+
+		return strategyRegistrations;
+	}
+}
@@ -0,0 +1,27 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache;
+
+/**
+ * Contract for computing the weight of the entries of the regions bounded by
+ * {@link LocalCacheRegionFactory#MAX_WEIGHT a maximum weight} rather than by a maximum number of entries.
+ * <p/>
+ * Implementations must be thread-safe, and must return the same weight for an entry for as long as it is cached.
+ *
+ * @see LocalCacheRegionFactory#WEIGHER
+ */
+public interface Weigher {
+	/**
+	 * Compute the weight of a cache entry.
+	 *
+	 * @param key The cache key
+	 * @param value The cached value, as stored by the access strategy of the region
+	 *
+	 * @return The weight, which must not be negative
+	 */
+	public int weigh(Object key, Object value);
+}
@@ -0,0 +1,330 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.localcache.Weigher;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
+
+import org.jboss.logging.Logger;
+
+/**
+ * An in-process cache bounded by the total weight of its entries, whose heap tier is a
+ * {@link BoundedConcurrentCache}, evicting with the W-TinyLFU policy so that the scans and one-hit wonders typical of
+ * second-level caches do not flush out the frequently used entries.
+ * <p/>
+ * Entries can also expire a fixed time after they were written, and the entries evicted from the heap can be
+ * demoted, in binary form, into an {@link OffHeapStore off-heap tier}, from which they are promoted back when read.
+ * The moves of an entry between the tiers, and the writes of its key, are serialized by a lock stripe.
+ */
+public final class BoundedLocalCache {
+	private static final Logger LOG = Logger.getLogger( BoundedLocalCache.class );
+
+	/**
+	 * The maximum weight of a cache which never evicts.
+	 */
+	public static final long UNBOUNDED = BoundedConcurrentCache.UNBOUNDED;
+
+	/**
+	 * The weigher of the caches bounded by their number of entries: every entry weighs 1.
+	 */
+	public static final Weigher UNIT_WEIGHER = new Weigher() {
+		@Override
+		public int weigh(Object key, Object value) {
+			return 1;
+		}
+	};
+
+	private static final int LOCK_STRIPES = 64;
+
+	private final BoundedConcurrentCache<Object, Object> heap;
+	private final long expireAfterWriteNanos;
+	private final OffHeapStore offHeap;
+	private final ReentrantLock[] stripes;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maximum The maximum total weight of the entries held on heap, {@link #UNBOUNDED} for no bound
+	 * @param expectedEntries The number of entries the cache is expected to hold when full, to size the estimates
+	 * of the frequencies of use
+	 * @param weigher The weigher of the entries
+	 * @param expireAfterWriteNanos The time after which an entry expires once written, in nanoseconds, 0 for never
+	 * @param offHeapBytes The capacity of the off-heap tier, in bytes, 0 for no off-heap tier
+	 */
+	public BoundedLocalCache(
+			long maximum,
+			long expectedEntries,
+			final Weigher weigher,
+			long expireAfterWriteNanos,
+			long offHeapBytes) {
+		this.expireAfterWriteNanos = expireAfterWriteNanos;
+		if ( offHeapBytes > 0 && maximum != UNBOUNDED ) {
+			this.offHeap = new OffHeapStore( offHeapBytes, expireAfterWriteNanos );
+			this.stripes = new ReentrantLock[LOCK_STRIPES];
+			for ( int i = 0; i < LOCK_STRIPES; i++ ) {
+				stripes[i] = new ReentrantLock();
+			}
+		}
+		else {
+			this.offHeap = null;
+			this.stripes = null;
+		}
+		this.heap = new BoundedConcurrentCache<Object, Object>(
+				maximum,
+				expectedEntries,
+				weigher == UNIT_WEIGHER ? null : new BoundedConcurrentCache.Weigher<Object, Object>() {
+					@Override
+					public int weigh(Object key, Object value) {
+						return weigher.weigh( key, value );
+					}
+				},
+				expireAfterWriteNanos,
+				offHeap == null ? null : new BoundedConcurrentCache.EvictionListener<Object, Object>() {
+					@Override
+					public void onEviction(Object key, Object value, long writeTime) {
+						demote( key, value, writeTime );
+					}
+				}
+		);
+	}
+
+	/**
+	 * Get the value mapped to the given key, promoting it back from the off-heap tier if need be.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The value, {@code null} if none
+	 */
+	public Object get(Object key) {
+		final Object value = heap.get( key );
+		if ( value != null || offHeap == null ) {
+			return value;
+		}
+		return promote( key );
+	}
+
+	/**
+	 * Map the given value to the given key, replacing any existing mapping for this key.
+	 *
+	 * @param key The cache key
+	 * @param value The value
+	 */
+	public void put(Object key, Object value) {
+		if ( offHeap == null ) {
+			heap.put( key, value );
+			return;
+		}
+		final ReentrantLock stripe = stripeFor( key );
+		stripe.lock();
+		try {
+			offHeap.remove( key );
+			heap.put( key, value );
+		}
+		finally {
+			stripe.unlock();
+		}
+	}
+
+	/**
+	 * Remove the mapping for the given key, if any.
+	 *
+	 * @param key The cache key
+	 */
+	public void remove(Object key) {
+		if ( offHeap == null ) {
+			heap.remove( key );
+			return;
+		}
+		final ReentrantLock stripe = stripeFor( key );
+		stripe.lock();
+		try {
+			heap.remove( key );
+			offHeap.remove( key );
+		}
+		finally {
+			stripe.unlock();
+		}
+	}
+
+	/**
+	 * Is there a (non expired) mapping for the given key, in any of the tiers?
+	 *
+	 * @param key The cache key
+	 *
+	 * @return true/false
+	 */
+	public boolean containsKey(Object key) {
+		return heap.containsKey( key ) || offHeap != null && offHeap.containsKey( key );
+	}
+
+	/**
+	 * Remove all the mappings.
+	 */
+	public void clear() {
+		heap.clear();
+		if ( offHeap != null ) {
+			offHeap.clear();
+		}
+	}
+
+	/**
+	 * Remove all the mappings and free the memory of the off-heap tier.
+	 */
+	public void release() {
+		heap.clear();
+		if ( offHeap != null ) {
+			offHeap.release();
+		}
+	}
+
+	/**
+	 * The number of entries held on heap.
+	 */
+	public long size() {
+		return heap.size();
+	}
+
+	/**
+	 * The number of entries held in the off-heap tier.
+	 */
+	public long offHeapSize() {
+		return offHeap == null ? 0 : offHeap.size();
+	}
+
+	/**
+	 * The number of bytes used by the off-heap tier.
+	 */
+	public long offHeapBytes() {
+		return offHeap == null ? 0 : offHeap.usedBytes();
+	}
+
+	/**
+	 * The keys of the entries held in the off-heap tier.
+	 */
+	List<Object> offHeapKeys() {
+		return offHeap == null ? Collections.<Object>emptyList() : offHeap.keys();
+	}
+
+	/**
+	 * The total weight of the entries held on heap, as far as the eviction policy has accounted for them.
+	 */
+	public long weightedSize() {
+		return heap.weightedSize();
+	}
+
+	/**
+	 * A snapshot of the mappings of all the tiers, without affecting the eviction policy.
+	 */
+	public Map<Object, Object> toMap() {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		if ( offHeap != null ) {
+			for ( Map.Entry<Object, OffHeapStore.Record> entry : offHeap.entries() ) {
+				if ( !isExpired( entry.getValue().writeTime() ) ) {
+					final Object value = deserialize( entry.getValue() );
+					if ( value != null ) {
+						result.put( entry.getKey(), value );
+					}
+				}
+			}
+		}
+		result.putAll( heap.toMap() );
+		return result;
+	}
+
+	/**
+	 * Apply the pending reads and evictions right away, rather than when the cache next gets accessed.
+	 */
+	public void cleanUp() {
+		heap.cleanUp();
+	}
+
+	private Object promote(Object key) {
+		final ReentrantLock stripe = stripeFor( key );
+		stripe.lock();
+		try {
+			final Object current = heap.peek( key );
+			if ( current != null ) {
+				return current;
+			}
+			final OffHeapStore.Record record = offHeap.remove( key );
+			if ( record == null || isExpired( record.writeTime() ) ) {
+				return null;
+			}
+			final Object value = deserialize( record );
+			if ( value != null ) {
+				heap.put( key, value, record.writeTime() );
+			}
+			return value;
+		}
+		finally {
+			stripe.unlock();
+		}
+	}
+
+	/**
+	 * Called under the eviction lock of the heap tier, while the evicted entry is still there.
+	 */
+	private void demote(Object key, Object value, long writeTime) {
+		final ReentrantLock stripe = stripeFor( key );
+		// never wait for the stripe while holding the eviction lock; the entry is simply dropped instead
+		if ( stripe.tryLock() ) {
+			try {
+				// a write of the key may have replaced or removed the entry since it was picked for eviction
+				if ( heap.peek( key ) == value ) {
+					final byte[] bytes = serialize( value );
+					if ( bytes != null ) {
+						offHeap.put( key, bytes, writeTime );
+					}
+				}
+			}
+			finally {
+				stripe.unlock();
+			}
+		}
+	}
+
+	private boolean isExpired(long writeTime) {
+		return expireAfterWriteNanos > 0 && System.nanoTime() - writeTime >= expireAfterWriteNanos;
+	}
+
+	private ReentrantLock stripeFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= ( hash >>> 16 );
+		return stripes[hash & ( LOCK_STRIPES - 1 )];
+	}
+
+	private static byte[] serialize(Object value) {
+		if ( !( value instanceof Serializable ) ) {
+			return null;
+		}
+		try {
+			return SerializationHelper.serialize( (Serializable) value );
+		}
+		catch (RuntimeException e) {
+			LOG.debugf( e, "Unable to move a cache entry off-heap; dropping it" );
+			return null;
+		}
+	}
+
+	private static Object deserialize(OffHeapStore.Record record) {
+		try {
+			return SerializationHelper.deserialize( record.data() );
+		}
+		catch (RuntimeException e) {
+			LOG.debugf( e, "Unable to read a cache entry back from off-heap; dropping it" );
+			return null;
+		}
+	}
+}
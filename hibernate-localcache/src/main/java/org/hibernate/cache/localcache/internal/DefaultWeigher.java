@@ -0,0 +1,36 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal;
+
+import org.hibernate.cache.localcache.Weigher;
+
+/**
+ * The default {@link Weigher}: entries whose value is held in binary form, as produced by a
+ * {@link org.hibernate.cache.spi.entry.CacheEntrySerializer}, weigh the length of that form, in bytes; all the other
+ * entries weigh 1.
+ */
+public final class DefaultWeigher implements Weigher {
+	/**
+	 * Singleton access
+	 */
+	public static final DefaultWeigher INSTANCE = new DefaultWeigher();
+
+	private DefaultWeigher() {
+	}
+
+	@Override
+	public int weigh(Object key, Object value) {
+		Object data = value;
+		if ( data instanceof ValueWrapper ) {
+			data = ( (ValueWrapper) data ).getValue();
+		}
+		if ( data instanceof byte[] ) {
+			return Math.max( ( (byte[]) data ).length, 1 );
+		}
+		return 1;
+	}
+}
@@ -0,0 +1,539 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The off-heap storage tier of a {@link BoundedLocalCache}: holds the binary form of the entries evicted from the
+ * heap outside of the Java heap, up to a maximum number of bytes beyond which the least recently stored entries
+ * are dropped.
+ * <p/>
+ * The store is split into segments, each guarded by its own lock and owning its share of the capacity.  A segment
+ * carves its memory into fixed-size blocks out of direct {@link ByteBuffer} slabs, allocated once and only as it
+ * fills up; an entry is written into a chain of blocks, taken from a free list threaded through the released
+ * blocks.  The headers of the entries, which link them in storage order, live in their first block, so that the
+ * only heap footprint of an entry is its key in the open-addressing index of the segment.
+ * <p/>
+ * Entries are taken out of the tier when read, to be promoted back into the heap, so that an entry lives in only
+ * one tier at a time.
+ */
+final class OffHeapStore {
+	/**
+	 * The size of the blocks which the entries are written into.
+	 */
+	static final int BLOCK_SIZE = 256;
+
+	private static final int SLAB_SIZE = 1 << 20;
+	private static final int MAX_SEGMENTS = 16;
+	private static final int NONE = -1;
+	private static final long NO_WRITE_TIME = Long.MIN_VALUE;
+
+	// the header of the first block of an entry ~~~~~~
+	private static final int NEXT_BLOCK = 0;
+	private static final int LENGTH = 4;
+	private static final int WRITE_TIME = 8;
+	private static final int PREVIOUS_ENTRY = 16;
+	private static final int NEXT_ENTRY = 20;
+	private static final int HASH = 24;
+	private static final int FIRST_HEADER = 28;
+
+	// the header of the next ones: just NEXT_BLOCK
+	private static final int CONTINUATION_HEADER = 4;
+
+	private final Segment[] segments;
+	private final int segmentShift;
+	private final long expireAfterWriteNanos;
+
+	/**
+	 * Creates a store holding up to the given number of bytes.
+	 *
+	 * @param capacity The maximum number of bytes held
+	 * @param expireAfterWriteNanos The time after which an entry expires once written, in nanoseconds, 0 for never
+	 */
+	OffHeapStore(long capacity, long expireAfterWriteNanos) {
+		this.expireAfterWriteNanos = expireAfterWriteNanos;
+		int count = 1;
+		int bits = 0;
+		while ( count < MAX_SEGMENTS && count * 2L * SLAB_SIZE <= capacity ) {
+			count <<= 1;
+			bits++;
+		}
+		this.segments = new Segment[count];
+		this.segmentShift = 32 - bits;
+		for ( int i = 0; i < count; i++ ) {
+			segments[i] = new Segment( capacity / count );
+		}
+	}
+
+	/**
+	 * Stores the binary form of an entry, replacing any previous one.
+	 *
+	 * @param key The cache key
+	 * @param data The binary form of the value
+	 * @param writeTime When the value was written into the cache, in nanoseconds
+	 *
+	 * @return {@code false} if the entry is larger than the whole segment it belongs to, and was not stored
+	 */
+	boolean put(Object key, byte[] data, long writeTime) {
+		final int hash = hash( key );
+		return segmentFor( hash ).put( key, hash, data, writeTime );
+	}
+
+	/**
+	 * Takes the entry of the given key out of the store.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The record of the entry, {@code null} if none
+	 */
+	Record remove(Object key) {
+		final int hash = hash( key );
+		return segmentFor( hash ).remove( key, hash );
+	}
+
+	/**
+	 * Is a (non expired) entry held for the given key?
+	 *
+	 * @param key The cache key
+	 *
+	 * @return true/false
+	 */
+	boolean containsKey(Object key) {
+		final int hash = hash( key );
+		final long writeTime = segmentFor( hash ).writeTime( key, hash );
+		return writeTime != NO_WRITE_TIME
+				&& ( expireAfterWriteNanos <= 0 || System.nanoTime() - writeTime < expireAfterWriteNanos );
+	}
+
+	void clear() {
+		for ( Segment segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Removes all the entries and drops the slabs, so that their memory gets freed along with the buffers; the store
+	 * allocates new slabs if used again.
+	 */
+	void release() {
+		for ( Segment segment : segments ) {
+			segment.release();
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for ( Segment segment : segments ) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * The number of bytes of the entries held, not counting the unused ends of their last blocks.
+	 */
+	long usedBytes() {
+		long usedBytes = 0;
+		for ( Segment segment : segments ) {
+			usedBytes += segment.usedBytes();
+		}
+		return usedBytes;
+	}
+
+	/**
+	 * A snapshot of the keys of the entries held, in no particular order.
+	 */
+	List<Object> keys() {
+		final List<Object> keys = new ArrayList<Object>();
+		for ( Segment segment : segments ) {
+			segment.collectKeys( keys );
+		}
+		return keys;
+	}
+
+	/**
+	 * A snapshot of the entries held, copied back on heap, without affecting their storage order.
+	 */
+	List<Map.Entry<Object, Record>> entries() {
+		final List<Map.Entry<Object, Record>> entries = new ArrayList<Map.Entry<Object, Record>>();
+		for ( Segment segment : segments ) {
+			segment.collectEntries( entries );
+		}
+		return entries;
+	}
+
+	private Segment segmentFor(int hash) {
+		return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+	}
+
+	private static int hash(Object key) {
+		int hash = key.hashCode();
+		hash = ( hash ^ ( hash >>> 16 ) ) * 0x45d9f3b;
+		return hash ^ ( hash >>> 16 );
+	}
+
+	/**
+	 * The binary form of an entry, copied back on heap.
+	 */
+	static final class Record {
+		private final byte[] data;
+		private final long writeTime;
+
+		private Record(byte[] data, long writeTime) {
+			this.data = data;
+			this.writeTime = writeTime;
+		}
+
+		long writeTime() {
+			return writeTime;
+		}
+
+		int length() {
+			return data.length;
+		}
+
+		byte[] data() {
+			return data;
+		}
+	}
+
+	/**
+	 * A share of the store, with its own lock, slabs, free list and index.
+	 */
+	private static final class Segment {
+		private final int maxBlocks;
+		private final int blocksPerSlab;
+		private final ByteBuffer[] slabs;
+		// positioned views of the slabs, for the bulk copies
+		private final ByteBuffer[] views;
+
+		// guarded by this ~~~~~~
+		private int allocatedBlocks;
+		private int freeHead = NONE;
+		private int freeBlocks;
+		private int oldest = NONE;
+		private int newest = NONE;
+		private int size;
+		private long usedBytes;
+		private Object[] keys = new Object[16];
+		private int[] heads = new int[16];
+
+		private Segment(long capacity) {
+			this.maxBlocks = (int) Math.min( capacity / BLOCK_SIZE, Integer.MAX_VALUE );
+			this.blocksPerSlab = Math.max( 1, Math.min( SLAB_SIZE / BLOCK_SIZE, maxBlocks ) );
+			final int slabCount = ( maxBlocks + blocksPerSlab - 1 ) / blocksPerSlab;
+			this.slabs = new ByteBuffer[slabCount];
+			this.views = new ByteBuffer[slabCount];
+		}
+
+		synchronized boolean put(Object key, int hash, byte[] data, long writeTime) {
+			final int slot = find( key, hash );
+			if ( slot != NONE ) {
+				removeAt( slot );
+			}
+			final int needed = blocksFor( data.length );
+			if ( needed > maxBlocks ) {
+				return false;
+			}
+			while ( freeBlocks + maxBlocks - allocatedBlocks < needed ) {
+				removeAt( slotOf( oldest ) );
+			}
+			final int head = write( data );
+			putLong( head, WRITE_TIME, writeTime );
+			putInt( head, HASH, hash );
+			linkNewest( head );
+			insert( key, head );
+			size++;
+			usedBytes += data.length;
+			return true;
+		}
+
+		synchronized Record remove(Object key, int hash) {
+			final int slot = find( key, hash );
+			if ( slot == NONE ) {
+				return null;
+			}
+			final int head = heads[slot];
+			final Record record = new Record( read( head ), getLong( head, WRITE_TIME ) );
+			removeAt( slot );
+			return record;
+		}
+
+		synchronized long writeTime(Object key, int hash) {
+			final int slot = find( key, hash );
+			return slot == NONE ? NO_WRITE_TIME : getLong( heads[slot], WRITE_TIME );
+		}
+
+		synchronized void clear() {
+			// the slabs are kept, and handed out again from their start
+			allocatedBlocks = 0;
+			freeHead = NONE;
+			freeBlocks = 0;
+			oldest = NONE;
+			newest = NONE;
+			size = 0;
+			usedBytes = 0;
+			keys = new Object[16];
+			heads = new int[16];
+		}
+
+		synchronized void release() {
+			clear();
+			Arrays.fill( slabs, null );
+			Arrays.fill( views, null );
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		synchronized long usedBytes() {
+			return usedBytes;
+		}
+
+		synchronized void collectKeys(List<Object> result) {
+			for ( Object key : keys ) {
+				if ( key != null ) {
+					result.add( key );
+				}
+			}
+		}
+
+		synchronized void collectEntries(List<Map.Entry<Object, Record>> result) {
+			for ( int i = 0; i < keys.length; i++ ) {
+				if ( keys[i] != null ) {
+					final Record record = new Record( read( heads[i] ), getLong( heads[i], WRITE_TIME ) );
+					result.add( new AbstractMap.SimpleImmutableEntry<Object, Record>( keys[i], record ) );
+				}
+			}
+		}
+
+		// blocks ~~~~~~
+
+		private static int blocksFor(int length) {
+			final int firstCapacity = BLOCK_SIZE - FIRST_HEADER;
+			if ( length <= firstCapacity ) {
+				return 1;
+			}
+			final int continuationCapacity = BLOCK_SIZE - CONTINUATION_HEADER;
+			return 1 + ( length - firstCapacity + continuationCapacity - 1 ) / continuationCapacity;
+		}
+
+		private int takeBlock() {
+			if ( freeHead != NONE ) {
+				final int block = freeHead;
+				freeHead = getInt( block, NEXT_BLOCK );
+				freeBlocks--;
+				return block;
+			}
+			final int block = allocatedBlocks++;
+			final int slab = block / blocksPerSlab;
+			if ( slabs[slab] == null ) {
+				final int blocks = Math.min( blocksPerSlab, maxBlocks - slab * blocksPerSlab );
+				slabs[slab] = ByteBuffer.allocateDirect( blocks * BLOCK_SIZE );
+				views[slab] = slabs[slab].duplicate();
+			}
+			return block;
+		}
+
+		private void releaseBlocks(int head) {
+			int block = head;
+			while ( block != NONE ) {
+				final int next = getInt( block, NEXT_BLOCK );
+				putInt( block, NEXT_BLOCK, freeHead );
+				freeHead = block;
+				freeBlocks++;
+				block = next;
+			}
+		}
+
+		private int write(byte[] data) {
+			final int head = takeBlock();
+			putInt( head, LENGTH, data.length );
+			int written = Math.min( data.length, BLOCK_SIZE - FIRST_HEADER );
+			copyIn( head, FIRST_HEADER, data, 0, written );
+			int block = head;
+			while ( written < data.length ) {
+				final int next = takeBlock();
+				putInt( block, NEXT_BLOCK, next );
+				final int chunk = Math.min( data.length - written, BLOCK_SIZE - CONTINUATION_HEADER );
+				copyIn( next, CONTINUATION_HEADER, data, written, chunk );
+				written += chunk;
+				block = next;
+			}
+			putInt( block, NEXT_BLOCK, NONE );
+			return head;
+		}
+
+		private byte[] read(int head) {
+			final byte[] data = new byte[getInt( head, LENGTH )];
+			int read = Math.min( data.length, BLOCK_SIZE - FIRST_HEADER );
+			copyOut( head, FIRST_HEADER, data, 0, read );
+			int block = head;
+			while ( read < data.length ) {
+				block = getInt( block, NEXT_BLOCK );
+				final int chunk = Math.min( data.length - read, BLOCK_SIZE - CONTINUATION_HEADER );
+				copyOut( block, CONTINUATION_HEADER, data, read, chunk );
+				read += chunk;
+			}
+			return data;
+		}
+
+		private void copyIn(int block, int offset, byte[] data, int from, int length) {
+			final ByteBuffer view = views[block / blocksPerSlab];
+			view.clear();
+			view.position( ( block % blocksPerSlab ) * BLOCK_SIZE + offset );
+			view.put( data, from, length );
+		}
+
+		private void copyOut(int block, int offset, byte[] data, int from, int length) {
+			final ByteBuffer view = views[block / blocksPerSlab];
+			view.clear();
+			view.position( ( block % blocksPerSlab ) * BLOCK_SIZE + offset );
+			view.get( data, from, length );
+		}
+
+		private int getInt(int block, int offset) {
+			return slabs[block / blocksPerSlab].getInt( ( block % blocksPerSlab ) * BLOCK_SIZE + offset );
+		}
+
+		private void putInt(int block, int offset, int value) {
+			slabs[block / blocksPerSlab].putInt( ( block % blocksPerSlab ) * BLOCK_SIZE + offset, value );
+		}
+
+		private long getLong(int block, int offset) {
+			return slabs[block / blocksPerSlab].getLong( ( block % blocksPerSlab ) * BLOCK_SIZE + offset );
+		}
+
+		private void putLong(int block, int offset, long value) {
+			slabs[block / blocksPerSlab].putLong( ( block % blocksPerSlab ) * BLOCK_SIZE + offset, value );
+		}
+
+		// storage order ~~~~~~
+
+		private void linkNewest(int head) {
+			putInt( head, PREVIOUS_ENTRY, newest );
+			putInt( head, NEXT_ENTRY, NONE );
+			if ( newest == NONE ) {
+				oldest = head;
+			}
+			else {
+				putInt( newest, NEXT_ENTRY, head );
+			}
+			newest = head;
+		}
+
+		private void unlink(int head) {
+			final int previous = getInt( head, PREVIOUS_ENTRY );
+			final int next = getInt( head, NEXT_ENTRY );
+			if ( previous == NONE ) {
+				oldest = next;
+			}
+			else {
+				putInt( previous, NEXT_ENTRY, next );
+			}
+			if ( next == NONE ) {
+				newest = previous;
+			}
+			else {
+				putInt( next, PREVIOUS_ENTRY, previous );
+			}
+		}
+
+		// index: linear probing over keys/heads, with backward shift deletion ~~~~~~
+
+		private int find(Object key, int hash) {
+			final int mask = keys.length - 1;
+			int slot = hash & mask;
+			while ( keys[slot] != null ) {
+				if ( keys[slot].equals( key ) ) {
+					return slot;
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+			return NONE;
+		}
+
+		private int slotOf(int head) {
+			final int mask = keys.length - 1;
+			int slot = getInt( head, HASH ) & mask;
+			while ( keys[slot] == null || heads[slot] != head ) {
+				slot = ( slot + 1 ) & mask;
+			}
+			return slot;
+		}
+
+		private void insert(Object key, int head) {
+			if ( ( size + 1 ) * 2 > keys.length ) {
+				resize();
+			}
+			final int mask = keys.length - 1;
+			int slot = getInt( head, HASH ) & mask;
+			while ( keys[slot] != null ) {
+				slot = ( slot + 1 ) & mask;
+			}
+			keys[slot] = key;
+			heads[slot] = head;
+		}
+
+		private void resize() {
+			final Object[] oldKeys = keys;
+			final int[] oldHeads = heads;
+			keys = new Object[oldKeys.length * 2];
+			heads = new int[oldKeys.length * 2];
+			final int mask = keys.length - 1;
+			for ( int i = 0; i < oldKeys.length; i++ ) {
+				if ( oldKeys[i] != null ) {
+					int slot = getInt( oldHeads[i], HASH ) & mask;
+					while ( keys[slot] != null ) {
+						slot = ( slot + 1 ) & mask;
+					}
+					keys[slot] = oldKeys[i];
+					heads[slot] = oldHeads[i];
+				}
+			}
+		}
+
+		private void removeAt(int slot) {
+			final int head = heads[slot];
+			unlink( head );
+			usedBytes -= getInt( head, LENGTH );
+			size--;
+			releaseBlocks( head );
+			deleteSlot( slot );
+		}
+
+		private void deleteSlot(int slot) {
+			final int mask = keys.length - 1;
+			int hole = slot;
+			keys[hole] = null;
+			int next = hole;
+			for ( ;; ) {
+				next = ( next + 1 ) & mask;
+				if ( keys[next] == null ) {
+					return;
+				}
+				final int home = getInt( heads[next], HASH ) & mask;
+				final boolean reachable = hole <= next
+						? hole < home && home <= next
+						: hole < home || home <= next;
+				if ( !reachable ) {
+					keys[hole] = keys[next];
+					heads[hole] = heads[next];
+					keys[next] = null;
+					hole = next;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,20 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal;
+
+/**
+ * Implemented by the objects an access strategy stores in place of the cached values, such as the read/write
+ * items, so that they can be weighed by the values they hold.
+ */
+public interface ValueWrapper {
+	/**
+	 * The wrapped value.
+	 *
+	 * @return The value, {@code null} if none
+	 */
+	public Object getValue();
+}
@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.regions;
+
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.Timestamper;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.Region;
+
+/**
+ * A local cache specific data region implementation.
+ * <p/>
+ * This class is the ultimate superclass for all the local cache regions.
+ */
+public abstract class LocalCacheDataRegion implements Region {
+	private static final int CACHE_LOCK_TIMEOUT = 60000 * Timestamper.ONE_MS;
+
+	private final String name;
+	private final BoundedLocalCache cache;
+	private final LocalCacheAccessStrategyFactory accessStrategyFactory;
+
+	/**
+	 * Create a Hibernate data region backed by the given local cache.
+	 */
+	LocalCacheDataRegion(LocalCacheAccessStrategyFactory accessStrategyFactory, String name, BoundedLocalCache cache) {
+		this.accessStrategyFactory = accessStrategyFactory;
+		this.name = name;
+		this.cache = cache;
+	}
+
+	/**
+	 * The local cache backing this Hibernate data region.
+	 */
+	public BoundedLocalCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * The {@link LocalCacheAccessStrategyFactory} used for creating the various access strategies.
+	 */
+	protected LocalCacheAccessStrategyFactory getAccessStrategyFactory() {
+		return accessStrategyFactory;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		cache.clear();
+	}
+
+	/**
+	 * The footprint of the entries is not tracked; see {@link #getElementCountInMemory()} and the weights of the
+	 * entries instead.
+	 *
+	 * @return -1
+	 */
+	@Override
+	public long getSizeInMemory() {
+		return -1;
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return cache.size();
+	}
+
+	/**
+	 * The entries held outside of the Java heap, in the off-heap tier, are reported as being on disk.
+	 */
+	@Override
+	public long getElementCountOnDisk() {
+		return cache.offHeapSize();
+	}
+
+	@Override
+	public Map toMap() {
+		return cache.toMap();
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return CACHE_LOCK_TIMEOUT;
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return cache.containsKey( key );
+	}
+}
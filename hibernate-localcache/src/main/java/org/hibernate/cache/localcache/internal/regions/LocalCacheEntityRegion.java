@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.regions;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+
+/**
+ * An entity region specific wrapper around a local cache.
+ */
+public class LocalCacheEntityRegion extends LocalCacheTransactionalDataRegion implements EntityRegion {
+	/**
+	 * Constructs a LocalCacheEntityRegion around the given local cache.
+	 *
+	 * @param accessStrategyFactory The factory for building needed EntityRegionAccessStrategy instance
+	 * @param name The region name
+	 * @param cache The local cache
+	 * @param settings The Hibernate settings
+	 * @param metadata Metadata about the data to be cached in this region
+	 */
+	public LocalCacheEntityRegion(
+			LocalCacheAccessStrategyFactory accessStrategyFactory,
+			String name,
+			BoundedLocalCache cache,
+			SessionFactoryOptions settings,
+			CacheDataDescription metadata) {
+		super( accessStrategyFactory, name, cache, settings, metadata );
+	}
+
+	@Override
+	public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		return getAccessStrategyFactory().createEntityRegionAccessStrategy( this, accessType );
+	}
+}
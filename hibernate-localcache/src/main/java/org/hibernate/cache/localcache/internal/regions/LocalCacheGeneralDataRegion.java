@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.regions;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A local cache specific GeneralDataRegion.
+ * <p/>
+ * GeneralDataRegion instances are used for both the timestamps and query caches.
+ */
+abstract class LocalCacheGeneralDataRegion extends LocalCacheDataRegion implements GeneralDataRegion {
+	private static final Logger LOG = Logger.getLogger( LocalCacheGeneralDataRegion.class );
+
+	/**
+	 * Constructs a LocalCacheGeneralDataRegion around the given local cache.
+	 *
+	 * @param accessStrategyFactory The factory for building needed RegionAccessStrategy instance
+	 * @param name The region name
+	 * @param cache The local cache
+	 */
+	LocalCacheGeneralDataRegion(
+			LocalCacheAccessStrategyFactory accessStrategyFactory,
+			String name,
+			BoundedLocalCache cache) {
+		super( accessStrategyFactory, name, cache );
+	}
+
+	@Override
+	public Object get(SessionImplementor session, Object key) throws CacheException {
+		LOG.debugf( "key: %s", key );
+		if ( key == null ) {
+			return null;
+		}
+		return getCache().get( key );
+	}
+
+	@Override
+	public void put(SessionImplementor session, Object key, Object value) throws CacheException {
+		LOG.debugf( "key: %s value: %s", key, value );
+		getCache().put( key, value );
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		getCache().remove( key );
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		getCache().clear();
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.regions;
+
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.QueryResultsRegion;
+
+/**
+ * A query results region specific wrapper around a local cache.
+ */
+public class LocalCacheQueryResultsRegion extends LocalCacheGeneralDataRegion implements QueryResultsRegion {
+	/**
+	 * Constructs a LocalCacheQueryResultsRegion around the given local cache.
+	 *
+	 * @param accessStrategyFactory The factory for building needed access strategy instances
+	 * @param name The region name
+	 * @param cache The local cache
+	 */
+	public LocalCacheQueryResultsRegion(
+			LocalCacheAccessStrategyFactory accessStrategyFactory,
+			String name,
+			BoundedLocalCache cache) {
+		super( accessStrategyFactory, name, cache );
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.regions;
+
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+
+/**
+ * A timestamps region specific wrapper around a local cache.
+ * <p/>
+ * The underlying cache must never evict nor expire entries, or the query results which are no longer up to date
+ * would be considered current.
+ */
+public class LocalCacheTimestampsRegion extends LocalCacheGeneralDataRegion implements TimestampsRegion {
+	/**
+	 * Constructs a LocalCacheTimestampsRegion around the given local cache.
+	 *
+	 * @param accessStrategyFactory The factory for building needed access strategy instances
+	 * @param name The region name
+	 * @param cache The unbounded local cache
+	 */
+	public LocalCacheTimestampsRegion(
+			LocalCacheAccessStrategyFactory accessStrategyFactory,
+			String name,
+			BoundedLocalCache cache) {
+		super( accessStrategyFactory, name, cache );
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.regions;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.localcache.internal.BoundedLocalCache;
+import org.hibernate.cache.localcache.internal.strategy.LocalCacheAccessStrategyFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+
+/**
+ * A local cache specific TransactionalDataRegion.
+ * <p/>
+ * This is the common superclass entity, collection and natural id regions.
+ */
+public class LocalCacheTransactionalDataRegion extends LocalCacheDataRegion implements TransactionalDataRegion {
+	private static final int LOCK_STRIPES = 128;
+
+	private final SessionFactoryOptions settings;
+
+	/**
+	 * Metadata associated with the objects stored in the region.
+	 */
+	protected final CacheDataDescription metadata;
+
+	private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[LOCK_STRIPES];
+
+	/**
+	 * Construct an transactional Hibernate cache region around the given local cache.
+	 */
+	LocalCacheTransactionalDataRegion(
+			LocalCacheAccessStrategyFactory accessStrategyFactory,
+			String name,
+			BoundedLocalCache cache,
+			SessionFactoryOptions settings,
+			CacheDataDescription metadata) {
+		super( accessStrategyFactory, name, cache );
+		this.settings = settings;
+		this.metadata = metadata;
+		for ( int i = 0; i < LOCK_STRIPES; i++ ) {
+			locks[i] = new ReentrantReadWriteLock();
+		}
+	}
+
+	/**
+	 * Access the Hibernate settings associated with the persistence unit.
+	 *
+	 * @return settings
+	 */
+	public SessionFactoryOptions getSettings() {
+		return settings;
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return false;
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return metadata;
+	}
+
+	/**
+	 * Get the value mapped to this key, or null if no value is mapped to this key.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The cached data
+	 */
+	public final Object get(Object key) {
+		return getCache().get( key );
+	}
+
+	/**
+	 * Map the given value to the given key, replacing any existing mapping for this key
+	 *
+	 * @param key The cache key
+	 * @param value The data to cache
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void put(Object key, Object value) throws CacheException {
+		getCache().put( key, value );
+	}
+
+	/**
+	 * Remove the mapping for this key (if any exists).
+	 *
+	 * @param key The cache key
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void remove(Object key) throws CacheException {
+		getCache().remove( key );
+	}
+
+	/**
+	 * Remove all mapping from this cache region.
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void clear() throws CacheException {
+		getCache().clear();
+	}
+
+	/**
+	 * Write lock the mapping for the given key.
+	 *
+	 * @param key The cache key
+	 */
+	public final void writeLock(Object key) {
+		lockFor( key ).writeLock().lock();
+	}
+
+	/**
+	 * Write unlock the mapping for the given key.
+	 *
+	 * @param key The cache key
+	 */
+	public final void writeUnlock(Object key) {
+		lockFor( key ).writeLock().unlock();
+	}
+
+	/**
+	 * Read lock the mapping for the given key.
+	 *
+	 * @param key The cache key
+	 */
+	public final void readLock(Object key) {
+		lockFor( key ).readLock().lock();
+	}
+
+	/**
+	 * Read unlock the mapping for the given key.
+	 *
+	 * @param key The cache key
+	 */
+	public final void readUnlock(Object key) {
+		lockFor( key ).readLock().unlock();
+	}
+
+	/**
+	 * The locks of this region are independent of the cache, the cache being accessed without taking them.
+	 *
+	 * @return true
+	 */
+	public final boolean locksAreIndependentOfCache() {
+		return true;
+	}
+
+	private ReentrantReadWriteLock lockFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= ( hash >>> 16 );
+		return locks[hash & ( LOCK_STRIPES - 1 )];
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal.strategy;
+
+import org.hibernate.cache.localcache.internal.regions.LocalCacheCollectionRegion;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheEntityRegion;
+import org.hibernate.cache.localcache.internal.regions.LocalCacheNaturalIdRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Builds the access strategies of the local cache regions.
+ * <p/>
+ * A local cache takes no part in JTA transactions, so {@link AccessType#TRANSACTIONAL} access is provided by the
+ * read/write strategies: their soft locks keep the cache consistent with the database across the transactions of
+ * the VM, which is all a transactional cache could offer without other nodes to coordinate with.
+ */
+public class LocalCacheAccessStrategyFactory {
+	private static final Logger LOG = Logger.getLogger( LocalCacheAccessStrategyFactory.class );
+
+	/**
+	 * Create {@link EntityRegionAccessStrategy} for the input {@link LocalCacheEntityRegion} and {@link AccessType}
+	 *
+	 * @param entityRegion The entity region being wrapped
+	 * @param accessType The type of access to allow to the region
+	 *
+	 * @return the created {@link EntityRegionAccessStrategy}
+	 */
+	public EntityRegionAccessStrategy createEntityRegionAccessStrategy(
+			LocalCacheEntityRegion entityRegion,
+			AccessType accessType) {
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( entityRegion.getCacheDataDescription().isMutable() ) {
+					warnReadOnlyForMutable( entityRegion.getName() );
+				}
+				return new ReadOnlyLocalCacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
+			case READ_WRITE:
+			case TRANSACTIONAL:
+				return new ReadWriteLocalCacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
+			case NONSTRICT_READ_WRITE:
+				return new NonStrictReadWriteLocalCacheEntityRegionAccessStrategy(
+						entityRegion,
+						entityRegion.getSettings()
+				);
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+	}
+
+	/**
+	 * Create {@link CollectionRegionAccessStrategy} for the input {@link LocalCacheCollectionRegion} and
+	 * {@link AccessType}
+	 *
+	 * @param collectionRegion The collection region being wrapped
+	 * @param accessType The type of access to allow to the region
+	 *
+	 * @return the created {@link CollectionRegionAccessStrategy}
+	 */
+	public CollectionRegionAccessStrategy createCollectionRegionAccessStrategy(
+			LocalCacheCollectionRegion collectionRegion,
+			AccessType accessType) {
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( collectionRegion.getCacheDataDescription().isMutable() ) {
+					warnReadOnlyForMutable( collectionRegion.getName() );
+				}
+				return new ReadOnlyLocalCacheCollectionRegionAccessStrategy(
+						collectionRegion,
+						collectionRegion.getSettings()
+				);
+			case READ_WRITE:
+			case TRANSACTIONAL:
+				return new ReadWriteLocalCacheCollectionRegionAccessStrategy(
+						collectionRegion,
+						collectionRegion.getSettings()
+				);
+			case NONSTRICT_READ_WRITE:
+				return new NonStrictReadWriteLocalCacheCollectionRegionAccessStrategy(
+						collectionRegion,
+						collectionRegion.getSettings()
+				);
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+	}
+
+	/**
+	 * Create {@link NaturalIdRegionAccessStrategy} for the input {@link LocalCacheNaturalIdRegion} and
+	 * {@link AccessType}
+	 *
+	 * @param naturalIdRegion The natural id region being wrapped
+	 * @param accessType The type of access to allow to the region
+	 *
+	 * @return the created {@link NaturalIdRegionAccessStrategy}
+	 */
+	public NaturalIdRegionAccessStrategy createNaturalIdRegionAccessStrategy(
+			LocalCacheNaturalIdRegion naturalIdRegion,
+			AccessType accessType) {
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( naturalIdRegion.getCacheDataDescription().isMutable() ) {
+					warnReadOnlyForMutable( naturalIdRegion.getName() );
+				}
+				return new ReadOnlyLocalCacheNaturalIdRegionAccessStrategy(
+						naturalIdRegion,
+						naturalIdRegion.getSettings()
+				);
+			case READ_WRITE:
+			case TRANSACTIONAL:
+				return new ReadWriteLocalCacheNaturalIdRegionAccessStrategy(
+						naturalIdRegion,
+						naturalIdRegion.getSettings()
+				);
+			case NONSTRICT_READ_WRITE:
+				return new NonStrictReadWriteLocalCacheNaturalIdRegionAccessStrategy(
+						naturalIdRegion,
+						naturalIdRegion.getSettings()
+				);
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+	}
+
+	private static void warnReadOnlyForMutable(String regionName) {
+		LOG.warnf( "read-only cache configured for mutable entity [%s]", regionName );
+	}
+}
@@ -0,0 +1,12 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * Defines the built-in, in-process second-level cache service: a W-TinyLFU bounded local cache with optional
+ * expiration and off-heap storage tier.
+ */
+package org.hibernate.cache.localcache;
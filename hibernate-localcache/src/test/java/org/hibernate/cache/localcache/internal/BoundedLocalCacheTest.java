@@ -0,0 +1,229 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the eviction, expiration and off-heap tiering of {@link BoundedLocalCache}.
+ */
+public class BoundedLocalCacheTest extends BaseUnitTestCase {
+
+	@Test
+	public void testFrequentEntriesSurviveScan() {
+		final BoundedLocalCache cache = new BoundedLocalCache( 100, 100, BoundedLocalCache.UNIT_WEIGHER, 0, 0 );
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, "value #" + i );
+		}
+		for ( int round = 0; round < 10; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				assertEquals( "value #" + i, cache.get( i ) );
+			}
+		}
+		cache.cleanUp();
+
+		// a one-off scan over many other keys, which would flush out the whole of an LRU cache
+		for ( int i = 1000; i < 2000; i++ ) {
+			cache.put( i, "value #" + i );
+		}
+		cache.cleanUp();
+
+		assertTrue( cache.size() <= 100 );
+		for ( int i = 0; i < 50; i++ ) {
+			assertTrue( "frequent entry #" + i + " was evicted", cache.containsKey( i ) );
+		}
+	}
+
+	@Test
+	public void testWeightBound() {
+		final BoundedLocalCache cache = new BoundedLocalCache( 1000, 10, DefaultWeigher.INSTANCE, 0, 0 );
+		for ( int i = 0; i < 5; i++ ) {
+			cache.put( i, new byte[400] );
+		}
+		cache.cleanUp();
+		assertTrue( cache.weightedSize() <= 1000 );
+		assertTrue( cache.size() <= 2 );
+
+		// an entry heavier than the whole cache is not kept
+		cache.put( "heavy", new byte[2000] );
+		cache.cleanUp();
+		assertFalse( cache.containsKey( "heavy" ) );
+		assertTrue( cache.weightedSize() <= 1000 );
+	}
+
+	@Test
+	public void testExpireAfterWrite() throws InterruptedException {
+		final BoundedLocalCache cache = new BoundedLocalCache(
+				100,
+				100,
+				BoundedLocalCache.UNIT_WEIGHER,
+				TimeUnit.MILLISECONDS.toNanos( 50 ),
+				0
+		);
+		cache.put( 1, "one" );
+		assertEquals( "one", cache.get( 1 ) );
+		Thread.sleep( 100 );
+		assertNull( cache.get( 1 ) );
+		assertFalse( cache.containsKey( 1 ) );
+		assertEquals( 0, cache.size() );
+	}
+
+	@Test
+	public void testEvictedEntriesMoveOffHeap() {
+		final BoundedLocalCache cache = new BoundedLocalCache( 10, 10, BoundedLocalCache.UNIT_WEIGHER, 0, 1 << 20 );
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, "value #" + i );
+		}
+		cache.cleanUp();
+		assertTrue( cache.size() <= 10 );
+		assertEquals( 100, cache.size() + cache.offHeapSize() );
+		assertTrue( cache.offHeapBytes() > 0 );
+		assertEquals( 100, cache.toMap().size() );
+
+		// entries are promoted back into the heap when read
+		for ( int i = 0; i < 100; i++ ) {
+			assertEquals( "value #" + i, cache.get( i ) );
+		}
+		cache.cleanUp();
+		assertTrue( cache.size() <= 10 );
+		assertEquals( 100, cache.size() + cache.offHeapSize() );
+	}
+
+	@Test
+	public void testWritesInvalidateOffHeapEntries() {
+		final BoundedLocalCache cache = new BoundedLocalCache( 10, 10, BoundedLocalCache.UNIT_WEIGHER, 0, 1 << 20 );
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, "value #" + i );
+		}
+		cache.cleanUp();
+		assertFalse( cache.offHeapKeys().isEmpty() );
+		final Object offHeapKey = cache.offHeapKeys().get( 0 );
+
+		cache.put( offHeapKey, "updated" );
+		assertFalse( cache.offHeapKeys().contains( offHeapKey ) );
+		assertEquals( "updated", cache.get( offHeapKey ) );
+
+		cache.remove( offHeapKey );
+		assertNull( cache.get( offHeapKey ) );
+		assertFalse( cache.containsKey( offHeapKey ) );
+
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertEquals( 0, cache.offHeapSize() );
+		assertEquals( 0, cache.offHeapBytes() );
+	}
+
+	@Test
+	public void testOffHeapEntriesExpire() throws InterruptedException {
+		final BoundedLocalCache cache = new BoundedLocalCache(
+				10,
+				10,
+				BoundedLocalCache.UNIT_WEIGHER,
+				TimeUnit.MILLISECONDS.toNanos( 100 ),
+				1 << 20
+		);
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, "value #" + i );
+		}
+		cache.cleanUp();
+		assertTrue( cache.offHeapSize() > 0 );
+		Thread.sleep( 150 );
+		assertTrue( cache.toMap().isEmpty() );
+		for ( int i = 0; i < 100; i++ ) {
+			assertFalse( cache.containsKey( i ) );
+			assertNull( cache.get( i ) );
+		}
+		assertEquals( 0, cache.offHeapSize() );
+	}
+
+	@Test
+	public void testOffHeapTierIsBounded() {
+		final int offHeapBytes = 64 * OffHeapStore.BLOCK_SIZE;
+		final BoundedLocalCache cache = new BoundedLocalCache( 10, 10, BoundedLocalCache.UNIT_WEIGHER, 0, offHeapBytes );
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.put( i, "value #" + i );
+		}
+		cache.cleanUp();
+		assertTrue( cache.size() <= 10 );
+		assertTrue( cache.offHeapSize() > 0 );
+		assertTrue( cache.offHeapBytes() <= offHeapBytes );
+		// the most recently demoted entries are kept
+		assertEquals( "value #" + 989, cache.get( 989 ) );
+	}
+
+	@Test
+	public void testConcurrentAccessNeverReturnsStaleValues() throws Exception {
+		final BoundedLocalCache cache = new BoundedLocalCache( 50, 50, BoundedLocalCache.UNIT_WEIGHER, 0, 1 << 20 );
+		final int threads = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<Void>> results = new ArrayList<Future<Void>>();
+			for ( int t = 0; t < threads; t++ ) {
+				final int thread = t;
+				results.add(
+						executor.submit(
+								new Callable<Void>() {
+									@Override
+									public Void call() {
+										// each thread writes its own keys, so that it knows their latest values; the
+										// entries may be dropped, but never read back older than they were written
+										final Map<Integer, String> latest = new HashMap<Integer, String>();
+										final Random random = new Random( thread );
+										for ( int i = 0; i < 20000; i++ ) {
+											final Integer key = random.nextInt( 50 ) * threads + thread;
+											switch ( random.nextInt( 4 ) ) {
+												case 0:
+													final String value = key + "/" + i;
+													cache.put( key, value );
+													latest.put( key, value );
+													break;
+												case 1:
+													cache.remove( key );
+													latest.remove( key );
+													break;
+												default:
+													final Object read = cache.get( key );
+													if ( read != null ) {
+														assertEquals( latest.get( key ), read );
+													}
+											}
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Void> result : results ) {
+				result.get( 1, TimeUnit.MINUTES );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		cache.cleanUp();
+		assertTrue( cache.size() <= 50 );
+		assertEquals( cache.size() + cache.offHeapSize(), cache.toMap().size() );
+	}
+}
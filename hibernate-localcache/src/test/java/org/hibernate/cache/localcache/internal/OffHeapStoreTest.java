@@ -0,0 +1,238 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.localcache.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the block allocation, eviction and indexing of {@link OffHeapStore}.
+ */
+public class OffHeapStoreTest extends BaseUnitTestCase {
+
+	@Test
+	public void testEntriesSpanningBlocksAreReadBack() {
+		final OffHeapStore store = new OffHeapStore( 1 << 20, 0 );
+		final int[] lengths = { 0, 1, OffHeapStore.BLOCK_SIZE - 28, OffHeapStore.BLOCK_SIZE - 27, 1000, 10000 };
+		for ( int length : lengths ) {
+			assertTrue( store.put( length, bytes( length, length ), length ) );
+		}
+		assertEquals( lengths.length, store.size() );
+		long total = 0;
+		for ( int length : lengths ) {
+			total += length;
+		}
+		assertEquals( total, store.usedBytes() );
+
+		for ( int length : lengths ) {
+			assertTrue( store.containsKey( length ) );
+			final OffHeapStore.Record record = store.remove( length );
+			assertNotNull( record );
+			assertEquals( length, record.writeTime() );
+			assertArrayEquals( bytes( length, length ), record.data() );
+			assertFalse( store.containsKey( length ) );
+			assertNull( store.remove( length ) );
+		}
+		assertEquals( 0, store.size() );
+		assertEquals( 0, store.usedBytes() );
+	}
+
+	@Test
+	public void testOldestEntriesAreDroppedWhenFull() {
+		final OffHeapStore store = new OffHeapStore( 64 * OffHeapStore.BLOCK_SIZE, 0 );
+		for ( int i = 0; i < 100; i++ ) {
+			assertTrue( store.put( i, bytes( i, 100 ), 0 ) );
+		}
+		assertEquals( 64, store.size() );
+		for ( int i = 0; i < 100; i++ ) {
+			assertEquals( "entry #" + i, i >= 36, store.containsKey( i ) );
+		}
+
+		// a multi-block entry makes room for itself by dropping as many of the oldest entries as needed
+		assertTrue( store.put( "large", bytes( 7, 4 * OffHeapStore.BLOCK_SIZE ), 0 ) );
+		assertFalse( store.containsKey( 36 ) );
+		assertTrue( store.containsKey( 99 ) );
+		assertArrayEquals( bytes( 7, 4 * OffHeapStore.BLOCK_SIZE ), store.remove( "large" ).data() );
+		assertArrayEquals( bytes( 99, 100 ), store.remove( 99 ).data() );
+	}
+
+	@Test
+	public void testReleasedBlocksAreReused() {
+		final OffHeapStore store = new OffHeapStore( 64 * OffHeapStore.BLOCK_SIZE, 0 );
+		for ( int i = 0; i < 32; i++ ) {
+			store.put( i, bytes( i, 100 ), 0 );
+		}
+		// replacing or removing and putting back entries never needs more room than they take
+		for ( int round = 0; round < 100; round++ ) {
+			store.put( "replaced", bytes( round, 5 * OffHeapStore.BLOCK_SIZE ), round );
+			store.put( "removed", bytes( round, 3 * OffHeapStore.BLOCK_SIZE ), round );
+			assertNotNull( store.remove( "removed" ) );
+		}
+		assertEquals( 33, store.size() );
+		for ( int i = 0; i < 32; i++ ) {
+			assertArrayEquals( bytes( i, 100 ), store.remove( i ).data() );
+		}
+		assertEquals( 99, store.remove( "replaced" ).writeTime() );
+	}
+
+	@Test
+	public void testEntryLargerThanTheStoreIsRejected() {
+		final OffHeapStore store = new OffHeapStore( 4 * OffHeapStore.BLOCK_SIZE, 0 );
+		store.put( "small", bytes( 1, 10 ), 0 );
+		assertFalse( store.put( "huge", bytes( 1, 4 * OffHeapStore.BLOCK_SIZE ), 0 ) );
+		assertFalse( store.containsKey( "huge" ) );
+		assertTrue( store.containsKey( "small" ) );
+
+		// nor does it leave a previous entry of the same key behind
+		assertFalse( store.put( "small", bytes( 1, 4 * OffHeapStore.BLOCK_SIZE ), 0 ) );
+		assertFalse( store.containsKey( "small" ) );
+		assertEquals( 0, store.usedBytes() );
+	}
+
+	@Test
+	public void testClear() {
+		final OffHeapStore store = new OffHeapStore( 1 << 20, 0 );
+		for ( int i = 0; i < 100; i++ ) {
+			store.put( i, bytes( i, 500 ), 0 );
+		}
+		store.clear();
+		assertEquals( 0, store.size() );
+		assertEquals( 0, store.usedBytes() );
+		assertTrue( store.keys().isEmpty() );
+		assertNull( store.remove( 1 ) );
+
+		for ( int i = 0; i < 100; i++ ) {
+			store.put( i, bytes( -i, 500 ), 0 );
+		}
+		assertEquals( 100, store.entries().size() );
+		for ( Map.Entry<Object, OffHeapStore.Record> entry : store.entries() ) {
+			assertArrayEquals( bytes( -(Integer) entry.getKey(), 500 ), entry.getValue().data() );
+		}
+	}
+
+	@Test
+	public void testRelease() {
+		final OffHeapStore store = new OffHeapStore( 1 << 20, 0 );
+		for ( int i = 0; i < 100; i++ ) {
+			store.put( i, bytes( i, 500 ), 0 );
+		}
+		store.release();
+		assertEquals( 0, store.size() );
+		assertEquals( 0, store.usedBytes() );
+		assertNull( store.remove( 1 ) );
+
+		// a released store allocates new slabs
+		for ( int i = 0; i < 100; i++ ) {
+			store.put( i, bytes( -i, 500 ), 0 );
+		}
+		assertEquals( 100, store.size() );
+		assertArrayEquals( bytes( -42, 500 ), store.remove( 42 ).data() );
+	}
+
+	@Test
+	public void testMatchesMapUnderRandomOperations() {
+		// large enough for nothing to be dropped
+		final OffHeapStore store = new OffHeapStore( 16 << 20, 0 );
+		final Map<Integer, byte[]> expected = new HashMap<Integer, byte[]>();
+		final Random random = new Random( 42 );
+		for ( int i = 0; i < 20000; i++ ) {
+			// colliding hash codes stress the probing and the deletions from the index
+			final Integer key = random.nextInt( 500 ) * 1024;
+			if ( random.nextInt( 3 ) == 0 ) {
+				final OffHeapStore.Record record = store.remove( key );
+				final byte[] removed = expected.remove( key );
+				if ( removed == null ) {
+					assertNull( record );
+				}
+				else {
+					assertArrayEquals( removed, record.data() );
+				}
+			}
+			else {
+				final byte[] data = bytes( i, random.nextInt( 2000 ) );
+				assertTrue( store.put( key, data, i ) );
+				expected.put( key, data );
+			}
+		}
+		assertEquals( expected.size(), store.size() );
+		assertEquals( expected.keySet(), new HashSet<Object>( store.keys() ) );
+		for ( Map.Entry<Integer, byte[]> entry : expected.entrySet() ) {
+			assertArrayEquals( entry.getValue(), store.remove( entry.getKey() ).data() );
+		}
+		assertEquals( 0, store.usedBytes() );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final OffHeapStore store = new OffHeapStore( 8 << 20, 0 );
+		final int threads = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<Void>> results = new ArrayList<Future<Void>>();
+			for ( int t = 0; t < threads; t++ ) {
+				final int thread = t;
+				results.add(
+						executor.submit(
+								new Callable<Void>() {
+									@Override
+									public Void call() {
+										final Random random = new Random( thread );
+										for ( int i = 0; i < 5000; i++ ) {
+											// each thread works on its own keys, spread over all the segments
+											final Integer key = random.nextInt( 100 ) * threads + thread;
+											final byte[] data = bytes( key, random.nextInt( 1500 ) );
+											store.put( key, data, 0 );
+											final OffHeapStore.Record record = store.remove( key );
+											assertNotNull( record );
+											assertArrayEquals( data, record.data() );
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Void> result : results ) {
+				result.get( 1, TimeUnit.MINUTES );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals( 0, store.size() );
+		assertEquals( 0, store.usedBytes() );
+	}
+
+	private static byte[] bytes(int seed, int length) {
+		final byte[] bytes = new byte[length];
+		Arrays.fill( bytes, (byte) seed );
+		for ( int i = 0; i < length; i += 7 ) {
+			bytes[i] = (byte) ( i + seed );
+		}
+		return bytes;
+	}
+}
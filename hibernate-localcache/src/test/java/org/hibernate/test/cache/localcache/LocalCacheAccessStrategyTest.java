@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache.localcache;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.localcache.LocalCacheRegionFactory;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the read-write and nonstrict-read-write access strategies of the local cache regions, including when their
+ * entries are moved to the off-heap tier and back.
+ */
+public class LocalCacheAccessStrategyTest extends BaseCoreFunctionalTestCase {
+	private static final int MAX_ENTRIES = 10;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Document.class, Comment.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.CACHE_REGION_FACTORY, "localcache" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( LocalCacheRegionFactory.MAX_ENTRIES, Integer.toString( MAX_ENTRIES ) );
+		configuration.setProperty( LocalCacheRegionFactory.OFF_HEAP_MAX_BYTES, Integer.toString( 1 << 20 ) );
+	}
+
+	@Test
+	public void testReadWriteItemIsOnlyReadableByLaterTransactions() {
+		final EntityRegionAccessStrategy access = accessStrategy( Document.class );
+		final long before = access.getRegion().nextTimestamp();
+		assertTrue( access.putFromLoad( null, "k", "v", before, null ) );
+		assertNull( access.get( null, "k", before ) );
+		assertEquals( "v", access.get( null, "k", access.getRegion().nextTimestamp() ) );
+	}
+
+	@Test
+	public void testReadWriteSoftLockHidesItem() {
+		final EntityRegionAccessStrategy access = accessStrategy( Document.class );
+		assertTrue( access.putFromLoad( null, "k", "v", access.getRegion().nextTimestamp(), null ) );
+
+		final SoftLock lock = access.lockItem( null, "k", null );
+		assertNull( access.get( null, "k", access.getRegion().nextTimestamp() ) );
+		assertFalse( access.putFromLoad( null, "k", "stale", access.getRegion().nextTimestamp(), null ) );
+
+		assertTrue( access.afterUpdate( null, "k", "v2", null, null, lock ) );
+		assertEquals( "v2", access.get( null, "k", access.getRegion().nextTimestamp() ) );
+	}
+
+	@Test
+	public void testReadWriteConcurrentSoftLocks() {
+		final EntityRegionAccessStrategy access = accessStrategy( Document.class );
+		final SoftLock first = access.lockItem( null, "k", null );
+		final SoftLock second = access.lockItem( null, "k", null );
+
+		// locked by two transactions, the item is not cached by either of them
+		assertFalse( access.afterUpdate( null, "k", "v1", null, null, first ) );
+		assertNull( access.get( null, "k", access.getRegion().nextTimestamp() ) );
+		final long beforeUnlock = access.getRegion().nextTimestamp();
+		access.unlockItem( null, "k", second );
+		assertNull( access.get( null, "k", access.getRegion().nextTimestamp() ) );
+
+		// nor is any value loaded by a transaction started before the last unlock
+		assertFalse( access.putFromLoad( null, "k", "stale", beforeUnlock, null ) );
+		assertTrue( access.putFromLoad( null, "k", "v", access.getRegion().nextTimestamp(), null ) );
+		assertEquals( "v", access.get( null, "k", access.getRegion().nextTimestamp() ) );
+	}
+
+	@Test
+	public void testReadWriteSoftLockSurvivesOffHeapTier() {
+		final EntityRegionAccessStrategy access = accessStrategy( Document.class );
+		assertTrue( access.putFromLoad( null, "k", "v", access.getRegion().nextTimestamp(), null ) );
+		final SoftLock lock = access.lockItem( null, "k", null );
+
+		// push the lock out of the heap
+		for ( int i = 0; i < 10 * MAX_ENTRIES; i++ ) {
+			access.putFromLoad( null, i, "other #" + i, access.getRegion().nextTimestamp(), null );
+		}
+		assertTrue( access.getRegion().getElementCountOnDisk() > 0 );
+		assertTrue( access.getRegion().getElementCountInMemory() <= MAX_ENTRIES );
+
+		// still locked when promoted back, and unlockable with the handle taken before the move
+		assertNull( access.get( null, "k", access.getRegion().nextTimestamp() ) );
+		assertFalse( access.putFromLoad( null, "k", "stale", access.getRegion().nextTimestamp(), null ) );
+		assertTrue( access.afterUpdate( null, "k", "v2", null, null, lock ) );
+		assertEquals( "v2", access.get( null, "k", access.getRegion().nextTimestamp() ) );
+	}
+
+	@Test
+	public void testNonStrictReadWriteInvalidatesOnUpdate() {
+		final EntityRegionAccessStrategy access = accessStrategy( Comment.class );
+		final long txTimestamp = access.getRegion().nextTimestamp();
+		assertTrue( access.putFromLoad( null, "k", "v", txTimestamp, null ) );
+		assertEquals( "v", access.get( null, "k", txTimestamp ) );
+
+		// a minimal put does not replace an existing entry
+		assertFalse( access.putFromLoad( null, "k", "other", txTimestamp, null, true ) );
+		assertEquals( "v", access.get( null, "k", txTimestamp ) );
+
+		// an update removes the entry, before and after the transaction completes
+		final SoftLock lock = access.lockItem( null, "k", null );
+		assertFalse( access.update( null, "k", "v2", null, null ) );
+		assertNull( access.get( null, "k", txTimestamp ) );
+		assertTrue( access.putFromLoad( null, "k", "stale", txTimestamp, null ) );
+		assertFalse( access.afterUpdate( null, "k", "v2", null, null, lock ) );
+		assertNull( access.get( null, "k", txTimestamp ) );
+
+		assertTrue( access.putFromLoad( null, "k", "v2", txTimestamp, null ) );
+		access.remove( null, "k" );
+		assertNull( access.get( null, "k", txTimestamp ) );
+	}
+
+	@Test
+	public void testNonStrictReadWriteEntriesMoveOffHeapAndBack() {
+		final EntityRegionAccessStrategy access = accessStrategy( Comment.class );
+		final long txTimestamp = access.getRegion().nextTimestamp();
+		for ( int i = 0; i < 10 * MAX_ENTRIES; i++ ) {
+			assertTrue( access.putFromLoad( null, i, "comment #" + i, txTimestamp, null ) );
+		}
+		assertTrue( access.getRegion().getElementCountOnDisk() > 0 );
+		assertEquals(
+				10 * MAX_ENTRIES,
+				access.getRegion().getElementCountInMemory() + access.getRegion().getElementCountOnDisk()
+		);
+		for ( int i = 0; i < 10 * MAX_ENTRIES; i++ ) {
+			assertEquals( "comment #" + i, access.get( null, i, txTimestamp ) );
+		}
+
+		// an invalidation reaches the entries held off-heap
+		access.evictAll();
+		assertEquals( 0, access.getRegion().getElementCountOnDisk() );
+		assertNull( access.get( null, 0, txTimestamp ) );
+	}
+
+	private EntityRegionAccessStrategy accessStrategy(Class<?> entityClass) {
+		final EntityRegionAccessStrategy access = sessionFactory().getEntityPersister( entityClass.getName() )
+				.getCacheAccessStrategy();
+		access.evictAll();
+		return access;
+	}
+
+	@Entity(name = "Document")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Document {
+		@Id
+		private Integer id;
+		private String title;
+	}
+
+	@Entity(name = "Comment")
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	public static class Comment {
+		@Id
+		private Integer id;
+		private String text;
+	}
+}
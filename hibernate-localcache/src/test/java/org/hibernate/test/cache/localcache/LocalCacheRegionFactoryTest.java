@@ -0,0 +1,177 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache.localcache;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.localcache.LocalCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the local cache regions, with every access type and with the off-heap tier.
+ */
+public class LocalCacheRegionFactoryTest extends BaseCoreFunctionalTestCase {
+	private static final int COUNT = 50;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Shelf.class, Book.class, Author.class, Country.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.CACHE_REGION_FACTORY, "localcache" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		// far less entries than the test stores, the others being held off-heap
+		configuration.setProperty( LocalCacheRegionFactory.MAX_ENTRIES, "10" );
+		configuration.setProperty( LocalCacheRegionFactory.OFF_HEAP_MAX_BYTES, Integer.toString( 1 << 20 ) );
+	}
+
+	@Test
+	public void testEveryAccessType() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Shelf shelf = new Shelf( 1 );
+		for ( int i = 1; i <= COUNT; i++ ) {
+			final Book book = new Book( i, "book #" + i );
+			shelf.books.add( book );
+			s.persist( book );
+			s.persist( new Author( i, "author #" + i ) );
+			s.persist( new Country( i, "country #" + i ) );
+		}
+		s.persist( shelf );
+		s.getTransaction().commit();
+		s.close();
+
+		// populate the cache
+		readAll();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		readAll();
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( 3 * COUNT + 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getSecondLevelCacheMissCount() );
+
+		// updates go through to the cache
+		s = openSession();
+		s.beginTransaction();
+		( (Book) s.get( Book.class, 1 ) ).title = "updated";
+		( (Author) s.get( Author.class, 1 ) ).name = "updated";
+		s.delete( s.get( Country.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "updated", ( (Book) s.get( Book.class, 1 ) ).title );
+		assertEquals( "updated", ( (Author) s.get( Author.class, 1 ) ).name );
+		assertNull( s.get( Country.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void readAll() {
+		final Session s = openSession();
+		s.beginTransaction();
+		final Shelf shelf = (Shelf) s.get( Shelf.class, 1 );
+		Hibernate.initialize( shelf.books );
+		assertEquals( COUNT, shelf.books.size() );
+		for ( int i = 1; i <= COUNT; i++ ) {
+			assertEquals( "author #" + i, ( (Author) s.get( Author.class, i ) ).name );
+			assertEquals( "country #" + i, ( (Country) s.get( Country.class, i ) ).name );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Shelf")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Shelf {
+		@Id
+		private Integer id;
+		@OneToMany(fetch = FetchType.LAZY)
+		@JoinColumn(name = "shelf_id")
+		@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+		private List<Book> books = new ArrayList<Book>();
+
+		public Shelf() {
+		}
+
+		public Shelf(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cache(usage = CacheConcurrencyStrategy.TRANSACTIONAL)
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Author")
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Country")
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class Country {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Country() {
+		}
+
+		public Country(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}